@@ -2,8 +2,18 @@ package focus.kudafocus;
 
 import focus.kudafocus.core.FocusSession;
 import focus.kudafocus.core.StreakTracker;
+import focus.kudafocus.core.Timer;
+import focus.kudafocus.data.models.SessionRecord;
 import focus.kudafocus.data.models.UserPreferences;
+import focus.kudafocus.data.storage.BlocklistStore;
+import focus.kudafocus.data.storage.DailyRollupStore;
+import focus.kudafocus.data.storage.DomainTable;
+import focus.kudafocus.data.storage.HistoryArchive;
+import focus.kudafocus.data.storage.HostsBlocklistImporter;
 import focus.kudafocus.data.storage.PreferencesStore;
+import focus.kudafocus.data.storage.SessionCheckpointStore;
+import focus.kudafocus.data.storage.SessionEventStore;
+import focus.kudafocus.data.storage.SessionJournal;
 import focus.kudafocus.ui.ActiveSessionPanel;
 import focus.kudafocus.ui.AppSelectionModal;
 import focus.kudafocus.ui.CircularTimerPanel;
@@ -13,12 +23,26 @@ import focus.kudafocus.ui.DarkTheme;
 import focus.kudafocus.ui.LightTheme;
 import focus.kudafocus.ui.Theme;
 import focus.kudafocus.ui.UIConstants;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonBar;
+import javafx.scene.control.ButtonType;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main entry point for KUDA FOCUS application.
@@ -91,6 +115,55 @@ public class Main extends Application {
     private UserPreferences userPreferences;
     private StreakTracker streakTracker;
 
+    /**
+     * Append-only history of finished sessions
+     */
+    private SessionJournal sessionJournal;
+
+    /**
+     * Columnar copy of the history for statistics
+     */
+    private HistoryArchive historyArchive;
+
+    /**
+     * Per-day totals (focus time, violations, streak days)
+     */
+    private DailyRollupStore dailyRollups;
+
+    /**
+     * Snapshots of the active session, for resuming after a crash
+     */
+    private SessionCheckpointStore sessionCheckpoints;
+    private Timeline checkpointTimeline;
+
+    /**
+     * Event history of each session (for auditing and replay)
+     */
+    private SessionEventStore sessionEvents;
+
+    /**
+     * Imported hosts-format blocklist (memory-mapped, kept out of preferences)
+     */
+    private BlocklistStore blocklistStore;
+    private DomainTable importedBlocklist = DomainTable.EMPTY;
+
+    /**
+     * Background thread for journal, archive, rollup and blocklist import
+     * work, so the FX thread never waits on the disk. Being a single thread, it also keeps
+     * the startup load ahead of any session recorded afterwards.
+     */
+    private final ExecutorService storageExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kudafocus-storage");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Pasted website lists longer than this are moved into the imported
+     * blocklist instead of being stored with every session
+     */
+    private static final int MAX_INLINE_WEBSITES = 200;
+
     /**
      * Application entry point
      *
@@ -111,6 +184,19 @@ public class Main extends Application {
         this.preferencesStore = new PreferencesStore();
         this.userPreferences = preferencesStore.load();
         this.streakTracker = new StreakTracker();
+        this.blocklistStore = new BlocklistStore();
+        this.importedBlocklist = blocklistStore.load();
+        this.sessionJournal = new SessionJournal();
+        this.historyArchive = new HistoryArchive();
+        this.dailyRollups = new DailyRollupStore();
+        // Opening the journal can mean replaying or rebuilding years of
+        // history, so it happens behind the window instead of before it
+        storageExecutor.execute(() -> {
+            loadHistoryStores();
+            Platform.runLater(this::onHistoryLoaded);
+        });
+        this.sessionCheckpoints = new SessionCheckpointStore();
+        this.sessionEvents = new SessionEventStore();
 
         // Set up window
         primaryStage.setTitle("KUDA FOCUS - Minimalist Focus Timer");
@@ -143,6 +229,71 @@ public class Main extends Application {
         System.out.println("  4. PAUSE/RESUME or STOP session anytime");
         System.out.println("  5. View results with focus score and statistics");
         System.out.println("========================================\n");
+
+        offerResumeFromCheckpoint();
+    }
+
+    /**
+     * Opens the journal and brings the archive and daily rollups up to
+     * date with it. Runs on the storage thread. Every failure is logged
+     * rather than thrown, so onHistoryLoaded() is still posted afterwards.
+     */
+    private void loadHistoryStores() {
+        try {
+            sessionJournal.open();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to open session journal: " + e.getMessage());
+        }
+        try {
+            historyArchive.rebuildIfStale(sessionJournal);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to build history archive: " + e.getMessage());
+        }
+        try {
+            dailyRollups.rebuildIfStale(sessionJournal);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to build daily rollups: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes the loaded history to the UI. Runs on the FX thread.
+     */
+    private void onHistoryLoaded() {
+        if (streakTracker.getLastQualifyingDate() == null) {
+            streakTracker.rebuildFrom(dailyRollups);
+            if (timerPanel != null && scene != null && scene.getRoot() == timerPanel) {
+                timerPanel.setStreak(streakTracker.getCurrentStreak());
+            }
+        }
+    }
+
+    /**
+     * JavaFX stop method - flushes storage before the app exits
+     */
+    @Override
+    public void stop() {
+        // Closing the window mid-session leaves a checkpoint to resume next time
+        stopCheckpointing();
+        if (currentSession != null && activeSessionPanel != null) {
+            sessionCheckpoints.save(currentSession, activeSessionPanel.getTimer().getElapsedSeconds());
+            sessionEvents.append(currentSession);
+        }
+        sessionCheckpoints.close();
+        sessionEvents.close();
+        storageExecutor.shutdown();
+        try {
+            if (!storageExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                System.err.println("Gave up waiting for session history to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            sessionJournal.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close session journal: " + e.getMessage());
+        }
     }
 
     // ===== SCREEN NAVIGATION METHODS =====
@@ -202,12 +353,24 @@ public class Main extends Application {
      * Shows the active session screen (running timer)
      */
     private void showActiveSession(FocusSession session) {
+        showActiveSession(session, 0);
+    }
+
+    /**
+     * Shows the active session screen, continuing part way through if the
+     * session is being resumed
+     *
+     * @param session Session to run
+     * @param elapsedSeconds Seconds already counted down
+     */
+    private void showActiveSession(FocusSession session, int elapsedSeconds) {
         System.out.println("\n=== STARTING FOCUS SESSION ===");
         System.out.println("Duration: " + session.getPlannedDurationMinutes() + " minutes");
         System.out.println("Blocked apps: " + (session.getBlockedApps().isEmpty() ? "None" : session.getBlockedApps()));
 
         // Create active session panel
-        activeSessionPanel = new ActiveSessionPanel(session, currentTheme);
+        DomainTable blocklist = userPreferences.isImportedBlocklistEnabled() ? importedBlocklist : DomainTable.EMPTY;
+        activeSessionPanel = new ActiveSessionPanel(session, currentTheme, blocklist, elapsedSeconds);
 
         // Set up callback for session events
         activeSessionPanel.setCallback(new ActiveSessionPanel.ActiveSessionCallback() {
@@ -229,17 +392,25 @@ public class Main extends Application {
 
         // Update scene
         scene.setRoot(activeSessionPanel);
+
+        startCheckpointing();
     }
 
     /**
      * Shows the session summary screen (results)
      */
     private void showSessionSummary(FocusSession session) {
+        stopCheckpointing();
+        sessionCheckpoints.clear();
+        sessionEvents.append(session);
+
         // Update streak if session qualifies
         if (session.qualifiesForStreak()) {
             streakTracker.recordSession(true);
         }
 
+        recordSessionHistory(session);
+
         System.out.println("\n=== SESSION SUMMARY ===");
         System.out.println("Focus Score: " + session.getFocusScore());
         System.out.println("Duration: " + session.getActualDurationMinutes() + " / " + session.getPlannedDurationMinutes() + " minutes");
@@ -270,6 +441,114 @@ public class Main extends Application {
         scene.setRoot(summaryPanel);
     }
 
+    /**
+     * Saves a finished session to the journal, the archive and the daily
+     * rollups on the storage thread. Each store is updated separately so
+     * one failure does not skip the others.
+     */
+    private void recordSessionHistory(FocusSession session) {
+        SessionRecord record = SessionRecord.fromSession(session);
+        // Queued behind the startup load, so a rebuild never misses or doubles it
+        storageExecutor.execute(() -> {
+            try {
+                sessionJournal.append(record);
+            } catch (IOException e) {
+                System.err.println("Failed to record session history: " + e.getMessage());
+            }
+            try {
+                historyArchive.append(List.of(record));
+            } catch (IOException e) {
+                System.err.println("Failed to update history archive: " + e.getMessage());
+            }
+            try {
+                dailyRollups.record(record);
+            } catch (IOException e) {
+                System.err.println("Failed to update daily rollups: " + e.getMessage());
+            }
+        });
+    }
+
+    // ===== CHECKPOINTING =====
+
+    /**
+     * Starts snapshotting the active session at the configured interval
+     */
+    private void startCheckpointing() {
+        stopCheckpointing();
+        int intervalSeconds = userPreferences.getCheckpointIntervalSeconds();
+        if (intervalSeconds <= 0) {
+            return;
+        }
+
+        checkpointActiveSession();
+        checkpointTimeline = new Timeline(new KeyFrame(Duration.seconds(intervalSeconds),
+                event -> checkpointActiveSession()));
+        checkpointTimeline.setCycleCount(Timeline.INDEFINITE);
+        checkpointTimeline.play();
+    }
+
+    private void stopCheckpointing() {
+        if (checkpointTimeline != null) {
+            checkpointTimeline.stop();
+            checkpointTimeline = null;
+        }
+    }
+
+    /**
+     * Hands a snapshot of the active session to the checkpoint writer
+     * (the file itself is written off the FX thread)
+     */
+    private void checkpointActiveSession() {
+        if (currentSession != null && activeSessionPanel != null) {
+            sessionCheckpoints.save(currentSession, activeSessionPanel.getTimer().getElapsedSeconds());
+            sessionEvents.append(currentSession);
+        }
+    }
+
+    /**
+     * If the last run ended mid-session, asks whether to resume it.
+     * A declined session is saved to history as abandoned.
+     */
+    private void offerResumeFromCheckpoint() {
+        SessionCheckpointStore.Checkpoint checkpoint = sessionCheckpoints.load();
+        if (checkpoint == null) {
+            return;
+        }
+
+        FocusSession session = checkpoint.getSession();
+        session.setViolationMergeGapSeconds(userPreferences.getViolationMergeGapSeconds());
+        currentSession = session;
+        // The restored session has no open violation; record that so its
+        // event file replays to the same state
+        session.endCurrentViolation();
+        if (checkpoint.getRemainingSeconds() <= 0) {
+            // The timer had already run out
+            handleSessionComplete(session);
+            return;
+        }
+
+        ButtonType resume = new ButtonType("Resume", ButtonBar.ButtonData.OK_DONE);
+        ButtonType discard = new ButtonType("Discard", ButtonBar.ButtonData.CANCEL_CLOSE);
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION,
+                "A " + session.getPlannedDurationMinutes() + "-minute session was interrupted with "
+                        + Timer.formatTime(checkpoint.getRemainingSeconds()) + " left. Resume it?",
+                resume, discard);
+        alert.initOwner(primaryStage);
+        alert.setTitle("Resume Session");
+        alert.setHeaderText("Unfinished focus session");
+
+        if (alert.showAndWait().orElse(discard) == resume) {
+            System.out.println("[Main] Resuming session " + session.getSessionId());
+            showActiveSession(session, checkpoint.getElapsedSeconds());
+        } else {
+            session.abandon(checkpoint.getElapsedSeconds());
+            sessionEvents.append(session);
+            recordSessionHistory(session);
+            sessionCheckpoints.clear();
+            currentSession = null;
+        }
+    }
+
     /**
      * Shows the distraction overlay (when blocked app detected)
      */
@@ -309,6 +588,8 @@ public class Main extends Application {
         int durationSeconds = durationMinutes * 60;
         System.out.println("[Main] Starting session with apps: " + blockedApps + " and websites: " + blockedWebsites);
         currentSession = new FocusSession(durationSeconds, blockedApps, blockedWebsites);
+        currentSession.setViolationMergeGapSeconds(userPreferences.getViolationMergeGapSeconds());
+        sessionEvents.begin(currentSession);
 
         // Show active session screen
         showActiveSession(currentSession);
@@ -325,26 +606,124 @@ public class Main extends Application {
                 timerPanel.getSelectedWebsites(),
                 currentTheme
         );
+        modal.setImportedBlocklist(importedBlocklist.size(), userPreferences.isImportedBlocklistEnabled());
         modal.showAndWait();
 
         if (modal.isConfirmed()) {
             List<String> selectedApps = modal.getSelectedApps();
             List<String> selectedWebsites = modal.getSelectedWebsites();
-            
+
             timerPanel.setSelectedApps(selectedApps);
-            timerPanel.setSelectedWebsites(selectedWebsites);
-            
             userPreferences.setLastSelectedApps(selectedApps);
-            userPreferences.setLastSelectedWebsites(selectedWebsites);
-            preferencesStore.save(userPreferences);
-            
             System.out.println("Selected blocked apps: " + selectedApps);
-            System.out.println("Selected blocked sites: " + selectedWebsites);
+
+            Path hostsFile = modal.getHostsFileToImport();
+            if (hostsFile != null || selectedWebsites.size() > MAX_INLINE_WEBSITES) {
+                // Parsing a hosts file can take seconds, so it runs on the
+                // storage thread and the result comes back to the FX thread
+                System.out.println("Importing blocklist in the background...");
+                // Captured now: the user may start a session or change
+                // screens before the import finishes. Websites moved out of
+                // the inline list only stay blocked through the imported list.
+                boolean useImportedBlocklist = modal.isImportedBlocklistEnabled()
+                        || selectedWebsites.size() > MAX_INLINE_WEBSITES;
+                CircularTimerPanel requestingPanel = timerPanel;
+                storageExecutor.execute(() -> {
+                    BlocklistImport result = importBlocklist(hostsFile, selectedWebsites);
+                    Platform.runLater(() -> {
+                        if (result.table != null) {
+                            // The store now loads this table, so keep using it either way
+                            importedBlocklist = result.table;
+                        }
+                        if (timerPanel != requestingPanel) {
+                            System.out.println("Home screen was replaced during the import; dropping the selection");
+                            return;
+                        }
+                        applyWebsiteSelection(result.inlineWebsites, useImportedBlocklist);
+                    });
+                });
+            } else {
+                applyWebsiteSelection(selectedWebsites, modal.isImportedBlocklistEnabled());
+            }
         } else {
             System.out.println("App & website selection canceled.");
         }
     }
 
+    /**
+     * Shows and saves the chosen websites (and the apps set just before)
+     *
+     * @param websites Websites to block inline
+     * @param useImportedBlocklist Whether sessions also use the imported blocklist
+     */
+    private void applyWebsiteSelection(List<String> websites, boolean useImportedBlocklist) {
+        userPreferences.setImportedBlocklistEnabled(useImportedBlocklist);
+        timerPanel.setSelectedWebsites(websites);
+        userPreferences.setLastSelectedWebsites(websites);
+        preferencesStore.save(userPreferences);
+        System.out.println("Selected blocked sites: " + websites);
+    }
+
+    /**
+     * Outcome of a blocklist import
+     */
+    private static final class BlocklistImport {
+        /**
+         * New imported table, or null if the import failed (keep the old one)
+         */
+        final DomainTable table;
+
+        /**
+         * Websites that stay in the session's inline list
+         */
+        final List<String> inlineWebsites;
+
+        BlocklistImport(DomainTable table, List<String> inlineWebsites) {
+            this.table = table;
+            this.inlineWebsites = inlineWebsites;
+        }
+    }
+
+    /**
+     * Imports a hosts file and/or a long pasted website list into the
+     * memory-mapped blocklist, replacing the previous import.
+     *
+     * Wildcard ("*.") and exception ("@@") rules stay in the inline list,
+     * so exceptions still override the imported domains.
+     *
+     * Runs on the storage thread; it does not touch any FX state.
+     *
+     * @param hostsFile Hosts file to import, or null
+     * @param websites Websites from the selection modal
+     * @return The new table (null if the import failed) and the websites that should stay inline
+     */
+    private BlocklistImport importBlocklist(Path hostsFile, List<String> websites) {
+        HostsBlocklistImporter importer = new HostsBlocklistImporter();
+        List<String> inlineWebsites = new ArrayList<>();
+        boolean moveInline = websites.size() > MAX_INLINE_WEBSITES;
+
+        for (String website : websites) {
+            if (moveInline && !website.startsWith("@@") && !website.startsWith("*.")) {
+                importer.addLine(website);
+            } else {
+                inlineWebsites.add(website);
+            }
+        }
+
+        try {
+            if (hostsFile != null) {
+                try (Reader reader = Files.newBufferedReader(hostsFile)) {
+                    importer.addAll(reader);
+                }
+            }
+            return new BlocklistImport(blocklistStore.save(importer), inlineWebsites);
+        } catch (IOException e) {
+            // Keep the previous import
+            System.err.println("Failed to import blocklist: " + e.getMessage());
+            return new BlocklistImport(null, websites);
+        }
+    }
+
     /**
      * Handles session completion (timer reached 0)
      */
@@ -0,0 +1,23 @@
+package focus.kudafocus.core;
+
+/**
+ * Source of monotonic time for the session engine.
+ *
+ * Code that measures intervals asks a Clock instead of calling
+ * System.nanoTime() directly, so tests and simulations can run on a
+ * VirtualScheduler whose time only moves when they advance it.
+ */
+public interface Clock {
+
+    /**
+     * The real system clock
+     */
+    Clock SYSTEM = System::nanoTime;
+
+    /**
+     * Gets the current time
+     *
+     * @return Monotonic time in nanoseconds (only differences are meaningful)
+     */
+    long nanoTime();
+}
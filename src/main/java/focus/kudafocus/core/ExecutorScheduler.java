@@ -0,0 +1,83 @@
+package focus.kudafocus.core;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler backed by a ScheduledExecutorService (real time, runs tasks
+ * on the executor's threads). Works without any UI toolkit.
+ */
+public class ExecutorScheduler implements Scheduler, AutoCloseable {
+
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Wraps an existing executor. close() shuts it down.
+     *
+     * @param executor Executor that runs the tasks
+     */
+    public ExecutorScheduler(ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a scheduler with its own single daemon thread
+     *
+     * @param threadName Name of the thread
+     * @return New scheduler
+     */
+    public static ExecutorScheduler daemon(String threadName) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        // shutdown() drops tasks that are still waiting for their delay
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return new ExecutorScheduler(executor);
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the scheduler was closed
+     */
+    @Override
+    public ScheduledTask schedule(Runnable task, long delayMillis) {
+        ScheduledFuture<?> future = executor.schedule(task, Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+        return () -> future.cancel(false);
+    }
+
+    /**
+     * Stops accepting tasks and waits for a running task to finish. Unlike
+     * close(), the running task is not interrupted, so a probe blocked on a
+     * helper process is not cut off halfway.
+     *
+     * @param timeoutMillis Longest time to wait
+     * @return true if the executor finished within the timeout
+     */
+    public boolean shutdown(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            return executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Stops the executor; queued tasks are dropped and a running task is interrupted
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -2,10 +2,13 @@ package focus.kudafocus.core;
 
 import focus.kudafocus.ui.UIConstants;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -28,6 +31,13 @@ import java.util.UUID;
  * - Controlled access: Only through public methods
  * - Flexibility: Can change internal implementation without breaking external code
  * - Validation: Can validate data before accepting changes
+ *
+ * Event sourcing:
+ * Every state change (violation started/ended, time added, dismissal,
+ * pause/resume, completion) is first recorded as a SessionEvent in the
+ * session's SessionEventLog and then applied. Applying the same events
+ * to a fresh session (replay) rebuilds exactly the same state, so a
+ * session can be persisted incrementally and audited or replayed later.
  */
 public class FocusSession {
 
@@ -84,6 +94,53 @@ public class FocusSession {
      */
     private Violation currentViolation;
 
+    /**
+     * Whether the session is paused
+     */
+    private boolean paused;
+
+    /**
+     * Every state change of this session, in order
+     */
+    private final SessionEventLog eventLog = new SessionEventLog();
+
+    /**
+     * Violations of the same app closer together than this are merged
+     * into one run-length record (0 disables merging)
+     */
+    private int violationMergeGapSeconds = UIConstants.VIOLATION_MERGE_GAP_SECONDS;
+
+    /**
+     * Violation list size that triggers the next compaction. Doubles with
+     * the compacted size so compaction stays cheap on average.
+     */
+    private int compactAtSize = COMPACT_THRESHOLD;
+
+    /**
+     * Minimum number of violation records before compacting during a session
+     */
+    private static final int COMPACT_THRESHOLD = 256;
+
+    // ===== RUNNING TOTALS =====
+    // Kept up to date as events are applied, so the score and summary
+    // statistics never loop over the violations. They assume violations
+    // only change through this class.
+
+    private int totalOccurrences;
+    private int totalDismissals;
+    private int totalDistractionSeconds;
+
+    /**
+     * Total distraction seconds per app
+     */
+    private final Map<String, Integer> distractionSecondsByApp = new HashMap<>();
+
+    /**
+     * App with the most total distraction time (first to reach it wins ties)
+     */
+    private String mostDistractingApp;
+    private int mostDistractingSeconds = -1;
+
     // ===== CONSTRUCTORS =====
 
     /**
@@ -141,6 +198,7 @@ public class FocusSession {
         this.blockedApps = blockedApps;
         this.blockedWebsites = blockedWebsites;
         this.currentViolation = null;
+        recomputeTotals();
     }
 
     // ===== PUBLIC METHODS (Controlled Access) =====
@@ -151,15 +209,13 @@ public class FocusSession {
      * @param appName Name of the blocked app that was opened
      */
     public void startViolation(String appName) {
-        // If there's already a current violation for a different app, end it first
-        if (currentViolation != null && !currentViolation.getAppName().equals(appName)) {
-            endCurrentViolation();
+        // Already tracking this app: nothing changes
+        if (currentViolation != null && currentViolation.getAppName().equals(appName)) {
+            return;
         }
-
-        // Start new violation if not already tracking this app
-        if (currentViolation == null) {
-            currentViolation = new Violation(appName);
-            violations.add(currentViolation);
+        record(SessionEvent.Type.VIOLATION_STARTED, appName, 0);
+        if (violationMergeGapSeconds > 0 && violations.size() >= compactAtSize) {
+            compactViolations();
         }
     }
 
@@ -168,18 +224,19 @@ public class FocusSession {
      */
     public void recordDismissal() {
         if (currentViolation != null) {
-            currentViolation.incrementDismissCount();
+            record(SessionEvent.Type.DISMISSED, null, 0);
         }
     }
 
     /**
-     * Adds time to the current violation duration
+     * Adds time to the current violation duration. Nothing is recorded
+     * for zero seconds, so sub-second probes do not fill the event log.
      *
      * @param seconds Number of seconds to add
      */
     public void addViolationDuration(int seconds) {
-        if (currentViolation != null) {
-            currentViolation.addDuration(seconds);
+        if (currentViolation != null && seconds > 0) {
+            record(SessionEvent.Type.DURATION_ADDED, null, seconds);
         }
     }
 
@@ -187,8 +244,25 @@ public class FocusSession {
      * Ends the current violation (when user stops using blocked app)
      */
     public void endCurrentViolation() {
-        currentViolation = null;
-        recalculateFocusScore();
+        record(SessionEvent.Type.VIOLATION_ENDED, null, 0);
+    }
+
+    /**
+     * Records that the timer was paused
+     */
+    public void pause() {
+        if (!paused) {
+            record(SessionEvent.Type.PAUSED, null, 0);
+        }
+    }
+
+    /**
+     * Records that the timer was resumed
+     */
+    public void resume() {
+        if (paused) {
+            record(SessionEvent.Type.RESUMED, null, 0);
+        }
     }
 
     /**
@@ -197,12 +271,8 @@ public class FocusSession {
      * @param actualDurationSeconds Actual session duration
      */
     public void complete(int actualDurationSeconds) {
-        this.actualDuration = actualDurationSeconds;
-        this.completed = true;
-        if (currentViolation != null) {
-            endCurrentViolation();
-        }
-        recalculateFocusScore();
+        record(SessionEvent.Type.COMPLETED, null, actualDurationSeconds);
+        compactViolations();
     }
 
     /**
@@ -211,12 +281,116 @@ public class FocusSession {
      * @param actualDurationSeconds How long they lasted before quitting
      */
     public void abandon(int actualDurationSeconds) {
-        this.actualDuration = actualDurationSeconds;
-        this.completed = false;
-        if (currentViolation != null) {
-            endCurrentViolation();
+        record(SessionEvent.Type.ABANDONED, null, actualDurationSeconds);
+        compactViolations();
+    }
+
+    /**
+     * Merges runs of violations of the same app that are closer together
+     * than the merge gap (see ViolationCompactor). Scores and totals do
+     * not change. The violation in progress is left alone.
+     */
+    public void compactViolations() {
+        if (violationMergeGapSeconds > 0 && violations.size() > 1) {
+            record(SessionEvent.Type.COMPACTED, null, violationMergeGapSeconds);
+        }
+    }
+
+    // ===== EVENTS =====
+
+    /**
+     * Applies a recorded event to this session (used when replaying).
+     * The event is also added to this session's log.
+     *
+     * @param event Event to apply
+     */
+    public void apply(SessionEvent event) {
+        eventLog.append(event);
+        apply(event.getType(), event.getOffsetMillis(), event.getAppName(), event.getSeconds());
+    }
+
+    /**
+     * Rebuilds a session by applying its events in order
+     *
+     * @param sessionId Session ID
+     * @param startTime When the session started
+     * @param plannedDuration Planned duration in seconds
+     * @param blockedApps Apps blocked during the session
+     * @param blockedWebsites Websites blocked during the session
+     * @param events Events of the session, oldest first
+     * @return Rebuilt session
+     */
+    public static FocusSession replay(String sessionId, LocalDateTime startTime, int plannedDuration,
+                                      List<String> blockedApps, List<String> blockedWebsites,
+                                      Iterable<SessionEvent> events) {
+        FocusSession session = new FocusSession(sessionId, startTime, plannedDuration, 0, new ArrayList<>(),
+                UIConstants.SCORE_BASE, false, new ArrayList<>(blockedApps), new ArrayList<>(blockedWebsites));
+        for (SessionEvent event : events) {
+            session.apply(event);
+        }
+        return session;
+    }
+
+    /**
+     * Records an event happening now and applies it
+     */
+    private void record(SessionEvent.Type type, String appName, int seconds) {
+        long offset = Duration.between(startTime, LocalDateTime.now()).toMillis();
+        int offsetMillis = (int) Math.max(0, Math.min(Integer.MAX_VALUE, offset));
+        eventLog.append(type, offsetMillis, appName, seconds);
+        apply(type, offsetMillis, appName, seconds);
+    }
+
+    /**
+     * The only place session state changes. Must give the same result
+     * whether the event is happening now or being replayed.
+     */
+    private void apply(SessionEvent.Type type, int offsetMillis, String appName, int seconds) {
+        switch (type) {
+            case VIOLATION_STARTED -> {
+                // A different app replaces the current violation
+                if (currentViolation != null && !currentViolation.getAppName().equals(appName)) {
+                    currentViolation = null;
+                    recalculateFocusScore();
+                }
+                if (currentViolation == null) {
+                    currentViolation = new Violation(startTime.plusNanos(offsetMillis * 1_000_000L), appName, 0, 0);
+                    violations.add(currentViolation);
+                    totalOccurrences++;
+                    addAppSeconds(appName, 0);
+                }
+            }
+            case VIOLATION_ENDED -> {
+                currentViolation = null;
+                recalculateFocusScore();
+            }
+            case DURATION_ADDED -> {
+                if (currentViolation != null) {
+                    currentViolation.addDuration(seconds);
+                    totalDistractionSeconds += seconds;
+                    addAppSeconds(currentViolation.getAppName(), seconds);
+                }
+            }
+            case DISMISSED -> {
+                if (currentViolation != null) {
+                    currentViolation.incrementDismissCount();
+                    totalDismissals++;
+                }
+            }
+            case PAUSED -> paused = true;
+            case RESUMED -> paused = false;
+            case COMPLETED, ABANDONED -> {
+                actualDuration = seconds;
+                completed = type == SessionEvent.Type.COMPLETED;
+                currentViolation = null;
+                recalculateFocusScore();
+            }
+            case COMPACTED -> {
+                int end = violations.size() - (currentViolation != null ? 1 : 0);
+                ViolationCompactor.compact(violations.subList(0, end), seconds);
+                compactAtSize = Math.max(COMPACT_THRESHOLD, violations.size() * 2);
+            }
         }
-        recalculateFocusScore();
     }
 
     /**
@@ -229,7 +403,19 @@ public class FocusSession {
      * @return true if session qualifies for streak
      */
     public boolean qualifiesForStreak() {
-        int durationMinutes = actualDuration / 60;
+        return qualifiesForStreak(actualDuration, focusScore, completed);
+    }
+
+    /**
+     * Applies the streak qualification rules to stored session values
+     *
+     * @param actualDurationSeconds Actual session duration
+     * @param focusScore Final focus score
+     * @param completed Whether the session was completed
+     * @return true if such a session qualifies for streak
+     */
+    public static boolean qualifiesForStreak(int actualDurationSeconds, int focusScore, boolean completed) {
+        int durationMinutes = actualDurationSeconds / 60;
         return completed &&
                 durationMinutes >= UIConstants.MIN_STREAK_DURATION_MINUTES &&
                 focusScore >= UIConstants.MIN_STREAK_SCORE;
@@ -241,31 +427,28 @@ public class FocusSession {
      * @return App name, or "None" if no violations
      */
     public String getMostDistractingApp() {
-        if (violations.isEmpty()) {
-            return "None";
-        }
-
-        String mostDistracting = violations.get(0).getAppName();
-        int maxDuration = violations.get(0).getDurationSeconds();
-
-        for (Violation v : violations) {
-            if (v.getDurationSeconds() > maxDuration) {
-                maxDuration = v.getDurationSeconds();
-                mostDistracting = v.getAppName();
-            }
-        }
-
         // Ensure it's not null (defensive)
-        return mostDistracting != null ? mostDistracting : "None";
+        return mostDistractingApp != null ? mostDistractingApp : "None";
+    }
+
+    /**
+     * Gets total distraction time for one app
+     *
+     * @param appName App or website name
+     * @return Total seconds (0 if the app was never opened)
+     */
+    public int getDistractionSeconds(String appName) {
+        return distractionSecondsByApp.getOrDefault(appName, 0);
     }
 
     /**
      * Gets total number of distraction occurrences
+     * (merged violations count once per occurrence)
      *
      * @return Number of violations
      */
     public int getViolationCount() {
-        return violations.size();
+        return totalOccurrences;
     }
 
     /**
@@ -274,11 +457,7 @@ public class FocusSession {
      * @return Total dismissals
      */
     public int getTotalDismissals() {
-        int total = 0;
-        for (Violation v : violations) {
-            total += v.getDismissCount();
-        }
-        return total;
+        return totalDismissals;
     }
 
     /**
@@ -287,15 +466,45 @@ public class FocusSession {
      * @return Total distraction time in seconds
      */
     public int getTotalDistractionSeconds() {
-        int total = 0;
-        for (Violation v : violations) {
-            total += v.getDurationSeconds();
-        }
-        return total;
+        return totalDistractionSeconds;
     }
 
     // ===== PRIVATE METHODS (Hidden Implementation) =====
 
+    /**
+     * Adds time to an app's running total and updates the most
+     * distracting app. Totals only grow, so a single comparison is enough.
+     */
+    private void addAppSeconds(String appName, int seconds) {
+        int total = distractionSecondsByApp.merge(appName, seconds, Integer::sum);
+        if (total > mostDistractingSeconds) {
+            mostDistractingSeconds = total;
+            mostDistractingApp = appName;
+        }
+    }
+
+    /**
+     * Rebuilds the running totals from the violation list (only needed
+     * when a whole list is handed in, e.g. when loading a stored session)
+     */
+    private void recomputeTotals() {
+        totalOccurrences = 0;
+        totalDismissals = 0;
+        totalDistractionSeconds = 0;
+        distractionSecondsByApp.clear();
+        mostDistractingApp = null;
+        mostDistractingSeconds = -1;
+        if (violations == null) {
+            return;
+        }
+        for (Violation v : violations) {
+            totalOccurrences += v.getOccurrences();
+            totalDismissals += v.getDismissCount();
+            totalDistractionSeconds += v.getDurationSeconds();
+            addAppSeconds(v.getAppName(), v.getDurationSeconds());
+        }
+    }
+
     /**
      * PRIVATE METHOD - Demonstrates encapsulation!
      *
@@ -315,7 +524,7 @@ public class FocusSession {
         int score = UIConstants.SCORE_BASE;
 
         // Deduct for each violation occurrence
-        score -= violations.size() * UIConstants.SCORE_VIOLATION_PENALTY;
+        score -= getViolationCount() * UIConstants.SCORE_VIOLATION_PENALTY;
 
         // Deduct for each overlay dismissal
         score -= getTotalDismissals() * UIConstants.SCORE_DISMISSAL_PENALTY;
@@ -457,6 +666,42 @@ public class FocusSession {
         return currentViolation;
     }
 
+    /**
+     * Check if the session is paused
+     *
+     * @return true if paused
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Get the log of every state change of this session
+     *
+     * @return Event log
+     */
+    public SessionEventLog getEventLog() {
+        return eventLog;
+    }
+
+    /**
+     * Get the gap below which violations of the same app are merged
+     *
+     * @return Gap in seconds (0 = never merge)
+     */
+    public int getViolationMergeGapSeconds() {
+        return violationMergeGapSeconds;
+    }
+
+    /**
+     * Set the gap below which violations of the same app are merged
+     *
+     * @param violationMergeGapSeconds Gap in seconds (0 = never merge)
+     */
+    public void setViolationMergeGapSeconds(int violationMergeGapSeconds) {
+        this.violationMergeGapSeconds = Math.max(0, violationMergeGapSeconds);
+    }
+
     // ===== SETTERS (for deserialization) =====
 
     public void setSessionId(String sessionId) {
@@ -477,6 +722,7 @@ public class FocusSession {
 
     public void setViolations(List<Violation> violations) {
         this.violations = violations;
+        recomputeTotals();
     }
 
     public void setFocusScore(int focusScore) {
@@ -499,6 +745,6 @@ public class FocusSession {
     public String toString() {
         return String.format("FocusSession{id='%s', start=%s, duration=%d/%d min, score=%d, violations=%d, apps=[%s], sites=[%s], completed=%b}",
                 sessionId, startTime, actualDuration / 60, plannedDuration / 60,
-                focusScore, violations.size(), String.join(", ", blockedApps), String.join(", ", blockedWebsites), completed);
+                focusScore, getViolationCount(), String.join(", ", blockedApps), String.join(", ", blockedWebsites), completed);
     }
 }
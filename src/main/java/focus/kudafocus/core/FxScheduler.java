@@ -0,0 +1,42 @@
+package focus.kudafocus.core;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+/**
+ * Scheduler that runs tasks on the JavaFX Application Thread, using a
+ * PauseTransition per task (the same animation timer a Timeline uses).
+ *
+ * This is the only scheduler that needs the JavaFX toolkit.
+ */
+public class FxScheduler implements Scheduler {
+
+    /**
+     * Shared instance (holds no state)
+     */
+    public static final FxScheduler INSTANCE = new FxScheduler();
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public ScheduledTask schedule(Runnable task, long delayMillis) {
+        PauseTransition delay = new PauseTransition(Duration.millis(Math.max(1, delayMillis)));
+        delay.setOnFinished(event -> task.run());
+        if (Platform.isFxApplicationThread()) {
+            delay.play();
+        } else {
+            Platform.runLater(delay::play);
+        }
+        return () -> {
+            if (Platform.isFxApplicationThread()) {
+                delay.stop();
+            } else {
+                Platform.runLater(delay::stop);
+            }
+        };
+    }
+}
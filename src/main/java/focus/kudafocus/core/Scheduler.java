@@ -0,0 +1,36 @@
+package focus.kudafocus.core;
+
+/**
+ * Runs tasks after a delay, on a clock.
+ *
+ * The session engine (Timer ticks, SessionMonitor probes) only talks to
+ * this interface, so the same code runs:
+ * - on the JavaFX thread (FxScheduler) in the app,
+ * - on a background thread (ExecutorScheduler),
+ * - or in virtual time (VirtualScheduler) in tests and simulations,
+ *   where a three-hour session takes milliseconds.
+ *
+ * Implementations decide which thread runs the tasks; callers must not
+ * assume more than "later, in due order".
+ */
+public interface Scheduler extends Clock {
+
+    /**
+     * Handle for cancelling a scheduled task
+     */
+    interface ScheduledTask {
+        /**
+         * Cancels the task if it has not started yet
+         */
+        void cancel();
+    }
+
+    /**
+     * Runs a task once after a delay
+     *
+     * @param task Task to run
+     * @param delayMillis Delay in milliseconds (0 or less runs it as soon as possible)
+     * @return Handle for cancelling the task
+     */
+    ScheduledTask schedule(Runnable task, long delayMillis);
+}
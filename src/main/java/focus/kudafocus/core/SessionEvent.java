@@ -0,0 +1,93 @@
+package focus.kudafocus.core;
+
+/**
+ * One state change of a FocusSession.
+ *
+ * A session can be rebuilt by applying its events in order (see
+ * FocusSession.replay). Times are stored as milliseconds since the session
+ * started, which keeps events small and independent of the time zone.
+ */
+public final class SessionEvent {
+
+    /**
+     * Kinds of state change
+     */
+    public enum Type {
+        /** A blocked app or website was opened (appName is set) */
+        VIOLATION_STARTED,
+        /** The current violation ended */
+        VIOLATION_ENDED,
+        /** Time was added to the current violation (seconds is set) */
+        DURATION_ADDED,
+        /** The distraction overlay was dismissed */
+        DISMISSED,
+        PAUSED,
+        RESUMED,
+        /** The timer ran out (seconds is the actual duration) */
+        COMPLETED,
+        /** The session was stopped early (seconds is the actual duration) */
+        ABANDONED,
+        /** Runs of violations were merged (seconds is the merge gap) */
+        COMPACTED;
+
+        private static final Type[] VALUES = values();
+
+        /**
+         * Looks up a type by its stored code
+         *
+         * @param code Value of ordinal()
+         * @return Type
+         * @throws IllegalArgumentException if the code is unknown
+         */
+        public static Type fromCode(int code) {
+            if (code < 0 || code >= VALUES.length) {
+                throw new IllegalArgumentException("Unknown session event type " + code);
+            }
+            return VALUES[code];
+        }
+    }
+
+    private final Type type;
+    private final int offsetMillis;
+    private final String appName;
+    private final int seconds;
+
+    /**
+     * Creates an event
+     *
+     * @param type Kind of change
+     * @param offsetMillis Milliseconds since the session started
+     * @param appName App or website (VIOLATION_STARTED only, otherwise null)
+     * @param seconds Seconds for DURATION_ADDED, COMPLETED, ABANDONED and COMPACTED, otherwise 0
+     */
+    public SessionEvent(Type type, int offsetMillis, String appName, int seconds) {
+        this.type = type;
+        this.offsetMillis = offsetMillis;
+        this.appName = appName;
+        this.seconds = seconds;
+    }
+
+    // ===== GETTERS =====
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getOffsetMillis() {
+        return offsetMillis;
+    }
+
+    public String getAppName() {
+        return appName;
+    }
+
+    public int getSeconds() {
+        return seconds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SessionEvent{type=%s, at=%dms, app=%s, seconds=%d}",
+                type, offsetMillis, appName, seconds);
+    }
+}
@@ -0,0 +1,246 @@
+package focus.kudafocus.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Compact in-memory ring of SessionEvents.
+ *
+ * Events are stored in parallel primitive arrays (type, time offset,
+ * argument) instead of one object per event, and app names are stored
+ * once and referred to by number. A three-hour session with a violation
+ * every few seconds still takes only a few kilobytes.
+ *
+ * drain() encodes the events added since the last drain so they can be
+ * appended to a file. Drained events stay in memory until the ring needs
+ * their slots; events that were never drained are never overwritten (the
+ * ring grows instead), so nothing is lost between drains.
+ *
+ * Binary event format (big-endian), repeated:
+ *   byte type, int offsetMillis, then
+ *   - VIOLATION_STARTED: UTF app name
+ *   - DURATION_ADDED, COMPLETED, ABANDONED, COMPACTED: int seconds
+ *   - others: nothing
+ */
+public class SessionEventLog {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Upper bound on drained events kept in memory
+     */
+    private static final int MAX_RETAINED_CAPACITY = 4096;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] offsets = new int[INITIAL_CAPACITY];
+
+    /**
+     * Seconds, or the app id for VIOLATION_STARTED
+     */
+    private int[] args = new int[INITIAL_CAPACITY];
+
+    private final List<String> appNames = new ArrayList<>();
+    private final Map<String, Integer> appIds = new HashMap<>();
+
+    /**
+     * Sequence numbers: events [first, next) are in the ring,
+     * events [drained, next) have not been drained yet
+     */
+    private long first = 0;
+    private long drained = 0;
+    private long next = 0;
+
+    // ===== APPENDING =====
+
+    /**
+     * Adds an event to the ring
+     *
+     * @param type Kind of change
+     * @param offsetMillis Milliseconds since the session started
+     * @param appName App name (VIOLATION_STARTED only)
+     * @param seconds Seconds argument (DURATION_ADDED, COMPLETED, ABANDONED, COMPACTED)
+     */
+    public void append(SessionEvent.Type type, int offsetMillis, String appName, int seconds) {
+        if (next - first == types.length) {
+            makeRoom();
+        }
+
+        int slot = slot(next);
+        types[slot] = (byte) type.ordinal();
+        offsets[slot] = offsetMillis;
+        args[slot] = type == SessionEvent.Type.VIOLATION_STARTED ? appId(appName) : seconds;
+        next++;
+    }
+
+    /**
+     * Adds an event to the ring
+     *
+     * @param event Event to add
+     */
+    public void append(SessionEvent event) {
+        append(event.getType(), event.getOffsetMillis(), event.getAppName(), event.getSeconds());
+    }
+
+    private void makeRoom() {
+        if (drained > first && types.length >= MAX_RETAINED_CAPACITY) {
+            first++; // Forget the oldest drained event
+            return;
+        }
+        // Every slot holds an undrained event (or the ring is still small): grow
+        int oldCapacity = types.length;
+        byte[] newTypes = new byte[oldCapacity * 2];
+        int[] newOffsets = new int[oldCapacity * 2];
+        int[] newArgs = new int[oldCapacity * 2];
+        for (long seq = first; seq < next; seq++) {
+            int from = (int) (seq % oldCapacity);
+            int to = (int) (seq % newTypes.length);
+            newTypes[to] = types[from];
+            newOffsets[to] = offsets[from];
+            newArgs[to] = args[from];
+        }
+        types = newTypes;
+        offsets = newOffsets;
+        args = newArgs;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % types.length);
+    }
+
+    private int appId(String appName) {
+        String name = appName != null ? appName : "";
+        Integer id = appIds.get(name);
+        if (id == null) {
+            id = appNames.size();
+            appNames.add(name);
+            appIds.put(name, id);
+        }
+        return id;
+    }
+
+    // ===== READING =====
+
+    /**
+     * Gets the number of events ever appended
+     *
+     * @return Event count
+     */
+    public long size() {
+        return next;
+    }
+
+    /**
+     * Gets the number of events still in memory
+     *
+     * @return Retained event count
+     */
+    public int retainedCount() {
+        return (int) (next - first);
+    }
+
+    /**
+     * @return true if no event has been dropped from memory yet
+     */
+    public boolean isComplete() {
+        return first == 0;
+    }
+
+    /**
+     * Visits the events still in memory, oldest first
+     *
+     * @param consumer Receives each event
+     */
+    public void forEach(Consumer<SessionEvent> consumer) {
+        for (long seq = first; seq < next; seq++) {
+            consumer.accept(event(slot(seq)));
+        }
+    }
+
+    private SessionEvent event(int slot) {
+        SessionEvent.Type type = SessionEvent.Type.fromCode(types[slot]);
+        if (type == SessionEvent.Type.VIOLATION_STARTED) {
+            return new SessionEvent(type, offsets[slot], appNames.get(args[slot]), 0);
+        }
+        return new SessionEvent(type, offsets[slot], null, args[slot]);
+    }
+
+    // ===== ENCODING =====
+
+    /**
+     * Encodes the events added since the last drain
+     *
+     * @return Encoded events (empty if there were none)
+     */
+    public byte[] drain() {
+        if (drained == next) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) (next - drained) * 9);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            for (long seq = drained; seq < next; seq++) {
+                writeEvent(out, slot(seq));
+            }
+        } catch (IOException e) {
+            // Writing to a byte array cannot fail
+            throw new IllegalStateException(e);
+        }
+        drained = next;
+        return bytes.toByteArray();
+    }
+
+    private void writeEvent(DataOutputStream out, int slot) throws IOException {
+        SessionEvent.Type type = SessionEvent.Type.fromCode(types[slot]);
+        out.writeByte(types[slot]);
+        out.writeInt(offsets[slot]);
+        switch (type) {
+            case VIOLATION_STARTED -> out.writeUTF(appNames.get(args[slot]));
+            case DURATION_ADDED, COMPLETED, ABANDONED, COMPACTED -> out.writeInt(args[slot]);
+            default -> { }
+        }
+    }
+
+    /**
+     * Reads encoded events until the end of the stream. A cut-off last
+     * event (from a crash mid-write) is ignored.
+     *
+     * @param in Encoded events
+     * @param consumer Receives each complete event
+     * @return Number of events read
+     * @throws IOException if reading fails or an event type is unknown
+     */
+    public static int read(DataInputStream in, Consumer<SessionEvent> consumer) throws IOException {
+        int count = 0;
+        while (true) {
+            SessionEvent event;
+            try {
+                int code = in.read();
+                if (code < 0) {
+                    return count;
+                }
+                SessionEvent.Type type = SessionEvent.Type.fromCode(code);
+                int offsetMillis = in.readInt();
+                event = switch (type) {
+                    case VIOLATION_STARTED -> new SessionEvent(type, offsetMillis, in.readUTF(), 0);
+                    case DURATION_ADDED, COMPLETED, ABANDONED, COMPACTED ->
+                            new SessionEvent(type, offsetMillis, null, in.readInt());
+                    default -> new SessionEvent(type, offsetMillis, null, 0);
+                };
+            } catch (EOFException e) {
+                return count;
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            consumer.accept(event);
+            count++;
+        }
+    }
+}
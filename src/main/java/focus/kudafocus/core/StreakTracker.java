@@ -1,7 +1,8 @@
 package focus.kudafocus.core;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import focus.kudafocus.data.storage.DailyRollupStore;
+import focus.kudafocus.data.storage.JsonCodec;
 
 import java.io.File;
 import java.io.IOException;
@@ -36,9 +37,7 @@ public class StreakTracker {
      * Creates a new StreakTracker and loads existing streak data
      */
     public StreakTracker() {
-        this.gson = new GsonBuilder()
-                .setPrettyPrinting()
-                .create();
+        this.gson = JsonCodec.gson();
 
         // Set up data directory path
         String userHome = System.getProperty("user.home");
@@ -152,6 +151,22 @@ public class StreakTracker {
         saveStreak();
     }
 
+    /**
+     * Recomputes the streak from daily rollups instead of the saved
+     * streak file (e.g. when the file was lost)
+     *
+     * @param rollups Daily totals, already loaded
+     */
+    public void rebuildFrom(DailyRollupStore rollups) {
+        LocalDate last = rollups.getLastQualifyingDate();
+        if (last == null) {
+            return;
+        }
+        currentStreak = rollups.getStreakEndingAt(last);
+        lastQualifyingDate = last;
+        saveStreak();
+    }
+
     /**
      * Resets the streak to 0
      */
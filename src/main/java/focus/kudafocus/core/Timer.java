@@ -1,15 +1,25 @@
 package focus.kudafocus.core;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.util.Duration;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Countdown timer for focus sessions.
  *
  * This class provides second-precision countdown functionality with callbacks
- * for UI updates. It uses JavaFX Timeline for smooth, thread-safe updates
- * that work well with the JavaFX Application Thread.
+ * for UI updates. Ticks come from a Scheduler: in the app that is the
+ * FxScheduler, so ticks run on the JavaFX Application Thread; tests and
+ * simulations can pass a VirtualScheduler and run without JavaFX.
+ *
+ * The countdown is measured against a deadline on the scheduler's
+ * monotonic clock (System.nanoTime() in the app), not by counting ticks.
+ * Ticks are only wake-ups: each one works out the remaining time from the
+ * deadline and sleeps until the next whole second. If the UI thread was
+ * busy and ticks were missed, the next tick catches up in one step with a
+ * single onTick callback, so the countdown never falls behind real time.
+ * Pausing keeps the exact remaining time, including the partial second.
+ *
+ * getRemainingMillis() gives the remaining time to the millisecond, for
+ * displays that animate between ticks.
  *
  * Key Concepts (for APCS):
  * - Callback pattern: Allows other code to respond to timer events
@@ -57,11 +67,29 @@ public class Timer {
     private int elapsedSeconds;
 
     /**
-     * JavaFX Timeline that handles the countdown
-     * Timeline is better than ScheduledExecutorService for JavaFX because
-     * it automatically runs on the JavaFX Application Thread
+     * Nanoseconds in one second (one tick)
+     */
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Scheduler that delivers the ticks
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * The next scheduled tick, or null while stopped or paused
      */
-    private Timeline timeline;
+    private Scheduler.ScheduledTask pendingTick;
+
+    /**
+     * Clock time the countdown reaches zero (while running and not paused)
+     */
+    private long deadlineNanos;
+
+    /**
+     * Exact time left while not counting down (before start, while paused)
+     */
+    private long heldRemainingNanos;
 
     /**
      * Callback to notify about timer events
@@ -87,21 +115,38 @@ public class Timer {
      * @param callback Callback for timer events
      */
     public Timer(int durationSeconds, TimerCallback callback) {
+        this(durationSeconds, 0, callback);
+    }
+
+    /**
+     * Creates a timer that continues a countdown part way through
+     * (used when resuming a session from a checkpoint).
+     *
+     * @param durationSeconds Total duration in seconds
+     * @param elapsedSeconds Seconds already counted down
+     * @param callback Callback for timer events
+     */
+    public Timer(int durationSeconds, int elapsedSeconds, TimerCallback callback) {
+        this(durationSeconds, elapsedSeconds, callback, FxScheduler.INSTANCE);
+    }
+
+    /**
+     * Creates a timer whose ticks come from the given scheduler
+     *
+     * @param durationSeconds Total duration in seconds
+     * @param elapsedSeconds Seconds already counted down
+     * @param callback Callback for timer events
+     * @param scheduler Scheduler that delivers the ticks
+     */
+    public Timer(int durationSeconds, int elapsedSeconds, TimerCallback callback, Scheduler scheduler) {
         this.totalDuration = durationSeconds;
-        this.remainingSeconds = durationSeconds;
-        this.elapsedSeconds = 0;
+        this.elapsedSeconds = Math.max(0, Math.min(elapsedSeconds, durationSeconds));
+        this.remainingSeconds = durationSeconds - this.elapsedSeconds;
+        this.heldRemainingNanos = remainingSeconds * SECOND_NANOS;
         this.callback = callback;
         this.running = false;
         this.paused = false;
-
-        // Create the JavaFX Timeline
-        // KeyFrame.onFinished runs every 1 second (1000ms)
-        this.timeline = new Timeline(
-                new KeyFrame(Duration.seconds(1), event -> tick())
-        );
-
-        // Set to run indefinitely (we'll stop it manually when done)
-        this.timeline.setCycleCount(Timeline.INDEFINITE);
+        this.scheduler = scheduler;
     }
 
     // ===== PUBLIC METHODS =====
@@ -117,7 +162,8 @@ public class Timer {
 
         running = true;
         paused = false;
-        timeline.play();
+        deadlineNanos = scheduler.nanoTime() + heldRemainingNanos;
+        scheduleNextTick();
     }
 
     /**
@@ -130,7 +176,8 @@ public class Timer {
         }
 
         paused = true;
-        timeline.pause();
+        heldRemainingNanos = Math.max(0, deadlineNanos - scheduler.nanoTime());
+        cancelPendingTick();
     }
 
     /**
@@ -142,7 +189,8 @@ public class Timer {
         }
 
         paused = false;
-        timeline.play();
+        deadlineNanos = scheduler.nanoTime() + heldRemainingNanos;
+        scheduleNextTick();
     }
 
     /**
@@ -152,11 +200,12 @@ public class Timer {
     public void stop() {
         running = false;
         paused = false;
-        timeline.stop();
+        cancelPendingTick();
 
         // Reset to initial state
         remainingSeconds = totalDuration;
         elapsedSeconds = 0;
+        heldRemainingNanos = totalDuration * SECOND_NANOS;
     }
 
     /**
@@ -164,22 +213,67 @@ public class Timer {
      * After calling this, the timer object should not be reused.
      */
     public void cancel() {
+        if (running && !paused) {
+            heldRemainingNanos = Math.max(0, deadlineNanos - scheduler.nanoTime());
+        }
         running = false;
         paused = false;
-        timeline.stop();
+        cancelPendingTick();
     }
 
     // ===== PRIVATE METHODS =====
 
     /**
-     * Called every second by the Timeline.
-     * This is the heart of the timer - it decrements time and
-     * notifies the callback.
+     * Schedules a wake-up for when the remaining time next drops to a
+     * whole second
+     */
+    private void scheduleNextTick() {
+        long remainingNanos = deadlineNanos - scheduler.nanoTime();
+        long nextWholeSecond = Math.max(0, ceilSeconds(remainingNanos) - 1);
+        long delayNanos = remainingNanos - nextWholeSecond * SECOND_NANOS;
+        // Round up, so the tick never wakes before the second has passed
+        long delayMillis = (delayNanos + 999_999) / 1_000_000;
+        pendingTick = scheduler.schedule(this::onScheduledTick, delayMillis);
+    }
+
+    private void cancelPendingTick() {
+        if (pendingTick != null) {
+            pendingTick.cancel();
+            pendingTick = null;
+        }
+    }
+
+    /**
+     * Runs a due tick and schedules the following one
+     */
+    private void onScheduledTick() {
+        if (!running || paused) {
+            return; // Cancelled after it was already queued
+        }
+        pendingTick = null;
+        tick();
+        if (running && !paused && pendingTick == null) {
+            scheduleNextTick();
+        }
+    }
+
+    /**
+     * Called by the scheduler each time the remaining time should have
+     * dropped by a second. This is the heart of the timer - it reads the
+     * remaining time off the deadline and notifies the callback.
+     *
+     * If ticks were missed (the thread was busy), remaining time drops by
+     * several seconds at once and onTick is called once with the new value.
+     * If the tick came early, nothing happens and the timer sleeps again.
      */
     private void tick() {
-        // Decrease remaining time
-        remainingSeconds--;
-        elapsedSeconds++;
+        int nowRemaining = (int) Math.max(0, ceilSeconds(deadlineNanos - scheduler.nanoTime()));
+        if (nowRemaining >= remainingSeconds) {
+            return; // Woke up early
+        }
+
+        remainingSeconds = nowRemaining;
+        elapsedSeconds = totalDuration - nowRemaining;
 
         // Notify callback about the tick
         if (callback != null) {
@@ -189,7 +283,7 @@ public class Timer {
         // Check if timer is complete
         if (remainingSeconds <= 0) {
             running = false;
-            timeline.stop();
+            heldRemainingNanos = 0;
 
             // Notify callback about completion
             if (callback != null) {
@@ -198,6 +292,13 @@ public class Timer {
         }
     }
 
+    /**
+     * Rounds a duration up to whole seconds
+     */
+    private static long ceilSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + SECOND_NANOS - 1) / SECOND_NANOS;
+    }
+
     // ===== GETTERS =====
 
     /**
@@ -209,6 +310,19 @@ public class Timer {
         return remainingSeconds;
     }
 
+    /**
+     * Get the exact remaining time, read off the deadline (not rounded to
+     * the last tick)
+     *
+     * @return Milliseconds remaining
+     */
+    public long getRemainingMillis() {
+        if (running && !paused) {
+            return Math.max(0, deadlineNanos - scheduler.nanoTime()) / 1_000_000;
+        }
+        return heldRemainingNanos / 1_000_000;
+    }
+
     /**
      * Get elapsed time in seconds
      *
@@ -265,6 +379,16 @@ public class Timer {
         return (double) remainingSeconds / totalDuration;
     }
 
+    /**
+     * Get remaining progress to the millisecond, so it moves smoothly
+     * between ticks
+     *
+     * @return Remaining progress (1.0 to 0.0)
+     */
+    public double getExactRemainingProgress() {
+        return totalDuration == 0 ? 0.0 : getRemainingMillis() / (totalDuration * 1000.0);
+    }
+
     // ===== UTILITY METHODS =====
 
     /**
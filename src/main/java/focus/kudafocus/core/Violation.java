@@ -11,6 +11,9 @@ import java.time.LocalDateTime;
  * - Which app was opened (appName)
  * - How long the user was distracted (durationSeconds)
  * - How many times they dismissed the overlay (dismissCount)
+ * - How many separate times the app was opened (occurrences); this is 1
+ *   unless several short violations of the same app were merged into one
+ *   run by ViolationCompactor
  *
  * This data is used to calculate the focus score and provide detailed
  * session analytics.
@@ -37,6 +40,11 @@ public class Violation {
      */
     private int dismissCount;
 
+    /**
+     * Number of separate violations this record stands for
+     */
+    private int occurrences = 1;
+
     // ===== CONSTRUCTORS =====
 
     /**
@@ -66,6 +74,21 @@ public class Violation {
         this.dismissCount = dismissCount;
     }
 
+    /**
+     * Creates a merged violation with all fields (used for deserialization)
+     *
+     * @param timestamp When the first merged violation occurred
+     * @param appName Name of the blocked app
+     * @param durationSeconds Total time spent distracted
+     * @param dismissCount Number of overlay dismissals
+     * @param occurrences Number of violations merged into this one
+     */
+    public Violation(LocalDateTime timestamp, String appName, int durationSeconds, int dismissCount,
+                     int occurrences) {
+        this(timestamp, appName, durationSeconds, dismissCount);
+        this.occurrences = occurrences;
+    }
+
     // ===== METHODS =====
 
     /**
@@ -84,6 +107,18 @@ public class Violation {
         this.durationSeconds += seconds;
     }
 
+    /**
+     * Merges a later violation of the same app into this one.
+     * Durations, dismissals and occurrences are added together.
+     *
+     * @param later Violation that follows this one
+     */
+    public void absorb(Violation later) {
+        this.durationSeconds += later.durationSeconds;
+        this.dismissCount += later.dismissCount;
+        this.occurrences += later.occurrences;
+    }
+
     // ===== GETTERS =====
 
     /**
@@ -131,6 +166,24 @@ public class Violation {
         return dismissCount;
     }
 
+    /**
+     * Get the number of separate violations this record stands for
+     *
+     * @return Occurrences (1 unless merged)
+     */
+    public int getOccurrences() {
+        return occurrences;
+    }
+
+    /**
+     * Get an estimate of when the violation ended (start plus time on the app)
+     *
+     * @return End time, or null if the timestamp is unknown
+     */
+    public LocalDateTime getEstimatedEnd() {
+        return timestamp != null ? timestamp.plusSeconds(durationSeconds) : null;
+    }
+
     // ===== SETTERS (for deserialization) =====
 
     public void setTimestamp(LocalDateTime timestamp) {
@@ -149,9 +202,13 @@ public class Violation {
         this.dismissCount = dismissCount;
     }
 
+    public void setOccurrences(int occurrences) {
+        this.occurrences = occurrences;
+    }
+
     @Override
     public String toString() {
-        return String.format("Violation{app='%s', duration=%ds, dismissals=%d, time=%s}",
-                appName, durationSeconds, dismissCount, timestamp);
+        return String.format("Violation{app='%s', duration=%ds, dismissals=%d, occurrences=%d, time=%s}",
+                appName, durationSeconds, dismissCount, occurrences, timestamp);
     }
 }
@@ -0,0 +1,64 @@
+package focus.kudafocus.core;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Merges runs of short violations of the same app into one record.
+ *
+ * A flaky foreground app can produce thousands of violations a few
+ * seconds apart. Consecutive violations of the same app whose gap is
+ * below a limit are merged into the first one of the run: durations,
+ * dismissals and occurrences are added together, so the focus score
+ * (which depends only on those totals) is exactly the same afterwards.
+ *
+ * The gap is measured from the estimated end of the earlier record
+ * (its start plus its duration). For a record that is already merged
+ * this end is earlier than the real one, so repeated compaction can only
+ * merge less, never merge violations further apart than the limit.
+ */
+public final class ViolationCompactor {
+
+    private ViolationCompactor() {
+    }
+
+    /**
+     * Compacts a list of violations in place
+     *
+     * @param violations Violations in the order they happened (modified)
+     * @param maxGapSeconds Violations closer together than this are merged
+     * @return Number of records removed
+     */
+    public static int compact(List<Violation> violations, int maxGapSeconds) {
+        int size = violations.size();
+        if (size < 2 || maxGapSeconds <= 0) {
+            return 0;
+        }
+
+        int write = 0;
+        for (int read = 1; read < size; read++) {
+            Violation run = violations.get(write);
+            Violation next = violations.get(read);
+            if (canMerge(run, next, maxGapSeconds)) {
+                run.absorb(next);
+            } else {
+                violations.set(++write, next);
+            }
+        }
+
+        violations.subList(write + 1, size).clear();
+        return size - (write + 1);
+    }
+
+    private static boolean canMerge(Violation run, Violation next, int maxGapSeconds) {
+        if (run.getAppName() == null || !run.getAppName().equals(next.getAppName())) {
+            return false;
+        }
+        LocalDateTime runEnd = run.getEstimatedEnd();
+        if (runEnd == null || next.getTimestamp() == null) {
+            return false;
+        }
+        return Duration.between(runEnd, next.getTimestamp()).getSeconds() < maxGapSeconds;
+    }
+}
@@ -0,0 +1,104 @@
+package focus.kudafocus.data.models;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Totals for one calendar day, kept up to date as sessions finish.
+ *
+ * Lets statistics such as "focus minutes per day" or "distraction time
+ * per app this week" be read directly instead of replaying every session.
+ */
+public class DailyRollup {
+
+    private final LocalDate date;
+    private int focusSeconds;
+    private int sessionCount;
+    private boolean qualifying;
+    private int violationCount;
+
+    /**
+     * Distraction seconds per app name
+     */
+    private final Map<String, Integer> appDistractionSeconds = new LinkedHashMap<>();
+
+    // ===== CONSTRUCTOR =====
+
+    /**
+     * Creates an empty rollup for a day
+     *
+     * @param date Day being summarized
+     */
+    public DailyRollup(LocalDate date) {
+        this.date = date;
+    }
+
+    // ===== METHODS =====
+
+    /**
+     * Adds one session's totals to this day
+     *
+     * @param focusSeconds Actual focus time of the session
+     * @param sessions Number of sessions being added (usually 1)
+     * @param qualifying Whether the session qualified for the streak
+     * @param violations Number of violations in the session
+     */
+    public void add(int focusSeconds, int sessions, boolean qualifying, int violations) {
+        this.focusSeconds += focusSeconds;
+        this.sessionCount += sessions;
+        this.qualifying |= qualifying;
+        this.violationCount += violations;
+    }
+
+    /**
+     * Adds distraction time for one app
+     *
+     * @param appName Blocked app or website
+     * @param seconds Seconds to add
+     */
+    public void addDistraction(String appName, int seconds) {
+        appDistractionSeconds.merge(appName, seconds, Integer::sum);
+    }
+
+    // ===== GETTERS =====
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getFocusSeconds() {
+        return focusSeconds;
+    }
+
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * @return true if at least one session this day qualified for the streak
+     */
+    public boolean isQualifying() {
+        return qualifying;
+    }
+
+    public int getViolationCount() {
+        return violationCount;
+    }
+
+    /**
+     * Gets distraction seconds per app
+     *
+     * @return Unmodifiable map of app name to seconds
+     */
+    public Map<String, Integer> getAppDistractionSeconds() {
+        return Collections.unmodifiableMap(appDistractionSeconds);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DailyRollup{date=%s, focus=%ds, sessions=%d, qualifying=%s, violations=%d}",
+                date, focusSeconds, sessionCount, qualifying, violationCount);
+    }
+}
@@ -1,7 +1,9 @@
 package focus.kudafocus.data.models;
 
+import focus.kudafocus.core.FocusSession;
 import focus.kudafocus.core.Violation;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -58,6 +60,63 @@ public class SessionRecord {
         this.violations = violations;
     }
 
+    /**
+     * Creates a storage record from a finished session
+     *
+     * @param session Completed or abandoned session
+     * @return Record holding copies of the session's data
+     */
+    public static SessionRecord fromSession(FocusSession session) {
+        return new SessionRecord(
+                session.getSessionId(),
+                session.getDate(),
+                session.getStartTime(),
+                session.getPlannedDuration(),
+                session.getActualDuration(),
+                session.getFocusScore(),
+                session.isCompleted(),
+                session.getBlockedApps(),
+                session.getBlockedWebsites(),
+                session.getViolations()
+        );
+    }
+
+    /**
+     * Gets the day the session started, from startTime or else the date field
+     *
+     * @return Start day, or LocalDate.EPOCH if the record has neither
+     */
+    public LocalDate getStartDate() {
+        if (startTime != null) {
+            return startTime.toLocalDate();
+        }
+        return date != null ? LocalDate.parse(date) : LocalDate.EPOCH;
+    }
+
+    /**
+     * Checks if this session counted towards the streak
+     *
+     * @return true if it meets the streak rules in FocusSession
+     */
+    public boolean qualifiesForStreak() {
+        return FocusSession.qualifiesForStreak(actualDuration, focusScore, completed);
+    }
+
+    /**
+     * Counts violations, including those merged into run-length records
+     *
+     * @return Total violation occurrences
+     */
+    public int getViolationCount() {
+        int count = 0;
+        if (violations != null) {
+            for (Violation violation : violations) {
+                count += violation.getOccurrences();
+            }
+        }
+        return count;
+    }
+
     // ===== GETTERS AND SETTERS =====
 
     public String getId() {
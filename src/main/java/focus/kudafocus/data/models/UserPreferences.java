@@ -1,5 +1,7 @@
 package focus.kudafocus.data.models;
 
+import focus.kudafocus.ui.UIConstants;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -26,6 +28,23 @@ public class UserPreferences {
      */
     private List<String> lastSelectedWebsites;
 
+    /**
+     * Whether the imported hosts blocklist (see BlocklistStore) is applied.
+     * The domains themselves live in their own file, not in this object.
+     */
+    private boolean importedBlocklistEnabled;
+
+    /**
+     * Seconds between snapshots of the active session (0 disables them)
+     */
+    private int checkpointIntervalSeconds;
+
+    /**
+     * Violations of the same app closer together than this are merged
+     * into one record (0 keeps every violation separate)
+     */
+    private int violationMergeGapSeconds;
+
     /**
      * App registry mapping app names to their metadata
      */
@@ -38,6 +57,8 @@ public class UserPreferences {
      */
     public UserPreferences() {
         this.defaultDuration = 1500;  // 25 minutes (Pomodoro)
+        this.checkpointIntervalSeconds = 10;
+        this.violationMergeGapSeconds = UIConstants.VIOLATION_MERGE_GAP_SECONDS;
         this.lastSelectedApps = new ArrayList<>();
         this.lastSelectedWebsites = new ArrayList<>();
         this.appRegistry = new HashMap<>();
@@ -96,6 +117,30 @@ public class UserPreferences {
         this.lastSelectedWebsites = lastSelectedWebsites;
     }
 
+    public boolean isImportedBlocklistEnabled() {
+        return importedBlocklistEnabled;
+    }
+
+    public void setImportedBlocklistEnabled(boolean importedBlocklistEnabled) {
+        this.importedBlocklistEnabled = importedBlocklistEnabled;
+    }
+
+    public int getCheckpointIntervalSeconds() {
+        return checkpointIntervalSeconds;
+    }
+
+    public void setCheckpointIntervalSeconds(int checkpointIntervalSeconds) {
+        this.checkpointIntervalSeconds = checkpointIntervalSeconds;
+    }
+
+    public int getViolationMergeGapSeconds() {
+        return violationMergeGapSeconds;
+    }
+
+    public void setViolationMergeGapSeconds(int violationMergeGapSeconds) {
+        this.violationMergeGapSeconds = violationMergeGapSeconds;
+    }
+
     public Map<String, AppEntry> getAppRegistry() {
         return appRegistry;
     }
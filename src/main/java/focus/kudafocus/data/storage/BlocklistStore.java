@@ -0,0 +1,198 @@
+package focus.kudafocus.data.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Persists an imported website blocklist as a memory-mapped DomainTable.
+ *
+ * Large hosts-format lists (hundreds of thousands of domains) are kept out
+ * of UserPreferences and FocusSession. They are imported once into
+ * ~/.kudafocus and mapped at startup; lookups read the mapped file
+ * directly, so the list costs almost no heap.
+ *
+ * Windows cannot replace or delete a file while it is memory-mapped, and a
+ * mapping lasts until it is garbage collected. So every import is written
+ * to a new file, blocklist-1.kfdt, blocklist-2.kfdt, ..., and the highest
+ * number is the current list. Older files are deleted when possible and
+ * otherwise at the next startup, before anything is mapped. Clearing
+ * writes an empty file as the newest version.
+ */
+public class BlocklistStore {
+
+    private static final String APP_DIR_NAME = ".kudafocus";
+
+    /**
+     * Matches blocklist-<n>.kfdt, the single-file name used before
+     * versioning (blocklist.kfdt, version 0) and leftover .tmp files
+     */
+    private static final Pattern BLOCKLIST_FILE = Pattern.compile("blocklist(?:-(\\d+))?\\.kfdt(\\.tmp)?");
+
+    private final Path directory;
+
+    public BlocklistStore() {
+        this(Paths.get(System.getProperty("user.home"), APP_DIR_NAME));
+    }
+
+    /*
+     * Package-private constructor for testing with a custom directory.
+     */
+    BlocklistStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Maps the imported blocklist. Meant to be called once at startup: it
+     * also deletes the files left behind by earlier imports.
+     *
+     * @return Imported table, or DomainTable.EMPTY if none was imported, it was cleared or it is unreadable
+     */
+    public DomainTable load() {
+        Path newest = newestFile();
+        if (newest == null) {
+            return DomainTable.EMPTY;
+        }
+        deleteAllExcept(newest);
+
+        try {
+            if (Files.size(newest) == 0) {
+                // Written by clear(); nothing maps it, so it can go now
+                Files.delete(newest);
+                return DomainTable.EMPTY;
+            }
+            return DomainTable.open(newest);
+        } catch (IOException e) {
+            System.err.println("Failed to load imported blocklist, ignoring it: " + e.getMessage());
+            return DomainTable.EMPTY;
+        }
+    }
+
+    /**
+     * Imports a hosts-format blocklist, replacing any previous import.
+     *
+     * @param reader Blocklist text
+     * @return The newly imported table
+     * @throws IOException if reading or writing fails
+     */
+    public DomainTable importHosts(Reader reader) throws IOException {
+        HostsBlocklistImporter importer = new HostsBlocklistImporter();
+        importer.addAll(reader);
+        return save(importer);
+    }
+
+    /**
+     * Writes the domains collected by an importer, replacing any previous import.
+     *
+     * The table is written to a temporary file and then moved to the next
+     * version's name, so a crash never leaves a half-written table behind
+     * and a table that is still mapped is never overwritten.
+     *
+     * @param importer Importer holding the parsed domains
+     * @return The newly imported table
+     * @throws IOException if writing fails
+     */
+    public DomainTable save(HostsBlocklistImporter importer) throws IOException {
+        Files.createDirectories(directory);
+        Path target = nextVersionFile();
+        Path tempPath = target.resolveSibling(target.getFileName() + ".tmp");
+
+        int count;
+        try (OutputStream out = Files.newOutputStream(tempPath)) {
+            count = importer.write(out);
+        }
+        Files.move(tempPath, target, StandardCopyOption.ATOMIC_MOVE);
+        DomainTable table = DomainTable.open(target);
+        deleteAllExcept(target);
+
+        System.out.println("[BlocklistStore] Imported " + count + " domains from "
+                + importer.getLinesRead() + " lines into " + target.getFileName());
+        return table;
+    }
+
+    /**
+     * Removes the imported blocklist
+     */
+    public void clear() {
+        try {
+            Files.createDirectories(directory);
+            Path marker = nextVersionFile();
+            Files.createFile(marker);
+            deleteAllExcept(marker);
+        } catch (IOException e) {
+            System.err.println("Failed to clear imported blocklist: " + e.getMessage());
+        }
+    }
+
+    // ===== VERSIONED FILES =====
+
+    /**
+     * @return The highest-numbered blocklist file, or null if there is none
+     */
+    private Path newestFile() {
+        Path newest = null;
+        long newestVersion = -1;
+        for (Path file : listBlocklistFiles()) {
+            Matcher matcher = BLOCKLIST_FILE.matcher(file.getFileName().toString());
+            if (matcher.matches() && matcher.group(2) == null && versionOf(matcher) > newestVersion) {
+                newest = file;
+                newestVersion = versionOf(matcher);
+            }
+        }
+        return newest;
+    }
+
+    private Path nextVersionFile() {
+        Path newest = newestFile();
+        long next = 1;
+        if (newest != null) {
+            Matcher matcher = BLOCKLIST_FILE.matcher(newest.getFileName().toString());
+            matcher.matches();
+            next = versionOf(matcher) + 1;
+        }
+        return directory.resolve("blocklist-" + next + ".kfdt");
+    }
+
+    private static long versionOf(Matcher matcher) {
+        return matcher.group(1) == null ? 0 : Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * Deletes every other blocklist file. A file that is still mapped
+     * (on Windows) cannot be deleted yet; the next load() retries it.
+     */
+    private void deleteAllExcept(Path keep) {
+        for (Path file : listBlocklistFiles()) {
+            if (!file.equals(keep)) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    System.out.println("[BlocklistStore] Deferring deletion of " + file.getFileName());
+                }
+            }
+        }
+    }
+
+    private List<Path> listBlocklistFiles() {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (Stream<Path> entries = Files.list(directory)) {
+            entries.filter(file -> BLOCKLIST_FILE.matcher(file.getFileName().toString()).matches())
+                    .forEach(files::add);
+        } catch (IOException e) {
+            System.err.println("Failed to list blocklist files: " + e.getMessage());
+        }
+        return files;
+    }
+}
@@ -0,0 +1,463 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.core.Violation;
+import focus.kudafocus.data.models.DailyRollup;
+import focus.kudafocus.data.models.SessionRecord;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Materialized per-day totals (~/.kudafocus/rollups.bin).
+ *
+ * Each finished session adds its focus time, violation count and
+ * per-app distraction time to the rollup for its day. The update is a
+ * hash lookup plus one small record appended to the file, so it costs the
+ * same no matter how much history exists. Statistics and the streak are
+ * then read from the rollups instead of replaying sessions.
+ *
+ * File format (big-endian, after the "KFDR" magic and version):
+ *   APP record:  byte 1, int appId, short length, UTF-8 name
+ *   DAY record:  byte 2, int epochDay, int focusSeconds, int sessions,
+ *                byte qualifying, int violations, short appCount,
+ *                appCount x (int appId, int seconds)
+ * App names are written once and referenced by id. DAY records are
+ * deltas and are added together on load. When the file holds many more
+ * records than days, load() rewrites it with one record per day.
+ *
+ * The rollups can be rebuilt from the session journal, so appends are
+ * not fsynced. The DAY records' session counts add up to the number of
+ * sessions covered; rebuildIfStale() compares that with the journal.
+ */
+public class DailyRollupStore {
+
+    private static final String APP_DIR_NAME = ".kudafocus";
+    private static final String ROLLUP_FILE_NAME = "rollups.bin";
+
+    /**
+     * File magic: "KFDR"
+     */
+    private static final int MAGIC = 0x4B464452;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final byte APP_RECORD = 1;
+    private static final byte DAY_RECORD = 2;
+
+    /**
+     * Compact on load once the file has this many records per day
+     */
+    private static final int COMPACT_RATIO = 2;
+
+    private final Path rollupPath;
+
+    private final Map<Long, DailyRollup> days = new HashMap<>();
+    private final List<String> appNames = new ArrayList<>();
+    private final Map<String, Integer> appIds = new HashMap<>();
+    private LocalDate lastQualifyingDate;
+
+    /**
+     * Sessions summed over all DAY records, compared with the journal to
+     * spot rollups that missed a session
+     */
+    private int sessionCount;
+
+    public DailyRollupStore() {
+        this(Paths.get(System.getProperty("user.home"), APP_DIR_NAME).resolve(ROLLUP_FILE_NAME));
+    }
+
+    /*
+     * Package-private constructor for testing with a custom file.
+     */
+    DailyRollupStore(Path rollupPath) {
+        this.rollupPath = rollupPath;
+    }
+
+    /**
+     * Checks whether rollups have been written
+     *
+     * @return true if the rollup file exists
+     */
+    public boolean exists() {
+        return Files.exists(rollupPath);
+    }
+
+    // ===== LOADING =====
+
+    /**
+     * Reads the rollup file. A cut-off last record (from a crash) is dropped.
+     *
+     * A file with a bad magic or version is moved aside (to rollups.bin.bad)
+     * so the next record() starts a fresh file; the caller should then
+     * rebuild from the journal.
+     *
+     * @return false if the file was unreadable and has been moved aside
+     */
+    public synchronized boolean load() {
+        clearMemory();
+        if (!exists()) {
+            return true;
+        }
+
+        int records = 0;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(rollupPath));
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                System.err.println("Moving aside unreadable rollup file " + rollupPath.getFileName());
+                Files.move(rollupPath, rollupPath.resolveSibling(ROLLUP_FILE_NAME + ".bad"),
+                        StandardCopyOption.REPLACE_EXISTING);
+                return false;
+            }
+
+            int goodEnd = buffer.position();
+            try {
+                while (buffer.hasRemaining()) {
+                    readRecord(buffer);
+                    records++;
+                    goodEnd = buffer.position();
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                System.err.println("[DailyRollupStore] Dropping incomplete record at byte " + goodEnd);
+                try (FileChannel channel = FileChannel.open(rollupPath, StandardOpenOption.WRITE)) {
+                    channel.truncate(goodEnd);
+                }
+            }
+
+            if (records > COMPACT_RATIO * days.size() + appNames.size()) {
+                compact();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to load daily rollups: " + e.getMessage());
+        }
+        return true;
+    }
+
+    private void readRecord(ByteBuffer buffer) {
+        byte type = buffer.get();
+        if (type == APP_RECORD) {
+            int id = buffer.getInt();
+            byte[] utf8 = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(utf8);
+            if (id != appNames.size()) {
+                throw new IllegalArgumentException("Unexpected app id " + id);
+            }
+            registerApp(new String(utf8, StandardCharsets.UTF_8));
+        } else if (type == DAY_RECORD) {
+            LocalDate date = LocalDate.ofEpochDay(buffer.getInt());
+            int focusSeconds = buffer.getInt();
+            int sessions = buffer.getInt();
+            boolean qualifying = buffer.get() != 0;
+            int violations = buffer.getInt();
+            int appCount = buffer.getShort() & 0xFFFF;
+
+            int[] apps = new int[appCount];
+            int[] seconds = new int[appCount];
+            for (int i = 0; i < appCount; i++) {
+                apps[i] = buffer.getInt();
+                seconds[i] = buffer.getInt();
+                if (apps[i] < 0 || apps[i] >= appNames.size()) {
+                    throw new IllegalArgumentException("Unknown app id " + apps[i]);
+                }
+            }
+
+            // Apply only after the whole record was read
+            DailyRollup day = dayFor(date);
+            day.add(focusSeconds, sessions, qualifying, violations);
+            sessionCount += sessions;
+            for (int i = 0; i < appCount; i++) {
+                day.addDistraction(appNames.get(apps[i]), seconds[i]);
+            }
+            noteQualifying(day);
+        } else {
+            throw new IllegalArgumentException("Unknown record type " + type);
+        }
+    }
+
+    // ===== UPDATING =====
+
+    /**
+     * Adds a finished session to its day and appends the change to disk
+     *
+     * @param record Finished session
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void record(SessionRecord record) throws IOException {
+        boolean qualifying = record.qualifiesForStreak();
+        Map<String, Integer> appSeconds = appSecondsOf(record);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        if (!exists()) {
+            writeHeader(out);
+        }
+        int knownApps = appNames.size();
+        for (String app : appSeconds.keySet()) {
+            if (!appIds.containsKey(app)) {
+                writeAppRecord(out, registerApp(app), app);
+            }
+        }
+        writeDayRecord(out, record.getStartDate(), record.getActualDuration(), 1, qualifying,
+                record.getViolationCount(), appSeconds);
+
+        try {
+            Files.createDirectories(rollupPath.getParent());
+            Files.write(rollupPath, bytes.toByteArray(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            // Forget apps whose names never reached the file
+            while (appNames.size() > knownApps) {
+                appIds.remove(appNames.remove(appNames.size() - 1));
+            }
+            throw e;
+        }
+
+        // Only now that the record is on disk does the day exist in memory
+        apply(dayFor(record.getStartDate()), record, appSeconds);
+    }
+
+    /**
+     * Loads the rollups and rebuilds them from a journal if they are
+     * missing, unreadable, or cover a different number of sessions (for
+     * example when the app quit between the journal append and the
+     * rollup append)
+     *
+     * @param journal Source journal
+     * @return true if the rollups were rebuilt
+     * @throws IOException if reading the journal or rebuilding fails
+     */
+    public synchronized boolean rebuildIfStale(SessionJournal journal) throws IOException {
+        if (exists() && load() && exists() && sessionCount == journal.getSessionCount()) {
+            return false;
+        }
+        rebuild(journal);
+        return true;
+    }
+
+    /**
+     * Replaces the rollups with totals computed from a journal
+     *
+     * @param journal Source journal
+     * @throws IOException if reading or writing fails
+     */
+    public synchronized void rebuild(SessionJournal journal) throws IOException {
+        clearMemory();
+        // Sum in memory, then write the file once
+        journal.forEach(record -> {
+            Map<String, Integer> appSeconds = appSecondsOf(record);
+            for (String app : appSeconds.keySet()) {
+                if (!appIds.containsKey(app)) {
+                    registerApp(app);
+                }
+            }
+            apply(dayFor(record.getStartDate()), record, appSeconds);
+        });
+        compact();
+        System.out.println("[DailyRollupStore] Rebuilt rollups for " + days.size() + " days");
+    }
+
+    /**
+     * Rewrites the file with one record per day
+     */
+    private void compact() throws IOException {
+        Files.createDirectories(rollupPath.getParent());
+        Path tempPath = rollupPath.resolveSibling(ROLLUP_FILE_NAME + ".tmp");
+        try (OutputStream file = Files.newOutputStream(tempPath);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            writeHeader(out);
+            for (int id = 0; id < appNames.size(); id++) {
+                writeAppRecord(out, id, appNames.get(id));
+            }
+            for (DailyRollup day : new TreeMap<>(days).values()) {
+                writeDayRecord(out, day.getDate(), day.getFocusSeconds(), day.getSessionCount(),
+                        day.isQualifying(), day.getViolationCount(), day.getAppDistractionSeconds());
+            }
+        }
+        Files.move(tempPath, rollupPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ===== QUERIES =====
+
+    /**
+     * Gets the rollup for a day
+     *
+     * @param date Day
+     * @return Rollup, or null if no session finished that day
+     */
+    public synchronized DailyRollup getDay(LocalDate date) {
+        return days.get(date.toEpochDay());
+    }
+
+    /**
+     * Gets focus seconds for each day in a range
+     *
+     * @param from First day (inclusive)
+     * @param to Last day (inclusive)
+     * @return One entry per day, 0 for days without sessions
+     */
+    public synchronized int[] focusSecondsByDay(LocalDate from, LocalDate to) {
+        int count = (int) Math.max(0, to.toEpochDay() - from.toEpochDay() + 1);
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            DailyRollup day = days.get(from.toEpochDay() + i);
+            result[i] = day != null ? day.getFocusSeconds() : 0;
+        }
+        return result;
+    }
+
+    /**
+     * Sums distraction seconds per app over a range of days
+     *
+     * @param from First day (inclusive)
+     * @param to Last day (inclusive)
+     * @return App name to total seconds
+     */
+    public synchronized Map<String, Long> distractionSecondsByApp(LocalDate from, LocalDate to) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (long epochDay = from.toEpochDay(); epochDay <= to.toEpochDay(); epochDay++) {
+            DailyRollup day = days.get(epochDay);
+            if (day != null) {
+                day.getAppDistractionSeconds().forEach((app, seconds) -> totals.merge(app, (long) seconds, Long::sum));
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Gets the most recent day with a qualifying session
+     *
+     * @return Day, or null if none
+     */
+    public synchronized LocalDate getLastQualifyingDate() {
+        return lastQualifyingDate;
+    }
+
+    /**
+     * Counts consecutive qualifying days ending at a day
+     *
+     * @param lastDay Last day of the run
+     * @return Length of the run (0 if lastDay did not qualify)
+     */
+    public synchronized int getStreakEndingAt(LocalDate lastDay) {
+        int streak = 0;
+        long epochDay = lastDay.toEpochDay();
+        DailyRollup day;
+        while ((day = days.get(epochDay)) != null && day.isQualifying()) {
+            streak++;
+            epochDay--;
+        }
+        return streak;
+    }
+
+    /**
+     * Gets the number of sessions the rollups cover
+     *
+     * @return Session count
+     */
+    public synchronized int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Gets the number of days with at least one session
+     *
+     * @return Day count
+     */
+    public synchronized int getDayCount() {
+        return days.size();
+    }
+
+    // ===== HELPERS =====
+
+    private DailyRollup dayFor(LocalDate date) {
+        return days.computeIfAbsent(date.toEpochDay(), epochDay -> new DailyRollup(date));
+    }
+
+    /**
+     * Sums a session's distraction seconds per app, so each app appears
+     * once in its DAY record
+     */
+    private static Map<String, Integer> appSecondsOf(SessionRecord record) {
+        List<Violation> violations = record.getViolations() != null ? record.getViolations() : List.of();
+        Map<String, Integer> appSeconds = new LinkedHashMap<>();
+        for (Violation violation : violations) {
+            String app = violation.getAppName() != null ? violation.getAppName() : "";
+            appSeconds.merge(app, violation.getDurationSeconds(), Integer::sum);
+        }
+        return appSeconds;
+    }
+
+    private void apply(DailyRollup day, SessionRecord record, Map<String, Integer> appSeconds) {
+        day.add(record.getActualDuration(), 1, record.qualifiesForStreak(), record.getViolationCount());
+        sessionCount++;
+        appSeconds.forEach(day::addDistraction);
+        noteQualifying(day);
+    }
+
+    private void noteQualifying(DailyRollup day) {
+        if (day.isQualifying() && (lastQualifyingDate == null || day.getDate().isAfter(lastQualifyingDate))) {
+            lastQualifyingDate = day.getDate();
+        }
+    }
+
+    private int registerApp(String app) {
+        int id = appNames.size();
+        appNames.add(app);
+        appIds.put(app, id);
+        return id;
+    }
+
+    private void clearMemory() {
+        days.clear();
+        appNames.clear();
+        appIds.clear();
+        lastQualifyingDate = null;
+        sessionCount = 0;
+    }
+
+    private static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+    }
+
+    private static void writeAppRecord(DataOutputStream out, int id, String app) throws IOException {
+        byte[] utf8 = app.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(APP_RECORD);
+        out.writeInt(id);
+        out.writeShort(utf8.length);
+        out.write(utf8);
+    }
+
+    private void writeDayRecord(DataOutputStream out, LocalDate date, int focusSeconds, int sessions,
+                                boolean qualifying, int violations, Map<String, Integer> appSeconds)
+            throws IOException {
+        out.writeByte(DAY_RECORD);
+        out.writeInt((int) date.toEpochDay());
+        out.writeInt(focusSeconds);
+        out.writeInt(sessions);
+        out.writeByte(qualifying ? 1 : 0);
+        out.writeInt(violations);
+        out.writeShort(appSeconds.size());
+        for (Map.Entry<String, Integer> entry : appSeconds.entrySet()) {
+            out.writeInt(appIds.get(entry.getKey()));
+            out.writeInt(entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,511 @@
+package focus.kudafocus.data.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Read-only table of blocked domains, stored in a compact binary file that
+ * is memory-mapped instead of loaded onto the heap.
+ *
+ * Each domain is stored with its labels reversed ("m.youtube.com" becomes
+ * "com.youtube.m") so that related domains sort next to each other. The
+ * sorted keys are front-coded: every key only stores the bytes that differ
+ * from the key before it. Every BLOCK_SIZE-th key is stored in full and
+ * its offset is kept in a small index, so a lookup is a binary search over
+ * the block index plus a short scan of one block, all read straight from
+ * the mapped file.
+ *
+ * A domain in the table blocks itself and all of its subdomains, the same
+ * as a plain rule in DomainTrie.
+ *
+ * File layout (big-endian):
+ *   int    magic ("KFDT")
+ *   int    format version
+ *   int    number of domains
+ *   int    keys per block
+ *   int    number of blocks
+ *   int    length of the longest key
+ *   int[]  byte offset of each block, relative to the start of the data
+ *   byte[] data: per key, varint(shared prefix length), varint(suffix
+ *          length), suffix bytes (shared length is 0 for the first key of
+ *          each block)
+ */
+public final class DomainTable {
+
+    /**
+     * File magic: "KFDT"
+     */
+    private static final int MAGIC = 0x4B464454;
+
+    /**
+     * Current file format version
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Number of keys per front-coded block
+     */
+    static final int BLOCK_SIZE = 16;
+
+    /**
+     * Size of the fixed header in bytes
+     */
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+    /**
+     * Table with no domains
+     */
+    public static final DomainTable EMPTY = new DomainTable(null, 0, 0, 0, 0, 0);
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int blockCount;
+    private final int maxKeyLength;
+    private final int indexStart;
+    private final int dataStart;
+
+    private DomainTable(ByteBuffer buffer, int size, int blockCount, int maxKeyLength,
+                        int indexStart, int dataStart) {
+        this.buffer = buffer;
+        this.size = size;
+        this.blockCount = blockCount;
+        this.maxKeyLength = maxKeyLength;
+        this.indexStart = indexStart;
+        this.dataStart = dataStart;
+    }
+
+    // ===== OPENING =====
+
+    /**
+     * Memory-maps a table file. Only the header is read up front.
+     *
+     * @param file Table file written by write()
+     * @return Opened table
+     * @throws IOException if the file cannot be read or is not a valid table
+     */
+    public static DomainTable open(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return fromBuffer(mapped);
+    }
+
+    /*
+     * Package-private for tests: reads a table from any buffer.
+     */
+    static DomainTable fromBuffer(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a domain table file");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported domain table version " + buffer.getInt(4));
+        }
+        int size = buffer.getInt(8);
+        int blockSize = buffer.getInt(12);
+        int blockCount = buffer.getInt(16);
+        int maxKeyLength = buffer.getInt(20);
+        if (size < 0 || blockSize != BLOCK_SIZE || blockCount != (size + BLOCK_SIZE - 1) / BLOCK_SIZE
+                || maxKeyLength < 0) {
+            throw new IOException("Corrupt domain table header");
+        }
+
+        int indexStart = HEADER_BYTES;
+        long dataStart = indexStart + (long) blockCount * Integer.BYTES;
+        if (dataStart > buffer.capacity()) {
+            throw new IOException("Truncated domain table");
+        }
+        if (blockCount > 0) {
+            int lastOffset = buffer.getInt(indexStart + (blockCount - 1) * Integer.BYTES);
+            if (lastOffset < 0 || dataStart + lastOffset >= buffer.capacity()) {
+                throw new IOException("Truncated domain table");
+            }
+        }
+        return new DomainTable(buffer, size, blockCount, maxKeyLength, indexStart, (int) dataStart);
+    }
+
+    // ===== WRITING =====
+
+    /**
+     * Writes a table file from keys that are already sorted and unique.
+     * Keys must be reversed-label domains (see toKey).
+     *
+     * @param sortedKeys Sorted, de-duplicated keys
+     * @param out Destination stream
+     * @throws IOException if writing fails
+     */
+    static void write(Iterable<String> sortedKeys, OutputStream out) throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        IntList offsets = new IntList();
+        byte[] previous = new byte[0];
+        int count = 0;
+        int maxKeyLength = 0;
+
+        for (String key : sortedKeys) {
+            byte[] bytes = key.getBytes(StandardCharsets.US_ASCII);
+            int shared = 0;
+            if (count % BLOCK_SIZE == 0) {
+                offsets.add(data.size());
+            } else {
+                int limit = Math.min(previous.length, bytes.length);
+                while (shared < limit && previous[shared] == bytes[shared]) {
+                    shared++;
+                }
+            }
+            writeVarint(data, shared);
+            writeVarint(data, bytes.length - shared);
+            data.write(bytes, shared, bytes.length - shared);
+
+            maxKeyLength = Math.max(maxKeyLength, bytes.length);
+            previous = bytes;
+            count++;
+        }
+
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeInt(FORMAT_VERSION);
+        header.writeInt(count);
+        header.writeInt(BLOCK_SIZE);
+        header.writeInt(offsets.size());
+        header.writeInt(maxKeyLength);
+        for (int i = 0; i < offsets.size(); i++) {
+            header.writeInt(offsets.get(i));
+        }
+        header.flush();
+        data.writeTo(out);
+        out.flush();
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Minimal growable int array (avoids boxing every block offset)
+     */
+    private static final class IntList {
+        private int[] values = new int[64];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                int[] larger = new int[size * 2];
+                System.arraycopy(values, 0, larger, 0, size);
+                values = larger;
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    // ===== LOOKUP =====
+
+    /**
+     * Finds the blocked domain that covers a host.
+     *
+     * @param host Host name, e.g. "m.youtube.com"
+     * @return The blocked domain (the host itself or a parent), or null
+     */
+    public String match(String host) {
+        if (size == 0 || host == null) {
+            return null;
+        }
+
+        // Find the domain inside the host by offsets (the same trimming as
+        // normalizeDomain) instead of copying it into a new string
+        int from = 0;
+        int to = host.length();
+        while (from < to && host.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && host.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        while (from < to && host.charAt(from) == '.') {
+            from++;
+        }
+        while (to > from && host.charAt(to - 1) == '.') {
+            to--;
+        }
+        if (!isAsciiDomain(host, from, to)) {
+            // Invalid, or non-ASCII case mapping: let normalizeDomain decide
+            String normalized = normalizeDomain(host);
+            return normalized != null ? match(normalized) : null;
+        }
+
+        // Build the reversed key one label at a time and look up each
+        // prefix: "com", "com.youtube", "com.youtube.m"
+        byte[] key = new byte[to - from];
+        byte[] scratch = new byte[Math.max(maxKeyLength, 1)];
+        int keyLength = 0;
+        int end = to;
+        while (end > from) {
+            int start = host.lastIndexOf('.', end - 1) + 1;
+            if (start < from) {
+                start = from;
+            }
+            if (keyLength > 0) {
+                key[keyLength++] = '.';
+            }
+            for (int i = start; i < end; i++) {
+                key[keyLength++] = (byte) toLowerAscii(host.charAt(i));
+            }
+            if (keyLength > maxKeyLength) {
+                return null;  // Longer than anything stored
+            }
+            if (containsKey(key, keyLength, scratch)) {
+                return host.substring(start, to).toLowerCase(Locale.ROOT);
+            }
+            end = start - 1;
+        }
+        return null;
+    }
+
+    /**
+     * Checks host[from, to) the way normalizeDomain does (ASCII letters,
+     * digits, '-', '_', no empty labels, at least two labels) without
+     * copying it
+     */
+    private static boolean isAsciiDomain(String host, int from, int to) {
+        boolean hasDot = false;
+        for (int i = from; i < to; i++) {
+            char c = toLowerAscii(host.charAt(i));
+            if (c == '.') {
+                if (host.charAt(i - 1) == '.') {
+                    return false;  // Empty label
+                }
+                hasDot = true;
+            } else if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9') && c != '-' && c != '_') {
+                return false;
+            }
+        }
+        return hasDot;
+    }
+
+    private static char toLowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * Checks whether a host, or any parent domain of it, is in the table
+     *
+     * @param host Host name
+     * @return true if blocked
+     */
+    public boolean isBlocked(String host) {
+        return match(host) != null;
+    }
+
+    /**
+     * Exact lookup of one reversed-label key
+     */
+    private boolean containsKey(byte[] key, int keyLength, byte[] scratch) {
+        // Binary search for the last block whose first key is <= key
+        int low = 0;
+        int high = blockCount - 1;
+        int block = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareFirstKey(mid, key, keyLength);
+            if (cmp == 0) {
+                return true;
+            }
+            if (cmp < 0) {
+                block = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (block < 0) {
+            return false;
+        }
+
+        // Decode the block's keys in order until one is >= key
+        int position = dataStart + blockOffset(block);
+        int remaining = Math.min(BLOCK_SIZE, size - block * BLOCK_SIZE);
+        int scratchLength = 0;
+        for (int i = 0; i < remaining; i++) {
+            int shared = readVarint(position);
+            position += varintLength(shared);
+            int suffix = readVarint(position);
+            position += varintLength(suffix);
+            if (shared + suffix > scratch.length) {
+                return false;  // Corrupt entry
+            }
+            for (int j = 0; j < suffix; j++) {
+                scratch[shared + j] = buffer.get(position + j);
+            }
+            position += suffix;
+            scratchLength = shared + suffix;
+
+            int cmp = compare(scratch, scratchLength, key, keyLength);
+            if (cmp == 0) {
+                return true;
+            }
+            if (cmp > 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares the first (fully stored) key of a block with the search key
+     */
+    private int compareFirstKey(int block, byte[] key, int keyLength) {
+        int position = dataStart + blockOffset(block);
+        position += varintLength(readVarint(position));  // Shared length (always 0)
+        int length = readVarint(position);
+        position += varintLength(length);
+
+        int limit = Math.min(length, keyLength);
+        for (int i = 0; i < limit; i++) {
+            int diff = (buffer.get(position + i) & 0xFF) - (key[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - keyLength;
+    }
+
+    private int blockOffset(int block) {
+        return buffer.getInt(indexStart + block * Integer.BYTES);
+    }
+
+    private int readVarint(int position) {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get(position++);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+
+    private static int varintLength(int value) {
+        int length = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    private static int compare(byte[] a, int aLength, byte[] b, int bLength) {
+        int limit = Math.min(aLength, bLength);
+        for (int i = 0; i < limit; i++) {
+            int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return aLength - bLength;
+    }
+
+    // ===== KEYS =====
+
+    /**
+     * Normalizes a domain: lower-case, no leading/trailing dots, ASCII
+     * letters, digits, '-', '_' and '.' only, at least two labels.
+     *
+     * @param domain Raw domain
+     * @return Normalized domain, or null if it is not a usable domain
+     */
+    public static String normalizeDomain(String domain) {
+        String normalized = domain.trim().toLowerCase(Locale.ROOT);
+        int start = 0;
+        int end = normalized.length();
+        while (start < end && normalized.charAt(start) == '.') {
+            start++;
+        }
+        while (end > start && normalized.charAt(end - 1) == '.') {
+            end--;
+        }
+        normalized = normalized.substring(start, end);
+
+        boolean hasDot = false;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c == '.') {
+                if (i > 0 && normalized.charAt(i - 1) == '.') {
+                    return null;  // Empty label
+                }
+                hasDot = true;
+            } else if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9') && c != '-' && c != '_') {
+                return null;
+            }
+        }
+        return hasDot ? normalized : null;
+    }
+
+    /**
+     * Converts a normalized domain into its reversed-label key
+     * ("m.youtube.com" becomes "com.youtube.m").
+     *
+     * @param domain Normalized domain
+     * @return Reversed-label key
+     */
+    static String toKey(String domain) {
+        StringBuilder key = new StringBuilder(domain.length());
+        int end = domain.length();
+        while (end > 0) {
+            int start = domain.lastIndexOf('.', end - 1) + 1;
+            if (key.length() > 0) {
+                key.append('.');
+            }
+            key.append(domain, start, end);
+            end = start - 1;
+        }
+        return key.toString();
+    }
+
+    // ===== GETTERS =====
+
+    /**
+     * Gets the number of domains in the table
+     *
+     * @return Domain count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the table has no domains
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "DomainTable{domains=" + size + ", blocks=" + blockCount + "}";
+    }
+}
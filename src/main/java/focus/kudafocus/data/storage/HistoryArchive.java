@@ -0,0 +1,416 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.core.Violation;
+import focus.kudafocus.data.models.SessionRecord;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar copy of the session history for fast analytics
+ * (~/.kudafocus/archive/).
+ *
+ * The session journal stores whole records, so every statistic has to
+ * parse every session and its violations. The archive stores each field
+ * in its own file instead, as a plain array of big-endian ints:
+ *
+ *   Per session:    start_day (epoch day), start_second, planned_duration,
+ *                   actual_duration, focus_score, completed (0/1),
+ *                   violation_count
+ *   Per violation:  violation_session (session row), violation_app
+ *                   (dictionary id), violation_duration, violation_dismissals
+ *
+ * App names are dictionary-encoded in apps.dict, so each violation row
+ * stores a small int rather than a string. A query maps only the column
+ * files it needs (see HistoryArchiveReader).
+ *
+ * The archive.meta file holds the row counts and is replaced atomically
+ * (fsynced temp file, atomic rename, fsynced directory) after the column
+ * files have been appended and fsynced. Readers ignore column bytes beyond those counts, so
+ * a crash mid-append leaves the previous archive intact; the next append
+ * truncates the leftovers first.
+ *
+ * The journal stays the source of truth; the archive can be rebuilt
+ * from it at any time.
+ */
+public class HistoryArchive {
+
+    private static final String APP_DIR_NAME = ".kudafocus";
+    private static final String ARCHIVE_DIR_NAME = "archive";
+    static final String META_FILE_NAME = "archive.meta";
+    static final String DICTIONARY_FILE_NAME = "apps.dict";
+
+    /**
+     * Meta file magic: "KFCA"
+     */
+    private static final int MAGIC = 0x4B464341;
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * One int column file per field
+     */
+    public enum Column {
+        START_DAY("start_day", false),
+        START_SECOND("start_second", false),
+        PLANNED_DURATION("planned_duration", false),
+        ACTUAL_DURATION("actual_duration", false),
+        FOCUS_SCORE("focus_score", false),
+        COMPLETED("completed", false),
+        VIOLATION_COUNT("violation_count", false),
+        VIOLATION_SESSION("violation_session", true),
+        VIOLATION_APP("violation_app", true),
+        VIOLATION_DURATION("violation_duration", true),
+        VIOLATION_DISMISSALS("violation_dismissals", true);
+
+        private final String fileName;
+        private final boolean perViolation;
+
+        Column(String name, boolean perViolation) {
+            this.fileName = name + ".col";
+            this.perViolation = perViolation;
+        }
+
+        String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * @return true if this column has one row per violation rather than per session
+         */
+        public boolean isPerViolation() {
+            return perViolation;
+        }
+    }
+
+    /**
+     * Row counts and dictionary size, as stored in archive.meta
+     */
+    static final class Meta {
+        static final Meta EMPTY = new Meta(0, 0, 0, 0);
+
+        final int sessionRows;
+        final int violationRows;
+        final int dictionaryEntries;
+        final long dictionaryBytes;
+
+        Meta(int sessionRows, int violationRows, int dictionaryEntries, long dictionaryBytes) {
+            this.sessionRows = sessionRows;
+            this.violationRows = violationRows;
+            this.dictionaryEntries = dictionaryEntries;
+            this.dictionaryBytes = dictionaryBytes;
+        }
+
+        int rows(Column column) {
+            return column.isPerViolation() ? violationRows : sessionRows;
+        }
+    }
+
+    private final Path archiveDir;
+
+    /**
+     * App dictionary, loaded on the first append
+     */
+    private List<String> dictionary;
+    private Map<String, Integer> dictionaryIds;
+
+    public HistoryArchive() {
+        this(Paths.get(System.getProperty("user.home"), APP_DIR_NAME, ARCHIVE_DIR_NAME));
+    }
+
+    /*
+     * Package-private constructor for testing with a custom directory.
+     */
+    HistoryArchive(Path archiveDir) {
+        this.archiveDir = archiveDir;
+    }
+
+    /**
+     * Checks whether an archive has been written
+     *
+     * @return true if the meta file exists
+     */
+    public boolean exists() {
+        return Files.exists(archiveDir.resolve(META_FILE_NAME));
+    }
+
+    /**
+     * Opens a read-only view of the archive as it is now. Later appends
+     * are not visible to the returned reader.
+     *
+     * @return Reader over the current rows
+     * @throws IOException if the archive is unreadable
+     */
+    public HistoryArchiveReader openReader() throws IOException {
+        return new HistoryArchiveReader(archiveDir, readMeta(archiveDir));
+    }
+
+    // ===== WRITING =====
+
+    /**
+     * Appends sessions to every column
+     *
+     * @param records Finished sessions, oldest first
+     * @throws IOException if writing fails
+     */
+    public synchronized void append(List<SessionRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(archiveDir);
+        Meta meta = readMeta(archiveDir);
+        loadDictionary(meta);
+
+        int violationTotal = 0;
+        for (SessionRecord record : records) {
+            violationTotal += violationsOf(record).size();
+        }
+
+        // Encode the new rows column by column
+        Map<Column, ByteBuffer> rows = new EnumMap<>(Column.class);
+        for (Column column : Column.values()) {
+            int count = column.isPerViolation() ? violationTotal : records.size();
+            rows.put(column, ByteBuffer.allocate(count * Integer.BYTES));
+        }
+        ByteBuffer newDictionaryEntries = ByteBuffer.allocate(0);
+        int dictionaryBefore = dictionary.size();
+
+        int sessionRow = meta.sessionRows;
+        for (SessionRecord record : records) {
+            List<Violation> violations = violationsOf(record);
+            LocalDateTime start = record.getStartTime();
+
+            rows.get(Column.START_DAY).putInt((int) record.getStartDate().toEpochDay());
+            rows.get(Column.START_SECOND).putInt(start != null ? start.toLocalTime().toSecondOfDay() : 0);
+            rows.get(Column.PLANNED_DURATION).putInt(record.getPlannedDuration());
+            rows.get(Column.ACTUAL_DURATION).putInt(record.getActualDuration());
+            rows.get(Column.FOCUS_SCORE).putInt(record.getFocusScore());
+            rows.get(Column.COMPLETED).putInt(record.isCompleted() ? 1 : 0);
+            rows.get(Column.VIOLATION_COUNT).putInt(record.getViolationCount());
+
+            for (Violation violation : violations) {
+                rows.get(Column.VIOLATION_SESSION).putInt(sessionRow);
+                rows.get(Column.VIOLATION_APP).putInt(dictionaryId(violation.getAppName()));
+                rows.get(Column.VIOLATION_DURATION).putInt(violation.getDurationSeconds());
+                rows.get(Column.VIOLATION_DISMISSALS).putInt(violation.getDismissCount());
+            }
+            sessionRow++;
+        }
+
+        // New dictionary entries: length-prefixed UTF-8
+        if (dictionary.size() > dictionaryBefore) {
+            List<byte[]> encoded = new ArrayList<>();
+            int bytes = 0;
+            for (String name : dictionary.subList(dictionaryBefore, dictionary.size())) {
+                byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+                encoded.add(utf8);
+                bytes += Integer.BYTES + utf8.length;
+            }
+            newDictionaryEntries = ByteBuffer.allocate(bytes);
+            for (byte[] utf8 : encoded) {
+                newDictionaryEntries.putInt(utf8.length).put(utf8);
+            }
+        }
+
+        // Append to each file after dropping leftovers from an interrupted append
+        boolean created = false;
+        for (Column column : Column.values()) {
+            created |= appendAt(archiveDir.resolve(column.getFileName()),
+                    (long) meta.rows(column) * Integer.BYTES, rows.get(column));
+        }
+        created |= appendAt(archiveDir.resolve(DICTIONARY_FILE_NAME), meta.dictionaryBytes, newDictionaryEntries);
+        if (created) {
+            // New files must be reachable before the meta file points at them
+            forceDirectory(archiveDir);
+        }
+
+        // Commit point: publish the new row counts
+        writeMeta(new Meta(
+                meta.sessionRows + records.size(),
+                meta.violationRows + violationTotal,
+                dictionary.size(),
+                meta.dictionaryBytes + newDictionaryEntries.capacity()));
+    }
+
+    /**
+     * Replaces the archive with the sessions in a journal
+     *
+     * @param journal Source journal
+     * @return Number of sessions archived
+     * @throws IOException if reading or writing fails
+     */
+    public synchronized int rebuild(SessionJournal journal) throws IOException {
+        List<SessionRecord> records = journal.readHistory().getSessions();
+        Files.deleteIfExists(archiveDir.resolve(META_FILE_NAME));
+        dictionary = null;
+        dictionaryIds = null;
+        append(records);
+        System.out.println("[HistoryArchive] Rebuilt archive with " + records.size() + " sessions");
+        return records.size();
+    }
+
+    /**
+     * Rebuilds the archive from a journal if it is missing, unreadable, or
+     * holds a different number of sessions (for example when the app quit
+     * between the journal append and the archive append)
+     *
+     * @param journal Source journal
+     * @return true if the archive was rebuilt
+     * @throws IOException if reading the journal or rebuilding fails
+     */
+    public synchronized boolean rebuildIfStale(SessionJournal journal) throws IOException {
+        int archivedSessions = -1;
+        if (exists()) {
+            try {
+                archivedSessions = readMeta(archiveDir).sessionRows;
+            } catch (IOException e) {
+                System.err.println("[HistoryArchive] Unreadable archive, rebuilding: " + e.getMessage());
+            }
+        }
+        if (archivedSessions == journal.getSessionCount()) {
+            return false;
+        }
+        rebuild(journal);
+        return true;
+    }
+
+    private static List<Violation> violationsOf(SessionRecord record) {
+        return record.getViolations() != null ? record.getViolations() : List.of();
+    }
+
+    private int dictionaryId(String appName) {
+        String name = appName != null ? appName : "";
+        Integer id = dictionaryIds.get(name);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.add(name);
+            dictionaryIds.put(name, id);
+        }
+        return id;
+    }
+
+    private void loadDictionary(Meta meta) throws IOException {
+        if (dictionary != null && dictionary.size() == meta.dictionaryEntries) {
+            return;
+        }
+        dictionary = new ArrayList<>(List.of(readDictionary(archiveDir, meta)));
+        dictionaryIds = new HashMap<>();
+        for (int i = 0; i < dictionary.size(); i++) {
+            dictionaryIds.put(dictionary.get(i), i);
+        }
+    }
+
+    /**
+     * Writes data at the committed end of a file and forces it (with its
+     * new length) to disk
+     *
+     * @return true if the file did not exist before
+     */
+    private static boolean appendAt(Path file, long committedBytes, ByteBuffer data) throws IOException {
+        boolean created = !Files.exists(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (channel.size() > committedBytes) {
+                channel.truncate(committedBytes);
+            }
+            data.flip();
+            long position = committedBytes;
+            while (data.hasRemaining()) {
+                position += channel.write(data, position);
+            }
+            channel.force(true);
+        }
+        return created;
+    }
+
+    /**
+     * Replaces archive.meta: writes and forces a temporary file, renames it
+     * over the old one, then forces the directory so the rename survives a
+     * crash
+     */
+    private void writeMeta(Meta meta) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * Integer.BYTES + 2 * Integer.BYTES + Long.BYTES);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION)
+                .putInt(meta.sessionRows).putInt(meta.violationRows)
+                .putInt(meta.dictionaryEntries).putInt(0)
+                .putLong(meta.dictionaryBytes);
+        buffer.flip();
+
+        Path metaPath = archiveDir.resolve(META_FILE_NAME);
+        Path tempPath = archiveDir.resolve(META_FILE_NAME + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tempPath, metaPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(archiveDir);
+    }
+
+    /**
+     * Forces a directory's entries to disk. Some platforms (Windows) cannot
+     * open a directory as a channel; there the rename is as durable as the
+     * file system makes it.
+     */
+    private static void forceDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported here
+        }
+    }
+
+    // ===== SHARED WITH THE READER =====
+
+    static Meta readMeta(Path archiveDir) throws IOException {
+        Path metaPath = archiveDir.resolve(META_FILE_NAME);
+        if (!Files.exists(metaPath)) {
+            return Meta.EMPTY;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(metaPath));
+        if (buffer.capacity() < 32 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a history archive");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported history archive version " + buffer.getInt(4));
+        }
+        Meta meta = new Meta(buffer.getInt(8), buffer.getInt(12), buffer.getInt(16), buffer.getLong(24));
+        if (meta.sessionRows < 0 || meta.violationRows < 0 || meta.dictionaryEntries < 0 || meta.dictionaryBytes < 0) {
+            throw new IOException("Corrupt history archive header");
+        }
+        return meta;
+    }
+
+    static String[] readDictionary(Path archiveDir, Meta meta) throws IOException {
+        String[] names = new String[meta.dictionaryEntries];
+        if (meta.dictionaryEntries == 0) {
+            return names;
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(archiveDir.resolve(DICTIONARY_FILE_NAME), StandardOpenOption.READ)) {
+            if (channel.size() < meta.dictionaryBytes) {
+                throw new IOException("Truncated app dictionary");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, meta.dictionaryBytes);
+        }
+        for (int i = 0; i < names.length; i++) {
+            byte[] utf8 = new byte[buffer.getInt()];
+            buffer.get(utf8);
+            names[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+}
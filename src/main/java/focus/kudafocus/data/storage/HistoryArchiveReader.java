@@ -0,0 +1,206 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.data.storage.HistoryArchive.Column;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-only view of a HistoryArchive for aggregate queries.
+ *
+ * Each column file is memory-mapped the first time a query needs it, so
+ * a query only touches the columns it reads. For example, total focus
+ * time reads actual_duration and nothing else; per-app distraction time
+ * reads violation_app and violation_duration and never looks at the
+ * session columns.
+ *
+ * The row counts are fixed when the reader is opened, so appends made
+ * afterwards are not visible. Open a new reader to see them.
+ *
+ * Usage:
+ *   HistoryArchiveReader reader = archive.openReader();
+ *   long seconds = reader.totalFocusSeconds();
+ *   Map<String, Long> byApp = reader.distractionSecondsByApp();
+ */
+public class HistoryArchiveReader {
+
+    private final Path archiveDir;
+    private final HistoryArchive.Meta meta;
+    private final Map<Column, IntBuffer> mappedColumns = new EnumMap<>(Column.class);
+    private String[] dictionary;
+
+    HistoryArchiveReader(Path archiveDir, HistoryArchive.Meta meta) {
+        this.archiveDir = archiveDir;
+        this.meta = meta;
+    }
+
+    // ===== QUERIES =====
+
+    /**
+     * Gets the number of archived sessions
+     *
+     * @return Session count
+     */
+    public int getSessionCount() {
+        return meta.sessionRows;
+    }
+
+    /**
+     * Gets the number of archived violations
+     *
+     * @return Violation count
+     */
+    public int getViolationCount() {
+        return meta.violationRows;
+    }
+
+    /**
+     * Sums the actual focus time of every session
+     *
+     * @return Total seconds
+     * @throws IOException if the column cannot be read
+     */
+    public long totalFocusSeconds() throws IOException {
+        IntBuffer durations = column(Column.ACTUAL_DURATION);
+        long total = 0;
+        for (int row = 0; row < meta.sessionRows; row++) {
+            total += durations.get(row);
+        }
+        return total;
+    }
+
+    /**
+     * Sums the actual focus time of sessions that started within a date range
+     *
+     * @param from First day (inclusive)
+     * @param to Last day (inclusive)
+     * @return Total seconds
+     * @throws IOException if a column cannot be read
+     */
+    public long totalFocusSeconds(LocalDate from, LocalDate to) throws IOException {
+        IntBuffer days = column(Column.START_DAY);
+        IntBuffer durations = column(Column.ACTUAL_DURATION);
+        long firstDay = from.toEpochDay();
+        long lastDay = to.toEpochDay();
+        long total = 0;
+        for (int row = 0; row < meta.sessionRows; row++) {
+            int day = days.get(row);
+            if (day >= firstDay && day <= lastDay) {
+                total += durations.get(row);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Averages the focus score over all sessions
+     *
+     * @return Average score, or 0 if there are no sessions
+     * @throws IOException if the column cannot be read
+     */
+    public double averageFocusScore() throws IOException {
+        if (meta.sessionRows == 0) {
+            return 0;
+        }
+        IntBuffer scores = column(Column.FOCUS_SCORE);
+        long total = 0;
+        for (int row = 0; row < meta.sessionRows; row++) {
+            total += scores.get(row);
+        }
+        return (double) total / meta.sessionRows;
+    }
+
+    /**
+     * Counts sessions that ran to completion
+     *
+     * @return Completed session count
+     * @throws IOException if the column cannot be read
+     */
+    public int completedCount() throws IOException {
+        IntBuffer completed = column(Column.COMPLETED);
+        int count = 0;
+        for (int row = 0; row < meta.sessionRows; row++) {
+            count += completed.get(row);
+        }
+        return count;
+    }
+
+    /**
+     * Sums distraction time per app over all violations
+     *
+     * @return App name to total seconds, in dictionary order
+     * @throws IOException if a column cannot be read
+     */
+    public Map<String, Long> distractionSecondsByApp() throws IOException {
+        String[] apps = loadDictionary();
+        IntBuffer appIds = column(Column.VIOLATION_APP);
+        IntBuffer durations = column(Column.VIOLATION_DURATION);
+
+        // Accumulate by dictionary id; names are only looked up at the end
+        long[] totals = new long[apps.length];
+        for (int row = 0; row < meta.violationRows; row++) {
+            totals[appIds.get(row)] += durations.get(row);
+        }
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int id = 0; id < apps.length; id++) {
+            if (totals[id] > 0) {
+                result.put(apps[id], totals[id]);
+            }
+        }
+        return result;
+    }
+
+    // ===== COLUMN ACCESS =====
+
+    /**
+     * Gets a column as a read-only int buffer, mapping it on first use
+     *
+     * @param column Column to read
+     * @return Buffer with exactly one int per row
+     * @throws IOException if the column file is missing or too short
+     */
+    public IntBuffer column(Column column) throws IOException {
+        IntBuffer buffer = mappedColumns.get(column);
+        if (buffer == null) {
+            long bytes = (long) meta.rows(column) * Integer.BYTES;
+            if (bytes == 0) {
+                buffer = IntBuffer.allocate(0);
+            } else {
+                Path file = archiveDir.resolve(column.getFileName());
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    if (channel.size() < bytes) {
+                        throw new IOException("Truncated archive column " + column.getFileName());
+                    }
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes).asIntBuffer();
+                }
+            }
+            mappedColumns.put(column, buffer);
+        }
+        return buffer.duplicate();
+    }
+
+    /**
+     * Gets the app dictionary (index = id stored in violation_app)
+     *
+     * @return App names
+     * @throws IOException if the dictionary cannot be read
+     */
+    public String[] getDictionary() throws IOException {
+        return loadDictionary().clone();
+    }
+
+    private String[] loadDictionary() throws IOException {
+        if (dictionary == null) {
+            dictionary = HistoryArchive.readDictionary(archiveDir, meta);
+        }
+        return dictionary;
+    }
+}
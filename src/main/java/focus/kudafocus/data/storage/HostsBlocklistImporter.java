@@ -0,0 +1,221 @@
+package focus.kudafocus.data.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Streams hosts-format blocklists into a DomainTable file.
+ *
+ * Accepted line formats (one entry per line, '#' starts a comment):
+ *   0.0.0.0 ads.example.com            (hosts file)
+ *   127.0.0.1 a.example.com b.example.com
+ *   example.com                        (plain domain list)
+ *
+ * Lines are parsed one at a time, so the input text is never held in
+ * memory. Only the parsed keys are kept until write() sorts them, drops
+ * duplicates and drops subdomains of domains that are already blocked
+ * (blocking "example.com" already covers "ads.example.com").
+ *
+ * Usage:
+ *   HostsBlocklistImporter importer = new HostsBlocklistImporter();
+ *   importer.addAll(reader);
+ *   importer.write(outputStream);
+ */
+public class HostsBlocklistImporter {
+
+    /**
+     * Host names that hosts files map to themselves and must never be blocked
+     */
+    private static final Set<String> RESERVED_HOSTS = Set.of(
+            "localhost", "localhost.localdomain", "local", "broadcasthost",
+            "ip6-localhost", "ip6-loopback", "ip6-localnet", "ip6-mcastprefix",
+            "ip6-allnodes", "ip6-allrouters", "ip6-allhosts", "0.0.0.0"
+    );
+
+    /**
+     * Reversed-label keys collected so far (unsorted, may contain duplicates)
+     */
+    private final List<String> keys = new ArrayList<>();
+
+    /**
+     * Number of lines read
+     */
+    private int linesRead = 0;
+
+    /**
+     * Reads every line from a reader
+     *
+     * @param reader Blocklist text
+     * @throws IOException if reading fails
+     */
+    public void addAll(Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader
+                ? (BufferedReader) reader
+                : new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            addLine(line);
+        }
+    }
+
+    /**
+     * Parses a single blocklist line
+     *
+     * @param line Line in hosts or plain-domain format
+     */
+    public void addLine(String line) {
+        linesRead++;
+        forEachDomain(line, domain -> keys.add(DomainTable.toKey(domain)));
+    }
+
+    /**
+     * Extracts the domains from one hosts-format line.
+     *
+     * @param line Line in hosts or plain-domain format
+     * @param action Called with each valid, normalized domain
+     */
+    public static void forEachDomain(String line, Consumer<String> action) {
+        int comment = line.indexOf('#');
+        String text = comment >= 0 ? line.substring(0, comment) : line;
+
+        int i = 0;
+        int length = text.length();
+        boolean firstToken = true;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (start == i) {
+                break;
+            }
+
+            String token = text.substring(start, i);
+            boolean skip = firstToken && isIpAddress(token);
+            firstToken = false;
+            if (skip || RESERVED_HOSTS.contains(token.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            String domain = DomainTable.normalizeDomain(token);
+            if (domain != null) {
+                action.accept(domain);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a token is an IPv4 or IPv6 address (the first column
+     * of a hosts file)
+     */
+    private static boolean isIpAddress(String token) {
+        if (token.indexOf(':') >= 0) {
+            return true;  // IPv6, e.g. "::1" or "fe80::1%lo0"
+        }
+        int dots = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                dots++;
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return dots == 3;
+    }
+
+    /**
+     * Sorts the collected domains and writes them as a DomainTable file.
+     *
+     * @param out Destination stream
+     * @return Number of domains written
+     * @throws IOException if writing fails
+     */
+    public int write(OutputStream out) throws IOException {
+        Collections.sort(keys);
+        List<String> unique = removeCoveredKeys(keys);
+        DomainTable.write(unique, out);
+        return unique.size();
+    }
+
+    /**
+     * Drops duplicates and keys whose parent domain is also in the list.
+     *
+     * In sorted order, everything under "com.example" lies between
+     * "com.example." and "com.example/" ('/' is the character after '.').
+     * Siblings such as "com.example-cdn" can sort in between, so a stack of
+     * kept keys is used rather than only the previous one.
+     */
+    private static List<String> removeCoveredKeys(List<String> sortedKeys) {
+        List<String> kept = new ArrayList<>(sortedKeys.size());
+        List<String> ancestors = new ArrayList<>();
+        for (String key : sortedKeys) {
+            // Pop keys whose subtree ends before this key
+            while (!ancestors.isEmpty() && isPastSubtree(key, ancestors.get(ancestors.size() - 1))) {
+                ancestors.remove(ancestors.size() - 1);
+            }
+            // Duplicate, or covered by a blocked parent
+            boolean covered = false;
+            for (String ancestor : ancestors) {
+                if (key.equals(ancestor) || isUnder(key, ancestor)) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered) {
+                kept.add(key);
+                ancestors.add(key);
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * true if key is a strict subdomain key of parent ("com.a.b" under "com.a")
+     */
+    private static boolean isUnder(String key, String parent) {
+        return key.length() > parent.length()
+                && key.startsWith(parent)
+                && key.charAt(parent.length()) == '.';
+    }
+
+    /**
+     * true if key sorts after every key that could be under parent
+     */
+    private static boolean isPastSubtree(String key, String parent) {
+        if (!key.startsWith(parent)) {
+            return true;
+        }
+        return key.length() > parent.length() && key.charAt(parent.length()) > '.';
+    }
+
+    // ===== GETTERS =====
+
+    /**
+     * Gets the number of lines read so far
+     *
+     * @return Line count
+     */
+    public int getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * Gets the number of domains collected so far (before de-duplication)
+     *
+     * @return Domain count
+     */
+    public int getDomainCount() {
+        return keys.size();
+    }
+}
@@ -0,0 +1,442 @@
+package focus.kudafocus.data.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import focus.kudafocus.core.Violation;
+import focus.kudafocus.data.models.SessionHistory;
+import focus.kudafocus.data.models.SessionRecord;
+import focus.kudafocus.data.models.UserPreferences;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared Gson instance with hand-written adapters for every persisted model.
+ *
+ * Plain Gson fills objects through reflection. That is slow, and on
+ * Java 17+ it cannot reach the private fields of java.time classes, so a
+ * LocalDateTime in SessionRecord or Violation fails to (de)serialize.
+ * The adapters below read and write each model field by field with
+ * JsonReader/JsonWriter instead:
+ * - LocalDateTime is stored as an ISO-8601 string ("2024-05-01T09:30:00")
+ * - Unknown fields are skipped, so older app versions can read newer files
+ * - Missing fields keep the model's defaults
+ *
+ * JSON field names match the Java field names, so files written by the
+ * old reflective code still load.
+ *
+ * Usage:
+ *   Gson gson = JsonCodec.gson();
+ *   String json = gson.toJson(preferences);
+ */
+public final class JsonCodec {
+
+    private static final LocalDateTimeAdapter LOCAL_DATE_TIME = new LocalDateTimeAdapter();
+
+    private static final Gson GSON = builder().setPrettyPrinting().create();
+
+    private static final Gson COMPACT_GSON = builder().create();
+
+    private JsonCodec() {
+    }
+
+    private static GsonBuilder builder() {
+        return new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, LOCAL_DATE_TIME.nullSafe())
+                .registerTypeAdapter(Violation.class, new ViolationAdapter().nullSafe())
+                .registerTypeAdapter(SessionRecord.class, new SessionRecordAdapter().nullSafe())
+                .registerTypeAdapter(SessionHistory.class, new SessionHistoryAdapter().nullSafe())
+                .registerTypeAdapter(UserPreferences.class, new UserPreferencesAdapter().nullSafe());
+    }
+
+    /**
+     * Gets the shared Gson instance (thread-safe)
+     *
+     * @return Gson with all model adapters registered
+     */
+    public static Gson gson() {
+        return GSON;
+    }
+
+    /**
+     * Gets the shared single-line Gson instance, for formats that store
+     * one JSON value per line
+     *
+     * @return Gson with all model adapters and no pretty printing
+     */
+    public static Gson compactGson() {
+        return COMPACT_GSON;
+    }
+
+    // ===== LOCAL DATE TIME =====
+
+    /**
+     * Stores LocalDateTime as an ISO-8601 string. Also reads the
+     * {"date":{...},"time":{...}} object form older Gson versions wrote.
+     */
+    static final class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
+
+        @Override
+        public void write(JsonWriter out, LocalDateTime value) throws IOException {
+            out.value(value.toString());
+        }
+
+        @Override
+        public LocalDateTime read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.STRING) {
+                return LocalDateTime.parse(in.nextString());
+            }
+
+            LocalDate date = LocalDate.MIN;
+            LocalTime time = LocalTime.MIDNIGHT;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "date" -> {
+                        int[] parts = readIntFields(in, "year", "month", "day");
+                        date = LocalDate.of(parts[0], parts[1], parts[2]);
+                    }
+                    case "time" -> {
+                        int[] parts = readIntFields(in, "hour", "minute", "second", "nano");
+                        time = LocalTime.of(parts[0], parts[1], parts[2], parts[3]);
+                    }
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return LocalDateTime.of(date, time);
+        }
+
+        private static int[] readIntFields(JsonReader in, String... names) throws IOException {
+            int[] values = new int[names.length];
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                int index = List.of(names).indexOf(name);
+                if (index >= 0) {
+                    values[index] = in.nextInt();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return values;
+        }
+    }
+
+    // ===== VIOLATION =====
+
+    static final class ViolationAdapter extends TypeAdapter<Violation> {
+
+        @Override
+        public void write(JsonWriter out, Violation violation) throws IOException {
+            out.beginObject();
+            out.name("timestamp");
+            writeDateTime(out, violation.getTimestamp());
+            out.name("appName").value(violation.getAppName());
+            out.name("durationSeconds").value(violation.getDurationSeconds());
+            out.name("dismissCount").value(violation.getDismissCount());
+            if (violation.getOccurrences() != 1) {
+                out.name("occurrences").value(violation.getOccurrences());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public Violation read(JsonReader in) throws IOException {
+            LocalDateTime timestamp = null;
+            String appName = null;
+            int durationSeconds = 0;
+            int dismissCount = 0;
+            int occurrences = 1;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "timestamp" -> timestamp = readDateTime(in);
+                    case "appName" -> appName = readString(in);
+                    case "durationSeconds" -> durationSeconds = in.nextInt();
+                    case "dismissCount" -> dismissCount = in.nextInt();
+                    case "occurrences" -> occurrences = in.nextInt();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Violation(timestamp, appName, durationSeconds, dismissCount, occurrences);
+        }
+    }
+
+    // ===== SESSION RECORD =====
+
+    static final class SessionRecordAdapter extends TypeAdapter<SessionRecord> {
+
+        private final ViolationAdapter violationAdapter = new ViolationAdapter();
+
+        @Override
+        public void write(JsonWriter out, SessionRecord record) throws IOException {
+            out.beginObject();
+            out.name("id").value(record.getId());
+            out.name("date").value(record.getDate());
+            out.name("startTime");
+            writeDateTime(out, record.getStartTime());
+            out.name("plannedDuration").value(record.getPlannedDuration());
+            out.name("actualDuration").value(record.getActualDuration());
+            out.name("focusScore").value(record.getFocusScore());
+            out.name("completed").value(record.isCompleted());
+            out.name("blockedApps");
+            writeStringList(out, record.getBlockedApps());
+            out.name("blockedWebsites");
+            writeStringList(out, record.getBlockedWebsites());
+            out.name("violations");
+            if (record.getViolations() == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (Violation violation : record.getViolations()) {
+                    violationAdapter.write(out, violation);
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public SessionRecord read(JsonReader in) throws IOException {
+            SessionRecord record = new SessionRecord();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> record.setId(readString(in));
+                    case "date" -> record.setDate(readString(in));
+                    case "startTime" -> record.setStartTime(readDateTime(in));
+                    case "plannedDuration" -> record.setPlannedDuration(in.nextInt());
+                    case "actualDuration" -> record.setActualDuration(in.nextInt());
+                    case "focusScore" -> record.setFocusScore(in.nextInt());
+                    case "completed" -> record.setCompleted(in.nextBoolean());
+                    case "blockedApps" -> record.setBlockedApps(readStringList(in));
+                    case "blockedWebsites" -> record.setBlockedWebsites(readStringList(in));
+                    case "violations" -> record.setViolations(readViolations(in));
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return record;
+        }
+
+        private List<Violation> readViolations(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            List<Violation> violations = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                violations.add(violationAdapter.read(in));
+            }
+            in.endArray();
+            return violations;
+        }
+    }
+
+    // ===== SESSION HISTORY =====
+
+    static final class SessionHistoryAdapter extends TypeAdapter<SessionHistory> {
+
+        private final SessionRecordAdapter recordAdapter = new SessionRecordAdapter();
+
+        @Override
+        public void write(JsonWriter out, SessionHistory history) throws IOException {
+            out.beginObject();
+            out.name("sessions");
+            out.beginArray();
+            for (SessionRecord record : history.getSessions()) {
+                recordAdapter.write(out, record);
+            }
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public SessionHistory read(JsonReader in) throws IOException {
+            List<SessionRecord> sessions = new ArrayList<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                if (in.nextName().equals("sessions") && in.peek() == JsonToken.BEGIN_ARRAY) {
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        sessions.add(recordAdapter.read(in));
+                    }
+                    in.endArray();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new SessionHistory(sessions);
+        }
+    }
+
+    // ===== USER PREFERENCES =====
+
+    static final class UserPreferencesAdapter extends TypeAdapter<UserPreferences> {
+
+        @Override
+        public void write(JsonWriter out, UserPreferences preferences) throws IOException {
+            out.beginObject();
+            out.name("defaultDuration").value(preferences.getDefaultDuration());
+            out.name("lastSelectedApps");
+            writeStringList(out, preferences.getLastSelectedApps());
+            out.name("lastSelectedWebsites");
+            writeStringList(out, preferences.getLastSelectedWebsites());
+            out.name("importedBlocklistEnabled").value(preferences.isImportedBlocklistEnabled());
+            out.name("checkpointIntervalSeconds").value(preferences.getCheckpointIntervalSeconds());
+            out.name("violationMergeGapSeconds").value(preferences.getViolationMergeGapSeconds());
+            out.name("appRegistry");
+            if (preferences.getAppRegistry() == null) {
+                out.nullValue();
+            } else {
+                out.beginObject();
+                for (Map.Entry<String, UserPreferences.AppEntry> entry : preferences.getAppRegistry().entrySet()) {
+                    out.name(entry.getKey());
+                    writeAppEntry(out, entry.getValue());
+                }
+                out.endObject();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public UserPreferences read(JsonReader in) throws IOException {
+            // Start from the defaults so missing fields keep sensible values
+            UserPreferences preferences = new UserPreferences();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "defaultDuration" -> preferences.setDefaultDuration(in.nextInt());
+                    case "lastSelectedApps" -> preferences.setLastSelectedApps(readStringList(in));
+                    case "lastSelectedWebsites" -> preferences.setLastSelectedWebsites(readStringList(in));
+                    case "importedBlocklistEnabled" -> preferences.setImportedBlocklistEnabled(in.nextBoolean());
+                    case "checkpointIntervalSeconds" -> preferences.setCheckpointIntervalSeconds(in.nextInt());
+                    case "violationMergeGapSeconds" -> preferences.setViolationMergeGapSeconds(in.nextInt());
+                    case "appRegistry" -> {
+                        Map<String, UserPreferences.AppEntry> registry = readAppRegistry(in);
+                        if (registry != null) {
+                            preferences.setAppRegistry(registry);
+                        }
+                    }
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return preferences;
+        }
+
+        private static void writeAppEntry(JsonWriter out, UserPreferences.AppEntry entry) throws IOException {
+            if (entry == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("processName").value(entry.getProcessName());
+            out.name("displayName").value(entry.getDisplayName());
+            out.name("category").value(entry.getCategory());
+            out.name("commonlyBlocked").value(entry.isCommonlyBlocked());
+            out.name("iconPath").value(entry.getIconPath());
+            out.endObject();
+        }
+
+        private static Map<String, UserPreferences.AppEntry> readAppRegistry(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Map<String, UserPreferences.AppEntry> registry = new LinkedHashMap<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String key = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                UserPreferences.AppEntry entry = new UserPreferences.AppEntry(key, key, null, false);
+                in.beginObject();
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "processName" -> entry.setProcessName(readString(in));
+                        case "displayName" -> entry.setDisplayName(readString(in));
+                        case "category" -> entry.setCategory(readString(in));
+                        case "commonlyBlocked" -> entry.setCommonlyBlocked(in.nextBoolean());
+                        case "iconPath" -> entry.setIconPath(readString(in));
+                        default -> in.skipValue();
+                    }
+                }
+                in.endObject();
+                registry.put(key, entry);
+            }
+            in.endObject();
+            return registry;
+        }
+    }
+
+    // ===== SHARED HELPERS =====
+
+    private static void writeDateTime(JsonWriter out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(value.toString());
+        }
+    }
+
+    private static LocalDateTime readDateTime(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return LOCAL_DATE_TIME.read(in);
+    }
+
+    private static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static void writeStringList(JsonWriter out, List<String> values) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (String value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    private static List<String> readStringList(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return new ArrayList<>();
+        }
+        List<String> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(readString(in));
+        }
+        in.endArray();
+        return values;
+    }
+}
@@ -1,7 +1,6 @@
 package focus.kudafocus.data.storage;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import focus.kudafocus.data.models.UserPreferences;
 
 import java.io.IOException;
@@ -23,7 +22,7 @@ public class PreferencesStore {
     private final Path preferencesPath;
 
     public PreferencesStore() {
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        this.gson = JsonCodec.gson();
         Path appDir = Paths.get(System.getProperty("user.home"), APP_DIR_NAME);
         this.preferencesPath = appDir.resolve(PREFERENCES_FILE_NAME);
     }
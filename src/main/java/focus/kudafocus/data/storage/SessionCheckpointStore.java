@@ -0,0 +1,366 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.core.FocusSession;
+import focus.kudafocus.core.Violation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshots the active session to ~/.kudafocus/checkpoint.bin so it can be
+ * resumed if the app is killed mid-session.
+ *
+ * How it works:
+ * - save() encodes the session into a small byte array on the caller's
+ *   thread (the JavaFX thread, which owns the session) and hands it to a
+ *   background writer thread. The FX thread never touches the disk.
+ * - The writer writes a temporary file, fsyncs it and renames it over the
+ *   checkpoint, so the file on disk is always either the old or the new
+ *   snapshot, never a mix of both.
+ * - If snapshots arrive faster than the disk can take them, only the
+ *   newest one is written. clear() goes through the same slot, so the
+ *   file always ends up as the last save() or clear() left it.
+ * - A CRC32 at the end of the file catches anything else (bad sectors,
+ *   a file from another program); load() then returns null.
+ *
+ * The checkpoint is cleared when the session finishes normally.
+ */
+public class SessionCheckpointStore implements AutoCloseable {
+
+    private static final String APP_DIR_NAME = ".kudafocus";
+    private static final String CHECKPOINT_FILE_NAME = "checkpoint.bin";
+
+    /**
+     * File magic ("KFCP") and format version
+     */
+    private static final int MAGIC = 0x4B464350;
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * Oldest version load() still reads (1 had no violation occurrences)
+     */
+    private static final int MIN_FORMAT_VERSION = 1;
+
+    private final Path checkpointPath;
+
+    /**
+     * Marker in pending for "delete the checkpoint"
+     */
+    private static final byte[] CLEAR = new byte[0];
+
+    /**
+     * Newest encoded snapshot (or CLEAR) that has not been applied yet
+     */
+    private final AtomicReference<byte[]> pending = new AtomicReference<>();
+
+    private final ExecutorService writer;
+
+    public SessionCheckpointStore() {
+        this(Paths.get(System.getProperty("user.home"), APP_DIR_NAME).resolve(CHECKPOINT_FILE_NAME));
+    }
+
+    /*
+     * Package-private constructor for testing with a custom file.
+     */
+    SessionCheckpointStore(Path checkpointPath) {
+        this(checkpointPath, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kudafocus-checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /*
+     * Package-private constructor for testing with a custom writer
+     * (must run one task at a time).
+     */
+    SessionCheckpointStore(Path checkpointPath, ExecutorService writer) {
+        this.checkpointPath = checkpointPath;
+        this.writer = writer;
+    }
+
+    // ===== WRITING =====
+
+    /**
+     * Snapshots a running session. Returns immediately; the file is written
+     * in the background.
+     *
+     * @param session Active session
+     * @param elapsedSeconds Seconds of the session already counted down
+     */
+    public void save(FocusSession session, int elapsedSeconds) {
+        offer(encode(session, elapsedSeconds, System.currentTimeMillis()));
+    }
+
+    /**
+     * Deletes the checkpoint (the session finished normally). Snapshots
+     * that have not been written yet are dropped; a save() after this
+     * call is still written.
+     */
+    public void clear() {
+        offer(CLEAR);
+    }
+
+    private void offer(byte[] next) {
+        // Only queue a task if none is waiting; a waiting task applies the newest entry
+        if (pending.getAndSet(next) == null) {
+            writer.execute(this::writePending);
+        }
+    }
+
+    /**
+     * Waits until every queued write or delete has finished
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Checkpoint writer failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finishes queued writes and stops the writer thread
+     */
+    @Override
+    public void close() {
+        flush();
+        writer.shutdown();
+    }
+
+    private void writePending() {
+        byte[] snapshot = pending.getAndSet(null);
+        if (snapshot == null) {
+            return; // Already applied by an earlier task
+        }
+
+        try {
+            if (snapshot == CLEAR) {
+                Files.deleteIfExists(checkpointPath);
+                return;
+            }
+            Files.createDirectories(checkpointPath.getParent());
+            Path tempPath = checkpointPath.resolveSibling(CHECKPOINT_FILE_NAME + ".tmp");
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(tempPath, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to " + (snapshot == CLEAR ? "delete" : "write")
+                    + " session checkpoint: " + e.getMessage());
+        }
+    }
+
+    // ===== READING =====
+
+    /**
+     * Reads the last checkpoint
+     *
+     * @return Checkpoint, or null if there is none or it is unreadable
+     */
+    public Checkpoint load() {
+        if (!Files.exists(checkpointPath)) {
+            return null;
+        }
+
+        try {
+            return decode(Files.readAllBytes(checkpointPath));
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable session checkpoint: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ===== ENCODING =====
+
+    /*
+     * Layout: magic, version, payload length, payload, CRC32 of payload.
+     * Payload: saved-at millis, session id, start time, planned seconds,
+     * elapsed seconds, focus score, blocked apps, blocked websites, violations.
+     */
+    static byte[] encode(FocusSession session, int elapsedSeconds, long savedAtMillis) {
+        try {
+            ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(256);
+            DataOutputStream payload = new DataOutputStream(payloadBytes);
+            payload.writeLong(savedAtMillis);
+            payload.writeUTF(session.getSessionId());
+            writeDateTime(payload, session.getStartTime());
+            payload.writeInt(session.getPlannedDuration());
+            payload.writeInt(elapsedSeconds);
+            payload.writeInt(session.getFocusScore());
+            writeStrings(payload, session.getBlockedApps());
+            writeStrings(payload, session.getBlockedWebsites());
+
+            List<Violation> violations = session.getViolations();
+            payload.writeInt(violations.size());
+            for (Violation violation : violations) {
+                writeDateTime(payload, violation.getTimestamp());
+                payload.writeUTF(violation.getAppName() != null ? violation.getAppName() : "");
+                payload.writeInt(violation.getDurationSeconds());
+                payload.writeInt(violation.getDismissCount());
+                payload.writeInt(violation.getOccurrences());
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(payloadBytes.toByteArray());
+
+            ByteArrayOutputStream fileBytes = new ByteArrayOutputStream(payloadBytes.size() + 20);
+            DataOutputStream out = new DataOutputStream(fileBytes);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(payloadBytes.size());
+            payloadBytes.writeTo(out);
+            out.writeLong(crc.getValue());
+            return fileBytes.toByteArray();
+        } catch (IOException e) {
+            // Writing to a byte array cannot fail
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Checkpoint decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (bytes.length < 12 || in.readInt() != MAGIC) {
+            throw new IOException("not a checkpoint file");
+        }
+        int version = in.readInt();
+        if (version < MIN_FORMAT_VERSION || version > FORMAT_VERSION) {
+            throw new IOException("unsupported checkpoint version " + version);
+        }
+        int length = in.readInt();
+        if (length < 0 || length > bytes.length - 20) {
+            throw new IOException("truncated checkpoint");
+        }
+        byte[] payloadBytes = new byte[length];
+        in.readFully(payloadBytes);
+        CRC32 crc = new CRC32();
+        crc.update(payloadBytes);
+        if (in.readLong() != crc.getValue()) {
+            throw new IOException("checkpoint checksum mismatch");
+        }
+
+        DataInputStream payload = new DataInputStream(new ByteArrayInputStream(payloadBytes));
+        long savedAtMillis = payload.readLong();
+        String sessionId = payload.readUTF();
+        LocalDateTime startTime = readDateTime(payload);
+        int plannedDuration = payload.readInt();
+        int elapsedSeconds = payload.readInt();
+        int focusScore = payload.readInt();
+        List<String> blockedApps = readStrings(payload);
+        List<String> blockedWebsites = readStrings(payload);
+
+        int violationCount = payload.readInt();
+        List<Violation> violations = new ArrayList<>(Math.min(violationCount, 1024));
+        for (int i = 0; i < violationCount; i++) {
+            LocalDateTime timestamp = readDateTime(payload);
+            String appName = payload.readUTF();
+            int durationSeconds = payload.readInt();
+            int dismissCount = payload.readInt();
+            int occurrences = version >= 2 ? payload.readInt() : 1;
+            violations.add(new Violation(timestamp, appName, durationSeconds, dismissCount, occurrences));
+        }
+
+        FocusSession session = new FocusSession(sessionId, startTime, plannedDuration, 0, violations,
+                focusScore, false, blockedApps, blockedWebsites);
+        return new Checkpoint(session, elapsedSeconds, savedAtMillis);
+    }
+
+    static void writeDateTime(DataOutputStream out, LocalDateTime dateTime) throws IOException {
+        out.writeLong(dateTime.toLocalDate().toEpochDay());
+        out.writeLong(dateTime.toLocalTime().toNanoOfDay());
+    }
+
+    static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        LocalDate date = LocalDate.ofEpochDay(in.readLong());
+        return LocalDateTime.of(date, LocalTime.ofNanoOfDay(in.readLong()));
+    }
+
+    static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> values = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+
+    // ===== CHECKPOINT =====
+
+    /**
+     * A session restored from a checkpoint
+     */
+    public static final class Checkpoint {
+
+        private final FocusSession session;
+        private final int elapsedSeconds;
+        private final long savedAtMillis;
+
+        Checkpoint(FocusSession session, int elapsedSeconds, long savedAtMillis) {
+            this.session = session;
+            this.elapsedSeconds = elapsedSeconds;
+            this.savedAtMillis = savedAtMillis;
+        }
+
+        /**
+         * @return The session as it was when the checkpoint was written
+         */
+        public FocusSession getSession() {
+            return session;
+        }
+
+        /**
+         * @return Seconds of the session already counted down
+         */
+        public int getElapsedSeconds() {
+            return elapsedSeconds;
+        }
+
+        /**
+         * @return Seconds left on the timer
+         */
+        public int getRemainingSeconds() {
+            return Math.max(0, session.getPlannedDuration() - elapsedSeconds);
+        }
+
+        /**
+         * @return When the checkpoint was written (epoch milliseconds)
+         */
+        public long getSavedAtMillis() {
+            return savedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package focus.kudafocus.data.storage;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sparse, memory-mapped date index over the session journal
+ * (sessions.jsonl.idx next to the journal).
+ *
+ * The journal is split into blocks of BLOCK_RECORDS consecutive lines.
+ * For each block the index stores the smallest and largest start day
+ * (as epoch days) and the byte offset where the block starts:
+ *
+ *   int   magic ("KFDI")
+ *   int   format version
+ *   int   records per block
+ *   int   number of blocks
+ *   int   1 if start days never went backwards, else 0
+ *   int   records in the last block
+ *   long  journal length covered by the index
+ *   then per block: int minDay, int maxDay, long offset
+ *
+ * Sessions are appended in the order they finish, so the days normally
+ * only go up. In that case a range query binary-searches for the first
+ * block that can hold the start day and stops at the first block that
+ * starts after the end day, then reads just those bytes of the journal.
+ * If the clock ever moved backwards, the "ordered" flag is cleared and
+ * queries check every block's min/max instead. That is still only a scan
+ * of the small index, not of the journal.
+ *
+ * The index can always be rebuilt from the journal, so it is not fsynced
+ * on every append. SessionJournal rebuilds it whenever the covered length
+ * does not match the journal.
+ */
+final class SessionDateIndex implements AutoCloseable {
+
+    /**
+     * Index file magic: "KFDI"
+     */
+    private static final int MAGIC = 0x4B464449;
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Journal lines per index block
+     */
+    static final int BLOCK_RECORDS = 32;
+
+    private static final int HEADER_BYTES = 32;
+    private static final int ENTRY_BYTES = 16;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private int capacity;
+
+    private int blockCount;
+    private boolean ordered;
+    private int lastBlockRecords;
+    private long coveredLength;
+
+    private SessionDateIndex(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens (or creates) an index file. An unreadable file is reset to empty.
+     *
+     * @param path Index file
+     * @return Opened index; check getCoveredLength() against the journal
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    static SessionDateIndex open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        SessionDateIndex index = new SessionDateIndex(channel);
+        long size = channel.size();
+        index.capacity = (int) Math.max(INITIAL_CAPACITY, (size - HEADER_BYTES) / ENTRY_BYTES);
+        index.map = channel.map(FileChannel.MapMode.READ_WRITE, 0, index.fileBytes(index.capacity));
+
+        if (size < HEADER_BYTES || !index.readHeader()) {
+            index.reset();
+        }
+        return index;
+    }
+
+    private boolean readHeader() {
+        if (map.getInt(0) != MAGIC || map.getInt(4) != FORMAT_VERSION || map.getInt(8) != BLOCK_RECORDS) {
+            return false;
+        }
+        blockCount = map.getInt(12);
+        ordered = map.getInt(16) == 1;
+        lastBlockRecords = map.getInt(20);
+        coveredLength = map.getLong(24);
+        return blockCount >= 0 && blockCount <= capacity
+                && lastBlockRecords >= 0 && lastBlockRecords <= BLOCK_RECORDS
+                && coveredLength >= 0;
+    }
+
+    private void writeHeader() {
+        map.putInt(0, MAGIC);
+        map.putInt(4, FORMAT_VERSION);
+        map.putInt(8, BLOCK_RECORDS);
+        map.putInt(12, blockCount);
+        map.putInt(16, ordered ? 1 : 0);
+        map.putInt(20, lastBlockRecords);
+        map.putLong(24, coveredLength);
+    }
+
+    /**
+     * Empties the index (before a rebuild)
+     */
+    void reset() {
+        blockCount = 0;
+        ordered = true;
+        lastBlockRecords = 0;
+        coveredLength = 0;
+        writeHeader();
+    }
+
+    // ===== WRITING =====
+
+    /**
+     * Records one journal line
+     *
+     * @param epochDay Start day of the session
+     * @param offset Byte offset where the line starts
+     * @param endOffset Byte offset just after the line's newline
+     * @throws IOException if the index has to grow and cannot be remapped
+     */
+    void add(long epochDay, long offset, long endOffset) throws IOException {
+        int day = (int) epochDay;
+        if (blockCount > 0 && day < maxDay(blockCount - 1)) {
+            ordered = false;
+        }
+
+        if (blockCount == 0 || lastBlockRecords == BLOCK_RECORDS) {
+            ensureCapacity(blockCount + 1);
+            int position = entryPosition(blockCount);
+            map.putInt(position, day);
+            map.putInt(position + 4, day);
+            map.putLong(position + 8, offset);
+            blockCount++;
+            lastBlockRecords = 0;
+        } else {
+            int position = entryPosition(blockCount - 1);
+            map.putInt(position, Math.min(day, map.getInt(position)));
+            map.putInt(position + 4, Math.max(day, map.getInt(position + 4)));
+        }
+        lastBlockRecords++;
+        coveredLength = endOffset;
+        writeHeader();
+    }
+
+    private void ensureCapacity(int blocks) throws IOException {
+        if (blocks <= capacity) {
+            return;
+        }
+        capacity = Math.max(blocks, capacity * 2);
+        map.force();
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileBytes(capacity));
+    }
+
+    // ===== QUERIES =====
+
+    /**
+     * Finds the journal byte ranges that can contain sessions in a day range
+     *
+     * @param fromDay First epoch day (inclusive)
+     * @param toDay Last epoch day (inclusive)
+     * @return List of {start, end} offsets, in journal order, adjacent blocks merged
+     */
+    List<long[]> findRanges(long fromDay, long toDay) {
+        List<long[]> ranges = new ArrayList<>();
+        if (fromDay > toDay) {
+            return ranges;
+        }
+
+        int first = 0;
+        if (ordered) {
+            // Block max days only go up: find the first block with maxDay >= fromDay
+            int low = 0;
+            int high = blockCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (maxDay(mid) < fromDay) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            first = low;
+        }
+
+        for (int block = first; block < blockCount; block++) {
+            int min = minDay(block);
+            if (ordered && min > toDay) {
+                break;
+            }
+            if (min > toDay || maxDay(block) < fromDay) {
+                continue;
+            }
+            long start = blockOffset(block);
+            long end = block + 1 < blockCount ? blockOffset(block + 1) : coveredLength;
+            long[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (last != null && last[1] == start) {
+                last[1] = end;
+            } else {
+                ranges.add(new long[] {start, end});
+            }
+        }
+        return ranges;
+    }
+
+    // ===== GETTERS =====
+
+    long getCoveredLength() {
+        return coveredLength;
+    }
+
+    int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * @return Number of journal records indexed
+     */
+    int getRecordCount() {
+        return blockCount == 0 ? 0 : (blockCount - 1) * BLOCK_RECORDS + lastBlockRecords;
+    }
+
+    boolean isOrdered() {
+        return ordered;
+    }
+
+    // ===== HELPERS =====
+
+    private int minDay(int block) {
+        return map.getInt(entryPosition(block));
+    }
+
+    private int maxDay(int block) {
+        return map.getInt(entryPosition(block) + 4);
+    }
+
+    private long blockOffset(int block) {
+        return map.getLong(entryPosition(block) + 8);
+    }
+
+    private static int entryPosition(int block) {
+        return HEADER_BYTES + block * ENTRY_BYTES;
+    }
+
+    private long fileBytes(int blocks) {
+        return HEADER_BYTES + (long) blocks * ENTRY_BYTES;
+    }
+
+    /**
+     * Writes the mapped pages back and closes the file
+     */
+    @Override
+    public void close() throws IOException {
+        map.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,216 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.core.FocusSession;
+import focus.kudafocus.core.SessionEvent;
+import focus.kudafocus.core.SessionEventLog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps the event history of each session in ~/.kudafocus/events/<id>.kfev.
+ *
+ * A file starts with a header describing the session (id, start time,
+ * planned duration, blocked apps and websites), followed by the session's
+ * events in SessionEventLog's binary format. While a session runs, only
+ * the events added since the last call are appended, so each write is a
+ * few bytes no matter how long the session is.
+ *
+ * Like SessionCheckpointStore, events are encoded on the caller's thread
+ * and written by a background thread. Appends are not fsynced: the
+ * checkpoint is what makes a running session crash-safe; these files are
+ * for auditing and replaying sessions. A cut-off last event is ignored
+ * when the file is read.
+ */
+public class SessionEventStore implements AutoCloseable {
+
+    private static final String APP_DIR_NAME = ".kudafocus";
+    private static final String EVENTS_DIR_NAME = "events";
+    private static final String EVENTS_FILE_SUFFIX = ".kfev";
+
+    /**
+     * File magic ("KFEV") and format version
+     */
+    private static final int MAGIC = 0x4B464556;
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path eventsDir;
+    private final ExecutorService writer;
+
+    public SessionEventStore() {
+        this(Paths.get(System.getProperty("user.home"), APP_DIR_NAME).resolve(EVENTS_DIR_NAME));
+    }
+
+    /*
+     * Package-private constructor for testing with a custom directory.
+     */
+    SessionEventStore(Path eventsDir) {
+        this.eventsDir = eventsDir;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kudafocus-event-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ===== WRITING =====
+
+    /**
+     * Starts the event file of a new session (replacing any file with the
+     * same id) and writes the events recorded so far
+     *
+     * @param session Session that just started
+     */
+    public void begin(FocusSession session) {
+        byte[] header = encodeHeader(session);
+        byte[] events = session.getEventLog().drain();
+        Path path = pathFor(session.getSessionId());
+        writer.execute(() -> write(path, concat(header, events), StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * Appends the events recorded since the last begin() or append(). If
+     * the session has no event file yet (begin() was never called, or the
+     * file was deleted), the file is started with a header first.
+     *
+     * @param session Running or finished session
+     */
+    public void append(FocusSession session) {
+        byte[] events = session.getEventLog().drain();
+        if (events.length == 0) {
+            return;
+        }
+        byte[] header = encodeHeader(session);
+        Path path = pathFor(session.getSessionId());
+        // Checked on the writer thread, after any begin() queued before this
+        writer.execute(() -> {
+            if (Files.exists(path)) {
+                write(path, events, StandardOpenOption.APPEND);
+            } else {
+                write(path, concat(header, events), StandardOpenOption.TRUNCATE_EXISTING);
+            }
+        });
+    }
+
+    private static byte[] encodeHeader(FocusSession session) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(session.getSessionId());
+            SessionCheckpointStore.writeDateTime(out, session.getStartTime());
+            out.writeInt(session.getPlannedDuration());
+            SessionCheckpointStore.writeStrings(out, session.getBlockedApps());
+            SessionCheckpointStore.writeStrings(out, session.getBlockedWebsites());
+        } catch (IOException e) {
+            // Writing to a byte array cannot fail
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+
+    /*
+     * Runs on the writer thread.
+     */
+    private void write(Path path, byte[] bytes, StandardOpenOption mode) {
+        try {
+            Files.createDirectories(eventsDir);
+            Files.write(path, bytes, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+        } catch (IOException e) {
+            System.err.println("Failed to write session events: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until every queued write has finished
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Event writer failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finishes queued writes and stops the writer thread
+     */
+    @Override
+    public void close() {
+        flush();
+        writer.shutdown();
+    }
+
+    // ===== READING =====
+
+    /**
+     * Checks whether a session has an event file
+     *
+     * @param sessionId Session ID
+     * @return true if the file exists
+     */
+    public boolean exists(String sessionId) {
+        return Files.exists(pathFor(sessionId));
+    }
+
+    /**
+     * Rebuilds a session by replaying its event file
+     *
+     * @param sessionId Session ID
+     * @return Rebuilt session
+     * @throws IOException if the file is missing or not an event file
+     */
+    public FocusSession load(String sessionId) throws IOException {
+        return replay(Files.readAllBytes(pathFor(sessionId)));
+    }
+
+    /**
+     * Rebuilds a session from the contents of an event file
+     *
+     * @param bytes File contents
+     * @return Rebuilt session
+     * @throws IOException if the bytes are not an event file
+     */
+    public static FocusSession replay(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (bytes.length < 8 || in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("not a session event file");
+        }
+        String sessionId = in.readUTF();
+        LocalDateTime startTime = SessionCheckpointStore.readDateTime(in);
+        int plannedDuration = in.readInt();
+        List<String> blockedApps = SessionCheckpointStore.readStrings(in);
+        List<String> blockedWebsites = SessionCheckpointStore.readStrings(in);
+
+        List<SessionEvent> events = new ArrayList<>();
+        SessionEventLog.read(in, events::add);
+        return FocusSession.replay(sessionId, startTime, plannedDuration, blockedApps, blockedWebsites, events);
+    }
+
+    private Path pathFor(String sessionId) {
+        return eventsDir.resolve(sessionId + EVENTS_FILE_SUFFIX);
+    }
+}
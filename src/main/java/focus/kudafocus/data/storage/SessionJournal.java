@@ -0,0 +1,510 @@
+package focus.kudafocus.data.storage;
+
+import com.google.gson.JsonParseException;
+import focus.kudafocus.data.models.SessionHistory;
+import focus.kudafocus.data.models.SessionRecord;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Append-only journal of finished sessions (~/.kudafocus/sessions.jsonl).
+ *
+ * Each finished session is appended as one line of JSON. Rewriting a
+ * whole sessions.json file would get slower as history grows; appending a
+ * line costs the same whether the file holds ten sessions or ten years.
+ *
+ * Durability:
+ * - Group commit: appends are written immediately, but the fsync that
+ *   makes them crash-safe is delayed by a short window so several appends
+ *   share one fsync. flush() and close() force it right away.
+ * - Tail recovery: if the app crashed mid-append, the last line may be
+ *   cut off. open() reads backwards from the end of the file and truncates
+ *   any unfinished or unreadable lines, so the cost does not depend on
+ *   the size of the journal.
+ *
+ * Date-range queries (readBetween) use a sparse SessionDateIndex kept
+ * next to the journal, so they read only the part of the file that can
+ * hold the requested days.
+ *
+ * Usage:
+ *   SessionJournal journal = new SessionJournal();
+ *   journal.open();
+ *   journal.append(SessionRecord.fromSession(session));
+ *   SessionHistory history = journal.readHistory();
+ */
+public class SessionJournal implements AutoCloseable {
+
+    private static final String APP_DIR_NAME = ".kudafocus";
+    private static final String JOURNAL_FILE_NAME = "sessions.jsonl";
+
+    /**
+     * Default group-commit window in milliseconds
+     */
+    private static final long DEFAULT_GROUP_COMMIT_MILLIS = 200;
+
+    /**
+     * Chunk size for the backwards tail scan
+     */
+    private static final int TAIL_CHUNK_SIZE = 4096;
+
+    /**
+     * Buffer size for reading journal lines by byte offset
+     */
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+    private final Path journalPath;
+    private final Path indexPath;
+    private final long groupCommitMillis;
+
+    private FileChannel channel;
+
+    /**
+     * Date index, or null if it could not be opened (queries then scan)
+     */
+    private SessionDateIndex dateIndex;
+
+    private ScheduledExecutorService syncExecutor;
+
+    /**
+     * true while an fsync is scheduled but has not run yet
+     */
+    private boolean syncPending = false;
+
+    /**
+     * Number of fsyncs performed (for tests)
+     */
+    private int syncCount = 0;
+
+    public SessionJournal() {
+        this(Paths.get(System.getProperty("user.home"), APP_DIR_NAME).resolve(JOURNAL_FILE_NAME),
+                DEFAULT_GROUP_COMMIT_MILLIS);
+    }
+
+    /*
+     * Package-private constructor for testing with a custom file.
+     * A groupCommitMillis of 0 forces an fsync after every append.
+     */
+    SessionJournal(Path journalPath, long groupCommitMillis) {
+        this.journalPath = journalPath;
+        this.indexPath = journalPath.resolveSibling(journalPath.getFileName() + ".idx");
+        this.groupCommitMillis = groupCommitMillis;
+    }
+
+    // ===== OPEN / CLOSE =====
+
+    /**
+     * Opens the journal for appending and repairs a torn tail.
+     * Called automatically by the first append if needed.
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    public synchronized void open() throws IOException {
+        if (channel != null) {
+            return;
+        }
+        Files.createDirectories(journalPath.getParent());
+        channel = FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        recoverTail();
+        channel.position(channel.size());
+        openDateIndex();
+    }
+
+    /**
+     * Forces pending appends to disk and closes the file
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            flush();
+            if (dateIndex != null) {
+                dateIndex.close();
+                dateIndex = null;
+            }
+        } finally {
+            channel.close();
+            channel = null;
+            if (syncExecutor != null) {
+                syncExecutor.shutdownNow();
+                syncExecutor = null;
+            }
+        }
+    }
+
+    // ===== WRITING =====
+
+    /**
+     * Appends one finished session
+     *
+     * @param record Session to append
+     * @throws IOException if writing fails
+     */
+    public synchronized void append(SessionRecord record) throws IOException {
+        open();
+        String line = JsonCodec.compactGson().toJson(record, SessionRecord.class) + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        long offset = channel.position();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        indexLine(record, offset, channel.position());
+
+        if (groupCommitMillis <= 0) {
+            sync();
+        } else if (!syncPending) {
+            syncPending = true;
+            getSyncExecutor().schedule(this::syncQuietly, groupCommitMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Forces every append so far to disk without waiting for the
+     * group-commit window
+     *
+     * @throws IOException if the fsync fails
+     */
+    public synchronized void flush() throws IOException {
+        if (channel != null && syncPending) {
+            sync();
+        }
+    }
+
+    private void sync() throws IOException {
+        syncPending = false;
+        channel.force(false);
+        syncCount++;
+    }
+
+    private synchronized void syncQuietly() {
+        if (channel == null || !syncPending) {
+            return;
+        }
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("Failed to sync session journal: " + e.getMessage());
+        }
+    }
+
+    private ScheduledExecutorService getSyncExecutor() {
+        if (syncExecutor == null) {
+            syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "session-journal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return syncExecutor;
+    }
+
+    // ===== READING =====
+
+    /**
+     * Streams every readable record in the journal, oldest first.
+     * Malformed lines are skipped.
+     *
+     * @param action Called with each record
+     * @throws IOException if reading fails
+     */
+    public void forEach(Consumer<SessionRecord> action) throws IOException {
+        synchronized (this) {
+            flush();
+        }
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                SessionRecord record = parseLine(line);
+                if (record != null) {
+                    action.accept(record);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the readable records in the journal. Uses the date index
+     * when it covers the whole file, so no record has to be parsed.
+     *
+     * @return Number of sessions
+     * @throws IOException if the journal cannot be opened or read
+     */
+    public synchronized int getSessionCount() throws IOException {
+        open();
+        if (dateIndex != null && dateIndex.getCoveredLength() == channel.size()) {
+            return dateIndex.getRecordCount();
+        }
+        int[] count = {0};
+        forEach(record -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Streams the records whose start day lies in a range, oldest first.
+     * Only the journal blocks the date index points to are read.
+     *
+     * @param from First day (inclusive)
+     * @param to Last day (inclusive)
+     * @param action Called with each matching record
+     * @throws IOException if reading fails
+     */
+    public synchronized void forEachBetween(LocalDate from, LocalDate to, Consumer<SessionRecord> action)
+            throws IOException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+        open();
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+
+        List<long[]> ranges = dateIndex != null
+                ? dateIndex.findRanges(fromDay, toDay)
+                : List.of(new long[] {0, channel.size()});
+        for (long[] range : ranges) {
+            scanLines(range[0], range[1], (offset, end, line) -> {
+                SessionRecord record = parseLine(line);
+                if (record != null) {
+                    long day = record.getStartDate().toEpochDay();
+                    if (day >= fromDay && day <= toDay) {
+                        action.accept(record);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads the records whose start day lies in a range
+     *
+     * @param from First day (inclusive)
+     * @param to Last day (inclusive)
+     * @return Matching records, oldest first
+     * @throws IOException if reading fails
+     */
+    public List<SessionRecord> readBetween(LocalDate from, LocalDate to) throws IOException {
+        List<SessionRecord> records = new ArrayList<>();
+        forEachBetween(from, to, records::add);
+        return records;
+    }
+
+    /**
+     * Reads the whole journal into a SessionHistory
+     *
+     * @return All readable sessions, oldest first
+     * @throws IOException if reading fails
+     */
+    public SessionHistory readHistory() throws IOException {
+        List<SessionRecord> sessions = new ArrayList<>();
+        forEach(sessions::add);
+        return new SessionHistory(sessions);
+    }
+
+    private static SessionRecord parseLine(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return decodeLine(line);
+        } catch (RuntimeException e) {
+            System.err.println("Skipping unreadable session journal line: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Decodes one line, throwing for anything that is not a usable record.
+     * Besides JsonParseException the codec adapters throw
+     * DateTimeParseException and NumberFormatException for bad values,
+     * so callers catch RuntimeException. The start date is checked here
+     * because the date index needs it for every record.
+     */
+    private static SessionRecord decodeLine(String line) {
+        SessionRecord record = JsonCodec.compactGson().fromJson(line, SessionRecord.class);
+        if (record == null) {
+            throw new JsonParseException("Journal line is not a session record");
+        }
+        record.getStartDate();
+        return record;
+    }
+
+    /**
+     * Receives one journal line with its byte offsets
+     */
+    private interface LineVisitor {
+        void visit(long offset, long endOffset, String line);
+    }
+
+    /**
+     * Reads the complete lines between two byte offsets of the journal
+     */
+    private void scanLines(long start, long end, LineVisitor visitor) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate((int) Math.max(1, Math.min(READ_CHUNK_SIZE, end - start)));
+        ByteArrayOutputStream line = new ByteArrayOutputStream(512);
+        long lineStart = start;
+        long position = start;
+        while (position < end) {
+            chunk.clear().limit((int) Math.min(chunk.capacity(), end - position));
+            int read = channel.read(chunk, position);
+            if (read < 0) {
+                break;
+            }
+            byte[] bytes = chunk.array();
+            int segmentStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    line.write(bytes, segmentStart, i - segmentStart);
+                    long lineEnd = position + i + 1;
+                    visitor.visit(lineStart, lineEnd, line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    lineStart = lineEnd;
+                    segmentStart = i + 1;
+                }
+            }
+            line.write(bytes, segmentStart, read - segmentStart);
+            position += read;
+        }
+    }
+
+    // ===== DATE INDEX =====
+
+    private void openDateIndex() {
+        try {
+            dateIndex = SessionDateIndex.open(indexPath);
+            if (dateIndex.getCoveredLength() != channel.size()) {
+                rebuildDateIndex();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to open session date index, range queries will scan: " + e.getMessage());
+            dateIndex = null;
+        }
+    }
+
+    private void rebuildDateIndex() throws IOException {
+        dateIndex.reset();
+        long[] count = {0};
+        scanLines(0, channel.size(), (offset, end, line) -> {
+            SessionRecord record = parseLine(line);
+            if (record != null) {
+                indexLine(record, offset, end);
+                count[0]++;
+            }
+        });
+        System.out.println("[SessionJournal] Rebuilt date index over " + count[0] + " sessions");
+    }
+
+    private void indexLine(SessionRecord record, long offset, long endOffset) {
+        if (dateIndex == null) {
+            return;
+        }
+        try {
+            dateIndex.add(record.getStartDate().toEpochDay(), offset, endOffset);
+        } catch (IOException e) {
+            // The next open() sees the stale index and rebuilds it
+            System.err.println("Failed to update session date index: " + e.getMessage());
+        }
+    }
+
+    // ===== TAIL RECOVERY =====
+
+    /**
+     * Truncates an unfinished last line, then drops trailing lines that
+     * do not decode to a session record (e.g. blocks zero-filled by a crash).
+     * Only the end of the file is read.
+     */
+    private void recoverTail() throws IOException {
+        long size = channel.size();
+        long validEnd = findLastNewline(size) + 1;
+
+        while (validEnd > 0) {
+            long lineStart = findLastNewline(validEnd - 1) + 1;
+            if (isValidRecordLine(lineStart, validEnd - 1)) {
+                break;
+            }
+            validEnd = lineStart;
+        }
+
+        if (validEnd < size) {
+            System.err.println("[SessionJournal] Dropped " + (size - validEnd)
+                    + " bytes of incomplete records from " + journalPath.getFileName());
+            channel.truncate(validEnd);
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Finds the last '\n' before a position by reading backwards in chunks
+     *
+     * @return Position of the newline, or -1 if there is none
+     */
+    private long findLastNewline(long before) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(TAIL_CHUNK_SIZE);
+        long end = before;
+        while (end > 0) {
+            long start = Math.max(0, end - TAIL_CHUNK_SIZE);
+            chunk.clear().limit((int) (end - start));
+            readFully(chunk, start);
+            for (int i = chunk.limit() - 1; i >= 0; i--) {
+                if (chunk.get(i) == '\n') {
+                    return start + i;
+                }
+            }
+            end = start;
+        }
+        return -1;
+    }
+
+    private boolean isValidRecordLine(long start, long end) throws IOException {
+        if (end <= start) {
+            return true;  // Blank line
+        }
+        ByteBuffer line = ByteBuffer.allocate((int) (end - start));
+        readFully(line, start);
+        try {
+            decodeLine(new String(line.array(), StandardCharsets.UTF_8));
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of session journal");
+            }
+        }
+    }
+
+    // ===== GETTERS =====
+
+    /**
+     * Gets the number of fsyncs performed since opening
+     *
+     * @return fsync count
+     */
+    synchronized int getSyncCount() {
+        return syncCount;
+    }
+}
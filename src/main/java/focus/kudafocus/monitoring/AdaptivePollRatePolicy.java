@@ -0,0 +1,95 @@
+package focus.kudafocus.monitoring;
+
+/**
+ * Poll-rate policy that reacts quickly to change and backs off when idle.
+ *
+ * Rules:
+ * - Right after the foreground app changes, or while a violation is active,
+ *   probe at the fast rate so violations start and end promptly
+ * - Otherwise start at the base rate, and double the delay after every few
+ *   consecutive stable probes, up to a maximum
+ *
+ * Example with the defaults (500 ms fast, 1 s base, 8 s max, doubling every
+ * 4 stable probes): after a switch the monitor polls every 0.5 s, then every
+ * 1 s, 2 s, 4 s and finally 8 s while nothing changes.
+ */
+public class AdaptivePollRatePolicy implements PollRatePolicy {
+
+    /**
+     * Default delay after a change or during a violation
+     */
+    public static final long DEFAULT_FAST_MILLIS = 500;
+
+    /**
+     * Default delay once things settle down
+     */
+    public static final long DEFAULT_BASE_MILLIS = 1000;
+
+    /**
+     * Default upper bound on the delay
+     */
+    public static final long DEFAULT_MAX_MILLIS = 8000;
+
+    /**
+     * Default number of stable probes before the delay doubles
+     */
+    public static final int DEFAULT_PROBES_PER_DOUBLING = 4;
+
+    private final long fastMillis;
+    private final long baseMillis;
+    private final long maxMillis;
+    private final int probesPerDoubling;
+
+    /**
+     * Number of consecutive probes without a change or violation
+     */
+    private int stableProbes = 0;
+
+    /**
+     * Creates a policy with the default rates
+     */
+    public AdaptivePollRatePolicy() {
+        this(DEFAULT_FAST_MILLIS, DEFAULT_BASE_MILLIS, DEFAULT_MAX_MILLIS, DEFAULT_PROBES_PER_DOUBLING);
+    }
+
+    /**
+     * Creates a policy with custom rates
+     *
+     * @param fastMillis Delay after a change or during a violation
+     * @param baseMillis Delay when stable, before any backoff
+     * @param maxMillis Maximum delay
+     * @param probesPerDoubling Stable probes needed before the delay doubles
+     */
+    public AdaptivePollRatePolicy(long fastMillis, long baseMillis, long maxMillis, int probesPerDoubling) {
+        if (fastMillis <= 0 || baseMillis < fastMillis || maxMillis < baseMillis || probesPerDoubling <= 0) {
+            throw new IllegalArgumentException("Require 0 < fast <= base <= max and probesPerDoubling > 0");
+        }
+        this.fastMillis = fastMillis;
+        this.baseMillis = baseMillis;
+        this.maxMillis = maxMillis;
+        this.probesPerDoubling = probesPerDoubling;
+    }
+
+    @Override
+    public long nextDelayMillis(boolean foregroundChanged, boolean violationActive) {
+        if (foregroundChanged || violationActive) {
+            stableProbes = 0;
+            return fastMillis;
+        }
+
+        int doublings = stableProbes / probesPerDoubling;
+        stableProbes++;
+
+        // Stop shifting once the cap is reached (also avoids overflow)
+        long delay = baseMillis;
+        for (int i = 0; i < doublings && delay < maxMillis; i++) {
+            delay *= 2;
+        }
+        return Math.min(delay, maxMillis);
+    }
+
+    @Override
+    public void reset() {
+        stableProbes = 0;
+    }
+}
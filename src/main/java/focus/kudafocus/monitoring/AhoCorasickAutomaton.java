@@ -0,0 +1,160 @@
+package focus.kudafocus.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Immutable multi-pattern matcher (Aho-Corasick automaton).
+ *
+ * Finds every pattern that occurs in a text in a single left-to-right pass,
+ * regardless of how many patterns were compiled in. Children of each state
+ * are stored as sorted char/int arrays so the compiled form is compact.
+ */
+final class AhoCorasickAutomaton {
+
+    /**
+     * Sorted transition characters per state
+     */
+    private final char[][] edgeChars;
+
+    /**
+     * Target state for each transition, parallel to edgeChars
+     */
+    private final int[][] edgeTargets;
+
+    /**
+     * Failure link per state
+     */
+    private final int[] fail;
+
+    /**
+     * Pattern indexes recognized when entering each state (includes outputs
+     * inherited through failure links)
+     */
+    private final int[][] outputs;
+
+    /**
+     * Builds an automaton for the given patterns. Empty patterns are skipped;
+     * callers that need them must handle them separately.
+     *
+     * @param patterns Patterns to search for; indexes are reported back by match()
+     */
+    AhoCorasickAutomaton(List<String> patterns) {
+        // Build the trie with ordered child maps
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        children.add(new TreeMap<>());
+        out.add(new ArrayList<>());
+
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = children.get(state).get(pattern.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    out.add(new ArrayList<>());
+                    children.get(state).put(pattern.charAt(i), next);
+                }
+                state = next;
+            }
+            out.get(state).add(p);
+        }
+
+        int stateCount = children.size();
+        edgeChars = new char[stateCount][];
+        edgeTargets = new int[stateCount][];
+        for (int s = 0; s < stateCount; s++) {
+            TreeMap<Character, Integer> map = children.get(s);
+            edgeChars[s] = new char[map.size()];
+            edgeTargets[s] = new int[map.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> entry : map.entrySet()) {
+                edgeChars[s][i] = entry.getKey();
+                edgeTargets[s][i] = entry.getValue();
+                i++;
+            }
+        }
+
+        // Breadth-first pass to compute failure links and merged outputs
+        fail = new int[stateCount];
+        outputs = new int[stateCount][];
+        outputs[0] = toArray(out.get(0));
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int target : edgeTargets[0]) {
+            fail[target] = 0;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> merged = out.get(state);
+            merged.addAll(out.get(fail[state]));
+            outputs[state] = toArray(merged);
+
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                char c = edgeChars[state][i];
+                int child = edgeTargets[state][i];
+                int f = fail[state];
+                while (f != 0 && step(f, c) < 0) {
+                    f = fail[f];
+                }
+                int candidate = step(f, c);
+                fail[child] = (candidate >= 0 && candidate != child) ? candidate : 0;
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Marks every pattern that occurs in the text.
+     *
+     * @param text Text to scan
+     * @param hits Array indexed by pattern; entries are set to true on match
+     */
+    void match(String text, boolean[] hits) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = step(state, c);
+            while (next < 0 && state != 0) {
+                state = fail[state];
+                next = step(state, c);
+            }
+            state = next < 0 ? 0 : next;
+            for (int pattern : outputs[state]) {
+                hits[pattern] = true;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of states (for diagnostics)
+     *
+     * @return State count including the root
+     */
+    int getStateCount() {
+        return fail.length;
+    }
+
+    private int step(int state, char c) {
+        int index = Arrays.binarySearch(edgeChars[state], c);
+        return index >= 0 ? edgeTargets[state][index] : -1;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+}
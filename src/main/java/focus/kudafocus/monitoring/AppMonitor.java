@@ -1,7 +1,9 @@
 package focus.kudafocus.monitoring;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Abstract base class for process monitoring demonstrating ABSTRACTION in OOP.
@@ -21,6 +23,7 @@ import java.util.List;
  * Subclasses:
  * - MacOSAppMonitor: Uses 'ps aux' command
  * - WindowsAppMonitor: Uses 'tasklist' command
+ * - LinuxAppMonitor: Reads /proc directly (no subprocess)
  *
  * Benefits of Abstraction:
  * - Separation of interface and implementation
@@ -31,10 +34,21 @@ import java.util.List;
 public abstract class AppMonitor {
 
     /**
-     * Cached list of currently running processes
-     * Updated each time getCurrentProcesses() is called
+     * Immutable snapshot of currently running processes.
+     * Replaced (with a higher version) only when a scan changes something,
+     * so it can be handed out without copying.
      */
-    protected List<ProcessInfo> cachedProcesses;
+    protected volatile ProcessSnapshot cachedProcesses;
+
+    /**
+     * PID-keyed table maintained across scans
+     */
+    protected final ProcessTable processTable;
+
+    /**
+     * Changes produced by the most recent scan
+     */
+    protected ProcessDelta lastDelta;
 
     /**
      * Last time processes were scanned
@@ -47,13 +61,39 @@ public abstract class AppMonitor {
      */
     protected static final long SCAN_INTERVAL_MS = 1000;
 
+    /**
+     * Maximum number of raw names kept in the normalization cache
+     */
+    private static final int NORMALIZED_CACHE_LIMIT = 4096;
+
+    /**
+     * Cache of raw process name to normalized lower-case key.
+     * Process names repeat across scans, so each is normalized once.
+     */
+    private final Map<String, String> normalizedKeys = new HashMap<>();
+
+    /**
+     * Compiled form of the blocked-app list last passed to checkForViolations()
+     */
+    private BlockedAppMatcher blockedAppMatcher;
+
+    /**
+     * Result of the last checkForViolations() call, and the snapshot version
+     * it was computed from. Reused while neither the snapshot nor the
+     * blocked list changes.
+     */
+    private List<String> lastViolations;
+    private long lastViolationsVersion = -1;
+
     // ===== CONSTRUCTOR =====
 
     /**
      * Creates a new AppMonitor
      */
     public AppMonitor() {
-        this.cachedProcesses = new ArrayList<>();
+        this.cachedProcesses = ProcessSnapshot.EMPTY;
+        this.processTable = new ProcessTable();
+        this.lastDelta = ProcessDelta.EMPTY;
         this.lastScanTime = 0;
     }
 
@@ -67,7 +107,7 @@ public abstract class AppMonitor {
      * Each platform implements this differently:
      * - macOS: Parse output of 'ps aux' command
      * - Windows: Parse output of 'tasklist' command
-     * - Linux: Read from /proc or use 'ps' command
+     * - Linux: Read /proc/&lt;pid&gt;/cmdline directly
      *
      * This method is PROTECTED, meaning subclasses must implement it,
      * but external code doesn't call it directly.
@@ -90,6 +130,23 @@ public abstract class AppMonitor {
      */
     protected abstract String normalizeProcessName(String rawProcessName);
 
+    // ===== OVERRIDABLE METHODS =====
+
+    /**
+     * Feeds the current processes into the PID-keyed table.
+     *
+     * The default implementation parses a full getCurrentProcesses() list.
+     * Platforms that can enumerate PIDs cheaply should override this and
+     * only parse PIDs for which table.touch(pid) returns false.
+     *
+     * @param table Table to update (scan already begun)
+     */
+    protected void scanProcesses(ProcessTable table) {
+        for (ProcessInfo process : getCurrentProcesses()) {
+            table.record(process);
+        }
+    }
+
     // ===== CONCRETE METHODS =====
     // These are SHARED across all platforms (no need to override)
 
@@ -100,27 +157,34 @@ public abstract class AppMonitor {
      * This method uses the abstract getCurrentProcesses() method,
      * but the violation detection logic is the same regardless of OS.
      *
+     * The blocked list is compiled into a BlockedAppMatcher, which is only
+     * rebuilt when the list changes, and answered in one pass over the
+     * process table. If the snapshot version has not changed since the last
+     * call, the previous answer is reused.
+     *
      * @param blockedApps List of app names to check for
      * @return List of blocked apps that are currently running
      */
     public List<String> checkForViolations(List<String> blockedApps) {
-        List<String> violations = new ArrayList<>();
-
         // Only scan if enough time has passed since last scan
         long currentTime = System.currentTimeMillis();
         if (currentTime - lastScanTime >= SCAN_INTERVAL_MS) {
-            cachedProcesses = getCurrentProcesses();
-            lastScanTime = currentTime;
+            refreshProcesses(currentTime);
         }
 
-        // Check each blocked app against running processes
-        for (String blockedApp : blockedApps) {
-            if (isAppRunning(blockedApp)) {
-                violations.add(blockedApp);
-            }
+        // Recompile only when the blocked list changed
+        if (blockedAppMatcher == null || !blockedAppMatcher.isCompiledFrom(blockedApps)) {
+            blockedAppMatcher = BlockedAppMatcher.compile(blockedApps, this::normalizedKey);
+            lastViolationsVersion = -1;
         }
 
-        return violations;
+        // Same snapshot and same rules give the same answer
+        ProcessSnapshot snapshot = cachedProcesses;
+        if (snapshot.getVersion() != lastViolationsVersion) {
+            lastViolations = blockedAppMatcher.findRunning(snapshot, this::normalizedKey);
+            lastViolationsVersion = snapshot.getVersion();
+        }
+        return new ArrayList<>(lastViolations);
     }
 
     /**
@@ -130,11 +194,11 @@ public abstract class AppMonitor {
      * @return true if app is running
      */
     public boolean isAppRunning(String appName) {
-        String normalizedTarget = normalizeProcessName(appName).toLowerCase();
+        String normalizedTarget = normalizedKey(appName);
 
         for (ProcessInfo process : cachedProcesses) {
-            String normalizedProcess = normalizeProcessName(process.getProcessName()).toLowerCase();
-            String normalizedDisplay = normalizeProcessName(process.getDisplayName()).toLowerCase();
+            String normalizedProcess = normalizedKey(process.getProcessName());
+            String normalizedDisplay = normalizedKey(process.getDisplayName());
 
             // Check both process name and display name
             if (normalizedProcess.contains(normalizedTarget) ||
@@ -151,18 +215,85 @@ public abstract class AppMonitor {
      * SHARED METHOD - Gets all currently running processes.
      * Uses caching to avoid excessive system calls.
      *
+     * The returned list is the shared, read-only ProcessSnapshot; it is not
+     * copied.
+     *
      * @param forceRefresh If true, force a new scan regardless of interval
-     * @return List of running processes
+     * @return List of running processes (read-only)
      */
     public List<ProcessInfo> getRunningProcesses(boolean forceRefresh) {
+        return getSnapshot(forceRefresh);
+    }
+
+    /**
+     * SHARED METHOD - Gets the current process snapshot.
+     * Uses caching to avoid excessive system calls.
+     *
+     * @param forceRefresh If true, force a new scan regardless of interval
+     * @return Immutable snapshot; same instance until a scan changes something
+     */
+    public ProcessSnapshot getSnapshot(boolean forceRefresh) {
         long currentTime = System.currentTimeMillis();
 
         if (forceRefresh || currentTime - lastScanTime >= SCAN_INTERVAL_MS) {
-            cachedProcesses = getCurrentProcesses();
-            lastScanTime = currentTime;
+            refreshProcesses(currentTime);
         }
 
-        return new ArrayList<>(cachedProcesses);
+        return cachedProcesses;
+    }
+
+    /**
+     * SHARED METHOD - Gets the normalized lower-case key for a raw name.
+     * Results are cached because the same names are seen on every scan.
+     *
+     * @param rawName Raw process or app name
+     * @return Normalized lower-case name
+     */
+    protected String normalizedKey(String rawName) {
+        String key = normalizedKeys.get(rawName);
+        if (key == null) {
+            if (normalizedKeys.size() >= NORMALIZED_CACHE_LIMIT) {
+                normalizedKeys.clear();
+            }
+            key = normalizeProcessName(rawName).toLowerCase();
+            normalizedKeys.put(rawName, key);
+        }
+        return key;
+    }
+
+    /**
+     * SHARED METHOD - Runs an incremental scan and updates the cache.
+     * A new snapshot (with the next version) is only built when the scan
+     * changed something.
+     *
+     * @param currentTime Time of the scan in milliseconds
+     */
+    private void refreshProcesses(long currentTime) {
+        processTable.beginScan();
+        scanProcesses(processTable);
+        lastDelta = processTable.endScan();
+        if (!lastDelta.isEmpty()) {
+            cachedProcesses = processTable.snapshot(cachedProcesses.getVersion() + 1);
+        }
+        lastScanTime = currentTime;
+    }
+
+    /**
+     * SHARED METHOD - Gets the changes produced by the most recent scan.
+     *
+     * @return Processes added and removed by the last scan
+     */
+    public ProcessDelta getLastDelta() {
+        return lastDelta;
+    }
+
+    /**
+     * SHARED METHOD - Gets the current process snapshot (uses cache).
+     *
+     * @return Immutable snapshot of running processes
+     */
+    public ProcessSnapshot getSnapshot() {
+        return getSnapshot(false);
     }
 
     /**
@@ -191,7 +322,9 @@ public abstract class AppMonitor {
      * Forces a fresh scan on next call.
      */
     public void clearCache() {
-        cachedProcesses.clear();
+        cachedProcesses = ProcessSnapshot.wrap(cachedProcesses.getVersion() + 1, new ProcessInfo[0]);
+        processTable.clear();
+        lastDelta = ProcessDelta.EMPTY;
         lastScanTime = 0;
     }
 
@@ -217,6 +350,8 @@ public abstract class AppMonitor {
             return new MacOSAppMonitor();
         } else if (os.contains("win")) {
             return new WindowsAppMonitor();
+        } else if (os.contains("linux")) {
+            return new LinuxAppMonitor();
         } else {
             // Default to macOS for unsupported systems
             System.err.println("Warning: Unsupported OS '" + os + "', using macOS monitor");
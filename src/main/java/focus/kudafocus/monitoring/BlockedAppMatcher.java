@@ -0,0 +1,163 @@
+package focus.kudafocus.monitoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable, precompiled form of a blocked-app list.
+ *
+ * Answers "which blocked apps are running" in one pass over the process
+ * table instead of one pass per blocked app. The matching rule is the same
+ * one AppMonitor.isAppRunning() applies, on normalized lower-case names:
+ * - the process or display name contains the blocked name, or
+ * - the blocked name contains the process name
+ *
+ * The first rule is answered by an Aho-Corasick automaton over all blocked
+ * names. The second is answered by a hash index of every substring of the
+ * blocked names, which stays small because app names are short.
+ */
+public final class BlockedAppMatcher {
+
+    /**
+     * Blocked apps in the order they were given (duplicates preserved)
+     */
+    private final List<String> blockedApps;
+
+    /**
+     * For each blocked app, the index of its distinct normalized name
+     */
+    private final int[] patternOfApp;
+
+    /**
+     * Number of distinct normalized names
+     */
+    private final int patternCount;
+
+    /**
+     * Patterns that are empty after normalization (match any process)
+     */
+    private final boolean[] emptyPatterns;
+
+    /**
+     * Automaton over the distinct normalized names
+     */
+    private final AhoCorasickAutomaton automaton;
+
+    /**
+     * Every substring of every normalized name, mapped to the patterns containing it
+     */
+    private final Map<String, int[]> substringIndex;
+
+    private BlockedAppMatcher(List<String> blockedApps, UnaryOperator<String> keyOf) {
+        this.blockedApps = List.copyOf(blockedApps);
+        this.patternOfApp = new int[blockedApps.size()];
+
+        Map<String, Integer> distinct = new LinkedHashMap<>();
+        for (int i = 0; i < blockedApps.size(); i++) {
+            String key = keyOf.apply(blockedApps.get(i));
+            Integer pattern = distinct.get(key);
+            if (pattern == null) {
+                pattern = distinct.size();
+                distinct.put(key, pattern);
+            }
+            patternOfApp[i] = pattern;
+        }
+
+        List<String> patterns = new ArrayList<>(distinct.keySet());
+        this.patternCount = patterns.size();
+        this.emptyPatterns = new boolean[patternCount];
+        this.automaton = new AhoCorasickAutomaton(patterns);
+
+        Map<String, List<Integer>> index = new HashMap<>();
+        for (int p = 0; p < patternCount; p++) {
+            String pattern = patterns.get(p);
+            emptyPatterns[p] = pattern.isEmpty();
+            for (int start = 0; start <= pattern.length(); start++) {
+                for (int end = start; end <= pattern.length(); end++) {
+                    List<Integer> owners = index.computeIfAbsent(pattern.substring(start, end), k -> new ArrayList<>());
+                    if (owners.isEmpty() || owners.get(owners.size() - 1) != p) {
+                        owners.add(p);
+                    }
+                }
+            }
+        }
+        this.substringIndex = new HashMap<>(index.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : index.entrySet()) {
+            substringIndex.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * Compiles a blocked-app list.
+     *
+     * @param blockedApps App names to block
+     * @param keyOf Function producing the normalized lower-case key of a name
+     * @return Compiled matcher
+     */
+    public static BlockedAppMatcher compile(List<String> blockedApps, UnaryOperator<String> keyOf) {
+        return new BlockedAppMatcher(blockedApps, keyOf);
+    }
+
+    /**
+     * Finds the blocked apps that match any of the given processes.
+     *
+     * @param processes Processes to check
+     * @param keyOf Function producing the normalized lower-case key of a name
+     * @return Blocked apps that are running, in blocked-list order
+     */
+    public List<String> findRunning(List<ProcessInfo> processes, UnaryOperator<String> keyOf) {
+        boolean[] hits = new boolean[patternCount];
+
+        if (!processes.isEmpty()) {
+            for (int p = 0; p < patternCount; p++) {
+                if (emptyPatterns[p]) {
+                    hits[p] = true;
+                }
+            }
+        }
+
+        for (ProcessInfo process : processes) {
+            String processKey = keyOf.apply(process.getProcessName());
+            automaton.match(processKey, hits);
+            automaton.match(keyOf.apply(process.getDisplayName()), hits);
+
+            int[] owners = substringIndex.get(processKey);
+            if (owners != null) {
+                for (int p : owners) {
+                    hits[p] = true;
+                }
+            }
+        }
+
+        List<String> running = new ArrayList<>();
+        for (int i = 0; i < patternOfApp.length; i++) {
+            if (hits[patternOfApp[i]]) {
+                running.add(blockedApps.get(i));
+            }
+        }
+        return running;
+    }
+
+    /**
+     * Gets the blocked apps this matcher was compiled from
+     *
+     * @return Unmodifiable list of blocked apps
+     */
+    public List<String> getBlockedApps() {
+        return blockedApps;
+    }
+
+    /**
+     * Checks whether this matcher was compiled from the given list
+     *
+     * @param apps Blocked-app list to compare
+     * @return true if the lists are equal
+     */
+    public boolean isCompiledFrom(List<String> apps) {
+        return blockedApps.equals(apps);
+    }
+}
@@ -1,7 +1,7 @@
 package focus.kudafocus.monitoring;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import focus.kudafocus.data.storage.DomainTable;
+
 import java.net.URI;
 import java.util.List;
 import java.util.Locale;
@@ -11,29 +11,104 @@ import java.util.Locale;
  *
  * This monitor checks the URL of the active tab only when Google Chrome is
  * the frontmost application, then matches the host against blocked domains.
+ * The blocked list is compiled into a DomainTrie (supporting "*." wildcard
+ * and "@@" exception rules), so a check costs O(labels in the host)
+ * however long the list is.
+ * AppleScript queries go through a long-lived ScriptingCoprocess shared
+ * with ForegroundAppMonitor, so a check costs no process launches.
  */
 public class ChromeWebsiteMonitor {
 
+    /**
+     * Application name Chrome reports as the frontmost process
+     */
+    private static final String CHROME_APP_NAME = "Google Chrome";
+
+    /**
+     * AppleScript that returns the frontmost application's name
+     */
+    private static final String FRONTMOST_APP_SCRIPT =
+            "tell application \"System Events\" to get name of first application process whose frontmost is true";
+
+    /**
+     * Helper process that evaluates the AppleScript queries
+     */
+    private final ScriptingCoprocess scripting;
+
+    /**
+     * Compiled form of the blocked-domain list last checked against
+     */
+    private DomainTrie domainTrie;
+
+    /**
+     * Imported (memory-mapped) blocklist checked after the inline rules
+     */
+    private final DomainTable importedBlocklist;
+
+    /**
+     * Whether each check is logged to the console
+     */
+    private boolean verbose = true;
+
+    /**
+     * Creates a monitor that uses the shared AppleScript helper
+     */
+    public ChromeWebsiteMonitor() {
+        this(ScriptingCoprocess.shared());
+    }
+
+    /**
+     * Creates a monitor that uses the given scripting helper
+     *
+     * @param scripting Helper used to evaluate AppleScript
+     */
+    public ChromeWebsiteMonitor(ScriptingCoprocess scripting) {
+        this(scripting, DomainTable.EMPTY);
+    }
+
+    /**
+     * Creates a monitor that also checks an imported blocklist
+     *
+     * @param scripting Helper used to evaluate AppleScript
+     * @param importedBlocklist Imported domains (DomainTable.EMPTY for none)
+     */
+    public ChromeWebsiteMonitor(ScriptingCoprocess scripting, DomainTable importedBlocklist) {
+        this.scripting = scripting;
+        this.importedBlocklist = importedBlocklist;
+    }
+
     /**
      * Checks if frontmost Chrome tab URL matches any blocked domain.
      * Only detects violations when Chrome window is actively visible/in focus.
      *
+     * Convenience wrapper that queries the frontmost app itself. The session
+     * monitor captures a ForegroundSnapshot instead, so the frontmost query
+     * is shared with the app rules.
+     *
      * @param blockedDomains List of blocked domains like "youtube.com"
      * @return Matched domain, or null if no match / not applicable / Chrome not visible
      */
     public String detectDistractingDomain(List<String> blockedDomains) {
-        String os = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
-        if (!os.contains("mac")) {
+        if (!isMac()) {
             return null;
         }
 
-        // Check if Chrome is the frontmost application
-        String frontmostApp = runAppleScript(
-                "tell application \"System Events\" to get name of first application process whose frontmost is true"
-        );
-        if (frontmostApp == null || !frontmostApp.equalsIgnoreCase("Google Chrome")) {
-            System.out.println("[ChromeWebsiteMonitor] Frontmost app: " + frontmostApp + ", Chrome checking skipped");
-            return null;
+        String frontmostApp = runAppleScript(FRONTMOST_APP_SCRIPT);
+        return detectDistractingDomain(captureBrowserState(frontmostApp), blockedDomains);
+    }
+
+    /**
+     * Completes a snapshot for the given frontmost app.
+     *
+     * Chrome is only asked for its window state and active URL when it is
+     * the frontmost application; otherwise no queries are made at all.
+     *
+     * @param frontmostApp Frontmost application from this tick's probe
+     * @return Snapshot including Chrome's state when Chrome is in front
+     */
+    public ForegroundSnapshot captureBrowserState(String frontmostApp) {
+        if (!isMac() || !isChrome(frontmostApp)) {
+            return ForegroundSnapshot.of(frontmostApp);
         }
 
         // Verify Chrome window is actually visible (not minimized)
@@ -41,37 +116,98 @@ public class ChromeWebsiteMonitor {
                 "tell application \"Google Chrome\" to return (count of windows) > 0"
         );
         if (chromeVisible == null || !chromeVisible.equalsIgnoreCase("true")) {
-            System.out.println("[ChromeWebsiteMonitor] Chrome window not visible");
-            return null;
+            return ForegroundSnapshot.withBrowserState(frontmostApp, false, null);
         }
 
         // Get the URL of the active tab
         String currentUrl = runAppleScript(
                 "tell application \"Google Chrome\" to get URL of active tab of front window"
         );
+        return ForegroundSnapshot.withBrowserState(frontmostApp, true, currentUrl);
+    }
+
+    /**
+     * Matches a captured snapshot against the blocked domains.
+     * Makes no system calls.
+     *
+     * @param snapshot Snapshot captured for this tick
+     * @param blockedDomains Domain rules like "youtube.com", "*.example.com", "@@docs.google.com"
+     * @return Matching rule, or null if no match / not applicable / Chrome not visible
+     */
+    public String detectDistractingDomain(ForegroundSnapshot snapshot, List<String> blockedDomains) {
+        String frontmostApp = snapshot.getFrontmostApplication();
+        if (!isChrome(frontmostApp)) {
+            log("[ChromeWebsiteMonitor] Frontmost app: " + frontmostApp + ", Chrome checking skipped");
+            return null;
+        }
+
+        if (!snapshot.isBrowserWindowVisible()) {
+            log("[ChromeWebsiteMonitor] Chrome window not visible");
+            return null;
+        }
+
+        String currentUrl = snapshot.getActiveUrl();
         if (currentUrl == null || currentUrl.isBlank()) {
-            System.out.println("[ChromeWebsiteMonitor] Chrome URL empty or null");
+            log("[ChromeWebsiteMonitor] Chrome URL empty or null");
             return null;
         }
 
         String host = extractHost(currentUrl);
         if (host == null) {
-            System.out.println("[ChromeWebsiteMonitor] Could not extract host from: " + currentUrl);
+            log("[ChromeWebsiteMonitor] Could not extract host from: " + currentUrl);
             return null;
         }
 
-        System.out.println("[ChromeWebsiteMonitor] Chrome active URL: " + currentUrl + " -> host: " + host);
+        log("[ChromeWebsiteMonitor] Chrome active URL: " + currentUrl + " -> host: " + host);
 
-        String normalizedHost = host.toLowerCase(Locale.ROOT);
-        for (String domain : blockedDomains) {
-            String normalizedDomain = domain.toLowerCase(Locale.ROOT);
-            if (normalizedHost.equals(normalizedDomain) || normalizedHost.endsWith("." + normalizedDomain)) {
-                System.out.println("[ChromeWebsiteMonitor] MATCH! Host " + normalizedHost + " matches domain " + normalizedDomain);
-                return domain;
-            }
+        // Recompile only when the blocked list changed
+        if (domainTrie == null || !domainTrie.isCompiledFrom(blockedDomains)) {
+            domainTrie = DomainTrie.compile(blockedDomains);
         }
-        System.out.println("[ChromeWebsiteMonitor] No match. Host " + normalizedHost + " vs domains " + blockedDomains);
-        return null;
+
+        // Inline rules first; their exceptions also override the imported list
+        String matchedRule = domainTrie.match(host);
+        if (matchedRule == null && !importedBlocklist.isEmpty() && !domainTrie.isExcepted(host)) {
+            matchedRule = importedBlocklist.match(host);
+        }
+        if (matchedRule != null) {
+            log("[ChromeWebsiteMonitor] MATCH! Host " + host + " matches rule " + matchedRule);
+        } else {
+            log("[ChromeWebsiteMonitor] No match. Host " + host + " vs " + blockedDomains.size() + " rules");
+        }
+        return matchedRule;
+    }
+
+    /**
+     * Checks whether an imported blocklist is being used
+     *
+     * @return true if the imported blocklist has domains
+     */
+    public boolean hasImportedBlocklist() {
+        return !importedBlocklist.isEmpty();
+    }
+
+    /**
+     * Turns the per-check console logging on or off (on by default)
+     *
+     * @param verbose true to log every check
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    private void log(String message) {
+        if (verbose) {
+            System.out.println(message);
+        }
+    }
+
+    private static boolean isChrome(String appName) {
+        return appName != null && appName.equalsIgnoreCase(CHROME_APP_NAME);
+    }
+
+    private static boolean isMac() {
+        return System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("mac");
     }
 
     private String extractHost(String url) {
@@ -83,15 +219,6 @@ public class ChromeWebsiteMonitor {
     }
 
     private String runAppleScript(String script) {
-        try {
-            Process process = new ProcessBuilder("osascript", "-e", script).start();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String output = reader.readLine();
-                process.waitFor();
-                return output == null ? null : output.trim();
-            }
-        } catch (Exception ignored) {
-            return null;
-        }
+        return scripting.evaluate(script);
     }
 }
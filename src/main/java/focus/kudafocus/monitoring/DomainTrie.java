@@ -0,0 +1,253 @@
+package focus.kudafocus.monitoring;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, precompiled form of a blocked-website list.
+ *
+ * Domains are stored in a trie keyed on their DNS labels in reverse order
+ * ("www.youtube.com" is stored as com -> youtube -> www). Checking a host
+ * walks down the trie one label at a time, so the cost depends on the
+ * number of labels in the host (usually 2-4), not on the number of blocked
+ * domains. This keeps checks fast with tens of thousands of domains.
+ *
+ * Rule syntax (one rule per list entry, case-insensitive):
+ * - "example.com"     blocks example.com and every subdomain
+ * - "*.example.com"   blocks subdomains of example.com, but not example.com itself
+ * - "@@example.com"   exception: allows example.com and its subdomains even
+ *                     if a parent domain is blocked
+ *
+ * When several rules apply, the one for the longest (most specific) domain
+ * wins. If a blocking rule and an exception name the same domain, the
+ * exception wins.
+ */
+public final class DomainTrie {
+
+    /**
+     * Prefix that marks an exception rule
+     */
+    public static final String EXCEPTION_PREFIX = "@@";
+
+    /**
+     * Prefix that marks a subdomains-only rule
+     */
+    public static final String WILDCARD_PREFIX = "*.";
+
+    /**
+     * Marker returned by decide() when an exception rule applies
+     * (compared by identity)
+     */
+    private static final String ALLOWED = new String("@@");
+
+    /**
+     * One node per domain suffix (e.g. "com", "youtube.com")
+     */
+    private static final class Node {
+        Map<String, Node> children;  // null until the first child is added
+        String blockRule;            // blocks this domain and everything below
+        String wildcardRule;         // blocks everything strictly below
+        boolean exception;           // allows this domain and everything below
+    }
+
+    /**
+     * Rules in the order they were given
+     */
+    private final List<String> rules;
+
+    /**
+     * Root of the trie (the empty domain)
+     */
+    private final Node root = new Node();
+
+    /**
+     * Number of nodes in the trie (for diagnostics)
+     */
+    private int nodeCount = 1;
+
+    private DomainTrie(List<String> rules) {
+        this.rules = List.copyOf(rules);
+        for (String rule : this.rules) {
+            insert(rule);
+        }
+    }
+
+    /**
+     * Compiles a list of domain rules
+     *
+     * @param rules Rules like "youtube.com", "*.example.com", "@@docs.google.com"
+     * @return Compiled trie
+     */
+    public static DomainTrie compile(List<String> rules) {
+        return new DomainTrie(rules);
+    }
+
+    /**
+     * Adds one rule to the trie. Blank or malformed rules are ignored.
+     */
+    private void insert(String rule) {
+        if (rule == null) {
+            return;
+        }
+        String domain = rule.trim();
+        boolean isException = domain.startsWith(EXCEPTION_PREFIX);
+        if (isException) {
+            domain = domain.substring(EXCEPTION_PREFIX.length());
+        }
+        boolean isWildcard = domain.startsWith(WILDCARD_PREFIX);
+        if (isWildcard) {
+            domain = domain.substring(WILDCARD_PREFIX.length());
+        }
+        domain = normalizeHost(domain);
+        if (domain.isEmpty()) {
+            return;
+        }
+
+        // Walk (and build) the path from the top-level label down
+        Node node = root;
+        int end = domain.length();
+        while (end > 0) {
+            int start = domain.lastIndexOf('.', end - 1) + 1;
+            String label = domain.substring(start, end);
+            if (node.children == null) {
+                node.children = new HashMap<>(4);
+            }
+            Node child = node.children.get(label);
+            if (child == null) {
+                child = new Node();
+                node.children.put(label, child);
+                nodeCount++;
+            }
+            node = child;
+            end = start - 1;
+        }
+
+        if (isException) {
+            node.exception = true;
+        } else if (isWildcard) {
+            if (node.wildcardRule == null) {
+                node.wildcardRule = rule;
+            }
+        } else if (node.blockRule == null) {
+            node.blockRule = rule;
+        }
+    }
+
+    /**
+     * Finds the rule that blocks a host.
+     *
+     * @param host Host name, e.g. "m.youtube.com"
+     * @return The blocking rule as it was given, or null if the host is allowed
+     */
+    public String match(String host) {
+        String decision = decide(host);
+        return decision == ALLOWED ? null : decision;
+    }
+
+    /**
+     * Checks whether an exception rule explicitly allows a host.
+     * Used to let exceptions override other block sources as well.
+     *
+     * @param host Host name
+     * @return true if the most specific applicable rule is an exception
+     */
+    public boolean isExcepted(String host) {
+        return decide(host) == ALLOWED;
+    }
+
+    /**
+     * Walks the trie for a host.
+     *
+     * @return The blocking rule, ALLOWED if an exception decided, or null if no rule applies
+     */
+    private String decide(String host) {
+        if (host == null) {
+            return null;
+        }
+        String normalized = normalizeHost(host);
+
+        String decision = null;
+        Node node = root;
+        int end = normalized.length();
+        while (end > 0) {
+            int start = normalized.lastIndexOf('.', end - 1) + 1;
+            if (node.children == null) {
+                break;
+            }
+            node = node.children.get(normalized.substring(start, end));
+            if (node == null) {
+                break;
+            }
+
+            // Deeper rules override shallower ones; within a node the
+            // exception is applied last so it wins
+            if (node.blockRule != null) {
+                decision = node.blockRule;
+            }
+            if (node.wildcardRule != null && start > 0) {
+                decision = node.wildcardRule;
+            }
+            if (node.exception) {
+                decision = ALLOWED;
+            }
+            end = start - 1;
+        }
+        return decision;
+    }
+
+    /**
+     * Checks whether a host, or any parent domain of it, is blocked
+     *
+     * @param host Host name
+     * @return true if blocked
+     */
+    public boolean isBlocked(String host) {
+        return match(host) != null;
+    }
+
+    /**
+     * Gets the rules this trie was compiled from
+     *
+     * @return Unmodifiable rule list
+     */
+    public List<String> getRules() {
+        return rules;
+    }
+
+    /**
+     * Gets the number of trie nodes
+     *
+     * @return Node count, including the root
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Checks whether this trie was compiled from the given rules
+     *
+     * @param otherRules Rules to compare against
+     * @return true if the lists are equal
+     */
+    public boolean isCompiledFrom(List<String> otherRules) {
+        return rules == otherRules || rules.equals(otherRules);
+    }
+
+    /**
+     * Lower-cases a host name and strips leading/trailing dots
+     */
+    private static String normalizeHost(String host) {
+        String normalized = host.trim().toLowerCase(Locale.ROOT);
+        int start = 0;
+        int end = normalized.length();
+        while (start < end && normalized.charAt(start) == '.') {
+            start++;
+        }
+        while (end > start && normalized.charAt(end - 1) == '.') {
+            end--;
+        }
+        return normalized.substring(start, end);
+    }
+}
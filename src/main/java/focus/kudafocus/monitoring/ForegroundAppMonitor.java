@@ -1,14 +1,36 @@
 package focus.kudafocus.monitoring;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.util.Locale;
 
 /**
  * Reads the current frontmost application.
+ *
+ * Queries go through a long-lived ScriptingCoprocess instead of starting
+ * a new osascript process each time.
  */
 public class ForegroundAppMonitor {
 
+    /**
+     * Helper process that evaluates the AppleScript queries
+     */
+    private final ScriptingCoprocess scripting;
+
+    /**
+     * Creates a monitor that uses the shared AppleScript helper
+     */
+    public ForegroundAppMonitor() {
+        this(ScriptingCoprocess.shared());
+    }
+
+    /**
+     * Creates a monitor that uses the given scripting helper
+     *
+     * @param scripting Helper used to evaluate AppleScript
+     */
+    public ForegroundAppMonitor(ScriptingCoprocess scripting) {
+        this.scripting = scripting;
+    }
+
     /**
      * Gets the frontmost application display name.
      *
@@ -26,15 +48,6 @@ public class ForegroundAppMonitor {
     }
 
     private String runAppleScript(String script) {
-        try {
-            Process process = new ProcessBuilder("osascript", "-e", script).start();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String output = reader.readLine();
-                process.waitFor();
-                return output == null ? null : output.trim();
-            }
-        } catch (Exception ignored) {
-            return null;
-        }
+        return scripting.evaluate(script);
     }
 }
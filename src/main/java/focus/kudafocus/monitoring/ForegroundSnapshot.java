@@ -0,0 +1,99 @@
+package focus.kudafocus.monitoring;
+
+/**
+ * What the user was looking at during one monitoring tick.
+ *
+ * A snapshot is captured once per tick on the monitor thread: one query for
+ * the frontmost application and, only when Chrome is in front and websites
+ * are being checked, one query each for the window state and the active
+ * tab's URL. App rules and website rules are then both evaluated against
+ * the same snapshot instead of asking the system again.
+ *
+ * Snapshots are immutable, so they can be handed to the UI thread safely.
+ */
+public final class ForegroundSnapshot {
+
+    /**
+     * Snapshot used when nothing could be observed
+     */
+    public static final ForegroundSnapshot EMPTY = new ForegroundSnapshot(null, false, false, null);
+
+    /**
+     * Name of the frontmost application, or null if unknown
+     */
+    private final String frontmostApplication;
+
+    /**
+     * Whether browser state (window, URL) was captured for this tick
+     */
+    private final boolean browserStateCaptured;
+
+    /**
+     * Whether the browser had at least one open window
+     */
+    private final boolean browserWindowVisible;
+
+    /**
+     * URL of the browser's active tab, or null if not captured
+     */
+    private final String activeUrl;
+
+    private ForegroundSnapshot(String frontmostApplication,
+                               boolean browserStateCaptured,
+                               boolean browserWindowVisible,
+                               String activeUrl) {
+        this.frontmostApplication = frontmostApplication;
+        this.browserStateCaptured = browserStateCaptured;
+        this.browserWindowVisible = browserWindowVisible;
+        this.activeUrl = activeUrl;
+    }
+
+    /**
+     * Creates a snapshot holding only the frontmost application
+     *
+     * @param frontmostApplication Frontmost app name, or null
+     * @return New snapshot without browser state
+     */
+    public static ForegroundSnapshot of(String frontmostApplication) {
+        return new ForegroundSnapshot(frontmostApplication, false, false, null);
+    }
+
+    /**
+     * Creates a snapshot that includes the browser's window state and URL
+     *
+     * @param frontmostApplication Frontmost app name
+     * @param browserWindowVisible Whether the browser has a visible window
+     * @param activeUrl Active tab URL, or null if unavailable
+     * @return New snapshot with browser state
+     */
+    public static ForegroundSnapshot withBrowserState(String frontmostApplication,
+                                                      boolean browserWindowVisible,
+                                                      String activeUrl) {
+        return new ForegroundSnapshot(frontmostApplication, true, browserWindowVisible, activeUrl);
+    }
+
+    // ===== GETTERS =====
+
+    public String getFrontmostApplication() {
+        return frontmostApplication;
+    }
+
+    public boolean isBrowserStateCaptured() {
+        return browserStateCaptured;
+    }
+
+    public boolean isBrowserWindowVisible() {
+        return browserWindowVisible;
+    }
+
+    public String getActiveUrl() {
+        return activeUrl;
+    }
+
+    @Override
+    public String toString() {
+        return "ForegroundSnapshot{front=" + frontmostApplication
+                + (browserStateCaptured ? ", window=" + browserWindowVisible + ", url=" + activeUrl : "")
+                + "}";
+    }
+}
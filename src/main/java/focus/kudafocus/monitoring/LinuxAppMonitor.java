@@ -0,0 +1,328 @@
+package focus.kudafocus.monitoring;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Linux-specific implementation of AppMonitor.
+ *
+ * Unlike the macOS and Windows monitors, this class does not start a
+ * subprocess. It walks the numeric entries of /proc directly and reads
+ * each process's 'cmdline' (falling back to 'comm') with NIO, reusing a
+ * single read buffer across the whole scan.
+ */
+public class LinuxAppMonitor extends AppMonitor {
+
+    /**
+     * Common app name mappings for Linux
+     * Maps executable names to user-friendly display names
+     */
+    private static final String[][] APP_NAME_MAPPINGS = {
+            {"chrome", "Chrome"},
+            {"google-chrome", "Chrome"},
+            {"chromium", "Chromium"},
+            {"firefox", "Firefox"},
+            {"msedge", "Edge"},
+            {"discord", "Discord"},
+            {"steam", "Steam"},
+            {"slack", "Slack"},
+            {"spotify", "Spotify"},
+            {"code", "VS Code"},
+            {"idea", "IntelliJ"},
+            {"pycharm", "PyCharm"}
+    };
+
+    /**
+     * Default location of the proc filesystem
+     */
+    private static final Path DEFAULT_PROC_ROOT = Paths.get("/proc");
+
+    /**
+     * Size of the reusable read buffer (cmdline is truncated to this length)
+     */
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    /**
+     * Root of the proc filesystem being scanned
+     */
+    private final Path procRoot;
+
+    /**
+     * Buffer reused for every comm/cmdline read during a scan
+     */
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+    /**
+     * Creates a new Linux app monitor reading from /proc
+     */
+    public LinuxAppMonitor() {
+        this(DEFAULT_PROC_ROOT);
+    }
+
+    /*
+     * Package-private constructor for testing against a fake proc tree.
+     */
+    LinuxAppMonitor(Path procRoot) {
+        super();
+        this.procRoot = procRoot;
+    }
+
+    /**
+     * IMPLEMENTS ABSTRACT METHOD from AppMonitor.
+     *
+     * Gets currently running processes by enumerating /proc/&lt;pid&gt;.
+     *
+     * Process:
+     * 1. List the numeric directories under /proc
+     * 2. Read each process's cmdline (or comm for processes without one)
+     * 3. Extract the executable name
+     * 4. Create ProcessInfo objects, skipping duplicates and system processes
+     *
+     * @return List of currently running processes
+     */
+    @Override
+    protected synchronized List<ProcessInfo> getCurrentProcesses() {
+        List<ProcessInfo> processes = new ArrayList<>();
+        Set<String> seenProcesses = new HashSet<>();
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(procRoot)) {
+            for (Path entry : entries) {
+                int pid = parsePid(entry.getFileName().toString());
+                if (pid < 0) {
+                    continue;  // Not a process directory
+                }
+
+                ProcessInfo processInfo = readProcess(entry, pid);
+                if (processInfo != null) {
+                    // Avoid duplicates
+                    String key = processInfo.getProcessName().toLowerCase();
+                    if (seenProcesses.add(key)) {
+                        processes.add(processInfo);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error getting Linux processes: " + e.getMessage());
+        }
+
+        return processes;
+    }
+
+    /**
+     * OVERRIDES AppMonitor's full-list scan.
+     *
+     * Listing /proc is cheap; reading cmdline is not. Only PIDs that the
+     * table has not settled yet are read, so a steady-state scan costs one
+     * directory listing plus the work for processes that started or exited.
+     *
+     * @param table Table to update (scan already begun)
+     */
+    @Override
+    protected synchronized void scanProcesses(ProcessTable table) {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(procRoot)) {
+            for (Path entry : entries) {
+                int pid = parsePid(entry.getFileName().toString());
+                if (pid < 0 || table.touch(pid)) {
+                    continue;  // Not a process directory, or already known
+                }
+                table.record(pid, readProcess(entry, pid));
+            }
+        } catch (IOException e) {
+            System.err.println("Error scanning Linux processes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * IMPLEMENTS ABSTRACT METHOD from AppMonitor.
+     *
+     * Normalizes process names for Linux.
+     * Removes path prefixes and maps known executables to display names.
+     *
+     * @param rawProcessName Raw process name from system
+     * @return Normalized process name
+     */
+    @Override
+    protected String normalizeProcessName(String rawProcessName) {
+        if (rawProcessName == null || rawProcessName.isEmpty()) {
+            return rawProcessName;
+        }
+
+        String normalized = rawProcessName;
+
+        // Remove path prefixes if present
+        if (normalized.contains("/")) {
+            int lastSlash = normalized.lastIndexOf("/");
+            normalized = normalized.substring(lastSlash + 1);
+        }
+
+        // Remove common suffixes
+        normalized = normalized.replace(".AppImage", "");
+        normalized = normalized.replace(".exe", "");
+
+        // Check for known app mappings
+        for (String[] mapping : APP_NAME_MAPPINGS) {
+            if (normalized.equalsIgnoreCase(mapping[0])) {
+                return mapping[1];
+            }
+        }
+
+        return normalized.trim();
+    }
+
+    /**
+     * Reads a single /proc/&lt;pid&gt; entry into a ProcessInfo object.
+     *
+     * @param processDir The /proc/&lt;pid&gt; directory
+     * @param pid Process ID
+     * @return ProcessInfo object, or null if the process exited or should be ignored
+     */
+    private ProcessInfo readProcess(Path processDir, int pid) {
+        // Kernel threads have an empty cmdline; those are never user apps
+        String command = readFirstField(processDir.resolve("cmdline"), (byte) 0);
+        if (command == null || command.isEmpty()) {
+            return null;
+        }
+
+        String processName = extractProcessName(command);
+
+        // Chromium-style apps rewrite argv[0]; comm is the reliable fallback
+        if (processName.isEmpty()) {
+            processName = readFirstField(processDir.resolve("comm"), (byte) '\n');
+        }
+
+        if (isSystemProcess(processName)) {
+            return null;
+        }
+
+        String displayName = normalizeProcessName(processName);
+        return new ProcessInfo(processName, displayName, pid);
+    }
+
+    /**
+     * Reads a small proc file into the shared buffer and decodes the bytes
+     * up to the first occurrence of the terminator.
+     *
+     * @param file File to read
+     * @param terminator Byte that ends the first field
+     * @return Decoded field, or null if the file could not be read
+     */
+    private String readFirstField(Path file, byte terminator) {
+        readBuffer.clear();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (readBuffer.hasRemaining() && channel.read(readBuffer) > 0) {
+                // Keep reading until the buffer is full or the file ends
+            }
+        } catch (IOException e) {
+            // Process exited between listing and reading
+            return null;
+        }
+
+        byte[] bytes = readBuffer.array();
+        int length = readBuffer.position();
+        int end = 0;
+        while (end < length && bytes[end] != terminator) {
+            end++;
+        }
+        return new String(bytes, 0, end, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Extracts the executable name from the first cmdline argument.
+     *
+     * @param command argv[0] of the process
+     * @return Executable name without path or arguments
+     */
+    private String extractProcessName(String command) {
+        // Some processes rewrite argv[0] to include their arguments.
+        // Absolute paths may legitimately contain spaces, so only cut
+        // them at the first option flag.
+        int argsIndex = command.startsWith("/") ? command.indexOf(" -") : command.indexOf(' ');
+        if (argsIndex > 0) {
+            command = command.substring(0, argsIndex);
+        }
+
+        // Get just the filename from the path
+        if (command.contains("/")) {
+            int lastSlash = command.lastIndexOf('/');
+            command = command.substring(lastSlash + 1);
+        }
+
+        return command.trim();
+    }
+
+    /**
+     * Parses a /proc entry name as a PID.
+     *
+     * @param name Directory name
+     * @return PID, or -1 if the name is not purely numeric
+     */
+    private static int parsePid(String name) {
+        if (name.isEmpty() || name.length() > 9) {
+            return -1;
+        }
+        int pid = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            pid = pid * 10 + (c - '0');
+        }
+        return pid;
+    }
+
+    /**
+     * Checks if a process is a system process that should be ignored.
+     *
+     * @param processName Process name to check
+     * @return true if system process
+     */
+    private boolean isSystemProcess(String processName) {
+        if (processName == null || processName.isEmpty()) {
+            return true;
+        }
+
+        // Convert to lowercase for case-insensitive comparison
+        String lower = processName.toLowerCase();
+
+        // Linux system processes to ignore
+        return lower.startsWith("systemd") ||
+                lower.startsWith("kworker") ||
+                lower.startsWith("dbus") ||
+                lower.startsWith("pipewire") ||
+                lower.startsWith("pulseaudio") ||
+                lower.startsWith("xdg-") ||
+                lower.startsWith("gvfs") ||
+                lower.equals("init") ||
+                lower.equals("ps") ||
+                lower.equals("grep") ||
+                lower.equals("bash") ||
+                lower.equals("sh") ||
+                lower.equals("java");  // Don't detect ourselves!
+    }
+
+    /**
+     * Gets the list of user-facing applications (filters out system processes).
+     *
+     * @return List of user applications
+     */
+    public List<ProcessInfo> getUserApplications() {
+        return getCurrentProcesses();
+    }
+
+    @Override
+    public String toString() {
+        return "LinuxAppMonitor{processes=" + getProcessCount() + "}";
+    }
+}
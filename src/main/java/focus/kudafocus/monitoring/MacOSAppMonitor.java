@@ -1,7 +1,7 @@
 package focus.kudafocus.monitoring;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -37,6 +37,18 @@ public class MacOSAppMonitor extends AppMonitor {
             {"PyCharm", "PyCharm"}
     };
 
+    /**
+     * 'ps aux' layout: one header line, PID in column 1, command in column 10
+     */
+    private static final int PS_HEADER_LINES = 1;
+    private static final int PS_PID_FIELD = 1;
+    private static final int PS_COMMAND_FIELD = 10;
+
+    /**
+     * Tokenizer reused for every scan
+     */
+    private final ProcessOutputTokenizer tokenizer = new ProcessOutputTokenizer();
+
     /**
      * Creates a new macOS app monitor
      */
@@ -52,7 +64,7 @@ public class MacOSAppMonitor extends AppMonitor {
      *
      * Process:
      * 1. Execute 'ps aux' command via ProcessBuilder
-     * 2. Parse the output line by line
+     * 2. Tokenize the output in place (see ProcessOutputTokenizer)
      * 3. Extract process names and PIDs
      * 4. Create ProcessInfo objects
      * 5. Return the list
@@ -60,53 +72,88 @@ public class MacOSAppMonitor extends AppMonitor {
      * @return List of currently running processes
      */
     @Override
-    protected List<ProcessInfo> getCurrentProcesses() {
+    protected synchronized List<ProcessInfo> getCurrentProcesses() {
         List<ProcessInfo> processes = new ArrayList<>();
-        Set<String> seenProcesses = new HashSet<>();
 
         try {
             // Execute 'ps aux' command
             ProcessBuilder pb = new ProcessBuilder("ps", "aux");
             Process process = pb.start();
 
-            // Read the output
-            BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream())
-            );
+            try (InputStream output = process.getInputStream()) {
+                processes = parseProcessOutput(output);
+            }
 
-            String line;
-            boolean firstLine = true;
+            // Wait for command to complete
+            process.waitFor();
 
-            while ((line = reader.readLine()) != null) {
-                // Skip header line
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
+        } catch (Exception e) {
+            System.err.println("Error getting macOS processes: " + e.getMessage());
+        }
 
-                // Parse process line
-                ProcessInfo processInfo = parseProcessLine(line);
-                if (processInfo != null) {
-                    // Avoid duplicates
-                    String key = processInfo.getProcessName().toLowerCase();
-                    if (!seenProcesses.contains(key)) {
-                        processes.add(processInfo);
-                        seenProcesses.add(key);
-                    }
-                }
+        return processes;
+    }
+
+    /**
+     * OVERRIDES AppMonitor's full-list scan.
+     *
+     * PIDs the table already knows are skipped straight from the bytes, so
+     * a steady-state scan decodes no Strings at all.
+     *
+     * @param table Table to update (scan already begun)
+     */
+    @Override
+    protected synchronized void scanProcesses(ProcessTable table) {
+        try {
+            Process process = new ProcessBuilder("ps", "aux").start();
+
+            try (InputStream output = process.getInputStream()) {
+                scanProcessOutput(output, table);
             }
 
-            // Wait for command to complete
             process.waitFor();
-            reader.close();
 
         } catch (Exception e) {
-            System.err.println("Error getting macOS processes: " + e.getMessage());
+            System.err.println("Error scanning macOS processes: " + e.getMessage());
         }
+    }
+
+    /*
+     * Package-private for tests and benchmarks: parses 'ps aux' output
+     * into de-duplicated ProcessInfo objects.
+     */
+    List<ProcessInfo> parseProcessOutput(InputStream output) throws IOException {
+        List<ProcessInfo> processes = new ArrayList<>();
+        Set<String> seenProcesses = new HashSet<>();
+
+        tokenizer.tokenize(output, PS_HEADER_LINES, line -> {
+            ProcessInfo processInfo = parseProcessLine(line);
+            if (processInfo != null) {
+                // Avoid duplicates
+                String key = processInfo.getProcessName().toLowerCase();
+                if (seenProcesses.add(key)) {
+                    processes.add(processInfo);
+                }
+            }
+        });
 
         return processes;
     }
 
+    /*
+     * Package-private for tests and benchmarks: feeds 'ps aux' output
+     * into the table, only decoding lines for PIDs it has not settled.
+     */
+    void scanProcessOutput(InputStream output, ProcessTable table) throws IOException {
+        tokenizer.tokenize(output, PS_HEADER_LINES, line -> {
+            int pid = line.parsePid(PS_PID_FIELD);
+            if (line.getFieldCount() <= PS_COMMAND_FIELD || pid < 0 || table.touch(pid)) {
+                return;  // Invalid line, or already known
+            }
+            table.record(pid, parseProcessLine(line));
+        });
+    }
+
     /**
      * IMPLEMENTS ABSTRACT METHOD from AppMonitor.
      *
@@ -146,7 +193,7 @@ public class MacOSAppMonitor extends AppMonitor {
     }
 
     /**
-     * Parses a single line from 'ps aux' output into a ProcessInfo object.
+     * Parses a single tokenized line from 'ps aux' output into a ProcessInfo object.
      *
      * ps aux format (columns):
      * USER  PID  %CPU %MEM    VSZ   RSS  TT  STAT STARTED      TIME COMMAND
@@ -154,46 +201,35 @@ public class MacOSAppMonitor extends AppMonitor {
      * Example line:
      * hjiang  1234  0.5  2.1 1234567 123456 ??  S    3:45PM   1:23.45 /Applications/Discord.app/Contents/MacOS/Discord
      *
-     * @param line Line from ps aux output
+     * @param line Tokenized line from ps aux output
      * @return ProcessInfo object or null if line couldn't be parsed
      */
-    private ProcessInfo parseProcessLine(String line) {
-        try {
-            // Split by whitespace
-            String[] parts = line.trim().split("\\s+");
-
-            if (parts.length < 11) {
-                return null;  // Invalid line
-            }
-
-            // Extract PID (column 1, 0-indexed)
-            int pid = Integer.parseInt(parts[1]);
-
-            // Extract command (column 10+, 0-indexed)
-            // Command may contain spaces, so join remaining parts
-            StringBuilder commandBuilder = new StringBuilder();
-            for (int i = 10; i < parts.length; i++) {
-                if (i > 10) commandBuilder.append(" ");
-                commandBuilder.append(parts[i]);
-            }
-            String command = commandBuilder.toString();
+    private ProcessInfo parseProcessLine(ProcessOutputTokenizer line) {
+        if (line.getFieldCount() <= PS_COMMAND_FIELD) {
+            return null;  // Invalid line
+        }
 
-            // Extract process name from command
-            String processName = extractProcessName(command);
+        // Extract PID (column 1, 0-indexed)
+        int pid = line.parsePid(PS_PID_FIELD);
+        if (pid < 0) {
+            return null;
+        }
 
-            // Skip system processes and grep itself
-            if (isSystemProcess(processName) || processName.equals("ps") || processName.equals("grep")) {
-                return null;
-            }
+        // Extract command (column 10, 0-indexed). Only the executable is
+        // needed, so the arguments in later columns are never decoded.
+        String command = line.fieldToString(PS_COMMAND_FIELD);
 
-            // Create ProcessInfo
-            String displayName = normalizeProcessName(processName);
-            return new ProcessInfo(processName, displayName, pid);
+        // Extract process name from command
+        String processName = extractProcessName(command);
 
-        } catch (Exception e) {
-            // Silently skip lines that can't be parsed
+        // Skip system processes and grep itself
+        if (isSystemProcess(processName) || processName.equals("ps") || processName.equals("grep")) {
             return null;
         }
+
+        // Create ProcessInfo
+        String displayName = normalizeProcessName(processName);
+        return new ProcessInfo(processName, displayName, pid);
     }
 
     /**
@@ -0,0 +1,39 @@
+package focus.kudafocus.monitoring;
+
+/**
+ * Decides how long SessionMonitor waits before its next probe.
+ *
+ * The monitor asks the policy once per probe, telling it what the probe
+ * just saw. Implementations may keep state between calls (for example, how
+ * long things have been stable), so each monitor needs its own instance.
+ */
+public interface PollRatePolicy {
+
+    /**
+     * Gets the delay before the next probe.
+     *
+     * @param foregroundChanged Whether the frontmost app differs from the previous probe
+     * @param violationActive Whether the probe found a blocked app or website in use
+     * @return Delay in milliseconds (always positive)
+     */
+    long nextDelayMillis(boolean foregroundChanged, boolean violationActive);
+
+    /**
+     * Forgets any state from a previous run. Called when monitoring starts.
+     */
+    default void reset() {
+    }
+
+    /**
+     * Creates a policy that always waits the same amount of time
+     *
+     * @param delayMillis Delay between probes in milliseconds
+     * @return Fixed-rate policy
+     */
+    static PollRatePolicy fixed(long delayMillis) {
+        if (delayMillis <= 0) {
+            throw new IllegalArgumentException("Delay must be positive");
+        }
+        return (foregroundChanged, violationActive) -> delayMillis;
+    }
+}
@@ -0,0 +1,71 @@
+package focus.kudafocus.monitoring;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes how the process table changed between two scans.
+ *
+ * A steady-state scan produces an empty delta; consumers can use
+ * isEmpty() to skip work when nothing started or exited.
+ */
+public final class ProcessDelta {
+
+    /**
+     * Shared delta for scans where nothing changed
+     */
+    public static final ProcessDelta EMPTY = new ProcessDelta(List.of(), List.of());
+
+    /**
+     * Processes that appeared since the previous scan
+     */
+    private final List<ProcessInfo> added;
+
+    /**
+     * Processes that exited since the previous scan
+     */
+    private final List<ProcessInfo> removed;
+
+    /**
+     * Creates a delta from the added and removed process lists
+     *
+     * @param added Newly seen processes
+     * @param removed Processes that are no longer running
+     */
+    public ProcessDelta(List<ProcessInfo> added, List<ProcessInfo> removed) {
+        this.added = Collections.unmodifiableList(added);
+        this.removed = Collections.unmodifiableList(removed);
+    }
+
+    /**
+     * Get processes that appeared since the previous scan
+     *
+     * @return Unmodifiable list of added processes
+     */
+    public List<ProcessInfo> getAdded() {
+        return added;
+    }
+
+    /**
+     * Get processes that exited since the previous scan
+     *
+     * @return Unmodifiable list of removed processes
+     */
+    public List<ProcessInfo> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Check whether the scan changed anything
+     *
+     * @return true if no process was added or removed
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ProcessDelta{added=%d, removed=%d}", added.size(), removed.size());
+    }
+}
@@ -3,28 +3,31 @@ package focus.kudafocus.monitoring;
 /**
  * Represents information about a running process.
  * This is a simple data class used by AppMonitor implementations.
+ *
+ * Instances are immutable, so a ProcessSnapshot can share them between
+ * threads without copying.
  */
-public class ProcessInfo {
+public final class ProcessInfo {
 
     /**
      * Process name (as it appears in system process list)
      */
-    private String processName;
+    private final String processName;
 
     /**
      * User-friendly display name (if different from process name)
      */
-    private String displayName;
+    private final String displayName;
 
     /**
      * Process ID (PID)
      */
-    private int pid;
+    private final int pid;
 
     /**
      * Whether this process is currently running
      */
-    private boolean running;
+    private final boolean running;
 
     // ===== CONSTRUCTORS =====
 
@@ -93,24 +96,6 @@ public class ProcessInfo {
         return running;
     }
 
-    // ===== SETTERS =====
-
-    public void setProcessName(String processName) {
-        this.processName = processName;
-    }
-
-    public void setDisplayName(String displayName) {
-        this.displayName = displayName;
-    }
-
-    public void setPid(int pid) {
-        this.pid = pid;
-    }
-
-    public void setRunning(boolean running) {
-        this.running = running;
-    }
-
     @Override
     public String toString() {
         return String.format("ProcessInfo{name='%s', display='%s', pid=%d}",
@@ -0,0 +1,207 @@
+package focus.kudafocus.monitoring;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Streaming tokenizer for the text output of 'ps' and 'tasklist'.
+ *
+ * The old parsers read each line into a String and called
+ * {@code line.trim().split("\\s+")}, which costs a regex pass, a String per
+ * column and an array per process on every scan. This class instead reads
+ * the subprocess output into one reusable byte buffer and records where each
+ * whitespace-separated field starts and ends. Callers then parse the PID
+ * straight from the bytes and only decode the fields they actually need,
+ * which after the first scan is usually none: a PID the ProcessTable
+ * already knows needs no String at all.
+ *
+ * One tokenizer is reused for every scan, so it is not thread-safe.
+ */
+final class ProcessOutputTokenizer {
+
+    /**
+     * Called once per data line. The tokenizer's field accessors describe
+     * that line and are only valid until the handler returns.
+     */
+    interface LineHandler {
+        void onLine(ProcessOutputTokenizer line);
+    }
+
+    /**
+     * Initial size of the read buffer (grows if a single line is longer)
+     */
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Most fields recorded per line; later fields are counted but not located
+     */
+    private static final int MAX_FIELDS = 16;
+
+    /**
+     * Charset used to decode fields (matches the old InputStreamReader)
+     */
+    private final Charset charset;
+
+    private byte[] buffer;
+    private final int[] fieldStarts = new int[MAX_FIELDS];
+    private final int[] fieldEnds = new int[MAX_FIELDS];
+    private int fieldCount;
+
+    /**
+     * Creates a tokenizer that decodes fields with the platform charset
+     */
+    ProcessOutputTokenizer() {
+        this(Charset.defaultCharset());
+    }
+
+    /**
+     * Creates a tokenizer that decodes fields with the given charset
+     *
+     * @param charset Charset of the command output
+     */
+    ProcessOutputTokenizer(Charset charset) {
+        this.charset = charset;
+        this.buffer = new byte[INITIAL_BUFFER_SIZE];
+    }
+
+    /**
+     * Reads the whole stream and calls the handler for each line after the header.
+     * Blank lines are skipped.
+     *
+     * @param in Command output
+     * @param headerLines Number of leading lines to skip
+     * @param handler Callback for each data line
+     * @throws IOException if reading fails
+     */
+    void tokenize(InputStream in, int headerLines, LineHandler handler) throws IOException {
+        int lineNumber = 0;
+        int lineStart = 0;
+        int limit = 0;
+        int scan = 0;
+
+        while (true) {
+            // Find the end of the current line in the bytes read so far
+            while (scan < limit && buffer[scan] != '\n') {
+                scan++;
+            }
+
+            if (scan < limit) {
+                lineNumber++;
+                if (lineNumber > headerLines) {
+                    emitLine(lineStart, scan, handler);
+                }
+                scan++;
+                lineStart = scan;
+                continue;
+            }
+
+            // Need more bytes: move the partial line to the front (or grow)
+            if (lineStart > 0) {
+                System.arraycopy(buffer, lineStart, buffer, 0, limit - lineStart);
+                limit -= lineStart;
+                scan -= lineStart;
+                lineStart = 0;
+            } else if (limit == buffer.length) {
+                byte[] larger = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, larger, 0, limit);
+                buffer = larger;
+            }
+
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                break;
+            }
+            limit += read;
+        }
+
+        // Last line without a trailing newline
+        if (limit > lineStart && lineNumber + 1 > headerLines) {
+            emitLine(lineStart, limit, handler);
+        }
+    }
+
+    /**
+     * Splits one line into fields and hands it to the handler
+     */
+    private void emitLine(int start, int end, LineHandler handler) {
+        fieldCount = 0;
+        int i = start;
+        while (i < end) {
+            while (i < end && isWhitespace(buffer[i])) {
+                i++;
+            }
+            if (i == end) {
+                break;
+            }
+            int fieldStart = i;
+            while (i < end && !isWhitespace(buffer[i])) {
+                i++;
+            }
+            if (fieldCount < MAX_FIELDS) {
+                fieldStarts[fieldCount] = fieldStart;
+                fieldEnds[fieldCount] = i;
+            }
+            fieldCount++;
+        }
+
+        if (fieldCount > 0) {
+            handler.onLine(this);
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+
+    // ===== FIELD ACCESS (valid inside LineHandler.onLine) =====
+
+    /**
+     * Gets the number of whitespace-separated fields in the current line
+     *
+     * @return Field count
+     */
+    int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Parses a field as a PID, ignoring thousands separators ("1,234").
+     *
+     * @param field Field index (0-based)
+     * @return PID, or -1 if the field is missing or not a number
+     */
+    int parsePid(int field) {
+        if (field >= Math.min(fieldCount, MAX_FIELDS)) {
+            return -1;
+        }
+        long value = 0;
+        int digits = 0;
+        for (int i = fieldStarts[field]; i < fieldEnds[field]; i++) {
+            byte b = buffer[i];
+            if (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                digits++;
+                if (value > Integer.MAX_VALUE) {
+                    return -1;
+                }
+            } else if (b != ',') {
+                return -1;
+            }
+        }
+        return digits == 0 ? -1 : (int) value;
+    }
+
+    /**
+     * Decodes a single field into a String
+     *
+     * @param field Field index (0-based)
+     * @return Field text, or null if the field is missing
+     */
+    String fieldToString(int field) {
+        if (field >= Math.min(fieldCount, MAX_FIELDS)) {
+            return null;
+        }
+        return new String(buffer, fieldStarts[field], fieldEnds[field] - fieldStarts[field], charset);
+    }
+}
@@ -5,12 +5,28 @@ import java.util.List;
 
 public class ProcessScanner {
     private final AppMonitor monitor;
-    private List<ProcessInfo> cachedProcesses = new ArrayList<>();
+    private ProcessSnapshot cachedProcesses = ProcessSnapshot.EMPTY;
+    private ProcessDelta lastDelta = ProcessDelta.EMPTY;
     private long lastScanTime = 0;
     private final List<ProcessScanListener> listeners = new ArrayList<>();
 
     public interface ProcessScanListener {
+    /**
+     * Called after every scan. The list is the shared, read-only
+     * ProcessSnapshot; listeners must not modify it.
+     */
     void onScan(List<ProcessInfo> processes);
+
+    /**
+     * Called after every scan with the versioned snapshot. Override this
+     * instead of onScan to skip scans whose version was already handled.
+     */
+    default void onSnapshot(ProcessSnapshot snapshot) { onScan(snapshot); }
+
+    /**
+     * Called after a scan that added or removed at least one process.
+     */
+    default void onDelta(ProcessDelta delta) {}
     }
     public ProcessScanner(AppMonitor monitor) {
         this.monitor = monitor;
@@ -22,22 +38,34 @@ public class ProcessScanner {
     public List<ProcessInfo> scan() {
     long now = System.currentTimeMillis();
     if (now - lastScanTime >= AppMonitor.SCAN_INTERVAL_MS) {
-        cachedProcesses = monitor.getRunningProcesses(true);
+        cachedProcesses = monitor.getSnapshot(true);
+        lastDelta = monitor.getLastDelta();
         lastScanTime = now;
         notifyListeners();
     }
-    return new ArrayList<>(cachedProcesses);
+    return cachedProcesses;
     }
 
     public List<ProcessInfo> getCachedProcesses() {
-        return new ArrayList<>(cachedProcesses);
+        return cachedProcesses;
+    }
+
+    public ProcessSnapshot getSnapshot() {
+        return cachedProcesses;
+    }
+
+    public ProcessDelta getLastDelta() {
+        return lastDelta;
     }
     public void addListener(ProcessScanListener l) { listeners.add(l); }
     public void removeListener(ProcessScanListener l) { listeners.remove(l); }
     private void notifyListeners() {
-    List<ProcessInfo> snapshot = getCachedProcesses();
+    ProcessSnapshot snapshot = cachedProcesses;
     for (ProcessScanListener l : listeners) {
-        l.onScan(snapshot);
+        l.onSnapshot(snapshot);
+        if (!lastDelta.isEmpty()) {
+            l.onDelta(lastDelta);
+        }
         }
     }
 }
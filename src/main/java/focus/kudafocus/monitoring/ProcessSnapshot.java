@@ -0,0 +1,96 @@
+package focus.kudafocus.monitoring;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, versioned list of the processes seen by one scan.
+ *
+ * AppMonitor builds a new snapshot only when a scan actually changed the
+ * process table, and then hands the same instance to every caller,
+ * ProcessScanner and listener. Because it never changes, it can be shared
+ * across threads without copying.
+ *
+ * The version increases by one each time a new snapshot is built, so a
+ * consumer can remember the last version it processed and skip the work
+ * when it sees the same version again.
+ *
+ * The list itself is read-only (add/remove/set throw
+ * UnsupportedOperationException), and the ProcessInfo objects inside are
+ * immutable, so sharing them is safe too.
+ */
+public final class ProcessSnapshot extends AbstractList<ProcessInfo> implements RandomAccess {
+
+    /**
+     * Snapshot used before the first scan (version 0)
+     */
+    public static final ProcessSnapshot EMPTY = new ProcessSnapshot(0, new ProcessInfo[0]);
+
+    /**
+     * Version of this snapshot (higher is newer)
+     */
+    private final long version;
+
+    /**
+     * Processes, stored in a plain array for compactness
+     */
+    private final ProcessInfo[] processes;
+
+    private ProcessSnapshot(long version, ProcessInfo[] processes) {
+        this.version = version;
+        this.processes = processes;
+    }
+
+    /**
+     * Creates a snapshot holding a copy of the given processes
+     *
+     * @param version Version number of the snapshot
+     * @param processes Processes to include
+     * @return New snapshot
+     */
+    public static ProcessSnapshot of(long version, Collection<ProcessInfo> processes) {
+        return new ProcessSnapshot(version, processes.toArray(new ProcessInfo[0]));
+    }
+
+    /*
+     * Package-private: wraps an array the caller promises never to modify.
+     */
+    static ProcessSnapshot wrap(long version, ProcessInfo[] processes) {
+        return new ProcessSnapshot(version, processes);
+    }
+
+    /**
+     * Gets the version of this snapshot
+     *
+     * @return Version number (0 for EMPTY)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks whether this snapshot is newer than a version seen earlier
+     *
+     * @param seenVersion Version the caller already processed
+     * @return true if this snapshot has changes the caller has not seen
+     */
+    public boolean isNewerThan(long seenVersion) {
+        return version > seenVersion;
+    }
+
+    @Override
+    public ProcessInfo get(int index) {
+        return processes[index];
+    }
+
+    @Override
+    public int size() {
+        return processes.length;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessSnapshot{version=" + version + ", processes=" + processes.length + "}";
+    }
+}
@@ -0,0 +1,213 @@
+package focus.kudafocus.monitoring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PID-keyed table of running processes that is updated incrementally.
+ *
+ * A scan is bracketed by beginScan() and endScan(). For every PID the
+ * platform reports, the scanner calls touch(pid); only when that returns
+ * false does it need to parse the process and record() it. PIDs that are
+ * not touched during a scan are dropped in endScan(), which returns the
+ * resulting ProcessDelta.
+ *
+ * PIDs that the platform chose to ignore (system processes) are recorded
+ * with a null ProcessInfo so they are not parsed again either.
+ *
+ * Newly seen PIDs are re-parsed for their first few scans. Launchers
+ * commonly fork a shell that then exec()s the real app under the same PID,
+ * so the first name seen for a PID is not always the final one.
+ */
+public class ProcessTable {
+
+    /**
+     * Number of scans a new PID is re-parsed for before it is trusted
+     */
+    static final int REVALIDATE_SCANS = 3;
+
+    /**
+     * Table entry for a single PID
+     */
+    private static final class Entry {
+        ProcessInfo info;   // null for ignored (system) processes
+        int scansSeen;
+        long generation;
+
+        Entry(ProcessInfo info, long generation) {
+            this.info = info;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Entries keyed by PID
+     */
+    private final Map<Integer, Entry> entries = new HashMap<>();
+
+    /**
+     * Current scan generation; entries with an older generation have exited
+     */
+    private long generation = 0;
+
+    /**
+     * Processes added during the current scan
+     */
+    private List<ProcessInfo> added = new ArrayList<>();
+
+    /**
+     * Processes removed during the current scan
+     */
+    private List<ProcessInfo> removed = new ArrayList<>();
+
+    /**
+     * Starts a new scan. Every PID still running must be touched before endScan().
+     */
+    public void beginScan() {
+        generation++;
+        added = new ArrayList<>();
+        removed = new ArrayList<>();
+    }
+
+    /**
+     * Marks a PID as present in the current scan.
+     *
+     * @param pid Process ID reported by the platform
+     * @return true if the cached entry can be reused, false if the caller
+     *         must parse the process and call record()
+     */
+    public boolean touch(int pid) {
+        Entry entry = entries.get(pid);
+        if (entry == null) {
+            return false;
+        }
+        entry.generation = generation;
+        return ++entry.scansSeen >= REVALIDATE_SCANS;
+    }
+
+    /**
+     * Records the parsed state of a PID in the current scan.
+     *
+     * @param pid Process ID
+     * @param info Parsed process, or null if the process should be ignored
+     */
+    public void record(int pid, ProcessInfo info) {
+        Entry entry = entries.get(pid);
+        if (entry == null) {
+            entries.put(pid, new Entry(info, generation));
+            if (info != null) {
+                added.add(info);
+            }
+            return;
+        }
+
+        entry.generation = generation;
+        if (sameProcess(entry.info, info)) {
+            return;
+        }
+
+        // Same PID, different program (exec or PID reuse)
+        if (entry.info != null) {
+            removed.add(entry.info);
+        }
+        if (info != null) {
+            added.add(info);
+        }
+        entry.info = info;
+    }
+
+    /**
+     * Records a process from a platform that can only produce full lists.
+     *
+     * @param info Parsed process
+     */
+    public void record(ProcessInfo info) {
+        touch(info.getPid());
+        record(info.getPid(), info);
+    }
+
+    /**
+     * Finishes the scan, dropping every PID that was not touched.
+     *
+     * @return Changes since the previous scan
+     */
+    public ProcessDelta endScan() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.generation != generation) {
+                if (entry.info != null) {
+                    removed.add(entry.info);
+                }
+                iterator.remove();
+            }
+        }
+
+        if (added.isEmpty() && removed.isEmpty()) {
+            return ProcessDelta.EMPTY;
+        }
+        return new ProcessDelta(added, removed);
+    }
+
+    /**
+     * Gets all tracked (non-ignored) processes, one entry per PID.
+     *
+     * @return New list of processes
+     */
+    public List<ProcessInfo> getProcesses() {
+        List<ProcessInfo> processes = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            if (entry.info != null) {
+                processes.add(entry.info);
+            }
+        }
+        return processes;
+    }
+
+    /**
+     * Builds an immutable snapshot of all tracked (non-ignored) processes.
+     *
+     * @param version Version number to stamp on the snapshot
+     * @return New snapshot, one entry per PID
+     */
+    public ProcessSnapshot snapshot(long version) {
+        ProcessInfo[] processes = new ProcessInfo[entries.size()];
+        int count = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.info != null) {
+                processes[count++] = entry.info;
+            }
+        }
+        if (count < processes.length) {
+            processes = Arrays.copyOf(processes, count);
+        }
+        return ProcessSnapshot.wrap(version, processes);
+    }
+
+    /**
+     * Gets the number of PIDs tracked, including ignored ones
+     *
+     * @return Number of table entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes every entry so the next scan starts from scratch
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private static boolean sameProcess(ProcessInfo a, ProcessInfo b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.getProcessName().equals(b.getProcessName());
+    }
+}
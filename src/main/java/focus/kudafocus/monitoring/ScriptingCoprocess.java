@@ -0,0 +1,255 @@
+package focus.kudafocus.monitoring;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-lived helper process for running scripts without a fork per query.
+ *
+ * The helper speaks a line-oriented protocol over stdin/stdout: each request
+ * is one line (the script, with backslashes and newlines escaped) and each
+ * response is one line, either "OK &lt;result&gt;" or "ERR &lt;message&gt;".
+ *
+ * The process is started lazily on the first request and restarted
+ * automatically if it dies. A request that takes longer than the timeout
+ * kills the helper (so no late answer can be mistaken for the next one) and
+ * returns null; the next request starts a fresh helper.
+ *
+ * On macOS the shared instance runs scripts/script-host.js under
+ * 'osascript -l JavaScript', which evaluates AppleScript requests in-process.
+ */
+public class ScriptingCoprocess implements AutoCloseable {
+
+    /**
+     * Default per-request timeout
+     */
+    private static final long DEFAULT_TIMEOUT_MS = 2000;
+
+    /**
+     * Classpath location of the macOS helper program
+     */
+    private static final String HOST_SCRIPT_RESOURCE = "/scripts/script-host.js";
+
+    /**
+     * Marker queued by the reader thread when the helper's stdout closes
+     */
+    private static final String END_OF_STREAM = new String("<eof>");
+
+    /**
+     * Shared AppleScript helper used by the foreground and Chrome monitors
+     */
+    private static ScriptingCoprocess sharedInstance;
+
+    /**
+     * Command used to start the helper
+     */
+    private final List<String> command;
+
+    /**
+     * Maximum time to wait for a single response
+     */
+    private final long timeoutMillis;
+
+    /**
+     * Running helper process, or null if not started / killed
+     */
+    private Process process;
+
+    /**
+     * Writer for the helper's stdin
+     */
+    private BufferedWriter requests;
+
+    /**
+     * Response lines from the current helper process
+     */
+    private BlockingQueue<String> responses;
+
+    /**
+     * Number of times the helper has been (re)started
+     */
+    private int startCount = 0;
+
+    /**
+     * Creates a co-process wrapper for the given command
+     *
+     * @param command Command that starts the helper
+     * @param timeoutMillis Per-request timeout in milliseconds
+     */
+    public ScriptingCoprocess(List<String> command, long timeoutMillis) {
+        this.command = List.copyOf(command);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Gets the shared AppleScript helper (the process starts on first use)
+     *
+     * @return Shared co-process
+     */
+    public static synchronized ScriptingCoprocess shared() {
+        if (sharedInstance == null) {
+            sharedInstance = new ScriptingCoprocess(
+                    List.of("osascript", "-l", "JavaScript", "-e", loadHostScript()),
+                    DEFAULT_TIMEOUT_MS);
+            ScriptingCoprocess instance = sharedInstance;
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::close, "kudafocus-script-host-shutdown"));
+        }
+        return sharedInstance;
+    }
+
+    /**
+     * Sends one script to the helper and waits for its answer.
+     *
+     * @param script Script source (may contain newlines)
+     * @return Trimmed result, or null on error, timeout or helper failure
+     */
+    public synchronized String evaluate(String script) {
+        // One retry covers a helper that died since the last request
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                ensureStarted();
+                requests.write(escape(script));
+                requests.newLine();
+                requests.flush();
+            } catch (IOException e) {
+                destroyProcess();
+                continue;
+            }
+
+            String line;
+            try {
+                line = responses.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                destroyProcess();
+                return null;
+            }
+
+            if (line == null) {
+                System.err.println("[ScriptingCoprocess] Request timed out after " + timeoutMillis + "ms, restarting helper");
+                destroyProcess();
+                return null;
+            }
+            if (line == END_OF_STREAM) {
+                destroyProcess();
+                continue;
+            }
+            return parseResponse(line);
+        }
+        return null;
+    }
+
+    /**
+     * Gets how many times the helper process has been started
+     *
+     * @return Start count
+     */
+    public synchronized int getStartCount() {
+        return startCount;
+    }
+
+    /**
+     * Stops the helper process. A later request starts a new one.
+     */
+    @Override
+    public synchronized void close() {
+        destroyProcess();
+    }
+
+    // ===== PRIVATE METHODS =====
+
+    private void ensureStarted() throws IOException {
+        if (process != null && process.isAlive()) {
+            return;
+        }
+        destroyProcess();
+
+        Process started = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(() -> pumpResponses(started.getInputStream(), queue),
+                "kudafocus-script-host-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        process = started;
+        responses = queue;
+        requests = new BufferedWriter(new OutputStreamWriter(started.getOutputStream(), StandardCharsets.UTF_8));
+        startCount++;
+    }
+
+    private void destroyProcess() {
+        if (process != null) {
+            try {
+                requests.close();
+            } catch (IOException ignored) {
+                // Helper already gone
+            }
+            process.destroyForcibly();
+        }
+        process = null;
+        requests = null;
+        responses = null;
+    }
+
+    private static void pumpResponses(InputStream stdout, BlockingQueue<String> queue) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stdout, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                queue.add(line);
+            }
+        } catch (IOException ignored) {
+            // Process was destroyed
+        }
+        queue.add(END_OF_STREAM);
+    }
+
+    private static String parseResponse(String line) {
+        if (line.equals("OK")) {
+            return "";
+        }
+        if (line.startsWith("OK ")) {
+            return unescape(line.substring(3)).trim();
+        }
+        return null;
+    }
+
+    static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\r\n", "\n").replace("\n", "\\n");
+    }
+
+    static String unescape(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                builder.append(next == 'n' ? '\n' : next);
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String loadHostScript() {
+        try (InputStream in = ScriptingCoprocess.class.getResourceAsStream(HOST_SCRIPT_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing resource " + HOST_SCRIPT_RESOURCE);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load " + HOST_SCRIPT_RESOURCE, e);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package focus.kudafocus.monitoring;
+
+import focus.kudafocus.core.FocusSession;
+import focus.kudafocus.core.FxScheduler;
+import focus.kudafocus.core.Scheduler;
+import focus.kudafocus.core.Timer;
+import focus.kudafocus.data.storage.DomainTable;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs one focus session: the countdown Timer plus the SessionMonitor
+ * that records violations into the FocusSession.
+ *
+ * The engine has no UI of its own. ActiveSessionPanel drives it and
+ * shows what it reports through the Listener; a test or simulation can
+ * drive the very same lifecycle without JavaFX by passing a Scheduler
+ * (for example a VirtualScheduler) and an Executor of its choice.
+ *
+ * Threading: the listener and all session updates run on uiExecutor
+ * (the JavaFX thread in the app). The timer ticks on the timer Scheduler.
+ */
+public class SessionEngine {
+
+    /**
+     * Receives what happens during the session
+     */
+    public interface Listener {
+        /**
+         * Called every second while the timer runs
+         *
+         * @param remainingSeconds Seconds left
+         */
+        void onTick(int remainingSeconds);
+
+        /**
+         * Called once when the timer reaches 0 (monitoring has already stopped)
+         */
+        void onComplete();
+
+        /**
+         * Called when a blocked app or website is in use
+         *
+         * @param appName App or "Website: domain"
+         */
+        void onViolationDetected(String appName);
+
+        /**
+         * Called when the current violation ends
+         */
+        void onViolationEnded();
+    }
+
+    private final FocusSession session;
+    private final Timer timer;
+    private final SessionMonitor monitor;
+    private final Listener listener;
+
+    private boolean paused = false;
+
+    // ===== CONSTRUCTORS =====
+
+    /**
+     * Creates an engine that ticks on the JavaFX thread and probes on a
+     * background monitor thread
+     *
+     * @param session Session to run
+     * @param elapsedSeconds Seconds already elapsed (0 for a new session)
+     * @param importedBlocklist Imported domains (DomainTable.EMPTY for none)
+     * @param listener Receives ticks, completion and violations
+     */
+    public SessionEngine(FocusSession session, int elapsedSeconds, DomainTable importedBlocklist, Listener listener) {
+        this.session = session;
+        this.listener = listener;
+        this.timer = new Timer(session.getPlannedDuration(), elapsedSeconds, timerCallback(), FxScheduler.INSTANCE);
+        this.monitor = new SessionMonitor(session, monitorCallback(), importedBlocklist);
+    }
+
+    /**
+     * Creates an engine that runs entirely on the given scheduler, with no
+     * JavaFX involved
+     *
+     * @param session Session to run
+     * @param elapsedSeconds Seconds already elapsed (0 for a new session)
+     * @param listener Receives ticks, completion and violations
+     * @param scheduler Clock and schedule for both timer ticks and probes
+     * @param uiExecutor Executor that applies probe results (Runnable::run to apply them on the probing thread)
+     * @param appMonitor Process monitor (may be null)
+     * @param foregroundMonitor Frontmost app monitor
+     * @param websiteMonitor Chrome website monitor
+     */
+    public SessionEngine(FocusSession session, int elapsedSeconds, Listener listener,
+                         Scheduler scheduler, Executor uiExecutor,
+                         AppMonitor appMonitor,
+                         ForegroundAppMonitor foregroundMonitor,
+                         ChromeWebsiteMonitor websiteMonitor) {
+        this.session = session;
+        this.listener = listener;
+        this.timer = new Timer(session.getPlannedDuration(), elapsedSeconds, timerCallback(), scheduler);
+        this.monitor = new SessionMonitor(session, monitorCallback(),
+                appMonitor, foregroundMonitor, websiteMonitor, uiExecutor, scheduler);
+    }
+
+    private Timer.TimerCallback timerCallback() {
+        return new Timer.TimerCallback() {
+            @Override
+            public void onTick(int remainingSeconds) {
+                listener.onTick(remainingSeconds);
+            }
+
+            @Override
+            public void onComplete() {
+                monitor.stop();
+                listener.onComplete();
+            }
+        };
+    }
+
+    private SessionMonitor.SessionMonitorCallback monitorCallback() {
+        return new SessionMonitor.SessionMonitorCallback() {
+            @Override
+            public void onViolationDetected(String appName) {
+                listener.onViolationDetected(appName);
+            }
+
+            @Override
+            public void onViolationEnded() {
+                listener.onViolationEnded();
+            }
+        };
+    }
+
+    // ===== LIFECYCLE =====
+
+    /**
+     * Starts the timer and the monitor
+     */
+    public void start() {
+        timer.start();
+        monitor.start();
+    }
+
+    /**
+     * Pauses the countdown. Monitoring continues, so distractions during
+     * a pause are still recorded.
+     */
+    public void pause() {
+        if (paused) {
+            return;
+        }
+        timer.pause();
+        session.pause();
+        paused = true;
+    }
+
+    /**
+     * Resumes a paused countdown
+     */
+    public void resume() {
+        if (!paused) {
+            return;
+        }
+        timer.resume();
+        session.resume();
+        paused = false;
+    }
+
+    /**
+     * Stops the session early
+     *
+     * @return Seconds the session ran (its actual duration)
+     */
+    public int stop() {
+        int elapsed = timer.getElapsedSeconds();
+        timer.stop();
+        monitor.stop();
+        return elapsed;
+    }
+
+    /**
+     * Stops the timer and monitor without reporting anything
+     */
+    public void cancel() {
+        timer.cancel();
+        monitor.stop();
+    }
+
+    // ===== GETTERS =====
+
+    public FocusSession getSession() {
+        return session;
+    }
+
+    public Timer getTimer() {
+        return timer;
+    }
+
+    public SessionMonitor getMonitor() {
+        return monitor;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+}
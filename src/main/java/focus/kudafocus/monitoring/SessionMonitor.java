@@ -1,15 +1,21 @@
 package focus.kudafocus.monitoring;
 
+import focus.kudafocus.core.ExecutorScheduler;
 import focus.kudafocus.core.FocusSession;
+import focus.kudafocus.core.Scheduler;
+import focus.kudafocus.data.storage.DomainTable;
 import focus.kudafocus.monitoring.ForegroundAppMonitor;
 import focus.kudafocus.ui.UIConstants;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.util.Duration;
+import javafx.application.Platform;
 
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * Monitors app and website usage during an active focus session.
@@ -19,7 +25,18 @@ import java.util.Map;
  *
  * Design:
  * - Service owns the monitors and session reference
- * - Runs on a Timeline to poll monitors at regular intervals
+ * - Runs the probes (foreground app, Chrome URL) on a dedicated monitor
+ *   thread, so slow system calls never block the JavaFX Application Thread
+ * - Captures one ForegroundSnapshot per tick that both app and website
+ *   rules evaluate, so the frontmost app is only queried once
+ * - Posts each probe result back to the UI thread, where the session is
+ *   updated and callbacks fire (FocusSession stays confined to that thread)
+ * - Asks a PollRatePolicy when to probe next, so polling speeds up after a
+ *   foreground change or during a violation and backs off when stable
+ * - Charges violations with the measured time between probes, not a fixed
+ *   constant, so durations stay exact whatever the poll rate
+ * - Takes its clock and probe schedule from a Scheduler, so it can run on
+ *   its own daemon thread (the default) or on a VirtualScheduler in tests
  * - Maintains current violation state and enforces overlay re-trigger cadence
  * - Invokes callback when violations start/end
  *
@@ -34,6 +51,11 @@ public class SessionMonitor {
             Map.entry("twitter", "x")
     );
 
+    /**
+     * Runs of characters that app name matching ignores
+     */
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
     /**
      * Callback interface for monitoring events
      */
@@ -54,24 +76,32 @@ public class SessionMonitor {
     // ===== MONITORING INTERVALS =====
 
     /**
-     * How often to check running processes (for blocked apps)
+     * Minimum time between checks of Chrome's active tab (for blocked websites)
      */
-    private static final int APP_CHECK_INTERVAL_SECONDS = 1;
+    public static final int WEBSITE_CHECK_INTERVAL_SECONDS = 5;
 
     /**
-     * How often to check Chrome active tab (for blocked websites)
+     * Interval simulated by tickOnce() in tests
      */
-    private static final int WEBSITE_CHECK_INTERVAL_SECONDS = 5;
+    private static final long SIMULATED_TICK_MILLIS = 1000;
 
     /**
      * Minimum gap before re-triggering overlay for same violation
      */
     private static final int OVERLAY_RETRIGGER_INTERVAL_SECONDS = UIConstants.OVERLAY_REAPPEAR_SECONDS;
 
+    /**
+     * How long stop() waits for an in-flight probe on the monitor thread.
+     * Long enough for a normal probe; a probe stuck on a slow helper
+     * process finishes on its own and its result is dropped.
+     */
+    private static final long STOP_AWAIT_MILLIS = 500;
+
     // ===== MONITORS =====
 
     /**
-     * Process monitor (platform-specific)
+     * Process monitor (platform-specific). The probes use the frontmost
+     * app, so this may be null when nothing else needs the process list.
      */
     private final AppMonitor appMonitor;
 
@@ -95,18 +125,122 @@ public class SessionMonitor {
      */
     private final SessionMonitorCallback callback;
 
+    /**
+     * Executor that applies probe results on the UI thread
+     */
+    private final Executor uiExecutor;
+
+    /**
+     * Blocked apps captured when the monitor was created
+     */
+    private final List<String> blockedApps;
+
+    /**
+     * Normalized form of each blocked app (same order as blockedApps)
+     */
+    private final List<String> normalizedBlockedApps;
+
+    /**
+     * Blocked websites captured when the monitor was created
+     */
+    private final List<String> blockedWebsites;
+
+    /**
+     * Whether any website rules apply (inline list or imported blocklist)
+     */
+    private final boolean websiteRulesActive;
+
+    /**
+     * Decides the delay before each probe
+     */
+    private PollRatePolicy pollRatePolicy = new AdaptivePollRatePolicy();
+
+    /**
+     * Whether lifecycle and per-tick messages are logged to the console
+     */
+    private volatile boolean verbose = true;
+
+    /**
+     * Scheduler supplied by the caller, or null to create a monitor thread on start()
+     */
+    private final Scheduler injectedScheduler;
+
     // ===== STATE =====
 
     /**
-     * Timeline that drives monitoring
+     * Scheduler that runs the probes (the monitor thread by default)
+     */
+    private volatile Scheduler probeScheduler;
+
+    /**
+     * Scheduler created by start(), closed again by stop()
+     */
+    private ExecutorScheduler ownedScheduler;
+
+    /**
+     * Incremented by every start() and stop(). Probes carry the generation
+     * they were scheduled in, so a probe still in flight from an earlier
+     * run neither applies its result nor keeps its schedule going.
      */
-    private Timeline monitoringTimeline;
+    private volatile int runGeneration = 0;
 
     /**
-     * Elapsed seconds since session started (synced with check)
+     * Next scheduled probe
+     */
+    private volatile Scheduler.ScheduledTask nextProbe;
+
+    // Probe-thread state (only touched by the probing thread)
+
+    /**
+     * Scheduler time of the previous probe
+     */
+    private long lastProbeNanos;
+
+    /**
+     * Milliseconds since Chrome's active tab was last checked
+     */
+    private long millisSinceWebsiteCheck = 0;
+
+    /**
+     * Frontmost app seen by the previous probe
+     */
+    private String lastFrontApp;
+
+    /**
+     * Blocked app matching lastFrontApp, or null (the match is only
+     * recomputed when the frontmost app changes)
+     */
+    private String lastMatchedApp;
+
+    /**
+     * Blocked domain found by the most recent website check, or null
+     */
+    private String lastMatchedDomain;
+
+    // UI-thread state
+
+    /**
+     * Elapsed milliseconds since session started (sum of measured probe intervals)
+     */
+    private long elapsedMillis = 0;
+
+    /**
+     * Elapsed seconds since session started (whole seconds of elapsedMillis)
      */
     private int elapsedSeconds = 0;
 
+    /**
+     * elapsedMillis at the probe that first saw the current violation.
+     * Distraction time is charged from here, so it is measured rather than
+     * guessed: the time before that probe was never observed.
+     */
+    private long violationDetectedMillis = 0;
+
+    /**
+     * Whole seconds already charged to the current violation
+     */
+    private int violationChargedSeconds = 0;
+
     /**
      * Last time overlay was triggered for current violation type
      */
@@ -116,7 +250,7 @@ public class SessionMonitor {
     /**
      * Whether this monitor is currently running
      */
-    private boolean running = false;
+    private volatile boolean running = false;
 
     // ===== CONSTRUCTOR =====
 
@@ -127,10 +261,21 @@ public class SessionMonitor {
      * @param callback Callback for violation events
      */
     public SessionMonitor(FocusSession session, SessionMonitorCallback callback) {
+        this(session, callback, DomainTable.EMPTY);
+    }
+
+    /**
+     * Creates a session monitor that also blocks an imported domain list
+     *
+     * @param session The focus session to monitor
+     * @param callback Callback for violation events
+     * @param importedBlocklist Imported domains (DomainTable.EMPTY for none)
+     */
+    public SessionMonitor(FocusSession session, SessionMonitorCallback callback, DomainTable importedBlocklist) {
         this(session, callback,
              AppMonitor.createForCurrentOS(),
              new ForegroundAppMonitor(),
-             new ChromeWebsiteMonitor());
+             new ChromeWebsiteMonitor(ScriptingCoprocess.shared(), importedBlocklist));
     }
 
     /*
@@ -141,47 +286,109 @@ public class SessionMonitor {
                    AppMonitor appMonitor,
                    ForegroundAppMonitor foregroundMonitor,
                    ChromeWebsiteMonitor websiteMonitor) {
+        this(session, callback, appMonitor, foregroundMonitor, websiteMonitor, Platform::runLater);
+    }
+
+    /*
+     * Package-private constructor for testing with a custom UI executor.
+     */
+    SessionMonitor(FocusSession session,
+                   SessionMonitorCallback callback,
+                   AppMonitor appMonitor,
+                   ForegroundAppMonitor foregroundMonitor,
+                   ChromeWebsiteMonitor websiteMonitor,
+                   Executor uiExecutor) {
+        this(session, callback, appMonitor, foregroundMonitor, websiteMonitor, uiExecutor, null);
+    }
+
+    /**
+     * Creates a session monitor with custom monitors and threading, for
+     * running a session without JavaFX (see SessionEngine)
+     *
+     * @param session The focus session to monitor
+     * @param callback Callback for violation events
+     * @param appMonitor Process monitor (may be null)
+     * @param foregroundMonitor Frontmost app monitor
+     * @param websiteMonitor Chrome website monitor
+     * @param uiExecutor Executor that applies probe results to the session
+     * @param probeScheduler Scheduler for the probes (null for a monitor thread)
+     */
+    public SessionMonitor(FocusSession session,
+                          SessionMonitorCallback callback,
+                          AppMonitor appMonitor,
+                          ForegroundAppMonitor foregroundMonitor,
+                          ChromeWebsiteMonitor websiteMonitor,
+                          Executor uiExecutor,
+                          Scheduler probeScheduler) {
         this.session = session;
         this.callback = callback;
         this.appMonitor = appMonitor;
         this.foregroundMonitor = foregroundMonitor;
         this.websiteMonitor = websiteMonitor;
+        this.uiExecutor = uiExecutor;
+        this.injectedScheduler = probeScheduler;
+        this.blockedApps = List.copyOf(session.getBlockedApps());
+        this.normalizedBlockedApps = blockedApps.stream().map(this::normalizeAppName).toList();
+        this.blockedWebsites = List.copyOf(session.getBlockedWebsites());
+        this.websiteRulesActive = !blockedWebsites.isEmpty() || websiteMonitor.hasImportedBlocklist();
     }
 
     // ===== LIFECYCLE METHODS =====
 
     /**
-     * Starts the monitoring timeline
+     * Starts probing on the monitor thread
      */
     public void start() {
         if (running) {
             return;
         }
 
+        // Probe on a daemon thread, off the UI thread, unless the caller
+        // supplied a scheduler
+        Scheduler scheduler = injectedScheduler;
+        if (scheduler == null) {
+            ownedScheduler = ExecutorScheduler.daemon("kudafocus-session-monitor");
+            scheduler = ownedScheduler;
+        }
+
         running = true;
+        int generation = ++runGeneration;
+        elapsedMillis = 0;
         elapsedSeconds = 0;
+        pollRatePolicy.reset();
+        lastProbeNanos = scheduler.nanoTime();
+        probeScheduler = scheduler;
 
-        // Create a timeline that ticks every second
-        monitoringTimeline = new Timeline(
-            new KeyFrame(Duration.seconds(1), event -> onTimerTick())
-        );
-        monitoringTimeline.setCycleCount(Timeline.INDEFINITE);
-        monitoringTimeline.play();
+        // Each probe schedules the next one, since the delay depends on what it found
+        scheduleNextProbe(generation, pollRatePolicy.nextDelayMillis(true, false));
 
-        System.out.println("[SessionMonitor] Started monitoring session");
+        log("[SessionMonitor] Started monitoring session");
     }
 
     /**
-     * Stops the monitoring timeline
+     * Stops probing. Must be called on the UI thread.
      */
     public void stop() {
-        if (!running || monitoringTimeline == null) {
+        if (!running || probeScheduler == null) {
             return;
         }
 
         running = false;
-        monitoringTimeline.stop();
-        monitoringTimeline = null;
+        runGeneration++;
+        Scheduler.ScheduledTask probe = nextProbe;
+        if (probe != null) {
+            probe.cancel();
+        }
+        nextProbe = null;
+        probeScheduler = null;
+        if (ownedScheduler != null) {
+            // Not shutdownNow(): interrupting a probe mid-request would kill
+            // the shared scripting coprocess
+            if (!ownedScheduler.shutdown(STOP_AWAIT_MILLIS)) {
+                log("[SessionMonitor] A probe is still running; its result will be dropped");
+            }
+            ownedScheduler = null;
+        }
 
         // End any active violation
         if (session.hasActiveViolation()) {
@@ -191,23 +398,138 @@ public class SessionMonitor {
             }
         }
 
-        System.out.println("[SessionMonitor] Stopped monitoring session");
+        log("[SessionMonitor] Stopped monitoring session");
+    }
+
+    // ===== TICK HANDLERS =====
+
+    /**
+     * Result of one round of probes, handed from the monitor thread to the UI thread
+     */
+    private static final class TickProbe {
+        final int generation;
+        final ForegroundSnapshot snapshot;
+        final long intervalMillis;
+        final String matchedApp;
+        final boolean websiteChecked;
+        final String matchedDomain;
+
+        TickProbe(int generation, ForegroundSnapshot snapshot, long intervalMillis, String matchedApp,
+                  boolean websiteChecked, String matchedDomain) {
+            this.generation = generation;
+            this.snapshot = snapshot;
+            this.intervalMillis = intervalMillis;
+            this.matchedApp = matchedApp;
+            this.websiteChecked = websiteChecked;
+            this.matchedDomain = matchedDomain;
+        }
+    }
+
+    /**
+     * Called on the monitor thread each time a probe is due
+     *
+     * @param generation Run the probe was scheduled in
+     */
+    private void onProbeTick(int generation) {
+        Scheduler scheduler = probeScheduler;
+        if (!running || scheduler == null || generation != runGeneration) {
+            return;
+        }
+        long now = scheduler.nanoTime();
+        long intervalMillis = TimeUnit.NANOSECONDS.toMillis(now - lastProbeNanos);
+        lastProbeNanos = now;
+
+        boolean foregroundChanged = false;
+        boolean violationActive = false;
+        try {
+            String previousFront = lastFrontApp;
+            TickProbe probe = probe(generation, intervalMillis);
+            foregroundChanged = !Objects.equals(previousFront, lastFrontApp);
+            violationActive = probe.matchedApp != null || lastMatchedDomain != null;
+
+            uiExecutor.execute(() -> {
+                // Drop results that arrive after stop(), even if start() ran again since
+                if (running && probe.generation == runGeneration) {
+                    onTimerTick(probe);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; a failed probe just skips this tick
+            System.err.println("[SessionMonitor] Probe failed: " + e.getMessage());
+        }
+
+        scheduleNextProbe(generation, pollRatePolicy.nextDelayMillis(foregroundChanged, violationActive));
+    }
+
+    /**
+     * Schedules the next probe, unless monitoring has stopped
+     *
+     * @param generation Run the probe belongs to
+     */
+    private void scheduleNextProbe(int generation, long delayMillis) {
+        Scheduler scheduler = probeScheduler;
+        if (!running || scheduler == null || generation != runGeneration) {
+            return;
+        }
+        try {
+            nextProbe = scheduler.schedule(() -> onProbeTick(generation), delayMillis);
+        } catch (RejectedExecutionException e) {
+            // stop() shut the monitor thread down while this probe was running
+        }
     }
 
-    // ===== TIMER TICK HANDLER =====
+    /**
+     * Runs the (potentially slow) system probes for one tick.
+     * Does not touch the session.
+     *
+     * The frontmost app is queried exactly once; app rules and website rules
+     * both read it from the same ForegroundSnapshot. Chrome's window and URL
+     * are only captured once enough time has passed since the last website
+     * check, and only when Chrome is in front.
+     *
+     * @param generation Run the probe belongs to
+     * @param intervalMillis Measured time since the previous probe
+     * @return Probe results
+     */
+    private TickProbe probe(int generation, long intervalMillis) {
+        String frontApp = foregroundMonitor.getFrontmostApplication();
+        if (!Objects.equals(frontApp, lastFrontApp)) {
+            lastMatchedApp = matchFrontmostBlockedApp(frontApp);
+        }
+        lastFrontApp = frontApp;
+        String matchedApp = lastMatchedApp;
+
+        // Check Chrome's active tab less frequently
+        millisSinceWebsiteCheck += intervalMillis;
+        boolean websiteTick = millisSinceWebsiteCheck >= WEBSITE_CHECK_INTERVAL_SECONDS * 1000L;
+        ForegroundSnapshot snapshot;
+        if (websiteTick) {
+            millisSinceWebsiteCheck = 0;
+        }
+        if (websiteTick && websiteRulesActive) {
+            snapshot = websiteMonitor.captureBrowserState(frontApp);
+            lastMatchedDomain = websiteMonitor.detectDistractingDomain(snapshot, blockedWebsites);
+        } else {
+            snapshot = ForegroundSnapshot.of(frontApp);
+        }
+
+        return new TickProbe(generation, snapshot, intervalMillis, matchedApp,
+                websiteTick, websiteTick ? lastMatchedDomain : null);
+    }
 
     /**
-     * Called every second while monitoring is running
+     * Applies one tick of probe results to the session (UI thread)
      */
-    private void onTimerTick() {
-        elapsedSeconds++;
+    private void onTimerTick(TickProbe probe) {
+        elapsedMillis += probe.intervalMillis;
+        elapsedSeconds = (int) (elapsedMillis / 1000);
 
         // Track app violations
-        checkAppViolations();
+        checkAppViolations(probe.snapshot.getFrontmostApplication(), probe.matchedApp);
 
         // Track website violations (less frequently)
-        if (elapsedSeconds % WEBSITE_CHECK_INTERVAL_SECONDS == 0) {
-            checkWebsiteViolations();
+        if (probe.websiteChecked) {
+            checkWebsiteViolations(probe.matchedDomain);
         }
 
         // If no violation detected and none active, we're good
@@ -215,35 +537,44 @@ public class SessionMonitor {
     }
 
     /*
-     * Package-private helper for unit tests to simulate a single tick
+     * Package-private helper for unit tests to simulate a single one-second tick
      */
     void tickOnce() {
-        onTimerTick();
+        tickOnce(SIMULATED_TICK_MILLIS);
+    }
+
+    /*
+     * Package-private helper for unit tests to simulate a tick after the given interval
+     */
+    void tickOnce(long intervalMillis) {
+        onTimerTick(probe(runGeneration, intervalMillis));
     }
 
     // ===== VIOLATION CHECKING =====
 
     /**
      * Checks if any blocked apps are currently running
+     *
+     * @param frontApp Frontmost application from this tick's snapshot
+     * @param matchedApp Blocked app matching the frontmost app, or null
      */
-    private void checkAppViolations() {
-        List<String> blockedApps = session.getBlockedApps();
-        String frontApp = foregroundMonitor.getFrontmostApplication();
-        System.out.println("[DEBUG] elapsed=" + elapsedSeconds + " frontmost=" + frontApp + " blocked=" + blockedApps);
+    private void checkAppViolations(String frontApp, String matchedApp) {
+        if (verbose) {
+            log("[DEBUG] elapsed=" + elapsedSeconds + " frontmost=" + frontApp + " blocked=" + blockedApps);
+        }
         if (blockedApps.isEmpty()) {
             clearAppViolationIfActive();
             return;
         }
 
-        // Determine the current frontmost application via foreground monitor
-        System.out.println("[SessionMonitor] frontmost app = " + frontApp);
-
-        String matchedApp = matchFrontmostBlockedApp(frontApp, blockedApps);
+        if (verbose) {
+            log("[SessionMonitor] frontmost app = " + frontApp);
+        }
 
         if (matchedApp != null) {
             // Found violation in foreground app
             startViolationIfChanged(matchedApp, true);
-            session.addViolationDuration(APP_CHECK_INTERVAL_SECONDS);
+            chargeSinceDetection();
 
             // Trigger overlay if cadence allows
             if (elapsedSeconds - lastAppOverlayTriggerSecond >= OVERLAY_RETRIGGER_INTERVAL_SECONDS) {
@@ -259,24 +590,24 @@ public class SessionMonitor {
 
     /**
      * Checks if blocked websites are currently active in Chrome
+     *
+     * @param matchedDomain Blocked domain found in Chrome's active tab, or null
      */
-    private void checkWebsiteViolations() {
-        List<String> blockedWebsites = session.getBlockedWebsites();
-        if (blockedWebsites.isEmpty()) {
+    private void checkWebsiteViolations(String matchedDomain) {
+        if (!websiteRulesActive) {
             clearWebsiteViolationIfActive();
             return;
         }
 
-        // Use ChromeWebsiteMonitor to check active tab
-        String matchedDomain = websiteMonitor.detectDistractingDomain(blockedWebsites);
-
-        System.out.println("[SessionMonitor] Checking websites: " + blockedWebsites + " -> matched: " + matchedDomain);
+        if (verbose) {
+            log("[SessionMonitor] Checking websites: " + blockedWebsites + " -> matched: " + matchedDomain);
+        }
 
         if (matchedDomain != null) {
             // Found violation
             String violationName = "Website: " + matchedDomain;
             startViolationIfChanged(violationName, false);
-            session.addViolationDuration(WEBSITE_CHECK_INTERVAL_SECONDS);
+            chargeSinceDetection();
 
             // Trigger overlay if cadence allows
             if (elapsedSeconds - lastWebsiteOverlayTriggerSecond >= OVERLAY_RETRIGGER_INTERVAL_SECONDS) {
@@ -296,17 +627,29 @@ public class SessionMonitor {
      * Starts a violation if it's different from the current one
      */
     private void startViolationIfChanged(String appName, boolean isApp) {
-        if (!session.hasActiveViolation()) {
-            session.startViolation(appName);
-            resetOverlayCadence(isApp);
+        if (session.hasActiveViolation()
+                && appName.equals(session.getCurrentViolation().getAppName())) {
             return;
         }
+        session.startViolation(appName);
+        violationDetectedMillis = elapsedMillis;
+        violationChargedSeconds = 0;
+        resetOverlayCadence(isApp);
+    }
 
-        String currentName = session.getCurrentViolation().getAppName();
-        if (!appName.equals(currentName)) {
-            session.startViolation(appName);
-            resetOverlayCadence(isApp);
-        }
+    /**
+     * Charges the current violation up to this probe.
+     *
+     * The probe that first sees a violation only knows it began somewhere
+     * since the previous probe, which under backoff can be 8 seconds ago,
+     * so it charges nothing. Every later probe charges the whole seconds
+     * measured since that first probe that are not charged yet, so
+     * sub-second remainders are never lost between probes.
+     */
+    private void chargeSinceDetection() {
+        int measuredSeconds = (int) ((elapsedMillis - violationDetectedMillis) / 1000);
+        session.addViolationDuration(measuredSeconds - violationChargedSeconds);
+        violationChargedSeconds = measuredSeconds;
     }
 
     /**
@@ -358,16 +701,15 @@ public class SessionMonitor {
         }
     }
 
-    private String matchFrontmostBlockedApp(String frontApp, List<String> blockedApps) {
-        if (frontApp == null || frontApp.isBlank()) {
+    private String matchFrontmostBlockedApp(String frontApp) {
+        if (frontApp == null || frontApp.isBlank() || blockedApps.isEmpty()) {
             return null;
         }
 
         String normalizedFront = normalizeAppName(frontApp);
-        for (String blockedApp : blockedApps) {
-            String normalizedBlocked = normalizeAppName(blockedApp);
-            if (normalizedFront.equals(normalizedBlocked)) {
-                return blockedApp;
+        for (int i = 0; i < blockedApps.size(); i++) {
+            if (normalizedFront.equals(normalizedBlockedApps.get(i))) {
+                return blockedApps.get(i);
             }
         }
         return null;
@@ -377,9 +719,8 @@ public class SessionMonitor {
         if (appName == null) {
             return "";
         }
-        String normalized = appName.trim()
-                .toLowerCase(Locale.ROOT)
-                .replaceAll("[^a-z0-9]+", " ")
+        String normalized = NON_ALPHANUMERIC.matcher(appName.trim().toLowerCase(Locale.ROOT))
+                .replaceAll(" ")
                 .trim();
         if (normalized.isEmpty()) {
             return "";
@@ -387,6 +728,37 @@ public class SessionMonitor {
         return APP_NAME_ALIASES.getOrDefault(normalized, normalized);
     }
 
+    // ===== CONFIGURATION =====
+
+    /**
+     * Sets the policy that decides when to probe next.
+     * Takes effect the next time the monitor is started.
+     *
+     * @param pollRatePolicy Policy to use (e.g. PollRatePolicy.fixed(1000))
+     */
+    public void setPollRatePolicy(PollRatePolicy pollRatePolicy) {
+        if (pollRatePolicy == null) {
+            throw new IllegalArgumentException("Poll rate policy cannot be null");
+        }
+        this.pollRatePolicy = pollRatePolicy;
+    }
+
+    /**
+     * Turns the console logging on or off (on by default). Simulations
+     * running thousands of sessions turn it off.
+     *
+     * @param verbose true to log lifecycle and per-tick messages
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    private void log(String message) {
+        if (verbose) {
+            System.out.println(message);
+        }
+    }
+
     // ===== GETTERS =====
 
     /**
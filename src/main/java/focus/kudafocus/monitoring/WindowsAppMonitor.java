@@ -1,7 +1,7 @@
 package focus.kudafocus.monitoring;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -34,6 +34,18 @@ public class WindowsAppMonitor extends AppMonitor {
             {"pycharm64.exe", "PyCharm"}
     };
 
+    /**
+     * 'tasklist' layout: blank line, header and separator, then name and PID columns
+     */
+    private static final int TASKLIST_HEADER_LINES = 3;
+    private static final int TASKLIST_NAME_FIELD = 0;
+    private static final int TASKLIST_PID_FIELD = 1;
+
+    /**
+     * Tokenizer reused for every scan
+     */
+    private final ProcessOutputTokenizer tokenizer = new ProcessOutputTokenizer();
+
     /**
      * Creates a new Windows app monitor
      */
@@ -49,7 +61,7 @@ public class WindowsAppMonitor extends AppMonitor {
      *
      * Process:
      * 1. Execute 'tasklist' command via ProcessBuilder
-     * 2. Parse the output line by line
+     * 2. Tokenize the output in place (see ProcessOutputTokenizer)
      * 3. Extract process names and PIDs
      * 4. Create ProcessInfo objects
      * 5. Return the list
@@ -57,54 +69,88 @@ public class WindowsAppMonitor extends AppMonitor {
      * @return List of currently running processes
      */
     @Override
-    protected List<ProcessInfo> getCurrentProcesses() {
+    protected synchronized List<ProcessInfo> getCurrentProcesses() {
         List<ProcessInfo> processes = new ArrayList<>();
-        Set<String> seenProcesses = new HashSet<>();
 
         try {
             // Execute 'tasklist' command
             ProcessBuilder pb = new ProcessBuilder("tasklist");
             Process process = pb.start();
 
-            // Read the output
-            BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream())
-            );
+            try (InputStream output = process.getInputStream()) {
+                processes = parseProcessOutput(output);
+            }
 
-            String line;
-            int lineCount = 0;
+            // Wait for command to complete
+            process.waitFor();
 
-            while ((line = reader.readLine()) != null) {
-                lineCount++;
+        } catch (Exception e) {
+            System.err.println("Error getting Windows processes: " + e.getMessage());
+        }
 
-                // Skip header lines (first 3 lines)
-                if (lineCount <= 3) {
-                    continue;
-                }
+        return processes;
+    }
 
-                // Parse process line
-                ProcessInfo processInfo = parseProcessLine(line);
-                if (processInfo != null) {
-                    // Avoid duplicates
-                    String key = processInfo.getProcessName().toLowerCase();
-                    if (!seenProcesses.contains(key)) {
-                        processes.add(processInfo);
-                        seenProcesses.add(key);
-                    }
-                }
+    /**
+     * OVERRIDES AppMonitor's full-list scan.
+     *
+     * PIDs the table already knows are skipped straight from the bytes, so
+     * a steady-state scan decodes no Strings at all.
+     *
+     * @param table Table to update (scan already begun)
+     */
+    @Override
+    protected synchronized void scanProcesses(ProcessTable table) {
+        try {
+            Process process = new ProcessBuilder("tasklist").start();
+
+            try (InputStream output = process.getInputStream()) {
+                scanProcessOutput(output, table);
             }
 
-            // Wait for command to complete
             process.waitFor();
-            reader.close();
 
         } catch (Exception e) {
-            System.err.println("Error getting Windows processes: " + e.getMessage());
+            System.err.println("Error scanning Windows processes: " + e.getMessage());
         }
+    }
+
+    /*
+     * Package-private for tests and benchmarks: parses 'tasklist' output
+     * into de-duplicated ProcessInfo objects.
+     */
+    List<ProcessInfo> parseProcessOutput(InputStream output) throws IOException {
+        List<ProcessInfo> processes = new ArrayList<>();
+        Set<String> seenProcesses = new HashSet<>();
+
+        tokenizer.tokenize(output, TASKLIST_HEADER_LINES, line -> {
+            ProcessInfo processInfo = parseProcessLine(line);
+            if (processInfo != null) {
+                // Avoid duplicates
+                String key = processInfo.getProcessName().toLowerCase();
+                if (seenProcesses.add(key)) {
+                    processes.add(processInfo);
+                }
+            }
+        });
 
         return processes;
     }
 
+    /*
+     * Package-private for tests and benchmarks: feeds 'tasklist' output
+     * into the table, only decoding lines for PIDs it has not settled.
+     */
+    void scanProcessOutput(InputStream output, ProcessTable table) throws IOException {
+        tokenizer.tokenize(output, TASKLIST_HEADER_LINES, line -> {
+            int pid = line.parsePid(TASKLIST_PID_FIELD);
+            if (pid < 0 || table.touch(pid)) {
+                return;  // Invalid line, or already known
+            }
+            table.record(pid, parseProcessLine(line));
+        });
+    }
+
     /**
      * IMPLEMENTS ABSTRACT METHOD from AppMonitor.
      *
@@ -145,49 +191,34 @@ public class WindowsAppMonitor extends AppMonitor {
     }
 
     /**
-     * Parses a single line from 'tasklist' output into a ProcessInfo object.
+     * Parses a single tokenized line from 'tasklist' output into a ProcessInfo object.
      *
      * tasklist format:
      * Image Name                     PID Session Name        Session#    Mem Usage
      * ========================= ======== ================ =========== ============
      * Discord.exe                   1234 Console                    1     12,345 K
      *
-     * @param line Line from tasklist output
+     * @param line Tokenized line from tasklist output
      * @return ProcessInfo object or null if line couldn't be parsed
      */
-    private ProcessInfo parseProcessLine(String line) {
-        try {
-            // Split by whitespace, keeping multiple spaces as delimiters
-            String[] parts = line.trim().split("\\s+");
-
-            if (parts.length < 2) {
-                return null;  // Invalid line
-            }
-
-            // Extract process name (first column)
-            String processName = parts[0];
-
-            // Extract PID (second column)
-            int pid;
-            try {
-                pid = Integer.parseInt(parts[1].replace(",", ""));
-            } catch (NumberFormatException e) {
-                return null;  // Not a valid PID
-            }
-
-            // Skip system processes
-            if (isSystemProcess(processName)) {
-                return null;
-            }
+    private ProcessInfo parseProcessLine(ProcessOutputTokenizer line) {
+        // Extract PID (second column)
+        int pid = line.parsePid(TASKLIST_PID_FIELD);
+        if (pid < 0) {
+            return null;  // Invalid line or not a valid PID
+        }
 
-            // Create ProcessInfo
-            String displayName = normalizeProcessName(processName);
-            return new ProcessInfo(processName, displayName, pid);
+        // Extract process name (first column)
+        String processName = line.fieldToString(TASKLIST_NAME_FIELD);
 
-        } catch (Exception e) {
-            // Silently skip lines that can't be parsed
+        // Skip system processes
+        if (isSystemProcess(processName)) {
             return null;
         }
+
+        // Create ProcessInfo
+        String displayName = normalizeProcessName(processName);
+        return new ProcessInfo(processName, displayName, pid);
     }
 
     /**
@@ -0,0 +1,214 @@
+package focus.kudafocus.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scripted timeline of what the user has in front of them during a
+ * simulated session: which app is frontmost and, when it is Chrome,
+ * which URL is open.
+ *
+ * A trace is a list of back-to-back segments. Each segment also says
+ * whether it is a distraction and under which name the session should
+ * record it ("Discord", "Website: youtube.com"), which is what the
+ * simulator compares the monitor's results against.
+ *
+ * Build one with ActivityTrace.builder():
+ * <pre>
+ *   ActivityTrace trace = ActivityTrace.builder()
+ *           .focus(600, "Code")
+ *           .app(120, "Discord")
+ *           .website(300, "https://www.youtube.com/watch", "youtube.com")
+ *           .build();
+ * </pre>
+ */
+public final class ActivityTrace {
+
+    /**
+     * App name Chrome reports as the frontmost process
+     */
+    public static final String CHROME = "Google Chrome";
+
+    /**
+     * One stretch of unchanged activity
+     */
+    public static final class Segment {
+        private final int startSecond;
+        private final int seconds;
+        private final String frontApp;
+        private final String url;
+        private final String violationName;
+
+        Segment(int startSecond, int seconds, String frontApp, String url, String violationName) {
+            this.startSecond = startSecond;
+            this.seconds = seconds;
+            this.frontApp = frontApp;
+            this.url = url;
+            this.violationName = violationName;
+        }
+
+        public int getStartSecond() {
+            return startSecond;
+        }
+
+        public int getSeconds() {
+            return seconds;
+        }
+
+        public String getFrontApp() {
+            return frontApp;
+        }
+
+        /**
+         * @return Chrome's active URL, or null if Chrome is not in front
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * @return Name the violation should be recorded under, or null if this is focused time
+         */
+        public String getViolationName() {
+            return violationName;
+        }
+
+        public boolean isDistraction() {
+            return violationName != null;
+        }
+    }
+
+    private final List<Segment> segments;
+
+    /**
+     * Start second of each segment, for binary search
+     */
+    private final int[] starts;
+
+    private final int totalSeconds;
+
+    private ActivityTrace(List<Segment> segments, int totalSeconds) {
+        this.segments = List.copyOf(segments);
+        this.totalSeconds = totalSeconds;
+        this.starts = new int[segments.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = segments.get(i).getStartSecond();
+        }
+    }
+
+    /**
+     * Starts a new trace
+     *
+     * @return Empty builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // ===== LOOKUP =====
+
+    /**
+     * Gets the segment that is current at a point in time. After the end
+     * of the trace the last segment stays current.
+     *
+     * @param millis Milliseconds since the session started
+     * @return Current segment, or null if the trace is empty
+     */
+    public Segment segmentAt(long millis) {
+        if (starts.length == 0) {
+            return null;
+        }
+        int second = (int) Math.min(Integer.MAX_VALUE, millis / 1000);
+        int index = Arrays.binarySearch(starts, second);
+        if (index < 0) {
+            index = -index - 2; // Segment that started before this second
+        }
+        return segments.get(Math.max(0, index));
+    }
+
+    public List<Segment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * @return Total length of all segments in seconds
+     */
+    public int getTotalSeconds() {
+        return totalSeconds;
+    }
+
+    // ===== BUILDER =====
+
+    /**
+     * Appends segments one after another
+     */
+    public static final class Builder {
+        private final List<Segment> segments = new ArrayList<>();
+        private int nextStart = 0;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds focused time in a non-blocked app
+         *
+         * @param seconds Length of the segment
+         * @param app Frontmost app
+         * @return This builder
+         */
+        public Builder focus(int seconds, String app) {
+            return add(seconds, app, null, null);
+        }
+
+        /**
+         * Adds time in a blocked app
+         *
+         * @param seconds Length of the segment
+         * @param app Frontmost app (one of the session's blocked apps)
+         * @return This builder
+         */
+        public Builder app(int seconds, String app) {
+            return add(seconds, app, null, app);
+        }
+
+        /**
+         * Adds time in Chrome on an allowed page
+         *
+         * @param seconds Length of the segment
+         * @param url Active URL
+         * @return This builder
+         */
+        public Builder browse(int seconds, String url) {
+            return add(seconds, CHROME, url, null);
+        }
+
+        /**
+         * Adds time in Chrome on a blocked website
+         *
+         * @param seconds Length of the segment
+         * @param url Active URL
+         * @param rule Blocked-website rule the URL matches
+         * @return This builder
+         */
+        public Builder website(int seconds, String url, String rule) {
+            return add(seconds, CHROME, url, "Website: " + rule);
+        }
+
+        private Builder add(int seconds, String app, String url, String violationName) {
+            if (seconds <= 0) {
+                throw new IllegalArgumentException("Segment length must be positive");
+            }
+            segments.add(new Segment(nextStart, seconds, app, url, violationName));
+            nextStart += seconds;
+            return this;
+        }
+
+        /**
+         * @return Finished trace
+         */
+        public ActivityTrace build() {
+            return new ActivityTrace(segments, nextStart);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package focus.kudafocus.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates random but reproducible scenarios (same seed, same scenarios).
+ *
+ * Each session starts focused and then alternates between work apps,
+ * allowed pages in Chrome, blocked apps and blocked websites. Segments
+ * start and end on arbitrary seconds, so they do not line up with the
+ * probes or the website checks, just like real use.
+ */
+public class ScenarioGenerator {
+
+    private static final List<String> BLOCKED_APPS = List.of("Discord", "Steam", "Slack");
+    private static final List<String> BLOCKED_WEBSITES = List.of("youtube.com", "reddit.com", "x.com");
+    private static final List<String> WORK_APPS = List.of("Code", "Terminal", "IntelliJ IDEA", "Preview");
+    private static final List<String> ALLOWED_URLS = List.of(
+            "https://docs.oracle.com/en/java/", "https://github.com/", "https://stackoverflow.com/questions");
+
+    private final Random random;
+
+    /**
+     * Creates a generator
+     *
+     * @param seed Random seed
+     */
+    public ScenarioGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates a batch of scenarios
+     *
+     * @param count Number of scenarios
+     * @param plannedSeconds Length of each session
+     * @return Scenarios
+     */
+    public List<SimulationScenario> generate(int count, int plannedSeconds) {
+        List<SimulationScenario> scenarios = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            scenarios.add(generateOne("session-" + i, plannedSeconds));
+        }
+        return scenarios;
+    }
+
+    /**
+     * Generates one scenario
+     *
+     * @param name Scenario name
+     * @param plannedSeconds Length of the session
+     * @return Scenario
+     */
+    public SimulationScenario generateOne(String name, int plannedSeconds) {
+        // How distractible this user is: 0 (never) to 0.5 (half of all switches)
+        double distractibility = random.nextDouble() * 0.5;
+
+        ActivityTrace.Builder trace = ActivityTrace.builder();
+        int total = length(5 * 60);
+        trace.focus(total, pick(WORK_APPS));
+        while (total < plannedSeconds) {
+            int seconds;
+            if (random.nextDouble() < distractibility) {
+                seconds = length(10 * 60);
+                if (random.nextBoolean()) {
+                    trace.app(seconds, pick(BLOCKED_APPS));
+                } else {
+                    String site = pick(BLOCKED_WEBSITES);
+                    trace.website(seconds, "https://www." + site + "/", site);
+                }
+            } else {
+                seconds = length(30 * 60);
+                if (random.nextInt(4) == 0) {
+                    trace.browse(seconds, pick(ALLOWED_URLS));
+                } else {
+                    trace.focus(seconds, pick(WORK_APPS));
+                }
+            }
+            total += seconds;
+        }
+        return new SimulationScenario(name, plannedSeconds, BLOCKED_APPS, BLOCKED_WEBSITES, trace.build());
+    }
+
+    /**
+     * @return Random length between 1 and maxSeconds seconds
+     */
+    private int length(int maxSeconds) {
+        return 1 + random.nextInt(maxSeconds);
+    }
+
+    private String pick(List<String> options) {
+        return options.get(random.nextInt(options.size()));
+    }
+}
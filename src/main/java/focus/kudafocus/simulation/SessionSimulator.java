@@ -0,0 +1,161 @@
+package focus.kudafocus.simulation;
+
+import focus.kudafocus.core.FocusSession;
+import focus.kudafocus.core.Scheduler;
+import focus.kudafocus.core.VirtualScheduler;
+import focus.kudafocus.monitoring.AdaptivePollRatePolicy;
+import focus.kudafocus.monitoring.ChromeWebsiteMonitor;
+import focus.kudafocus.monitoring.ForegroundAppMonitor;
+import focus.kudafocus.monitoring.ForegroundSnapshot;
+import focus.kudafocus.monitoring.PollRatePolicy;
+import focus.kudafocus.monitoring.SessionEngine;
+import focus.kudafocus.monitoring.SessionMonitor;
+
+import java.util.function.Supplier;
+
+/**
+ * Plays a SimulationScenario through the real session engine (Timer,
+ * SessionMonitor, FocusSession) on a VirtualScheduler.
+ *
+ * The foreground app and Chrome URL come from the scenario's trace
+ * instead of the operating system, and virtual time jumps straight from
+ * one tick to the next, so a three-hour session takes a few milliseconds.
+ * Everything for one session runs on the calling thread; separate
+ * run() calls share nothing and can run in parallel.
+ */
+public class SessionSimulator {
+
+    /**
+     * Creates the poll rate policy for each session (policies keep state)
+     */
+    private final Supplier<PollRatePolicy> pollRatePolicies;
+
+    /**
+     * Longest possible wait between two looks at a distraction: a website
+     * check can be due just after a probe and then wait a full probe delay
+     */
+    private final long maxSampleGapMillis;
+
+    /**
+     * Creates a simulator that probes like the app does, with the default
+     * AdaptivePollRatePolicy (fast during violations, backing off to 8
+     * seconds while nothing changes)
+     */
+    public SessionSimulator() {
+        this(AdaptivePollRatePolicy::new, AdaptivePollRatePolicy.DEFAULT_MAX_MILLIS);
+    }
+
+    /**
+     * Creates a simulator that probes at a fixed rate
+     *
+     * @param delayMillis Delay between probes
+     * @return Simulator
+     */
+    public static SessionSimulator fixedRate(long delayMillis) {
+        return new SessionSimulator(() -> PollRatePolicy.fixed(delayMillis), delayMillis);
+    }
+
+    /**
+     * Creates a simulator with a custom probe schedule
+     *
+     * @param pollRatePolicies Creates one policy per simulated session
+     * @param maxProbeDelayMillis Longest delay the policies ever return
+     */
+    public SessionSimulator(Supplier<PollRatePolicy> pollRatePolicies, long maxProbeDelayMillis) {
+        this.pollRatePolicies = pollRatePolicies;
+        this.maxSampleGapMillis = SessionMonitor.WEBSITE_CHECK_INTERVAL_SECONDS * 1000L + maxProbeDelayMillis;
+    }
+
+    /**
+     * Runs one scenario to the end of its planned duration
+     *
+     * @param scenario Scenario to run
+     * @return Outcome
+     */
+    public SimulationResult run(SimulationScenario scenario) {
+        long startNanos = System.nanoTime();
+
+        VirtualScheduler scheduler = new VirtualScheduler();
+        FocusSession session = new FocusSession(scenario.getPlannedSeconds(),
+                scenario.getBlockedApps(), scenario.getBlockedWebsites());
+        TraceBrowser browser = new TraceBrowser(scenario.getTrace(), scheduler);
+        browser.setVerbose(false);
+
+        boolean[] completed = {false};
+        SessionEngine engine = new SessionEngine(session, 0, new SessionEngine.Listener() {
+            @Override
+            public void onTick(int remainingSeconds) {
+            }
+
+            @Override
+            public void onComplete() {
+                session.complete(scenario.getPlannedSeconds());
+                completed[0] = true;
+            }
+
+            @Override
+            public void onViolationDetected(String appName) {
+            }
+
+            @Override
+            public void onViolationEnded() {
+            }
+        }, scheduler, Runnable::run, null, new TraceForeground(scenario.getTrace(), scheduler), browser);
+        engine.getMonitor().setVerbose(false);
+        engine.getMonitor().setPollRatePolicy(pollRatePolicies.get());
+
+        engine.start();
+        scheduler.advance(scenario.getPlannedSeconds() * 1000L);
+        if (!completed[0]) {
+            engine.cancel();
+        }
+
+        return new SimulationResult(scenario, completed[0], session.getFocusScore(),
+                session.getViolationCount(), session.getTotalDistractionSeconds(),
+                System.nanoTime() - startNanos, maxSampleGapMillis);
+    }
+
+    // ===== TRACE-DRIVEN MONITORS =====
+
+    /**
+     * Reports the trace's frontmost app at the current virtual time
+     */
+    private static final class TraceForeground extends ForegroundAppMonitor {
+        private final ActivityTrace trace;
+        private final Scheduler clock;
+
+        TraceForeground(ActivityTrace trace, Scheduler clock) {
+            this.trace = trace;
+            this.clock = clock;
+        }
+
+        @Override
+        public String getFrontmostApplication() {
+            ActivityTrace.Segment segment = trace.segmentAt(clock.nanoTime() / 1_000_000);
+            return segment != null ? segment.getFrontApp() : null;
+        }
+    }
+
+    /**
+     * Reports the trace's Chrome URL at the current virtual time; the
+     * real domain matching is kept
+     */
+    private static final class TraceBrowser extends ChromeWebsiteMonitor {
+        private final ActivityTrace trace;
+        private final Scheduler clock;
+
+        TraceBrowser(ActivityTrace trace, Scheduler clock) {
+            this.trace = trace;
+            this.clock = clock;
+        }
+
+        @Override
+        public ForegroundSnapshot captureBrowserState(String frontmostApp) {
+            ActivityTrace.Segment segment = trace.segmentAt(clock.nanoTime() / 1_000_000);
+            if (segment == null || segment.getUrl() == null) {
+                return ForegroundSnapshot.of(frontmostApp);
+            }
+            return ForegroundSnapshot.withBrowserState(frontmostApp, true, segment.getUrl());
+        }
+    }
+}
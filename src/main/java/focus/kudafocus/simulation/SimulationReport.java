@@ -0,0 +1,169 @@
+package focus.kudafocus.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of a batch of simulated sessions: throughput, the spread of
+ * focus scores, and every session whose results diverged from its
+ * scenario's expectations.
+ */
+public final class SimulationReport {
+
+    /**
+     * Number of score buckets: 0-9, 10-19, ..., 90-99, and 100 on its own
+     */
+    public static final int SCORE_BUCKETS = 11;
+
+    private final int sessionCount;
+    private final long wallNanos;
+    private final long simulatedSeconds;
+    private final int parallelism;
+    private final int[] scoreHistogram = new int[SCORE_BUCKETS];
+    private final int minScore;
+    private final int maxScore;
+    private final double meanScore;
+    private final double meanErrorPerOccurrence;
+    private final List<SimulationResult> divergences = new ArrayList<>();
+    private final int scoreDivergenceCount;
+
+    /**
+     * Summarises a batch of results
+     *
+     * @param results Results of every session in the batch
+     * @param wallNanos Real time the whole batch took
+     * @param parallelism Number of worker threads used
+     */
+    public SimulationReport(List<SimulationResult> results, long wallNanos, int parallelism) {
+        this.sessionCount = results.size();
+        this.wallNanos = wallNanos;
+        this.parallelism = parallelism;
+
+        long simulated = 0;
+        long scoreSum = 0;
+        long errorSeconds = 0;
+        long expectedOccurrences = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        int scoreDivergences = 0;
+        for (SimulationResult result : results) {
+            int score = result.getScore();
+            simulated += result.getScenario().getPlannedSeconds();
+            scoreSum += score;
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+            scoreHistogram[Math.min(score / 10, SCORE_BUCKETS - 1)]++;
+            errorSeconds += result.getDistractionSeconds() - result.getScenario().getExpectedDistractionSeconds();
+            expectedOccurrences += result.getScenario().getExpectedOccurrences();
+            if (result.isDivergent()) {
+                divergences.add(result);
+            }
+            if (result.isScoreDivergent()) {
+                scoreDivergences++;
+            }
+        }
+        this.scoreDivergenceCount = scoreDivergences;
+        this.simulatedSeconds = simulated;
+        this.minScore = results.isEmpty() ? 0 : min;
+        this.maxScore = results.isEmpty() ? 0 : max;
+        this.meanScore = results.isEmpty() ? 0 : (double) scoreSum / results.size();
+        this.meanErrorPerOccurrence = expectedOccurrences == 0 ? 0 : (double) errorSeconds / expectedOccurrences;
+    }
+
+    // ===== GETTERS =====
+
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return Simulated sessions per second of real time
+     */
+    public double getSessionsPerSecond() {
+        return wallNanos == 0 ? 0 : sessionCount / (wallNanos / 1e9);
+    }
+
+    /**
+     * @return How many times faster than real time the batch ran
+     */
+    public double getSpeedup() {
+        return wallNanos == 0 ? 0 : simulatedSeconds / (wallNanos / 1e9);
+    }
+
+    /**
+     * Gets the number of sessions per score bucket (index 0 = 0-9,
+     * index 9 = 90-99, index 10 = 100)
+     *
+     * @return Copy of the histogram
+     */
+    public int[] getScoreHistogram() {
+        return scoreHistogram.clone();
+    }
+
+    public int getMinScore() {
+        return minScore;
+    }
+
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    public double getMeanScore() {
+        return meanScore;
+    }
+
+    /**
+     * Gets the average distraction-time error per expected occurrence.
+     * Single sessions may be off either way by a few seconds of sampling;
+     * across a batch the errors should cancel out, so a mean well above 0
+     * means the monitor overcounts systematically.
+     *
+     * @return Mean of (recorded - expected) seconds per occurrence
+     */
+    public double getMeanErrorPerOccurrence() {
+        return meanErrorPerOccurrence;
+    }
+
+    /**
+     * @return Sessions whose results fall outside the sampling bounds
+     */
+    public List<SimulationResult> getDivergences() {
+        return List.copyOf(divergences);
+    }
+
+    /**
+     * @return Sessions whose score is outside what the sampling bounds allow
+     *         (these are also in getDivergences())
+     */
+    public int getScoreDivergenceCount() {
+        return scoreDivergenceCount;
+    }
+
+    /**
+     * Formats the report for the console
+     *
+     * @return Multi-line summary
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Simulated %d sessions (%.1f hours) in %.1f ms on %d threads%n",
+                sessionCount, simulatedSeconds / 3600.0, wallNanos / 1e6, parallelism));
+        text.append(String.format("Throughput: %.0f sessions/s, %.0fx real time%n",
+                getSessionsPerSecond(), getSpeedup()));
+        text.append(String.format("Scores: min %d, mean %.1f, max %d%n", minScore, meanScore, maxScore));
+        for (int bucket = 0; bucket < SCORE_BUCKETS; bucket++) {
+            String label = bucket == SCORE_BUCKETS - 1 ? "    100" : String.format("%3d-%3d", bucket * 10, bucket * 10 + 9);
+            text.append(String.format("  %s | %6d%n", label, scoreHistogram[bucket]));
+        }
+        text.append(String.format("Distraction error: %+.2f s per occurrence%n", meanErrorPerOccurrence));
+        text.append(String.format("Divergences: %d (%d in score)%n", divergences.size(), scoreDivergenceCount));
+        for (int i = 0; i < Math.min(10, divergences.size()); i++) {
+            text.append("  ").append(divergences.get(i)).append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+}
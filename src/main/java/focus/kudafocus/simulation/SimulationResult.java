@@ -0,0 +1,124 @@
+package focus.kudafocus.simulation;
+
+/**
+ * Outcome of one simulated session, next to what the scenario expected
+ */
+public final class SimulationResult {
+
+    private final SimulationScenario scenario;
+    private final boolean completed;
+    private final int score;
+    private final int occurrences;
+    private final int distractionSeconds;
+    private final long wallNanos;
+
+    /**
+     * Longest time the monitor can go without looking at a distraction
+     */
+    private final long maxSampleGapMillis;
+
+    SimulationResult(SimulationScenario scenario, boolean completed, int score,
+                     int occurrences, int distractionSeconds, long wallNanos,
+                     long maxSampleGapMillis) {
+        this.scenario = scenario;
+        this.completed = completed;
+        this.score = score;
+        this.occurrences = occurrences;
+        this.distractionSeconds = distractionSeconds;
+        this.wallNanos = wallNanos;
+        this.maxSampleGapMillis = maxSampleGapMillis;
+    }
+
+    /**
+     * Checks whether the session ended differently than the scenario expected.
+     *
+     * The monitor only samples, so it cannot match the trace to the second.
+     * Time is charged from the probe that first sees a violation, so it
+     * never overcounts, except that two occurrences merged into one also
+     * charge the unseen gap between them (at most one sample gap per merge).
+     * For each expected occurrence it may undercount by at most two sample
+     * gaps plus a second (detection lag, the unseen tail, and the last
+     * partial second). It may merge or miss occurrences, but never invent
+     * one. The score must fall within what those bounds allow (see
+     * isScoreDivergent()).
+     *
+     * @return true if it did not complete, or its violation count,
+     *         distraction time or score is outside those bounds
+     */
+    public boolean isDivergent() {
+        int expectedOccurrences = scenario.getExpectedOccurrences();
+        long errorMillis = (distractionSeconds - scenario.getExpectedDistractionSeconds()) * 1000L;
+        return !completed
+                || occurrences > expectedOccurrences
+                || errorMillis > maxOvercountMillis()
+                || -errorMillis > maxUndercountMillis()
+                || isScoreDivergent();
+    }
+
+    /**
+     * Checks the score against the scenario's expected score.
+     *
+     * The score is lowest when every expected occurrence is seen and the
+     * distraction time is overcounted as far as sampling allows, and
+     * highest with only the recorded occurrences and the time undercounted
+     * as far as sampling allows. Anything outside that range comes from the
+     * scoring itself rather than from sampling.
+     *
+     * @return true if the score is outside the range sampling can explain
+     */
+    public boolean isScoreDivergent() {
+        int expectedOccurrences = scenario.getExpectedOccurrences();
+        int expectedSeconds = scenario.getExpectedDistractionSeconds();
+        int lowest = SimulationScenario.scoreFor(expectedOccurrences,
+                expectedSeconds + (int) ((maxOvercountMillis() + 999) / 1000));
+        int highest = SimulationScenario.scoreFor(Math.min(occurrences, expectedOccurrences),
+                Math.max(0, expectedSeconds - (int) (maxUndercountMillis() / 1000)));
+        return score < lowest || score > highest;
+    }
+
+    private long maxOvercountMillis() {
+        return Math.max(0, scenario.getExpectedOccurrences() - occurrences) * maxSampleGapMillis;
+    }
+
+    private long maxUndercountMillis() {
+        return scenario.getExpectedOccurrences() * (maxSampleGapMillis * 2 + 1000);
+    }
+
+    // ===== GETTERS =====
+
+    public SimulationScenario getScenario() {
+        return scenario;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getOccurrences() {
+        return occurrences;
+    }
+
+    public int getDistractionSeconds() {
+        return distractionSeconds;
+    }
+
+    /**
+     * @return Real time the simulation took, in nanoseconds
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: score %d (expected %d), %d violations (expected %d), %ds distracted (expected %d)%s",
+                scenario.getName(), score, scenario.getExpectedScore(),
+                occurrences, scenario.getExpectedOccurrences(),
+                distractionSeconds, scenario.getExpectedDistractionSeconds(),
+                completed ? "" : ", did not complete");
+    }
+}
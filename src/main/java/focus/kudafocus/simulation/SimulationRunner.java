@@ -0,0 +1,124 @@
+package focus.kudafocus.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs many simulated sessions in parallel on a fork-join pool.
+ *
+ * The list of scenarios is split in halves until the pieces are small,
+ * and each piece runs its sessions one after another on a worker thread.
+ * Sessions share no state, so no locking is needed.
+ *
+ * Run main() for a batch of generated three-hour sessions:
+ *   java focus.kudafocus.simulation.SimulationRunner [sessions] [seed]
+ */
+public class SimulationRunner implements AutoCloseable {
+
+    /**
+     * Pieces at or below this size are not split further
+     */
+    private static final int SPLIT_THRESHOLD = 8;
+
+    private final SessionSimulator simulator;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a runner with one worker per CPU core
+     *
+     * @param simulator Simulator for each session
+     */
+    public SimulationRunner(SessionSimulator simulator) {
+        this(simulator, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a runner with a fixed number of workers
+     *
+     * @param simulator Simulator for each session
+     * @param parallelism Number of worker threads
+     */
+    public SimulationRunner(SessionSimulator simulator, int parallelism) {
+        this.simulator = simulator;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Simulates every scenario and summarises the results
+     *
+     * @param scenarios Sessions to simulate
+     * @return Report
+     */
+    public SimulationReport run(List<SimulationScenario> scenarios) {
+        long startNanos = System.nanoTime();
+        List<SimulationResult> results = pool.invoke(new SimulateTask(scenarios, 0, scenarios.size()));
+        return new SimulationReport(results, System.nanoTime() - startNanos, pool.getParallelism());
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Simulates scenarios [from, to), splitting the range while it is large
+     */
+    private final class SimulateTask extends RecursiveTask<List<SimulationResult>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<SimulationScenario> scenarios;
+        private final int from;
+        private final int to;
+
+        SimulateTask(List<SimulationScenario> scenarios, int from, int to) {
+            this.scenarios = scenarios;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<SimulationResult> compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                List<SimulationResult> results = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    results.add(simulator.run(scenarios.get(i)));
+                }
+                return results;
+            }
+
+            int middle = (from + to) >>> 1;
+            SimulateTask left = new SimulateTask(scenarios, from, middle);
+            left.fork();
+            List<SimulationResult> results = new SimulateTask(scenarios, middle, to).compute();
+            List<SimulationResult> leftResults = left.join();
+            leftResults.addAll(results);
+            return leftResults;
+        }
+    }
+
+    // ===== COMMAND LINE =====
+
+    /**
+     * Simulates a batch of generated three-hour sessions, once with the
+     * app's adaptive probing and once probing every second, and prints
+     * both reports
+     *
+     * @param args Optional session count (default 2000) and random seed (default 42)
+     */
+    public static void main(String[] args) {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+
+        List<SimulationScenario> scenarios = new ScenarioGenerator(seed).generate(sessions, 3 * 60 * 60);
+        try (SimulationRunner runner = new SimulationRunner(new SessionSimulator())) {
+            System.out.println("== Adaptive probing ==");
+            System.out.print(runner.run(scenarios).format());
+        }
+        try (SimulationRunner runner = new SimulationRunner(SessionSimulator.fixedRate(1000))) {
+            System.out.println("== One probe per second ==");
+            System.out.print(runner.run(scenarios).format());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package focus.kudafocus.simulation;
+
+import focus.kudafocus.ui.UIConstants;
+
+import java.util.List;
+
+/**
+ * One session to simulate: its settings plus the activity trace that
+ * plays during it.
+ *
+ * The expected results are worked out straight from the trace (every
+ * distraction segment counts in full, back-to-back segments with the same
+ * name are one occurrence), independently of SessionMonitor. The
+ * simulator reports a divergence when the monitor's results fall outside
+ * what sampling can explain (see SimulationResult.isDivergent()).
+ */
+public final class SimulationScenario {
+
+    private final String name;
+    private final int plannedSeconds;
+    private final List<String> blockedApps;
+    private final List<String> blockedWebsites;
+    private final ActivityTrace trace;
+
+    private final int expectedOccurrences;
+    private final int expectedDistractionSeconds;
+
+    /**
+     * Creates a scenario
+     *
+     * @param name Label used in reports
+     * @param plannedSeconds Session length
+     * @param blockedApps Blocked apps
+     * @param blockedWebsites Blocked website rules
+     * @param trace Activity during the session (cut off at plannedSeconds)
+     */
+    public SimulationScenario(String name, int plannedSeconds, List<String> blockedApps,
+                              List<String> blockedWebsites, ActivityTrace trace) {
+        this.name = name;
+        this.plannedSeconds = plannedSeconds;
+        this.blockedApps = List.copyOf(blockedApps);
+        this.blockedWebsites = List.copyOf(blockedWebsites);
+        this.trace = trace;
+
+        int occurrences = 0;
+        int distractionSeconds = 0;
+        String previousName = null;
+        for (ActivityTrace.Segment segment : trace.getSegments()) {
+            if (segment.getStartSecond() >= plannedSeconds) {
+                break;
+            }
+            String violationName = segment.getViolationName();
+            if (violationName != null) {
+                int end = Math.min(plannedSeconds, segment.getStartSecond() + segment.getSeconds());
+                distractionSeconds += end - segment.getStartSecond();
+                if (!violationName.equals(previousName)) {
+                    occurrences++;
+                }
+            }
+            previousName = violationName;
+        }
+        this.expectedOccurrences = occurrences;
+        this.expectedDistractionSeconds = distractionSeconds;
+    }
+
+    /**
+     * Works out the focus score the session should end with, using the
+     * same formula as FocusSession (no overlay is shown, so there are no
+     * dismissals)
+     *
+     * @return Expected score (0-100)
+     */
+    public int getExpectedScore() {
+        return scoreFor(expectedOccurrences, expectedDistractionSeconds);
+    }
+
+    /**
+     * Applies FocusSession's score formula without dismissals
+     *
+     * @param occurrences Violation occurrences
+     * @param distractionSeconds Total distraction time
+     * @return Score (0-100)
+     */
+    static int scoreFor(int occurrences, int distractionSeconds) {
+        int score = UIConstants.SCORE_BASE
+                - occurrences * UIConstants.SCORE_VIOLATION_PENALTY
+                - (distractionSeconds / 60) * UIConstants.SCORE_TIME_PENALTY_PER_MINUTE;
+        return Math.max(0, Math.min(100, score));
+    }
+
+    // ===== GETTERS =====
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPlannedSeconds() {
+        return plannedSeconds;
+    }
+
+    public List<String> getBlockedApps() {
+        return blockedApps;
+    }
+
+    public List<String> getBlockedWebsites() {
+        return blockedWebsites;
+    }
+
+    public ActivityTrace getTrace() {
+        return trace;
+    }
+
+    public int getExpectedOccurrences() {
+        return expectedOccurrences;
+    }
+
+    public int getExpectedDistractionSeconds() {
+        return expectedDistractionSeconds;
+    }
+}
@@ -2,7 +2,8 @@ package focus.kudafocus.ui;
 
 import focus.kudafocus.core.FocusSession;
 import focus.kudafocus.core.Timer;
-import focus.kudafocus.monitoring.SessionMonitor;
+import focus.kudafocus.data.storage.DomainTable;
+import focus.kudafocus.monitoring.SessionEngine;
 import focus.kudafocus.ui.components.CircularProgressRing;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -32,13 +33,14 @@ import java.util.stream.Collectors;
  *
  * Functionality:
  * - Countdown timer that updates every second
- * - Progress ring that depletes clockwise
- * - Uses SessionMonitor service to detect blocked apps and websites
+ * - Progress ring that depletes clockwise, animated every frame
+ * - Uses a SessionEngine (Timer + SessionMonitor) to count down and to
+ *   detect blocked apps and websites
  * - Pause/resume capability
  * - Stop with confirmation
  *
  * Learning Points:
- * - Service separation: SessionMonitor handles violation detection
+ * - Service separation: SessionEngine runs the session, this panel only shows it
  * - UI panels respond to service callbacks
  * - Decoupled violation detection from UI logic
  */
@@ -118,14 +120,14 @@ public class ActiveSessionPanel extends BasePanel {
     private FocusSession focusSession;
 
     /**
-     * The countdown timer
+     * Imported (memory-mapped) website blocklist applied to this session
      */
-    private Timer timer;
+    private final DomainTable importedBlocklist;
 
     /**
-     * Session monitor service for detecting blocked apps/websites
+     * Runs the countdown timer and the session monitor
      */
-    private SessionMonitor sessionMonitor;
+    private SessionEngine engine;
 
     /**
      * Callback for events
@@ -137,6 +139,11 @@ public class ActiveSessionPanel extends BasePanel {
      */
     private boolean paused = false;
 
+    /**
+     * Seconds already counted down when the panel was created (0 unless resumed)
+     */
+    private final int startElapsedSeconds;
+
     // ===== CONSTRUCTOR =====
 
     /**
@@ -155,9 +162,36 @@ public class ActiveSessionPanel extends BasePanel {
      * @param theme Theme providing the color palette
      */
     public ActiveSessionPanel(FocusSession focusSession, Theme theme) {
+        this(focusSession, theme, DomainTable.EMPTY);
+    }
+
+    /**
+     * Creates an active session panel that also blocks an imported domain list
+     *
+     * @param focusSession The session to track
+     * @param theme Theme providing the color palette
+     * @param importedBlocklist Imported domains (DomainTable.EMPTY for none)
+     */
+    public ActiveSessionPanel(FocusSession focusSession, Theme theme, DomainTable importedBlocklist) {
+        this(focusSession, theme, importedBlocklist, 0);
+    }
+
+    /**
+     * Creates an active session panel that continues a session part way
+     * through (used when resuming from a checkpoint)
+     *
+     * @param focusSession The session to track
+     * @param theme Theme providing the color palette
+     * @param importedBlocklist Imported domains (DomainTable.EMPTY for none)
+     * @param elapsedSeconds Seconds of the session already counted down
+     */
+    public ActiveSessionPanel(FocusSession focusSession, Theme theme, DomainTable importedBlocklist,
+                              int elapsedSeconds) {
         super(theme);
 
         this.focusSession = focusSession;
+        this.importedBlocklist = importedBlocklist;
+        this.startElapsedSeconds = elapsedSeconds;
 
         createComponents();
         layoutComponents();
@@ -196,10 +230,10 @@ public class ActiveSessionPanel extends BasePanel {
                 getTextPrimaryColor()
         );
         progressRing.setSelectionMode(false); // Display mode
-        progressRing.setProgress(1.0); // Start full
-
-        // Time display
-        int remainingSeconds = focusSession.getPlannedDuration();
+        // Time display (starts full unless the session is being resumed)
+        int plannedSeconds = focusSession.getPlannedDuration();
+        int remainingSeconds = Math.max(0, plannedSeconds - startElapsedSeconds);
+        progressRing.setProgress(plannedSeconds > 0 ? (double) remainingSeconds / plannedSeconds : 1.0);
         timeLabel = new Label(Timer.formatTime(remainingSeconds));
         timeLabel.setFont(UIConstants.getDisplayFont());
         timeLabel.setTextFill(getTextPrimaryColor());
@@ -287,10 +321,7 @@ public class ActiveSessionPanel extends BasePanel {
      * Initializes and starts the countdown timer
      */
     private void initializeTimer() {
-        int durationSeconds = focusSession.getPlannedDuration();
-
-        // Create timer with callback (only for UI updates, not violation detection)
-        timer = new Timer(durationSeconds, new Timer.TimerCallback() {
+        engine = new SessionEngine(focusSession, startElapsedSeconds, importedBlocklist, new SessionEngine.Listener() {
             @Override
             public void onTick(int remainingSeconds) {
                 // Update UI only
@@ -302,10 +333,7 @@ public class ActiveSessionPanel extends BasePanel {
                 // Timer finished naturally
                 handleTimerComplete();
             }
-        });
 
-        // Create and start the session monitor for violation detection
-        sessionMonitor = new SessionMonitor(focusSession, new SessionMonitor.SessionMonitorCallback() {
             @Override
             public void onViolationDetected(String appName) {
                 if (callback != null) {
@@ -319,9 +347,17 @@ public class ActiveSessionPanel extends BasePanel {
             }
         });
 
-        // Start the timer and monitor
-        timer.start();
-        sessionMonitor.start();
+        // Start the timer and monitor, and animate the ring smoothly between ticks
+        engine.start();
+        startRingAnimation();
+    }
+
+    /**
+     * Redraws the ring every frame from the timer's exact remaining time
+     */
+    private void startRingAnimation() {
+        Timer timer = engine.getTimer();
+        progressRing.startProgressAnimation(timer::getExactRemainingProgress);
     }
 
     // ===== EVENT HANDLERS =====
@@ -332,13 +368,15 @@ public class ActiveSessionPanel extends BasePanel {
     private void handlePauseResume() {
         if (paused) {
             // Resume
-            timer.resume();
+            engine.resume();
+            startRingAnimation();
             paused = false;
             pauseButton.setText("PAUSE");
             statusLabel.setVisible(false);
         } else {
             // Pause
-            timer.pause();
+            engine.pause();
+            progressRing.stopProgressAnimation(); // Nothing moves while paused
             paused = true;
             pauseButton.setText("RESUME");
             statusLabel.setVisible(true);
@@ -352,11 +390,9 @@ public class ActiveSessionPanel extends BasePanel {
         // TODO: Show confirmation dialog
         System.out.println("Stopping session early...");
 
-        // Stop timer
-        timer.stop();
-
-        // Calculate actual duration
-        int actualDuration = timer.getElapsedSeconds();
+        // Stop timer and monitor, keeping how long the session ran
+        progressRing.stopProgressAnimation();
+        int actualDuration = engine.stop();
 
         // Notify callback
         if (callback != null) {
@@ -369,6 +405,7 @@ public class ActiveSessionPanel extends BasePanel {
      */
     private void handleTimerComplete() {
         System.out.println("Session complete!");
+        progressRing.stopProgressAnimation();
 
         // Session completed naturally with full duration
         int actualDuration = focusSession.getPlannedDuration();
@@ -386,9 +423,8 @@ public class ActiveSessionPanel extends BasePanel {
         // Update time label
         timeLabel.setText(Timer.formatTime(remainingSeconds));
 
-        // Update progress ring (depleting)
-        double progress = timer.getRemainingProgress();
-        progressRing.setProgress(progress);
+        // The ring itself is redrawn every frame by its progress animation
+        double progress = engine.getTimer().getRemainingProgress();
 
         // Change ring color based on remaining time
         if (progress < 0.1) {
@@ -417,6 +453,9 @@ public class ActiveSessionPanel extends BasePanel {
         if (!blockedWebsites.isEmpty()) {
             parts.add("Sites: " + String.join(", ", blockedWebsites));
         }
+        if (!importedBlocklist.isEmpty()) {
+            parts.add("Blocklist: " + importedBlocklist.size() + " domains");
+        }
         
         if (parts.isEmpty()) {
             return "No apps or sites blocked";
@@ -451,18 +490,16 @@ public class ActiveSessionPanel extends BasePanel {
      * @return Timer
      */
     public Timer getTimer() {
-        return timer;
+        return engine.getTimer();
     }
 
     /**
      * Cleans up resources when panel is closed
      */
     public void cleanup() {
-        if (timer != null) {
-            timer.cancel();
-        }
-        if (sessionMonitor != null) {
-            sessionMonitor.stop();
+        if (engine != null) {
+            engine.cancel();
         }
+        progressRing.stopProgressAnimation();
     }
 }
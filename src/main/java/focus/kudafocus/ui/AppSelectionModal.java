@@ -1,6 +1,8 @@
 package focus.kudafocus.ui;
 
+import focus.kudafocus.data.storage.HostsBlocklistImporter;
 import focus.kudafocus.monitoring.AppMonitor;
+import focus.kudafocus.monitoring.DomainTrie;
 import focus.kudafocus.monitoring.ProcessInfo;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -21,12 +23,15 @@ import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.control.TextArea;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.Window;
 import javafx.util.Duration;
+
+import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -56,6 +61,8 @@ public class AppSelectionModal extends Stage {
     private final Label statusLabel;
     private final TextField searchField;
     private final TextArea websitesTextArea;
+    private final CheckBox importedBlocklistCheckBox;
+    private Path hostsFileToImport;
     private final Theme theme;
     private Timeline refreshTimeline;
 
@@ -99,6 +106,7 @@ public class AppSelectionModal extends Stage {
         this.statusLabel = new Label();
         this.searchField = new TextField();
         this.websitesTextArea = new TextArea();
+        this.importedBlocklistCheckBox = new CheckBox();
         this.confirmed = false;
 
         // Initialize websites text area with initial values
@@ -167,11 +175,11 @@ public class AppSelectionModal extends Stage {
         quickActionRow.getChildren().addAll(selectAllDistractingButton, clearAllButton, refreshButton);
 
         // Websites section
-        Label sitesLabel = new Label("Websites (comma-separated):");
+        Label sitesLabel = new Label("Websites (comma- or line-separated, hosts format accepted):");
         sitesLabel.setFont(UIConstants.getBodyFont());
         sitesLabel.setTextFill(theme.getTextPrimary());
 
-        websitesTextArea.setPromptText("e.g., youtube.com, instagram.com, reddit.com");
+        websitesTextArea.setPromptText("e.g., youtube.com, *.reddit.com, @@music.youtube.com (exception)");
         websitesTextArea.setFont(UIConstants.getSmallFont());
         websitesTextArea.setWrapText(true);
         websitesTextArea.setPrefRowCount(3);
@@ -181,6 +189,19 @@ public class AppSelectionModal extends Stage {
                         "-fx-font-family: monospace;"
         );
 
+        // Large hosts-format lists are imported into a separate file
+        HBox blocklistRow = new HBox(UIConstants.SPACING_SM);
+        blocklistRow.setAlignment(Pos.CENTER_LEFT);
+
+        Button importHostsButton = new Button("Import Hosts File...");
+        importHostsButton.setFont(UIConstants.getSmallFont());
+        importHostsButton.setOnAction(event -> chooseHostsFile());
+
+        importedBlocklistCheckBox.setFont(UIConstants.getSmallFont());
+        importedBlocklistCheckBox.setTextFill(theme.getTextSecondary());
+        setImportedBlocklist(0, false);
+        blocklistRow.getChildren().addAll(importHostsButton, importedBlocklistCheckBox);
+
         HBox buttonRow = new HBox(UIConstants.SPACING_MD);
         buttonRow.setAlignment(Pos.CENTER_RIGHT);
 
@@ -208,7 +229,8 @@ public class AppSelectionModal extends Stage {
                 scrollPane,
                 new Separator(),
                 sitesLabel,
-                websitesTextArea
+                websitesTextArea,
+                blocklistRow
         );
         content.getChildren().addAll(buttonRow);
         root.setCenter(content);
@@ -236,6 +258,11 @@ public class AppSelectionModal extends Stage {
     /**
      * Gets the list of selected blocked websites
      *
+     * Entries may be separated by commas or new lines. Hosts-file lines
+     * ("0.0.0.0 ads.example.com") and '#' comments are accepted, so a pasted
+     * hosts list works too. Wildcard ("*.") and exception ("@@") rules are
+     * kept as written.
+     *
      * @return List of website domains (parsed from text area)
      */
     public List<String> getSelectedWebsites() {
@@ -244,12 +271,64 @@ public class AppSelectionModal extends Stage {
             return new ArrayList<>();
         }
 
-        // Parse comma-separated domains and normalize them
-        return Arrays.stream(text.split(","))
-                .map(String::trim)
-                .filter(domain -> !domain.isEmpty())
-                .map(domain -> domain.toLowerCase(Locale.ROOT))
-                .collect(Collectors.toList());
+        List<String> websites = new ArrayList<>();
+        for (String entry : text.split("[,\\r\\n]+")) {
+            String trimmed = entry.trim().toLowerCase(Locale.ROOT);
+            if (trimmed.startsWith(DomainTrie.EXCEPTION_PREFIX) || trimmed.startsWith(DomainTrie.WILDCARD_PREFIX)) {
+                websites.add(trimmed);
+            } else {
+                HostsBlocklistImporter.forEachDomain(trimmed, websites::add);
+            }
+        }
+        return websites;
+    }
+
+    /**
+     * Shows the state of the imported blocklist
+     *
+     * @param domainCount Number of imported domains (0 if none)
+     * @param enabled Whether the imported blocklist is applied
+     */
+    public void setImportedBlocklist(int domainCount, boolean enabled) {
+        if (domainCount > 0) {
+            importedBlocklistCheckBox.setText(String.format("Use imported blocklist (%,d domains)", domainCount));
+            importedBlocklistCheckBox.setDisable(false);
+            importedBlocklistCheckBox.setSelected(enabled);
+        } else {
+            importedBlocklistCheckBox.setText("No blocklist imported");
+            importedBlocklistCheckBox.setDisable(true);
+            importedBlocklistCheckBox.setSelected(false);
+        }
+    }
+
+    /**
+     * Checks whether the user wants the imported blocklist applied
+     *
+     * @return true if enabled
+     */
+    public boolean isImportedBlocklistEnabled() {
+        return importedBlocklistCheckBox.isSelected();
+    }
+
+    /**
+     * Gets the hosts file the user chose to import
+     *
+     * @return Chosen file, or null if none
+     */
+    public Path getHostsFileToImport() {
+        return hostsFileToImport;
+    }
+
+    private void chooseHostsFile() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Hosts-Format Blocklist");
+        File file = chooser.showOpenDialog(this);
+        if (file != null) {
+            hostsFileToImport = file.toPath();
+            importedBlocklistCheckBox.setText("Import " + file.getName() + " on confirm");
+            importedBlocklistCheckBox.setDisable(false);
+            importedBlocklistCheckBox.setSelected(true);
+        }
     }
 
     private void loadAvailableApps() {
@@ -232,6 +232,12 @@ public class UIConstants {
      */
     public static final int MONITORING_INTERVAL_MS = 2000;
 
+    /**
+     * Default gap below which violations of the same app are merged into
+     * one run-length record (see ViolationCompactor)
+     */
+    public static final int VIOLATION_MERGE_GAP_SECONDS = 30;
+
     // ===== FOCUS SCORE CONSTANTS =====
 
     /**
@@ -0,0 +1,58 @@
+package focus.kudafocus.ui.components;
+
+/**
+ * Decides whether a new progress value is worth drawing.
+ *
+ * The visible length of a progress arc is progress x circumference.
+ * A change smaller than one device pixel cannot be seen, so redrawing for
+ * it only costs a scene-graph update (and a layout/render pass) for
+ * nothing. During a 3-hour session the arc moves well under one pixel
+ * per frame, so most animation frames are skipped.
+ *
+ * Plain Java (no JavaFX), so it can be unit tested.
+ */
+public final class ArcPixelThrottle {
+
+    /**
+     * Arc circumference in layout pixels
+     */
+    private final double circumference;
+
+    /**
+     * Arc length last drawn, in device pixels (NaN before the first draw)
+     */
+    private double lastDrawnPixels = Double.NaN;
+
+    /**
+     * Creates a throttle for an arc of the given radius
+     *
+     * @param radius Arc radius in layout pixels
+     */
+    public ArcPixelThrottle(double radius) {
+        this.circumference = 2 * Math.PI * radius;
+    }
+
+    /**
+     * Checks whether the arc should be redrawn for a new progress value,
+     * and if so remembers it as drawn
+     *
+     * @param progress New progress (0.0 to 1.0)
+     * @param outputScale Device pixels per layout pixel (e.g. 2.0 on Retina)
+     * @return true if the arc length changed by at least one device pixel
+     */
+    public boolean shouldDraw(double progress, double outputScale) {
+        double pixels = progress * circumference * outputScale;
+        if (!Double.isNaN(lastDrawnPixels) && Math.abs(pixels - lastDrawnPixels) < 1.0) {
+            return false;
+        }
+        lastDrawnPixels = pixels;
+        return true;
+    }
+
+    /**
+     * Forgets the last drawn value, so the next check always draws
+     */
+    public void reset() {
+        lastDrawnPixels = Double.NaN;
+    }
+}
@@ -1,11 +1,19 @@
 package focus.kudafocus.ui.components;
 
 import focus.kudafocus.ui.UIConstants;
+import javafx.animation.AnimationTimer;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
+import javafx.scene.Scene;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Arc;
 import javafx.scene.shape.ArcType;
 import javafx.scene.shape.Circle;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.util.function.DoubleSupplier;
 
 /**
  * Custom circular progress ring component for time selection and display.
@@ -19,8 +27,19 @@ import javafx.scene.shape.Circle;
  * - Progress ring (accent color) - partial arc based on progress/selection
  * - Selection indicator (small circle) - shows drag position in selection mode
  *
+ * Animation:
+ * - startProgressAnimation() redraws the progress every frame (JavaFX
+ *   pulse) from a source such as Timer.getExactRemainingProgress(), so
+ *   the ring moves continuously instead of in one-second steps
+ * - A frame only touches the arc when its length changed by at least one
+ *   device pixel (see ArcPixelThrottle)
+ * - The animation stops itself while the window is minimized
+ *
  * Interaction:
- * - Mouse drag around perimeter updates selection angle
+ * - Mouse drag around perimeter updates selection angle, at most once per
+ *   frame: drag events only store the newest position (DragCoalescer),
+ *   which is applied on the next JavaFX pulse
+ * - The selection listener only hears about changes of the minute value
  * - Angle snaps to nearest minute for clean UX (6 degrees per minute)
  * - 0 degrees = 12 o'clock (top), increases clockwise
  * - 360 degrees (full circle) = 180 minutes (max duration)
@@ -62,9 +81,8 @@ public class CircularProgressRing extends Pane {
 
     /**
      * Degrees per minute (360 degrees / 180 minutes = 2 degrees per minute)
-     * Actually, we'll use 2 degrees per minute for smoother control
      */
-    private static final double DEGREES_PER_MINUTE = 2.0;
+    private static final double DEGREES_PER_MINUTE = RingGeometry.DEGREES_PER_MINUTE;
 
     /**
      * Maximum duration in minutes
@@ -100,6 +118,29 @@ public class CircularProgressRing extends Pane {
      */
     private SelectionChangeListener selectionChangeListener;
 
+    /**
+     * Minutes last reported to the listener (-1 before the first report)
+     */
+    private int lastNotifiedMinutes = -1;
+
+    /**
+     * Newest drag position not applied yet
+     */
+    private final DragCoalescer dragInput = new DragCoalescer();
+
+    /**
+     * Applies the pending drag position once per pulse, and stops itself
+     * as soon as a pulse finds nothing pending
+     */
+    private final AnimationTimer dragPulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (!dragInput.flush((x, y) -> updateAngleFromMouse(x, y, false))) {
+                stop();
+            }
+        }
+    };
+
     /**
      * Callback interface for selection changes
      */
@@ -124,6 +165,51 @@ public class CircularProgressRing extends Pane {
      */
     private Circle selectionIndicator;
 
+    // ===== PROGRESS ANIMATION =====
+
+    /**
+     * Frame-by-frame progress updates (runs once per JavaFX pulse while started)
+     */
+    private final AnimationTimer progressAnimator = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            drawAnimatedProgress();
+        }
+    };
+
+    /**
+     * Where animated progress comes from, or null when not animating
+     */
+    private DoubleSupplier progressSource;
+
+    /**
+     * Skips frames that would move the arc by less than a device pixel
+     */
+    private ArcPixelThrottle pixelThrottle;
+
+    /**
+     * Whether the window showing this ring is minimized
+     */
+    private boolean windowMinimized = false;
+
+    /**
+     * Whether progressAnimator is currently started
+     */
+    private boolean animatorRunning = false;
+
+    /**
+     * Window listeners, registered weakly because the scene and stage
+     * outlive this ring
+     */
+    private final ChangeListener<Boolean> iconifiedListener = (observable, wasMinimized, minimized) -> {
+        windowMinimized = minimized;
+        updateAnimatorState();
+    };
+    private final ChangeListener<Window> windowListener = (observable, oldWindow, newWindow) ->
+            watchWindow(oldWindow, newWindow);
+    private final WeakChangeListener<Boolean> weakIconifiedListener = new WeakChangeListener<>(iconifiedListener);
+    private final WeakChangeListener<Window> weakWindowListener = new WeakChangeListener<>(windowListener);
+
     // ===== CONSTRUCTOR =====
 
     /**
@@ -150,6 +236,9 @@ public class CircularProgressRing extends Pane {
         // Set up mouse interaction for selection mode
         setupMouseHandlers();
 
+        // Follow the window this ring is shown in, to pause animation when minimized
+        this.sceneProperty().addListener((observable, oldScene, newScene) -> watchScene(oldScene, newScene));
+
         // Initial update
         updateVisuals();
     }
@@ -214,16 +303,18 @@ public class CircularProgressRing extends Pane {
             }
         });
 
-        // Mouse dragged - update angle continuously
+        // Mouse dragged - keep only the newest position until the next pulse
         this.setOnMouseDragged(event -> {
-            if (selectionMode) {
-                updateAngleFromMouse(event.getX(), event.getY(), false);
+            if (selectionMode && dragInput.offer(event.getX(), event.getY())) {
+                dragPulse.start();
             }
         });
 
-        // Mouse released - snap to nearest minute
+        // Mouse released - snap to nearest minute (the release position
+        // replaces any drag position still waiting)
         this.setOnMouseReleased(event -> {
             if (selectionMode && snapToMinutes) {
+                dragInput.clear();
                 updateAngleFromMouse(event.getX(), event.getY(), true);
             }
         });
@@ -240,33 +331,7 @@ public class CircularProgressRing extends Pane {
      * @param snap Whether to snap to nearest minute
      */
     private void updateAngleFromMouse(double mouseX, double mouseY, boolean snap) {
-        // Calculate angle from center to mouse position
-        // Math.atan2 returns angle in radians (-PI to PI)
-        double dx = mouseX - centerX;
-        double dy = mouseY - centerY;
-
-        // Convert to degrees (0-360)
-        // atan2 gives us: 0° = right (3 o'clock), increases counter-clockwise
-        // We want: 0° = top (12 o'clock), increases clockwise
-        double angleRad = Math.atan2(dy, dx);
-        double angleDeg = Math.toDegrees(angleRad);
-
-        // Adjust so 0° is at top and increases clockwise
-        // Subtract 90° to rotate reference from right to top
-        // Add 360 and modulo to ensure positive value
-        angleDeg = (angleDeg + 90.0 + 360.0) % 360.0;
-
-        // Snap to nearest minute if requested
-        if (snap && snapToMinutes) {
-            // Round to nearest multiple of DEGREES_PER_MINUTE
-            angleDeg = Math.round(angleDeg / DEGREES_PER_MINUTE) * DEGREES_PER_MINUTE;
-        }
-
-        // Clamp to valid range (0-360)
-        angleDeg = Math.max(0.0, Math.min(360.0, angleDeg));
-
-        // Update selection angle
-        setSelectionAngle(angleDeg);
+        setSelectionAngle(RingGeometry.angleForPoint(mouseX - centerX, mouseY - centerY, snap && snapToMinutes));
     }
 
     /**
@@ -326,14 +391,17 @@ public class CircularProgressRing extends Pane {
      */
     public void setSelectionChangeListener(SelectionChangeListener listener) {
         this.selectionChangeListener = listener;
+        this.lastNotifiedMinutes = -1;
     }
 
     /**
      * Notifies the listener of selection changes
      */
     private void notifySelectionChanged() {
-        if (selectionChangeListener != null) {
-            selectionChangeListener.onSelectionChanged(getSelectedMinutes());
+        int minutes = getSelectedMinutes();
+        if (selectionChangeListener != null && minutes != lastNotifiedMinutes) {
+            lastNotifiedMinutes = minutes;
+            selectionChangeListener.onSelectionChanged(minutes);
         }
     }
 
@@ -364,7 +432,7 @@ public class CircularProgressRing extends Pane {
      * @return Duration in minutes (0-180)
      */
     public int getSelectedMinutes() {
-        return (int) Math.round(selectionAngle / DEGREES_PER_MINUTE);
+        return RingGeometry.minutesForAngle(selectionAngle);
     }
 
     /**
@@ -443,6 +511,94 @@ public class CircularProgressRing extends Pane {
         selectionIndicator.setStroke(textColor);
     }
 
+    /**
+     * Starts redrawing the progress every frame from the given source.
+     * Replaces any earlier source.
+     *
+     * @param source Supplies the current progress (0.0 to 1.0)
+     */
+    public void startProgressAnimation(DoubleSupplier source) {
+        this.progressSource = source;
+        if (pixelThrottle == null) {
+            pixelThrottle = new ArcPixelThrottle(radius - strokeWidth / 2.0);
+        }
+        pixelThrottle.reset();
+        updateAnimatorState();
+    }
+
+    /**
+     * Stops the frame-by-frame redraws (the ring keeps its last progress)
+     */
+    public void stopProgressAnimation() {
+        progressSource = null;
+        updateAnimatorState();
+    }
+
+    /**
+     * Checks whether the ring is redrawing every frame right now
+     *
+     * @return true if animating (not stopped, window not minimized)
+     */
+    public boolean isProgressAnimating() {
+        return animatorRunning;
+    }
+
+    /**
+     * Starts or stops the AnimationTimer so it only runs when it has work
+     */
+    private void updateAnimatorState() {
+        boolean shouldRun = progressSource != null && !windowMinimized;
+        if (shouldRun == animatorRunning) {
+            return;
+        }
+        animatorRunning = shouldRun;
+        if (shouldRun) {
+            pixelThrottle.reset(); // Catch up at once after being minimized
+            progressAnimator.start();
+        } else {
+            progressAnimator.stop();
+        }
+    }
+
+    /**
+     * Called once per frame while animating
+     */
+    private void drawAnimatedProgress() {
+        DoubleSupplier source = progressSource;
+        if (source == null || selectionMode) {
+            return;
+        }
+        double value = Math.max(0.0, Math.min(1.0, source.getAsDouble()));
+        Window window = getScene() != null ? getScene().getWindow() : null;
+        double outputScale = window != null ? window.getOutputScaleX() : 1.0;
+        if (pixelThrottle.shouldDraw(value, outputScale)) {
+            setProgress(value);
+        }
+    }
+
+    private void watchScene(Scene oldScene, Scene newScene) {
+        if (oldScene != null) {
+            oldScene.windowProperty().removeListener(weakWindowListener);
+        }
+        if (newScene != null) {
+            newScene.windowProperty().addListener(weakWindowListener);
+        }
+        watchWindow(oldScene != null ? oldScene.getWindow() : null,
+                newScene != null ? newScene.getWindow() : null);
+    }
+
+    private void watchWindow(Window oldWindow, Window newWindow) {
+        if (oldWindow instanceof Stage oldStage) {
+            oldStage.iconifiedProperty().removeListener(weakIconifiedListener);
+        }
+        windowMinimized = false;
+        if (newWindow instanceof Stage newStage) {
+            newStage.iconifiedProperty().addListener(weakIconifiedListener);
+            windowMinimized = newStage.isIconified();
+        }
+        updateAnimatorState();
+    }
+
     /**
      * Resets the ring to initial state (45 minutes, selection mode)
      */
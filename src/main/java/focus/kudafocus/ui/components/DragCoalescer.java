@@ -0,0 +1,72 @@
+package focus.kudafocus.ui.components;
+
+/**
+ * Latest-value slot for pointer positions during a drag.
+ *
+ * A high-rate mouse can deliver several drag events per frame. Only the
+ * newest position matters for what is drawn, so events just overwrite the
+ * slot, and the owner applies the slot once per frame (JavaFX pulse).
+ * However fast the mouse reports, the scene graph is updated at most once
+ * per frame.
+ *
+ * Plain Java (no JavaFX), so it can be unit tested and benchmarked.
+ * Not thread-safe: use it from the JavaFX Application Thread.
+ */
+public final class DragCoalescer {
+
+    /**
+     * Receives the position to apply
+     */
+    public interface Target {
+        void apply(double x, double y);
+    }
+
+    private double pendingX;
+    private double pendingY;
+    private boolean pending = false;
+
+    /**
+     * Stores a pointer position, replacing any position not applied yet
+     *
+     * @param x Pointer X
+     * @param y Pointer Y
+     * @return true if the slot was empty, so the owner needs to schedule
+     *         a flush on the next frame
+     */
+    public boolean offer(double x, double y) {
+        boolean wasEmpty = !pending;
+        pendingX = x;
+        pendingY = y;
+        pending = true;
+        return wasEmpty;
+    }
+
+    /**
+     * Applies the stored position, if any, and empties the slot
+     *
+     * @param target Receives the position
+     * @return true if a position was applied
+     */
+    public boolean flush(Target target) {
+        if (!pending) {
+            return false;
+        }
+        pending = false;
+        target.apply(pendingX, pendingY);
+        return true;
+    }
+
+    /**
+     * Drops the stored position without applying it
+     */
+    public void clear() {
+        pending = false;
+    }
+
+    /**
+     * @return true if a position is waiting to be applied
+     */
+    public boolean hasPending() {
+        return pending;
+    }
+}
@@ -0,0 +1,58 @@
+package focus.kudafocus.ui.components;
+
+/**
+ * Angle math for CircularProgressRing.
+ *
+ * Kept apart from the ring (which is a JavaFX node) so it can be unit
+ * tested and benchmarked without starting JavaFX.
+ */
+public final class RingGeometry {
+
+    /**
+     * Degrees per minute (360 degrees / 180 minutes = 2 degrees per minute)
+     */
+    public static final double DEGREES_PER_MINUTE = 2.0;
+
+    private RingGeometry() {
+    }
+
+    /**
+     * Converts a position relative to the center into a selection angle
+     *
+     * @param dx X distance from the center
+     * @param dy Y distance from the center (down is positive)
+     * @param snap Whether to snap to nearest minute
+     * @return Angle in degrees (0-360), 0 at the top, increasing clockwise
+     */
+    public static double angleForPoint(double dx, double dy, boolean snap) {
+        // Convert to degrees (0-360)
+        // atan2 gives us: 0° = right (3 o'clock), increases counter-clockwise
+        // We want: 0° = top (12 o'clock), increases clockwise
+        double angleRad = Math.atan2(dy, dx);
+        double angleDeg = Math.toDegrees(angleRad);
+
+        // Adjust so 0° is at top and increases clockwise
+        // Subtract 90° to rotate reference from right to top
+        // Add 360 and modulo to ensure positive value
+        angleDeg = (angleDeg + 90.0 + 360.0) % 360.0;
+
+        // Snap to nearest minute if requested
+        if (snap) {
+            // Round to nearest multiple of DEGREES_PER_MINUTE
+            angleDeg = Math.round(angleDeg / DEGREES_PER_MINUTE) * DEGREES_PER_MINUTE;
+        }
+
+        // Clamp to valid range (0-360)
+        return Math.max(0.0, Math.min(360.0, angleDeg));
+    }
+
+    /**
+     * Converts a selection angle into whole minutes
+     *
+     * @param angle Angle in degrees (0-360)
+     * @return Minutes (0-180)
+     */
+    public static int minutesForAngle(double angle) {
+        return (int) Math.round(angle / DEGREES_PER_MINUTE);
+    }
+}
@@ -0,0 +1,47 @@
+// KUDA FOCUS scripting host.
+//
+// Long-lived helper started once with `osascript -l JavaScript -e <this file>`.
+// Protocol (one line each way, UTF-8):
+//   request:  AppleScript source with "\" escaped as "\\" and newlines as "\n"
+//   response: "OK <result>" (same escaping) or "ERR <message>"
+// The loop exits when stdin is closed.
+ObjC.import('Foundation');
+
+var app = Application.currentApplication();
+app.includeStandardAdditions = true;
+
+var stdin = $.NSFileHandle.fileHandleWithStandardInput;
+var stdout = $.NSFileHandle.fileHandleWithStandardOutput;
+
+function escapeLine(text) {
+    return text.replace(/\\/g, '\\\\').replace(/\r?\n/g, '\\n');
+}
+
+function unescapeLine(text) {
+    return text.replace(/\\(n|\\)/g, function (match, c) { return c === 'n' ? '\n' : '\\'; });
+}
+
+function respond(text) {
+    stdout.writeData($(text + '\n').dataUsingEncoding($.NSUTF8StringEncoding));
+}
+
+var buffer = '';
+while (true) {
+    var data = stdin.availableData;
+    if (data.length === 0) {
+        break;
+    }
+    buffer += $.NSString.alloc.initWithDataEncoding(data, $.NSUTF8StringEncoding).js;
+
+    var newline;
+    while ((newline = buffer.indexOf('\n')) >= 0) {
+        var request = unescapeLine(buffer.slice(0, newline));
+        buffer = buffer.slice(newline + 1);
+        try {
+            var result = app.runScript(request, { in: 'AppleScript' });
+            respond('OK ' + escapeLine(result === undefined || result === null ? '' : String(result)));
+        } catch (e) {
+            respond('ERR ' + escapeLine(String(e)));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package focus.kudafocus.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FocusSession's running totals.
+ */
+public class FocusSessionTest {
+
+    private static int scanDismissals(FocusSession session) {
+        return session.getViolations().stream().mapToInt(Violation::getDismissCount).sum();
+    }
+
+    private static int scanDistractionSeconds(FocusSession session) {
+        return session.getViolations().stream().mapToInt(Violation::getDurationSeconds).sum();
+    }
+
+    @Test
+    public void testTotalsMatchScanAfterFlipFlopping() {
+        FocusSession session = new FocusSession(3600, List.of("Discord", "Steam"));
+        for (int i = 0; i < 5_000; i++) {
+            session.startViolation(i % 2 == 0 ? "Discord" : "Steam");
+            session.addViolationDuration(i % 2 == 0 ? 1 : 2);
+            if (i % 3 == 0) {
+                session.recordDismissal();
+            }
+            session.endCurrentViolation();
+        }
+
+        assertEquals(5_000, session.getViolationCount());
+        assertEquals(scanDismissals(session), session.getTotalDismissals());
+        assertEquals(scanDistractionSeconds(session), session.getTotalDistractionSeconds());
+        assertEquals(2_500, session.getDistractionSeconds("Discord"));
+        assertEquals(5_000, session.getDistractionSeconds("Steam"));
+        assertEquals(0, session.getFocusScore());
+    }
+
+    @Test
+    public void testMostDistractingAppUsesPerAppTotals() {
+        FocusSession session = new FocusSession(1800, List.of("Discord", "Steam"));
+        assertEquals("None", session.getMostDistractingApp());
+
+        session.startViolation("Discord");
+        assertEquals("Discord", session.getMostDistractingApp());
+
+        // Steam has the longest single violation...
+        session.startViolation("Steam");
+        session.addViolationDuration(50);
+        // ...but Discord has more time in total
+        for (int i = 0; i < 3; i++) {
+            session.startViolation("Discord");
+            session.addViolationDuration(20);
+            session.endCurrentViolation();
+        }
+        assertEquals("Discord", session.getMostDistractingApp());
+    }
+
+    @Test
+    public void testFlakyAppIsCompactedWithSameScore() {
+        FocusSession merged = new FocusSession(3600, List.of("Discord"));
+        FocusSession separate = new FocusSession(3600, List.of("Discord"));
+        separate.setViolationMergeGapSeconds(0);
+        for (FocusSession session : List.of(merged, separate)) {
+            for (int i = 0; i < 3_000; i++) {
+                session.startViolation("Discord");
+                session.addViolationDuration(1);
+                session.recordDismissal();
+                session.endCurrentViolation();
+            }
+            session.complete(3600);
+        }
+
+        assertEquals(3_000, separate.getViolations().size());
+        assertEquals(1, merged.getViolations().size());
+        assertEquals(3_000, merged.getViolations().get(0).getOccurrences());
+        assertEquals(separate.getViolationCount(), merged.getViolationCount());
+        assertEquals(separate.getTotalDismissals(), merged.getTotalDismissals());
+        assertEquals(separate.getTotalDistractionSeconds(), merged.getTotalDistractionSeconds());
+        assertEquals(separate.getFocusScore(), merged.getFocusScore());
+    }
+
+    @Test
+    public void testStoredSessionStartsWithTotals() {
+        List<Violation> violations = new ArrayList<>();
+        violations.add(new Violation(LocalDateTime.now(), "Discord", 30, 1));
+        violations.add(new Violation(LocalDateTime.now(), "Steam", 90, 2));
+        FocusSession session = new FocusSession("id", LocalDateTime.now(), 1800, 1800, violations, 80, true,
+                List.of("Discord", "Steam"));
+
+        assertEquals(3, session.getTotalDismissals());
+        assertEquals(120, session.getTotalDistractionSeconds());
+        assertEquals("Steam", session.getMostDistractingApp());
+
+        session.setViolations(new ArrayList<>());
+        assertEquals(0, session.getTotalDistractionSeconds());
+        assertEquals("None", session.getMostDistractingApp());
+    }
+
+    @Test
+    public void testZeroSecondsAddsNoEvent() {
+        FocusSession session = new FocusSession(1800, List.of("Discord"));
+        session.startViolation("Discord");
+        long events = session.getEventLog().size();
+
+        session.addViolationDuration(0);
+        session.addViolationDuration(-1);
+        assertEquals(events, session.getEventLog().size());
+
+        session.addViolationDuration(3);
+        assertEquals(events + 1, session.getEventLog().size());
+        assertEquals(3, session.getTotalDistractionSeconds());
+    }
+}
@@ -0,0 +1,104 @@
+package focus.kudafocus.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for session events and rebuilding sessions from them.
+ */
+public class SessionEventLogTest {
+
+    private static FocusSession busySession() {
+        FocusSession session = new FocusSession(1800, List.of("Discord", "Steam"), List.of("youtube.com"));
+        session.startViolation("Discord");
+        session.addViolationDuration(40);
+        session.recordDismissal();
+        session.startViolation("Steam"); // Replaces Discord
+        session.addViolationDuration(90);
+        session.endCurrentViolation();
+        session.pause();
+        session.resume();
+        session.startViolation("Website: youtube.com");
+        session.addViolationDuration(5);
+        session.complete(1800);
+        return session;
+    }
+
+    private static List<SessionEvent> events(SessionEventLog log) {
+        List<SessionEvent> events = new ArrayList<>();
+        log.forEach(events::add);
+        return events;
+    }
+
+    private static void assertSameState(FocusSession expected, FocusSession actual) {
+        assertEquals(expected.getFocusScore(), actual.getFocusScore());
+        assertEquals(expected.getActualDuration(), actual.getActualDuration());
+        assertEquals(expected.isCompleted(), actual.isCompleted());
+        assertEquals(expected.getViolationCount(), actual.getViolationCount());
+        for (int i = 0; i < expected.getViolationCount(); i++) {
+            Violation e = expected.getViolations().get(i);
+            Violation a = actual.getViolations().get(i);
+            assertEquals(e.getAppName(), a.getAppName());
+            assertEquals(e.getDurationSeconds(), a.getDurationSeconds());
+            assertEquals(e.getDismissCount(), a.getDismissCount());
+            assertEquals(e.getTimestamp(), a.getTimestamp());
+        }
+    }
+
+    @Test
+    public void testReplayRebuildsSameState() {
+        FocusSession live = busySession();
+        assertEquals(12, live.getEventLog().size());
+
+        FocusSession replayed = FocusSession.replay(live.getSessionId(), live.getStartTime(),
+                live.getPlannedDuration(), live.getBlockedApps(), live.getBlockedWebsites(),
+                events(live.getEventLog()));
+        assertSameState(live, replayed);
+        assertEquals(3, replayed.getViolationCount());
+    }
+
+    @Test
+    public void testDrainedBytesDecodeToSameEvents() throws IOException {
+        FocusSession live = busySession();
+        byte[] first = live.getEventLog().drain();
+        assertEquals(0, live.getEventLog().drain().length, "Nothing new since the last drain");
+
+        List<SessionEvent> decoded = new ArrayList<>();
+        assertEquals(12, SessionEventLog.read(new DataInputStream(new ByteArrayInputStream(first)), decoded::add));
+        assertEquals(events(live.getEventLog()).toString(), decoded.toString());
+
+        // A cut-off last event is ignored
+        List<SessionEvent> torn = new ArrayList<>();
+        byte[] truncated = Arrays.copyOf(first, first.length - 2);
+        assertEquals(11, SessionEventLog.read(new DataInputStream(new ByteArrayInputStream(truncated)), torn::add));
+    }
+
+    @Test
+    public void testRingKeepsUndrainedEventsAndRecyclesDrainedOnes() {
+        SessionEventLog log = new SessionEventLog();
+        for (int i = 0; i < 10_000; i++) {
+            log.append(SessionEvent.Type.DURATION_ADDED, i, null, 1);
+        }
+        assertEquals(10_000, log.retainedCount(), "Undrained events are never dropped");
+        assertTrue(log.isComplete());
+
+        log.drain();
+        for (int i = 0; i < 50_000; i++) {
+            log.append(SessionEvent.Type.DURATION_ADDED, i, null, 1);
+            if (i % 100 == 0) {
+                log.drain();
+            }
+        }
+        assertEquals(60_000, log.size());
+        assertTrue(log.retainedCount() < 60_000, "Drained events make room for new ones");
+        assertFalse(log.isComplete());
+    }
+}
@@ -0,0 +1,137 @@
+package focus.kudafocus.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Timer running on a virtual clock (no JavaFX needed).
+ */
+public class TimerTest {
+
+    private final List<Integer> ticks = new ArrayList<>();
+    private final int[] completions = {0};
+
+    private Timer timer(int duration, VirtualScheduler scheduler) {
+        return new Timer(duration, 0, new Timer.TimerCallback() {
+            @Override
+            public void onTick(int remainingSeconds) {
+                ticks.add(remainingSeconds);
+            }
+
+            @Override
+            public void onComplete() {
+                completions[0]++;
+            }
+        }, scheduler);
+    }
+
+    @Test
+    public void testCountsDownInVirtualTime() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        Timer timer = timer(3, scheduler);
+        timer.start();
+
+        scheduler.advance(10_000);
+
+        assertEquals(List.of(2, 1, 0), ticks);
+        assertEquals(1, completions[0], "onComplete should fire exactly once");
+        assertFalse(timer.isRunning());
+        assertEquals(0, scheduler.pendingCount(), "No tick is scheduled after completion");
+    }
+
+    @Test
+    public void testPauseKeepsPartialSecond() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        Timer timer = timer(10, scheduler);
+        timer.start();
+
+        scheduler.advance(1_600);   // one tick, 600 ms into the next second
+        timer.pause();
+        scheduler.advance(60_000);  // nothing happens while paused
+        assertEquals(List.of(9), ticks);
+
+        timer.resume();
+        scheduler.advance(399);
+        assertEquals(1, ticks.size(), "The next tick is still 400 ms away");
+        scheduler.advance(1);
+        assertEquals(List.of(9, 8), ticks);
+    }
+
+    /**
+     * Scheduler whose single pending task is run by hand, at whatever
+     * clock time the test chooses (like a busy UI thread running it late)
+     */
+    private static class ManualScheduler implements Scheduler {
+        long now;
+        Runnable pending;
+        long pendingDelayMillis;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+
+        @Override
+        public ScheduledTask schedule(Runnable task, long delayMillis) {
+            pending = task;
+            pendingDelayMillis = delayMillis;
+            return () -> pending = null;
+        }
+
+        void runAt(long millis) {
+            now = millis * 1_000_000;
+            Runnable task = pending;
+            pending = null;
+            task.run();
+        }
+    }
+
+    @Test
+    public void testLateTickCatchesUpWithOneCallback() {
+        ManualScheduler scheduler = new ManualScheduler();
+        Timer timer = new Timer(10, 0, new Timer.TimerCallback() {
+            @Override
+            public void onTick(int remainingSeconds) {
+                ticks.add(remainingSeconds);
+            }
+
+            @Override
+            public void onComplete() {
+                completions[0]++;
+            }
+        }, scheduler);
+        timer.start();
+        assertEquals(1000, scheduler.pendingDelayMillis);
+
+        // The first tick runs 3.4 s late
+        scheduler.runAt(4_400);
+
+        assertEquals(List.of(6), ticks, "Missed ticks are coalesced into one callback");
+        assertEquals(4, timer.getElapsedSeconds());
+        assertEquals(5_600, timer.getRemainingMillis());
+        assertEquals(600, scheduler.pendingDelayMillis, "Next tick is back on the whole-second grid");
+
+        // Far too late: the countdown finishes in one step
+        scheduler.runAt(30_000);
+        assertEquals(List.of(6, 0), ticks);
+        assertEquals(1, completions[0]);
+        assertEquals(0, timer.getRemainingMillis());
+    }
+
+    @Test
+    public void testExactRemainingProgressMovesBetweenTicks() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        Timer timer = timer(100, scheduler);
+        timer.start();
+
+        scheduler.advance(2_500);
+
+        assertEquals(98, timer.getRemainingSeconds());
+        assertEquals(97_500, timer.getRemainingMillis());
+        assertEquals(0.975, timer.getExactRemainingProgress(), 1e-9);
+    }
+}
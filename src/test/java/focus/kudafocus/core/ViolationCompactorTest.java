@@ -0,0 +1,48 @@
+package focus.kudafocus.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for run-length violation compaction.
+ */
+public class ViolationCompactorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private static Violation at(int second, String app, int duration, int dismissals) {
+        return new Violation(START.plusSeconds(second), app, duration, dismissals);
+    }
+
+    @Test
+    public void testMergesOnlySameAppWithinGap() {
+        List<Violation> violations = new ArrayList<>(List.of(
+                at(0, "Discord", 5, 1),     // ends at 5
+                at(20, "Discord", 5, 0),    // 15s gap: merged
+                at(100, "Discord", 5, 2),   // 75s gap from the run: kept
+                at(110, "Steam", 5, 0),     // other app: kept
+                at(120, "Discord", 5, 0)));  // not next to the last Discord: kept
+
+        assertEquals(1, ViolationCompactor.compact(violations, 30));
+        assertEquals(4, violations.size());
+
+        Violation run = violations.get(0);
+        assertEquals(START, run.getTimestamp());
+        assertEquals(10, run.getDurationSeconds());
+        assertEquals(1, run.getDismissCount());
+        assertEquals(2, run.getOccurrences());
+        assertEquals(1, violations.get(1).getOccurrences());
+    }
+
+    @Test
+    public void testZeroGapKeepsEverything() {
+        List<Violation> violations = new ArrayList<>(List.of(at(0, "Discord", 1, 0), at(1, "Discord", 1, 0)));
+        assertEquals(0, ViolationCompactor.compact(violations, 0));
+        assertEquals(2, violations.size());
+    }
+}
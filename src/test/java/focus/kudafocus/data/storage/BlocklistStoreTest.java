@@ -0,0 +1,124 @@
+package focus.kudafocus.data.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for hosts-file importing and the memory-mapped DomainTable.
+ */
+public class BlocklistStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testParsesHostsLines() {
+        List<String> domains = new ArrayList<>();
+        HostsBlocklistImporter.forEachDomain("0.0.0.0 Ads.Example.com tracker.net # comment", domains::add);
+        HostsBlocklistImporter.forEachDomain("127.0.0.1 localhost", domains::add);
+        HostsBlocklistImporter.forEachDomain("::1 ip6-localhost", domains::add);
+        HostsBlocklistImporter.forEachDomain("# only a comment", domains::add);
+        HostsBlocklistImporter.forEachDomain("youtube.com", domains::add);
+        HostsBlocklistImporter.forEachDomain("nodot", domains::add);
+
+        assertEquals(List.of("ads.example.com", "tracker.net", "youtube.com"), domains);
+    }
+
+    @Test
+    public void testImportDropsDuplicatesAndCoveredSubdomains() throws IOException {
+        BlocklistStore store = new BlocklistStore(tempDir);
+        DomainTable table = store.importHosts(new StringReader(String.join("\n",
+                "0.0.0.0 example.com",
+                "0.0.0.0 ads.example.com",
+                "0.0.0.0 example.com",
+                "0.0.0.0 example-cdn.com",
+                "0.0.0.0 a.example-cdn.com",
+                "0.0.0.0 cdn.other.org")));
+
+        assertEquals(3, table.size(), "example.com, example-cdn.com and cdn.other.org remain");
+        assertEquals("example.com", table.match("ads.example.com"));
+        assertEquals("example-cdn.com", table.match("a.example-cdn.com"));
+        assertEquals("cdn.other.org", table.match("x.cdn.other.org"));
+        assertNull(table.match("other.org"));
+        assertNull(table.match("notexample.com"));
+        assertEquals("example.com", table.match(" .ADS.Example.COM. "), "Hosts are trimmed and lower-cased");
+        assertNull(table.match("bad!.example.com"), "An invalid label anywhere rejects the host");
+        assertNull(table.match("ads..example.com"));
+    }
+
+    @Test
+    public void testLargeTableLookupsAfterReload() throws IOException {
+        HostsBlocklistImporter importer = new HostsBlocklistImporter();
+        for (int i = 0; i < 20_000; i++) {
+            importer.addLine("0.0.0.0 host" + i + ".tracker" + (i % 97) + ".net");
+        }
+        new BlocklistStore(tempDir).save(importer);
+
+        DomainTable table = new BlocklistStore(tempDir).load();
+        assertEquals(20_000, table.size());
+        for (int i = 0; i < 20_000; i += 7) {
+            String host = "host" + i + ".tracker" + (i % 97) + ".net";
+            assertTrue(table.isBlocked(host), host);
+            assertTrue(table.isBlocked("www." + host));
+        }
+        assertFalse(table.isBlocked("host1.tracker2.net"));
+        assertFalse(table.isBlocked("tracker0.net"));
+        assertFalse(table.isBlocked("zzz.example"));
+    }
+
+    @Test
+    public void testMissingOrCorruptFileLoadsEmpty() throws IOException {
+        Path file = tempDir.resolve("blocklist.kfdt");
+        BlocklistStore store = new BlocklistStore(tempDir);
+        assertSame(DomainTable.EMPTY, store.load());
+
+        Files.write(file, new byte[] {'K', 'F', 'D', 'T', 0, 0, 0, 9, 1, 2, 3});
+        assertSame(DomainTable.EMPTY, store.load());
+    }
+
+    @Test
+    public void testReimportWritesNewFileAndKeepsOldTableReadable() throws IOException {
+        BlocklistStore store = new BlocklistStore(tempDir);
+        DomainTable first = store.importHosts(new StringReader("0.0.0.0 first.com"));
+        DomainTable second = store.importHosts(new StringReader("0.0.0.0 second.com"));
+
+        // The earlier table is never overwritten in place
+        assertTrue(first.isBlocked("first.com"));
+        assertTrue(second.isBlocked("second.com"));
+        assertFalse(second.isBlocked("first.com"));
+        assertTrue(Files.exists(tempDir.resolve("blocklist-2.kfdt")));
+
+        DomainTable reloaded = new BlocklistStore(tempDir).load();
+        assertTrue(reloaded.isBlocked("second.com"));
+        assertFalse(Files.exists(tempDir.resolve("blocklist-1.kfdt")), "Older imports are removed");
+    }
+
+    @Test
+    public void testClearHidesImportAndIsCleanedUpAtLoad() throws IOException {
+        Path legacy = tempDir.resolve("blocklist.kfdt");
+        HostsBlocklistImporter importer = new HostsBlocklistImporter();
+        importer.addLine("0.0.0.0 legacy.com");
+        try (OutputStream out = Files.newOutputStream(legacy)) {
+            importer.write(out);
+        }
+        BlocklistStore store = new BlocklistStore(tempDir);
+        assertTrue(store.load().isBlocked("legacy.com"), "The pre-versioning file is still read");
+
+        store.clear();
+        assertSame(DomainTable.EMPTY, store.load());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
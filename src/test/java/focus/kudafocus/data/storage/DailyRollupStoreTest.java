@@ -0,0 +1,141 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.core.Violation;
+import focus.kudafocus.data.models.SessionRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the incrementally maintained daily rollups.
+ */
+public class DailyRollupStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @TempDir
+    Path tempDir;
+
+    private static SessionRecord record(LocalDate day, int actual, int score, boolean completed,
+                                        Violation... violations) {
+        LocalDateTime start = day.atTime(9, 0);
+        return new SessionRecord("id-" + day + "-" + actual, day.toString(), start, 1800, actual, score,
+                completed, List.of("Discord"), List.of(), new ArrayList<>(List.of(violations)));
+    }
+
+    @Test
+    public void testTotalsSurviveReload() throws IOException {
+        Path file = tempDir.resolve("rollups.bin");
+        DailyRollupStore store = new DailyRollupStore(file);
+        store.record(record(DAY, 1800, 90, true, new Violation(DAY.atTime(9, 5), "Discord", 60, 1)));
+        store.record(record(DAY, 600, 40, false,
+                new Violation(DAY.atTime(9, 1), "Discord", 30, 1),
+                new Violation(DAY.atTime(9, 2), "Steam", 20, 1)));
+        store.record(record(DAY.plusDays(2), 1500, 80, true));
+
+        DailyRollupStore reloaded = new DailyRollupStore(file);
+        reloaded.load();
+        for (DailyRollupStore s : List.of(store, reloaded)) {
+            assertArrayEquals(new int[] {2400, 0, 1500}, s.focusSecondsByDay(DAY, DAY.plusDays(2)));
+            assertEquals(Map.of("Discord", 90L, "Steam", 20L), s.distractionSecondsByApp(DAY, DAY.plusDays(2)));
+            assertEquals(2, s.getDay(DAY).getSessionCount());
+            assertEquals(3, s.getDay(DAY).getViolationCount());
+            assertEquals(2, s.getDayCount());
+        }
+    }
+
+    @Test
+    public void testStreakFromQualifyingDays() throws IOException {
+        DailyRollupStore store = new DailyRollupStore(tempDir.resolve("rollups.bin"));
+        store.record(record(DAY, 1800, 90, true));
+        store.record(record(DAY.plusDays(1), 1800, 90, true));
+        store.record(record(DAY.plusDays(2), 1800, 90, true));
+        store.record(record(DAY.plusDays(3), 1800, 20, true)); // Score too low
+
+        assertEquals(DAY.plusDays(2), store.getLastQualifyingDate());
+        assertEquals(3, store.getStreakEndingAt(DAY.plusDays(2)));
+        assertEquals(0, store.getStreakEndingAt(DAY.plusDays(3)));
+    }
+
+    @Test
+    public void testLoadCompactsAndDropsTornTail() throws IOException {
+        Path file = tempDir.resolve("rollups.bin");
+        DailyRollupStore store = new DailyRollupStore(file);
+        for (int i = 0; i < 20; i++) {
+            store.record(record(DAY, 600, 90, true, new Violation(DAY.atTime(9, 0), "Discord", 10, 1)));
+        }
+        long appendedSize = Files.size(file);
+        Files.write(file, new byte[] {2, 0, 0}, StandardOpenOption.APPEND);
+
+        DailyRollupStore reloaded = new DailyRollupStore(file);
+        reloaded.load();
+        assertEquals(12000, reloaded.getDay(DAY).getFocusSeconds());
+        assertEquals(Map.of("Discord", 200L), reloaded.distractionSecondsByApp(DAY, DAY));
+        assertTrue(Files.size(file) < appendedSize, "Twenty day records should compact to one");
+    }
+
+    @Test
+    public void testUnreadableFileIsMovedAsideAndRebuilt() throws IOException {
+        Path file = tempDir.resolve("rollups.bin");
+        Files.write(file, new byte[] {'n', 'o', 't', ' ', 'r', 'o', 'l', 'l', 'u', 'p', 's'});
+        SessionJournal journal = new SessionJournal(tempDir.resolve("sessions.jsonl"), 0);
+        journal.append(record(DAY, 600, 90, true, new Violation(DAY.atTime(9, 0), "Discord", 10, 1)));
+        journal.append(record(DAY.plusDays(1), 900, 90, true));
+
+        DailyRollupStore store = new DailyRollupStore(file);
+        assertFalse(store.load(), "A bad header should be reported");
+        assertTrue(Files.exists(tempDir.resolve("rollups.bin.bad")));
+        store.rebuild(journal);
+        store.record(record(DAY.plusDays(1), 300, 90, true));
+        journal.close();
+
+        DailyRollupStore reloaded = new DailyRollupStore(file);
+        assertTrue(reloaded.load());
+        assertEquals(600, reloaded.getDay(DAY).getFocusSeconds());
+        assertEquals(1200, reloaded.getDay(DAY.plusDays(1)).getFocusSeconds());
+        assertEquals(Map.of("Discord", 10L), reloaded.distractionSecondsByApp(DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    public void testRebuildIfStaleCatchesMissedSessions() throws IOException {
+        Path file = tempDir.resolve("rollups.bin");
+        SessionJournal journal = new SessionJournal(tempDir.resolve("sessions.jsonl"), 0);
+        DailyRollupStore store = new DailyRollupStore(file);
+        for (int i = 0; i < 3; i++) {
+            SessionRecord session = record(DAY, 600, 90, true);
+            journal.append(session);
+            if (i < 2) {
+                store.record(session);  // The app quit before the third rollup append
+            }
+        }
+
+        DailyRollupStore reloaded = new DailyRollupStore(file);
+        assertTrue(reloaded.rebuildIfStale(journal));
+        assertEquals(3, reloaded.getSessionCount());
+        assertEquals(1800, reloaded.getDay(DAY).getFocusSeconds());
+        assertFalse(new DailyRollupStore(file).rebuildIfStale(journal), "Matching rollups are kept");
+        journal.close();
+    }
+
+    @Test
+    public void testFailedRecordLeavesNoEmptyDay() throws IOException {
+        Path notADirectory = tempDir.resolve("file");
+        Files.write(notADirectory, new byte[] {1});
+        DailyRollupStore store = new DailyRollupStore(notADirectory.resolve("rollups.bin"));
+
+        assertThrows(IOException.class, () -> store.record(record(DAY, 600, 90, true)));
+        assertNull(store.getDay(DAY));
+        assertEquals(0, store.getDayCount());
+    }
+}
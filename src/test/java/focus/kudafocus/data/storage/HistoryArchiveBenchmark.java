@@ -0,0 +1,128 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.core.Violation;
+import focus.kudafocus.data.models.SessionRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares statistics computed by parsing the whole session journal with
+ * the same statistics read from the columnar archive, for 10,000 sessions
+ * (about 27 years of one session a day) with 0-4 violations each.
+ *
+ * Run main() from the test classpath after 'mvn test-compile'. The GC
+ * profiler reports gc.alloc.rate.norm (bytes allocated per query).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoryArchiveBenchmark {
+
+    private static final int SESSION_COUNT = 10_000;
+    private static final String[] APPS = {"Discord", "Steam", "Slack", "Messages", "Spotify", "Instagram"};
+
+    private Path tempDir;
+    private SessionJournal journal;
+    private HistoryArchive archive;
+
+    @Setup
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("kudafocus-archive-bench");
+        journal = new SessionJournal(tempDir.resolve("sessions.jsonl"), 60_000);
+        archive = new HistoryArchive(tempDir.resolve("archive"));
+
+        Random random = new Random(3);
+        LocalDateTime start = LocalDateTime.of(2000, 1, 1, 9, 0);
+        List<SessionRecord> records = new ArrayList<>();
+        for (int i = 0; i < SESSION_COUNT; i++) {
+            LocalDateTime sessionStart = start.plusDays(i);
+            List<Violation> violations = new ArrayList<>();
+            for (int v = random.nextInt(5); v > 0; v--) {
+                violations.add(new Violation(sessionStart, APPS[random.nextInt(APPS.length)], random.nextInt(300), 1));
+            }
+            SessionRecord record = new SessionRecord("session-" + i, sessionStart.toLocalDate().toString(),
+                    sessionStart, 1800, 600 + random.nextInt(1200), random.nextInt(101), random.nextBoolean(),
+                    List.of("Discord", "Steam"), List.of("youtube.com"), violations);
+            journal.append(record);
+            records.add(record);
+        }
+        journal.flush();
+        archive.append(records);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long journalTotalFocusSeconds() throws IOException {
+        long[] total = {0};
+        journal.forEach(record -> total[0] += record.getActualDuration());
+        return total[0];
+    }
+
+    @Benchmark
+    public long archiveTotalFocusSeconds() throws IOException {
+        return archive.openReader().totalFocusSeconds();
+    }
+
+    @Benchmark
+    public Map<String, Long> journalDistractionByApp() throws IOException {
+        Map<String, Long> totals = new HashMap<>();
+        journal.forEach(record -> {
+            for (Violation violation : record.getViolations()) {
+                totals.merge(violation.getAppName(), (long) violation.getDurationSeconds(), Long::sum);
+            }
+        });
+        return totals;
+    }
+
+    @Benchmark
+    public Map<String, Long> archiveDistractionByApp() throws IOException {
+        return archive.openReader().distractionSecondsByApp();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(HistoryArchiveBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
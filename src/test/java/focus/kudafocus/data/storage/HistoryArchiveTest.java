@@ -0,0 +1,121 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.core.Violation;
+import focus.kudafocus.data.models.SessionRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the columnar history archive.
+ */
+public class HistoryArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static SessionRecord record(LocalDateTime start, int actual, int score, boolean completed,
+                                        Violation... violations) {
+        return new SessionRecord("id-" + start, start.toLocalDate().toString(), start, 1800, actual, score,
+                completed, List.of("Discord"), List.of(), new ArrayList<>(List.of(violations)));
+    }
+
+    @Test
+    public void testAggregatesAcrossAppends() throws IOException {
+        HistoryArchive archive = new HistoryArchive(tempDir.resolve("archive"));
+        LocalDateTime day1 = LocalDateTime.of(2024, 3, 1, 9, 0);
+        LocalDateTime day2 = day1.plusDays(1);
+
+        archive.append(List.of(
+                record(day1, 1800, 90, true, new Violation(day1, "Discord", 60, 1)),
+                record(day1.plusHours(3), 600, 40, false,
+                        new Violation(day1, "Steam", 120, 0), new Violation(day1, "Discord", 30, 2))));
+        HistoryArchiveReader before = archive.openReader();
+
+        archive.append(List.of(record(day2, 1200, 80, true, new Violation(day2, "Slack", 15, 0))));
+        HistoryArchiveReader reader = archive.openReader();
+
+        assertEquals(2, before.getSessionCount(), "Readers keep the row counts they were opened with");
+        assertEquals(3, reader.getSessionCount());
+        assertEquals(4, reader.getViolationCount());
+        assertEquals(3600, reader.totalFocusSeconds());
+        assertEquals(2400, reader.totalFocusSeconds(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 1)));
+        assertEquals(70.0, reader.averageFocusScore(), 1e-9);
+        assertEquals(2, reader.completedCount());
+        assertEquals(Map.of("Discord", 90L, "Steam", 120L, "Slack", 15L), reader.distractionSecondsByApp());
+        assertArrayEquals(new String[] {"Discord", "Steam", "Slack"}, reader.getDictionary(),
+                "Each app name is stored once");
+    }
+
+    @Test
+    public void testInterruptedAppendIsIgnoredAndOverwritten() throws IOException {
+        Path dir = tempDir.resolve("archive");
+        HistoryArchive archive = new HistoryArchive(dir);
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 9, 0);
+        archive.append(List.of(record(start, 1000, 50, true)));
+
+        // Column bytes written without a meta update, as a crash would leave them
+        Files.write(dir.resolve(HistoryArchive.Column.ACTUAL_DURATION.getFileName()),
+                new byte[] {0, 0, 0x7F, 0}, StandardOpenOption.APPEND);
+        assertEquals(1000, archive.openReader().totalFocusSeconds());
+
+        new HistoryArchive(dir).append(List.of(record(start.plusDays(1), 500, 70, true)));
+        HistoryArchiveReader reader = archive.openReader();
+        assertEquals(2, reader.getSessionCount());
+        assertEquals(1500, reader.totalFocusSeconds());
+    }
+
+    @Test
+    public void testRebuildFromJournal() throws IOException {
+        SessionJournal journal = new SessionJournal(tempDir.resolve("sessions.jsonl"), 0);
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 9, 0);
+        for (int i = 0; i < 10; i++) {
+            journal.append(record(start.plusDays(i), 100 * i, 80, true, new Violation(start, "Steam", i, 0)));
+        }
+        journal.close();
+
+        HistoryArchive archive = new HistoryArchive(tempDir.resolve("archive"));
+        assertFalse(archive.exists());
+        assertEquals(10, archive.rebuild(journal));
+
+        HistoryArchiveReader reader = archive.openReader();
+        assertEquals(4500, reader.totalFocusSeconds());
+        assertEquals(Map.of("Steam", 45L), reader.distractionSecondsByApp());
+    }
+
+    @Test
+    public void testRebuildIfStaleRepairsCorruptAndLaggingArchives() throws IOException {
+        SessionJournal journal = new SessionJournal(tempDir.resolve("sessions.jsonl"), 0);
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 9, 0);
+        for (int i = 0; i < 3; i++) {
+            journal.append(record(start.plusDays(i), 600, 90, true));
+        }
+        Path dir = tempDir.resolve("archive");
+        HistoryArchive archive = new HistoryArchive(dir);
+
+        assertTrue(archive.rebuildIfStale(journal), "A missing archive is built");
+        assertFalse(archive.rebuildIfStale(journal), "An up-to-date archive is kept");
+
+        // The app quit after the journal append but before the archive append
+        journal.append(record(start.plusDays(3), 600, 90, true));
+        assertTrue(archive.rebuildIfStale(journal));
+        assertEquals(4 * 600, archive.openReader().totalFocusSeconds());
+
+        Files.write(dir.resolve(HistoryArchive.META_FILE_NAME), new byte[]{1, 2, 3});
+        assertThrows(IOException.class, archive::openReader);
+        assertTrue(archive.rebuildIfStale(journal), "An unreadable archive is rebuilt");
+        assertEquals(4 * 600, archive.openReader().totalFocusSeconds());
+        journal.close();
+    }
+}
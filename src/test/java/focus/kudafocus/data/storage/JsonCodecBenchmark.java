@@ -0,0 +1,130 @@
+package focus.kudafocus.data.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import focus.kudafocus.core.Violation;
+import focus.kudafocus.data.models.SessionHistory;
+import focus.kudafocus.data.models.SessionRecord;
+import focus.kudafocus.data.models.UserPreferences;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reflective Gson with the JsonCodec adapters on a 200-session
+ * history (3 violations each) and on the default preferences.
+ *
+ * The reflective baseline gets a LocalDateTime adapter, because plain
+ * reflection cannot serialize java.time classes on Java 17+ at all.
+ *
+ * Run main() from the test classpath after 'mvn test-compile'. The GC
+ * profiler reports gc.alloc.rate.norm (bytes allocated per call).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private static final int SESSION_COUNT = 200;
+
+    private Gson reflective;
+    private Gson adapters;
+    private SessionHistory history;
+    private UserPreferences preferences;
+    private String historyJson;
+    private String preferencesJson;
+
+    @Setup
+    public void setUp() {
+        reflective = new GsonBuilder()
+                .setPrettyPrinting()
+                .registerTypeAdapter(LocalDateTime.class, new JsonCodec.LocalDateTimeAdapter().nullSafe())
+                .create();
+        adapters = JsonCodec.gson();
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<SessionRecord> sessions = new ArrayList<>();
+        for (int i = 0; i < SESSION_COUNT; i++) {
+            LocalDateTime sessionStart = start.plusHours(i * 5L);
+            List<Violation> violations = new ArrayList<>();
+            for (int v = 0; v < 3; v++) {
+                violations.add(new Violation(sessionStart.plusMinutes(v * 7L), "Discord", 30 + v, v));
+            }
+            sessions.add(new SessionRecord("session-" + i, sessionStart.toLocalDate().toString(), sessionStart,
+                    1500, 1400, 85, true, List.of("Discord", "Steam"), List.of("youtube.com"), violations));
+        }
+        history = new SessionHistory(sessions);
+        preferences = new UserPreferences();
+
+        historyJson = adapters.toJson(history);
+        preferencesJson = adapters.toJson(preferences);
+    }
+
+    @Benchmark
+    public String reflectiveWriteHistory() {
+        return reflective.toJson(history);
+    }
+
+    @Benchmark
+    public String adapterWriteHistory() {
+        return adapters.toJson(history);
+    }
+
+    @Benchmark
+    public SessionHistory reflectiveReadHistory() {
+        return reflective.fromJson(historyJson, SessionHistory.class);
+    }
+
+    @Benchmark
+    public SessionHistory adapterReadHistory() {
+        return adapters.fromJson(historyJson, SessionHistory.class);
+    }
+
+    @Benchmark
+    public String reflectiveWritePreferences() {
+        return reflective.toJson(preferences);
+    }
+
+    @Benchmark
+    public String adapterWritePreferences() {
+        return adapters.toJson(preferences);
+    }
+
+    @Benchmark
+    public UserPreferences reflectiveReadPreferences() {
+        return reflective.fromJson(preferencesJson, UserPreferences.class);
+    }
+
+    @Benchmark
+    public UserPreferences adapterReadPreferences() {
+        return adapters.fromJson(preferencesJson, UserPreferences.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JsonCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,93 @@
+package focus.kudafocus.data.storage;
+
+import com.google.gson.Gson;
+import focus.kudafocus.core.Violation;
+import focus.kudafocus.data.models.SessionHistory;
+import focus.kudafocus.data.models.SessionRecord;
+import focus.kudafocus.data.models.UserPreferences;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the shared Gson adapters.
+ */
+public class JsonCodecTest {
+
+    private final Gson gson = JsonCodec.gson();
+
+    @Test
+    public void testSessionHistoryRoundTrip() {
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 9, 30, 15, 120_000_000);
+        List<Violation> violations = new ArrayList<>();
+        violations.add(new Violation(start.plusMinutes(3), "Discord", 42, 2));
+        violations.add(new Violation(start.plusMinutes(9), "Steam", 60, 0, 12));
+        SessionRecord record = new SessionRecord("abc", "2024-05-01", start, 1500, 1200, 88, true,
+                List.of("Discord"), List.of("youtube.com", "@@music.youtube.com"), violations);
+        SessionHistory history = new SessionHistory(new ArrayList<>(List.of(record)));
+
+        String json = gson.toJson(history);
+        assertTrue(json.contains("\"startTime\": \"2024-05-01T09:30:15.120\""), json);
+
+        SessionHistory loaded = gson.fromJson(json, SessionHistory.class);
+        assertEquals(1, loaded.getCount());
+        SessionRecord copy = loaded.getSessions().get(0);
+        assertEquals("abc", copy.getId());
+        assertEquals(start, copy.getStartTime());
+        assertEquals(1200, copy.getActualDuration());
+        assertTrue(copy.isCompleted());
+        assertEquals(List.of("youtube.com", "@@music.youtube.com"), copy.getBlockedWebsites());
+
+        Violation violation = copy.getViolations().get(0);
+        assertEquals(start.plusMinutes(3), violation.getTimestamp());
+        assertEquals("Discord", violation.getAppName());
+        assertEquals(42, violation.getDurationSeconds());
+        assertEquals(2, violation.getDismissCount());
+        assertEquals(1, violation.getOccurrences());
+        assertEquals(12, copy.getViolations().get(1).getOccurrences());
+        assertEquals(13, copy.getViolationCount());
+    }
+
+    @Test
+    public void testPreferencesKeepDefaultsAndSkipUnknownFields() {
+        String json = "{\"defaultDuration\": 3000, \"futureSetting\": {\"a\": [1, 2]},"
+                + " \"lastSelectedApps\": [\"Steam\"], \"appRegistry\": {\"Zoom\": {\"displayName\": \"Zoom\","
+                + " \"category\": \"Communication\", \"commonlyBlocked\": false}}}";
+
+        UserPreferences preferences = gson.fromJson(json, UserPreferences.class);
+
+        assertEquals(3000, preferences.getDefaultDuration());
+        assertEquals(List.of("Steam"), preferences.getLastSelectedApps());
+        assertEquals(List.of(), preferences.getLastSelectedWebsites(), "Missing list keeps its default");
+        assertFalse(preferences.isImportedBlocklistEnabled());
+        UserPreferences.AppEntry zoom = preferences.getAppRegistry().get("Zoom");
+        assertEquals("Zoom", zoom.getProcessName(), "Process name defaults to the registry key");
+        assertEquals("Communication", zoom.getCategory());
+        assertEquals(1, preferences.getAppRegistry().size());
+
+        UserPreferences reloaded = gson.fromJson(gson.toJson(preferences), UserPreferences.class);
+        assertEquals(3000, reloaded.getDefaultDuration());
+        assertEquals("Communication", reloaded.getAppRegistry().get("Zoom").getCategory());
+    }
+
+    @Test
+    public void testReadsLegacyDateTimeObjectsAndOmitsNulls() {
+        String json = "{\"timestamp\": {\"date\": {\"year\": 2023, \"month\": 12, \"day\": 31},"
+                + " \"time\": {\"hour\": 23, \"minute\": 59, \"second\": 58, \"nano\": 0}},"
+                + " \"appName\": \"Steam\", \"durationSeconds\": 5}";
+
+        Violation violation = gson.fromJson(json, Violation.class);
+
+        assertEquals(LocalDateTime.of(2023, 12, 31, 23, 59, 58), violation.getTimestamp());
+        assertEquals("Steam", violation.getAppName());
+        assertEquals(0, violation.getDismissCount());
+
+        String written = gson.toJson(new SessionRecord());
+        assertFalse(written.contains("null"), written);
+        assertFalse(written.contains("startTime"), written);
+    }
+}
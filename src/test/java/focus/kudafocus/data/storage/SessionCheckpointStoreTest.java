@@ -0,0 +1,138 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.core.FocusSession;
+import focus.kudafocus.core.Violation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for active-session checkpoints.
+ */
+public class SessionCheckpointStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static FocusSession sessionWithViolation() {
+        FocusSession session = new FocusSession(1500, List.of("Discord", "Steam"), List.of("youtube.com"));
+        session.startViolation("Discord");
+        session.addViolationDuration(90);
+        session.recordDismissal();
+        session.endCurrentViolation();
+        return session;
+    }
+
+    @Test
+    public void testSaveAndLoadRoundTrip() {
+        Path file = tempDir.resolve("checkpoint.bin");
+        FocusSession session = sessionWithViolation();
+        try (SessionCheckpointStore store = new SessionCheckpointStore(file)) {
+            store.save(session, 600);
+            store.flush();
+
+            SessionCheckpointStore.Checkpoint checkpoint = store.load();
+            assertNotNull(checkpoint);
+            assertEquals(600, checkpoint.getElapsedSeconds());
+            assertEquals(900, checkpoint.getRemainingSeconds());
+
+            FocusSession restored = checkpoint.getSession();
+            assertEquals(session.getSessionId(), restored.getSessionId());
+            assertEquals(session.getStartTime(), restored.getStartTime());
+            assertEquals(session.getFocusScore(), restored.getFocusScore());
+            assertEquals(List.of("Discord", "Steam"), restored.getBlockedApps());
+            assertEquals(List.of("youtube.com"), restored.getBlockedWebsites());
+
+            Violation violation = restored.getViolations().get(0);
+            assertEquals("Discord", violation.getAppName());
+            assertEquals(90, violation.getDurationSeconds());
+            assertEquals(1, violation.getDismissCount());
+            assertEquals(session.getViolations().get(0).getTimestamp(), violation.getTimestamp());
+        }
+        assertFalse(Files.exists(tempDir.resolve("checkpoint.bin.tmp")));
+    }
+
+    @Test
+    public void testLatestSnapshotWinsAndClearDeletes() {
+        Path file = tempDir.resolve("checkpoint.bin");
+        FocusSession session = sessionWithViolation();
+        try (SessionCheckpointStore store = new SessionCheckpointStore(file)) {
+            for (int elapsed = 1; elapsed <= 50; elapsed++) {
+                store.save(session, elapsed);
+            }
+            store.flush();
+            assertEquals(50, store.load().getElapsedSeconds());
+
+            store.save(session, 60);
+            store.clear();
+            store.flush();
+            assertFalse(Files.exists(file));
+            assertNull(store.load());
+        }
+    }
+
+    @Test
+    public void testSaveClearSaveKeepsOrder() {
+        Path file = tempDir.resolve("checkpoint.bin");
+        FocusSession session = sessionWithViolation();
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try (SessionCheckpointStore store = new SessionCheckpointStore(file, writer)) {
+            store.save(session, 10);
+            store.flush();
+
+            // Hold the writer so the calls queue up behind it
+            CountDownLatch release = holdWriter(writer);
+            store.save(session, 20);
+            store.clear();
+            store.save(session, 30);
+            release.countDown();
+            store.flush();
+            assertEquals(30, store.load().getElapsedSeconds(), "A save after clear() must not be lost");
+
+            release = holdWriter(writer);
+            store.save(session, 40);
+            store.clear();
+            release.countDown();
+            store.flush();
+            assertFalse(Files.exists(file), "A snapshot queued before clear() must not be written after it");
+        }
+    }
+
+    private static CountDownLatch holdWriter(ExecutorService writer) {
+        CountDownLatch release = new CountDownLatch(1);
+        writer.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return release;
+    }
+
+    @Test
+    public void testCorruptCheckpointIsIgnored() throws IOException {
+        Path file = tempDir.resolve("checkpoint.bin");
+        byte[] bytes = SessionCheckpointStore.encode(sessionWithViolation(), 10, 0);
+        bytes[bytes.length / 2] ^= 0x55;
+        Files.write(file, bytes);
+
+        try (SessionCheckpointStore store = new SessionCheckpointStore(file)) {
+            assertNull(store.load());
+        }
+
+        Files.write(file, new byte[] {1, 2, 3});
+        try (SessionCheckpointStore store = new SessionCheckpointStore(file)) {
+            assertNull(store.load());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.data.models.SessionRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares "sessions between two dates" as a linear scan of the journal
+ * with the same query through the sparse date index, over 100,000
+ * synthetic sessions (four a day, about 68 years).
+ *
+ * Run main() from the test classpath after 'mvn test-compile'. The GC
+ * profiler reports gc.alloc.rate.norm (bytes allocated per query).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionDateIndexBenchmark {
+
+    private static final int SESSION_COUNT = 100_000;
+    private static final int SESSIONS_PER_DAY = 4;
+    private static final LocalDate FIRST_DAY = LocalDate.of(1960, 1, 1);
+
+    private Path tempDir;
+    private SessionJournal journal;
+    private LocalDate weekStart;
+    private LocalDate weekEnd;
+
+    @Setup
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("kudafocus-index-bench");
+        journal = new SessionJournal(tempDir.resolve("sessions.jsonl"), 60_000);
+        for (int i = 0; i < SESSION_COUNT; i++) {
+            LocalDateTime start = FIRST_DAY.plusDays(i / SESSIONS_PER_DAY).atTime(8 + (i % SESSIONS_PER_DAY) * 3, 0);
+            journal.append(new SessionRecord("session-" + i, start.toLocalDate().toString(), start,
+                    1500, 1400, 85, true, List.of("Discord"), List.of("youtube.com"), new ArrayList<>()));
+        }
+        journal.flush();
+
+        // A week in the middle of the history
+        weekStart = FIRST_DAY.plusDays(SESSION_COUNT / SESSIONS_PER_DAY / 2);
+        weekEnd = weekStart.plusDays(6);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<SessionRecord> linearWeek() throws IOException {
+        List<SessionRecord> matches = new ArrayList<>();
+        journal.forEach(record -> {
+            LocalDate day = record.getStartDate();
+            if (!day.isBefore(weekStart) && !day.isAfter(weekEnd)) {
+                matches.add(record);
+            }
+        });
+        return matches;
+    }
+
+    @Benchmark
+    public List<SessionRecord> indexedWeek() throws IOException {
+        return journal.readBetween(weekStart, weekEnd);
+    }
+
+    @Benchmark
+    public List<SessionRecord> indexedYear() throws IOException {
+        return journal.readBetween(weekStart, weekStart.plusYears(1).minusDays(1));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SessionDateIndexBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,107 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.data.models.SessionRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for date-range queries through the journal's date index.
+ */
+public class SessionDateIndexTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @TempDir
+    Path tempDir;
+
+    private static SessionRecord sessionOn(LocalDate day, int index) {
+        LocalDateTime start = day.atTime(9, 0);
+        return new SessionRecord("s" + index, day.toString(), start, 1500, 1500, 90, true,
+                List.of(), List.of(), new ArrayList<>());
+    }
+
+    private static List<String> ids(List<SessionRecord> records) {
+        return records.stream().map(SessionRecord::getId).collect(Collectors.toList());
+    }
+
+    private static List<String> linearIds(SessionJournal journal, LocalDate from, LocalDate to) throws IOException {
+        List<String> ids = new ArrayList<>();
+        journal.forEach(record -> {
+            LocalDate day = record.getStartDate();
+            if (!day.isBefore(from) && !day.isAfter(to)) {
+                ids.add(record.getId());
+            }
+        });
+        return ids;
+    }
+
+    @Test
+    public void testRangeQueriesMatchLinearScan() throws IOException {
+        Path file = tempDir.resolve("sessions.jsonl");
+        try (SessionJournal journal = new SessionJournal(file, 60_000)) {
+            // Three sessions a day for 100 days, so days span index blocks
+            for (int i = 0; i < 300; i++) {
+                journal.append(sessionOn(START.plusDays(i / 3), i));
+            }
+
+            assertEquals(List.of("s30", "s31", "s32"), ids(journal.readBetween(START.plusDays(10), START.plusDays(10))));
+            for (int[] range : new int[][] {{0, 0}, {5, 40}, {95, 120}, {-10, -1}, {200, 300}}) {
+                LocalDate from = START.plusDays(range[0]);
+                LocalDate to = START.plusDays(range[1]);
+                assertEquals(linearIds(journal, from, to), ids(journal.readBetween(from, to)),
+                        "Range " + from + ".." + to);
+            }
+        }
+        assertTrue(Files.exists(tempDir.resolve("sessions.jsonl.idx")));
+    }
+
+    @Test
+    public void testOutOfOrderDaysAreStillFound() throws IOException {
+        Path file = tempDir.resolve("sessions.jsonl");
+        try (SessionJournal journal = new SessionJournal(file, 0)) {
+            for (int i = 0; i < 100; i++) {
+                journal.append(sessionOn(START.plusDays(i), i));
+            }
+            // Clock moved back: a session dated inside an earlier block
+            journal.append(sessionOn(START.plusDays(3), 100));
+
+            assertEquals(List.of("s3", "s100"), ids(journal.readBetween(START.plusDays(3), START.plusDays(3))));
+            assertEquals(linearIds(journal, START.plusDays(2), START.plusDays(60)),
+                    ids(journal.readBetween(START.plusDays(2), START.plusDays(60))));
+        }
+    }
+
+    @Test
+    public void testMissingOrStaleIndexIsRebuilt() throws IOException {
+        Path file = tempDir.resolve("sessions.jsonl");
+        try (SessionJournal journal = new SessionJournal(file, 0)) {
+            for (int i = 0; i < 50; i++) {
+                journal.append(sessionOn(START.plusDays(i), i));
+            }
+        }
+
+        Files.delete(tempDir.resolve("sessions.jsonl.idx"));
+        try (SessionJournal journal = new SessionJournal(file, 0)) {
+            assertEquals(List.of("s40", "s41"), ids(journal.readBetween(START.plusDays(40), START.plusDays(41))));
+        }
+
+        // Lines appended without the index seeing them (e.g. a crash before the index write)
+        Files.writeString(file, JsonCodec.compactGson().toJson(sessionOn(START.plusDays(70), 70)) + "\n",
+                StandardOpenOption.APPEND);
+        try (SessionJournal journal = new SessionJournal(file, 0)) {
+            assertEquals(List.of("s70"), ids(journal.readBetween(START.plusDays(65), START.plusDays(75))));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.core.FocusSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for per-session event files.
+ */
+public class SessionEventStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testIncrementalAppendsReplayToSameSession() throws IOException {
+        FocusSession session = new FocusSession(1500, List.of("Discord"), List.of("reddit.com"));
+        try (SessionEventStore store = new SessionEventStore(tempDir)) {
+            store.begin(session);
+            session.startViolation("Discord");
+            session.addViolationDuration(30);
+            store.append(session);
+            session.recordDismissal();
+            session.addViolationDuration(30);
+            session.abandon(700);
+            store.append(session);
+            store.flush();
+
+            assertTrue(store.exists(session.getSessionId()));
+            FocusSession replayed = store.load(session.getSessionId());
+            assertEquals(session.getStartTime(), replayed.getStartTime());
+            assertEquals(List.of("Discord"), replayed.getBlockedApps());
+            assertEquals(List.of("reddit.com"), replayed.getBlockedWebsites());
+            assertEquals(700, replayed.getActualDuration());
+            assertFalse(replayed.isCompleted());
+            assertEquals(60, replayed.getTotalDistractionSeconds());
+            assertEquals(1, replayed.getTotalDismissals());
+            assertEquals(session.getFocusScore(), replayed.getFocusScore());
+        }
+    }
+
+    @Test
+    public void testAppendWithoutBeginStartsFileWithHeader() throws IOException {
+        FocusSession session = new FocusSession(1200, List.of("Steam"), List.of());
+        try (SessionEventStore store = new SessionEventStore(tempDir)) {
+            session.startViolation("Steam");
+            session.addViolationDuration(45);
+            store.append(session);
+            session.complete(1200);
+            store.append(session);
+            store.flush();
+
+            FocusSession replayed = store.load(session.getSessionId());
+            assertEquals(List.of("Steam"), replayed.getBlockedApps());
+            assertEquals(1200, replayed.getPlannedDuration());
+            assertEquals(45, replayed.getTotalDistractionSeconds());
+            assertTrue(replayed.isCompleted());
+        }
+    }
+
+    @Test
+    public void testRejectsForeignFile() {
+        assertThrows(IOException.class, () -> SessionEventStore.replay(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+}
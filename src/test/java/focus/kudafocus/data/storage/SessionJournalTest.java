@@ -0,0 +1,120 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.core.FocusSession;
+import focus.kudafocus.data.models.SessionHistory;
+import focus.kudafocus.data.models.SessionRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the append-only session journal.
+ */
+public class SessionJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static SessionRecord finishedSession(String app) {
+        FocusSession session = new FocusSession(1800, List.of(app), List.of("youtube.com"));
+        session.startViolation(app);
+        session.addViolationDuration(30);
+        session.recordDismissal();
+        session.endCurrentViolation();
+        session.complete(1800);
+        return SessionRecord.fromSession(session);
+    }
+
+    @Test
+    public void testAppendsOneLinePerSessionAndReadsThemBack() throws IOException {
+        Path file = tempDir.resolve("sessions.jsonl");
+        try (SessionJournal journal = new SessionJournal(file, 0)) {
+            journal.append(finishedSession("Discord"));
+            journal.append(finishedSession("Steam"));
+            assertEquals(2, journal.getSyncCount(), "A zero window syncs after every append");
+        }
+
+        assertEquals(2, Files.readAllLines(file).size());
+
+        SessionHistory history = new SessionJournal(file, 0).readHistory();
+        assertEquals(2, history.getCount());
+        SessionRecord first = history.getSessions().get(0);
+        assertEquals(List.of("Discord"), first.getBlockedApps());
+        assertEquals("Discord", first.getViolations().get(0).getAppName());
+        assertEquals(30, first.getViolations().get(0).getDurationSeconds());
+        assertNotNull(first.getStartTime());
+        assertTrue(first.isCompleted());
+    }
+
+    @Test
+    public void testGroupCommitSharesOneSync() throws IOException {
+        Path file = tempDir.resolve("sessions.jsonl");
+        SessionJournal journal = new SessionJournal(file, 60_000);
+        for (int i = 0; i < 5; i++) {
+            journal.append(finishedSession("App" + i));
+        }
+        assertEquals(0, journal.getSyncCount(), "Syncs wait for the group-commit window");
+
+        journal.flush();
+        assertEquals(1, journal.getSyncCount());
+        journal.close();
+        assertEquals(5, journal.readHistory().getCount());
+    }
+
+    @Test
+    public void testOpenTruncatesTornAndGarbageTail() throws IOException {
+        Path file = tempDir.resolve("sessions.jsonl");
+        try (SessionJournal journal = new SessionJournal(file, 0)) {
+            journal.append(finishedSession("Discord"));
+            journal.append(finishedSession("Steam"));
+        }
+        long goodSize = Files.size(file);
+
+        // A zero-filled block followed by a half-written record, as a crash could leave
+        Files.write(file, new byte[] {0, 0, 0, 0, '\n'}, StandardOpenOption.APPEND);
+        Files.write(file, "{\"id\":\"torn\",\"plannedDur".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (SessionJournal journal = new SessionJournal(file, 0)) {
+            journal.open();
+            assertEquals(goodSize, Files.size(file));
+            journal.append(finishedSession("Slack"));
+        }
+
+        SessionHistory history = new SessionJournal(file, 0).readHistory();
+        assertEquals(3, history.getCount());
+        assertEquals(List.of("Slack"), history.getSessions().get(2).getBlockedApps());
+    }
+
+    @Test
+    public void testOpenSkipsLinesWithBadValues() throws IOException {
+        Path file = tempDir.resolve("sessions.jsonl");
+        try (SessionJournal journal = new SessionJournal(file, 0)) {
+            journal.append(finishedSession("Discord"));
+        }
+        // Well-formed JSON whose values the codec adapters reject
+        Files.write(file, "{\"id\":\"a\",\"startTime\":\"not-a-date\"}\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        try (SessionJournal journal = new SessionJournal(file, 0)) {
+            journal.append(finishedSession("Steam"));
+        }
+        Files.write(file, "{\"id\":\"b\",\"date\":\"2024-13-45\"}\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        long sizeBeforeBadTail = Files.size(file) - "{\"id\":\"b\",\"date\":\"2024-13-45\"}\n".length();
+
+        try (SessionJournal journal = new SessionJournal(file, 0)) {
+            journal.open();
+            // The bad last line is truncated like a torn one, the bad middle line is skipped
+            assertEquals(sizeBeforeBadTail, Files.size(file));
+            assertEquals(2, journal.getSessionCount());
+            assertEquals(2, journal.readHistory().getCount());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package focus.kudafocus.data.storage;
+
+import focus.kudafocus.core.FocusSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a recorded three-hour session: a violation every minute with
+ * time added on every 2-second monitor tick (about 5,600 events).
+ * Compares rebuilding the session from its event file with decoding a
+ * checkpoint snapshot of the same session.
+ *
+ * Run main() from the test classpath after 'mvn test-compile'. The GC
+ * profiler reports gc.alloc.rate.norm (bytes allocated per call).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionReplayBenchmark {
+
+    private static final int SESSION_SECONDS = 3 * 60 * 60;
+    private static final int TICK_SECONDS = 2;
+
+    private byte[] eventFile;
+    private byte[] checkpoint;
+
+    @Setup
+    public void setUp() throws IOException {
+        FocusSession session = new FocusSession(SESSION_SECONDS, List.of("Discord", "Steam"), List.of("youtube.com"));
+        for (int second = 0; second < SESSION_SECONDS; second += TICK_SECONDS) {
+            if (second % 60 == 0) {
+                session.startViolation(second % 120 == 0 ? "Discord" : "Steam");
+            }
+            session.addViolationDuration(TICK_SECONDS);
+            if (second % 60 == 30) {
+                session.recordDismissal();
+            }
+        }
+        session.complete(SESSION_SECONDS);
+
+        Path dir = Files.createTempDirectory("kudafocus-replay");
+        try (SessionEventStore store = new SessionEventStore(dir)) {
+            store.begin(session);
+        }
+        Path file;
+        try (var files = Files.list(dir)) {
+            file = files.findFirst().orElseThrow();
+        }
+        eventFile = Files.readAllBytes(file);
+        Files.delete(file);
+        Files.delete(dir);
+
+        checkpoint = SessionCheckpointStore.encode(session, SESSION_SECONDS, 0);
+    }
+
+    @Benchmark
+    public FocusSession replayEvents() throws IOException {
+        return SessionEventStore.replay(eventFile);
+    }
+
+    @Benchmark
+    public FocusSession decodeCheckpoint() throws IOException {
+        return SessionCheckpointStore.decode(checkpoint).getSession();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SessionReplayBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
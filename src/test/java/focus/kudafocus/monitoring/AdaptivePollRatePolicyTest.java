@@ -0,0 +1,46 @@
+package focus.kudafocus.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptivePollRatePolicy and the fixed-rate policy.
+ */
+public class AdaptivePollRatePolicyTest {
+
+    @Test
+    public void testBacksOffExponentiallyWhileStable() {
+        PollRatePolicy policy = new AdaptivePollRatePolicy(500, 1000, 8000, 2);
+
+        long[] expected = {1000, 1000, 2000, 2000, 4000, 4000, 8000, 8000, 8000};
+        for (long delay : expected) {
+            assertEquals(delay, policy.nextDelayMillis(false, false));
+        }
+    }
+
+    @Test
+    public void testForegroundChangeOrViolationPollsFast() {
+        PollRatePolicy policy = new AdaptivePollRatePolicy(500, 1000, 8000, 2);
+        for (int i = 0; i < 10; i++) {
+            policy.nextDelayMillis(false, false);
+        }
+
+        assertEquals(500, policy.nextDelayMillis(true, false), "Foreground change should poll fast");
+        assertEquals(1000, policy.nextDelayMillis(false, false), "Backoff restarts after a change");
+        assertEquals(500, policy.nextDelayMillis(false, true), "Active violation should poll fast");
+    }
+
+    @Test
+    public void testResetAndFixedPolicy() {
+        PollRatePolicy policy = new AdaptivePollRatePolicy(500, 1000, 8000, 1);
+        policy.nextDelayMillis(false, false);
+        policy.nextDelayMillis(false, false);
+        policy.reset();
+        assertEquals(1000, policy.nextDelayMillis(false, false), "Reset should forget the backoff");
+
+        PollRatePolicy fixed = PollRatePolicy.fixed(1000);
+        assertEquals(1000, fixed.nextDelayMillis(true, true));
+        assertThrows(IllegalArgumentException.class, () -> PollRatePolicy.fixed(0));
+    }
+}
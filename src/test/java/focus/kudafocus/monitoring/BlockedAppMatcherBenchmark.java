@@ -0,0 +1,101 @@
+package focus.kudafocus.monitoring;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original "isAppRunning per blocked app" loop with the
+ * compiled BlockedAppMatcher at 1,000 processes x 200 blocked apps.
+ *
+ * Run main() from the test classpath after 'mvn test-compile'.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockedAppMatcherBenchmark {
+
+    private static final int PROCESS_COUNT = 1000;
+    private static final int RULE_COUNT = 200;
+
+    private MacOSAppMonitor monitor;
+    private List<ProcessInfo> processes;
+    private List<String> blockedApps;
+    private BlockedAppMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        monitor = new MacOSAppMonitor();
+        processes = new ArrayList<>();
+        for (int i = 0; i < PROCESS_COUNT; i++) {
+            String name = "/Applications/App" + random.nextInt(5000) + ".app/Contents/MacOS/Helper " + i;
+            processes.add(new ProcessInfo(name, monitor.normalizeProcessName(name), i));
+        }
+        blockedApps = new ArrayList<>();
+        for (int i = 0; i < RULE_COUNT; i++) {
+            blockedApps.add("Blocked App " + random.nextInt(100000));
+        }
+        matcher = BlockedAppMatcher.compile(blockedApps, monitor::normalizedKey);
+    }
+
+    /**
+     * The loop checkForViolations() ran before the matcher existed
+     */
+    @Benchmark
+    public List<String> legacyContainsLoop() {
+        List<String> violations = new ArrayList<>();
+        for (String blockedApp : blockedApps) {
+            String target = monitor.normalizeProcessName(blockedApp).toLowerCase();
+            for (ProcessInfo process : processes) {
+                String normalizedProcess = monitor.normalizeProcessName(process.getProcessName()).toLowerCase();
+                String normalizedDisplay = monitor.normalizeProcessName(process.getDisplayName()).toLowerCase();
+                if (normalizedProcess.contains(target) ||
+                        normalizedDisplay.contains(target) ||
+                        target.contains(normalizedProcess)) {
+                    violations.add(blockedApp);
+                    break;
+                }
+            }
+        }
+        return violations;
+    }
+
+    @Benchmark
+    public List<String> compiledMatcher() {
+        return matcher.findRunning(processes, monitor::normalizedKey);
+    }
+
+    @Benchmark
+    public BlockedAppMatcher compileOnly() {
+        return BlockedAppMatcher.compile(blockedApps, monitor::normalizedKey);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BlockedAppMatcherBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,88 @@
+package focus.kudafocus.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BlockedAppMatcher.
+ *
+ * The compiled matcher must agree with the per-app isAppRunning() loop
+ * that checkForViolations() used before.
+ */
+public class BlockedAppMatcherTest {
+
+    private static class FakeMonitor extends AppMonitor {
+        private final List<ProcessInfo> list;
+
+        FakeMonitor(List<ProcessInfo> list) { this.list = list; }
+
+        @Override
+        protected List<ProcessInfo> getCurrentProcesses() { return new ArrayList<>(list); }
+
+        @Override
+        protected String normalizeProcessName(String raw) { return raw.replace(".exe", "").trim(); }
+    }
+
+    private static List<String> legacyCheck(AppMonitor monitor, List<String> blockedApps) {
+        List<String> violations = new ArrayList<>();
+        for (String blockedApp : blockedApps) {
+            if (monitor.isAppRunning(blockedApp)) {
+                violations.add(blockedApp);
+            }
+        }
+        return violations;
+    }
+
+    @Test
+    public void testMatchesSubstringsInBothDirections() {
+        FakeMonitor monitor = new FakeMonitor(List.of(
+                new ProcessInfo("DiscordPTB.exe", "DiscordPTB", 1),
+                new ProcessInfo("steam", "steam", 2)));
+
+        List<String> running = monitor.checkForViolations(List.of("Discord", "Steam Big Picture", "Slack"));
+
+        assertEquals(List.of("Discord", "Steam Big Picture"), running);
+    }
+
+    @Test
+    public void testPreservesBlockedListOrderAndDuplicates() {
+        FakeMonitor monitor = new FakeMonitor(List.of(new ProcessInfo("Spotify", 3)));
+
+        assertEquals(List.of("spotify", "Spotify"),
+                monitor.checkForViolations(List.of("spotify", "Slack", "Spotify")));
+    }
+
+    @Test
+    public void testAgreesWithLegacyLoopOnRandomTables() {
+        Random random = new Random(42);
+        String alphabet = "abcde";
+        for (int round = 0; round < 200; round++) {
+            List<ProcessInfo> processes = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                String name = randomName(random, alphabet, 1 + random.nextInt(6));
+                processes.add(new ProcessInfo(name, randomName(random, alphabet, 1 + random.nextInt(6)), i));
+            }
+            List<String> blocked = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                blocked.add(randomName(random, alphabet, 1 + random.nextInt(4)));
+            }
+
+            FakeMonitor monitor = new FakeMonitor(processes);
+            List<String> compiled = monitor.checkForViolations(blocked);
+            assertEquals(legacyCheck(monitor, blocked), compiled, "Round " + round);
+        }
+    }
+
+    private static String randomName(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package focus.kudafocus.monitoring;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old linear equals/endsWith loop with DomainTrie on a
+ * 100,000-domain blocklist, for a blocked host (matching the last rule,
+ * the linear loop's worst case) and an allowed host.
+ *
+ * Run main() from the test classpath after 'mvn test-compile'. The GC
+ * profiler reports gc.alloc.rate.norm (bytes allocated per check).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainTrieBenchmark {
+
+    private static final int DOMAIN_COUNT = 100_000;
+    private static final String[] TLDS = {"com", "net", "org", "io", "co.uk", "ru", "info"};
+
+    private static final String BLOCKED_HOST = "www.last-blocked-site.com";
+    private static final String ALLOWED_HOST = "docs.oracle.com";
+
+    private List<String> domains;
+    private DomainTrie trie;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        domains = new ArrayList<>(DOMAIN_COUNT);
+        for (int i = 0; i < DOMAIN_COUNT - 1; i++) {
+            String name = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+            String prefix = random.nextInt(4) == 0 ? "ads." : "";
+            domains.add(prefix + name + "." + TLDS[random.nextInt(TLDS.length)]);
+        }
+        domains.add("Last-Blocked-Site.com");
+        trie = DomainTrie.compile(domains);
+    }
+
+    @Benchmark
+    public String linearBlockedHost() {
+        return linearMatch(BLOCKED_HOST);
+    }
+
+    @Benchmark
+    public String linearAllowedHost() {
+        return linearMatch(ALLOWED_HOST);
+    }
+
+    @Benchmark
+    public String trieBlockedHost() {
+        return trie.match(BLOCKED_HOST);
+    }
+
+    @Benchmark
+    public String trieAllowedHost() {
+        return trie.match(ALLOWED_HOST);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public DomainTrie compile() {
+        return DomainTrie.compile(domains);
+    }
+
+    /**
+     * The matching loop ChromeWebsiteMonitor used before the trie
+     */
+    private String linearMatch(String host) {
+        String normalizedHost = host.toLowerCase(Locale.ROOT);
+        for (String domain : domains) {
+            String normalizedDomain = domain.toLowerCase(Locale.ROOT);
+            if (normalizedHost.equals(normalizedDomain) || normalizedHost.endsWith("." + normalizedDomain)) {
+                return domain;
+            }
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DomainTrieBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,88 @@
+package focus.kudafocus.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DomainTrie rule matching.
+ */
+public class DomainTrieTest {
+
+    @Test
+    public void testDomainBlocksItselfAndSubdomainsOnly() {
+        DomainTrie trie = DomainTrie.compile(List.of("YouTube.com"));
+
+        assertEquals("YouTube.com", trie.match("youtube.com"));
+        assertEquals("YouTube.com", trie.match("m.YOUTUBE.com."));
+        assertNull(trie.match("notyoutube.com"), "Suffix without a dot boundary must not match");
+        assertNull(trie.match("youtube.com.evil.net"));
+        assertNull(trie.match("com"));
+    }
+
+    @Test
+    public void testWildcardBlocksSubdomainsButNotApex() {
+        DomainTrie trie = DomainTrie.compile(List.of("*.reddit.com"));
+
+        assertEquals("*.reddit.com", trie.match("old.reddit.com"));
+        assertEquals("*.reddit.com", trie.match("a.b.reddit.com"));
+        assertNull(trie.match("reddit.com"));
+    }
+
+    @Test
+    public void testExceptionsAndMostSpecificRuleWins() {
+        DomainTrie trie = DomainTrie.compile(List.of(
+                "google.com", "@@docs.google.com", "ads.docs.google.com", "@@youtube.com", "youtube.com"));
+
+        assertEquals("google.com", trie.match("mail.google.com"));
+        assertNull(trie.match("docs.google.com"), "Exception should allow the host");
+        assertNull(trie.match("x.docs.google.com"), "Exception covers subdomains");
+        assertEquals("ads.docs.google.com", trie.match("ads.docs.google.com"), "Deeper block beats exception");
+        assertNull(trie.match("youtube.com"), "Exception wins over a block for the same domain");
+    }
+
+    @Test
+    public void testMatchesLinearScanOnRandomLists() {
+        Random random = new Random(42);
+        String[] labels = {"a", "b", "ab", "news", "video", "com", "net", "io"};
+        for (int round = 0; round < 200; round++) {
+            List<String> domains = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(6); i++) {
+                domains.add(randomDomain(random, labels));
+            }
+            DomainTrie trie = DomainTrie.compile(domains);
+            for (int i = 0; i < 20; i++) {
+                String host = randomDomain(random, labels);
+                assertEquals(linearMatch(host, domains) != null, trie.isBlocked(host),
+                        host + " vs " + domains);
+            }
+        }
+    }
+
+    private static String randomDomain(Random random, String[] labels) {
+        StringBuilder domain = new StringBuilder(labels[random.nextInt(labels.length)]);
+        for (int i = 0; i < random.nextInt(3); i++) {
+            domain.append('.').append(labels[random.nextInt(labels.length)]);
+        }
+        return domain.toString();
+    }
+
+    /**
+     * The matching loop ChromeWebsiteMonitor used before the trie
+     */
+    private static String linearMatch(String host, List<String> blockedDomains) {
+        String normalizedHost = host.toLowerCase(Locale.ROOT);
+        for (String domain : blockedDomains) {
+            String normalizedDomain = domain.toLowerCase(Locale.ROOT);
+            if (normalizedHost.equals(normalizedDomain) || normalizedHost.endsWith("." + normalizedDomain)) {
+                return domain;
+            }
+        }
+        return null;
+    }
+}
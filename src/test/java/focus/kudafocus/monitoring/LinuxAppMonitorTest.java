@@ -0,0 +1,103 @@
+package focus.kudafocus.monitoring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LinuxAppMonitor using a fake /proc tree.
+ */
+public class LinuxAppMonitorTest {
+
+    @TempDir
+    Path procRoot;
+
+    private LinuxAppMonitor monitor;
+
+    @BeforeEach
+    public void setUp() {
+        monitor = new LinuxAppMonitor(procRoot);
+    }
+
+    private void addProcess(int pid, String cmdline, String comm) throws IOException {
+        Path dir = Files.createDirectories(procRoot.resolve(String.valueOf(pid)));
+        Files.write(dir.resolve("cmdline"), cmdline.getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("comm"), (comm + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testReadsExecutableNameFromCmdline() throws IOException {
+        addProcess(100, "/usr/share/discord/Discord\0--no-sandbox\0", "Discord");
+
+        List<ProcessInfo> processes = monitor.getCurrentProcesses();
+
+        assertEquals(1, processes.size());
+        assertEquals("Discord", processes.get(0).getProcessName());
+        assertEquals(100, processes.get(0).getPid());
+    }
+
+    @Test
+    public void testSkipsKernelThreadsAndNonProcessEntries() throws IOException {
+        addProcess(2, "", "kthreadd");
+        Files.createDirectories(procRoot.resolve("self"));
+        Files.writeString(procRoot.resolve("uptime"), "1.0 1.0");
+
+        assertTrue(monitor.getCurrentProcesses().isEmpty(), "Kernel threads and non-PID entries should be ignored");
+    }
+
+    @Test
+    public void testRewrittenArgvIsCutAtArguments() throws IOException {
+        addProcess(300, "/opt/google/chrome/chrome --type=renderer --lang=en", "chrome");
+
+        List<ProcessInfo> processes = monitor.getCurrentProcesses();
+
+        assertEquals(1, processes.size());
+        assertEquals("chrome", processes.get(0).getProcessName());
+        assertEquals("Chrome", processes.get(0).getDisplayName());
+    }
+
+    @Test
+    public void testDeduplicatesByProcessNameAndSkipsSystemProcesses() throws IOException {
+        addProcess(10, "/usr/lib/systemd/systemd\0--user\0", "systemd");
+        addProcess(11, "/usr/bin/steam\0", "steam");
+        addProcess(12, "/usr/bin/steam\0-silent\0", "steam");
+
+        List<ProcessInfo> processes = monitor.getCurrentProcesses();
+
+        assertEquals(1, processes.size(), "Duplicate and system processes should be dropped");
+        assertEquals("Steam", processes.get(0).getDisplayName());
+    }
+
+    @Test
+    public void testDetectsBlockedAppThroughSharedViolationCheck() throws IOException {
+        addProcess(42, "/usr/bin/discord\0", "discord");
+
+        assertEquals(List.of("Discord"), monitor.checkForViolations(List.of("Discord", "Steam")));
+    }
+
+    @Test
+    public void testIncrementalScanOnlyTracksChanges() throws IOException {
+        addProcess(50, "/usr/bin/slack\0", "slack");
+        for (int i = 0; i < ProcessTable.REVALIDATE_SCANS + 1; i++) {
+            monitor.getRunningProcesses(true);
+        }
+        assertTrue(monitor.getLastDelta().isEmpty(), "Steady-state scan should report no changes");
+
+        // A settled PID is not re-read, so clobbering its cmdline changes nothing
+        Files.write(procRoot.resolve("50").resolve("cmdline"), new byte[0]);
+        addProcess(51, "/usr/bin/steam\0", "steam");
+        monitor.getRunningProcesses(true);
+
+        assertEquals(1, monitor.getLastDelta().getAdded().size());
+        assertEquals("steam", monitor.getLastDelta().getAdded().get(0).getProcessName());
+        assertTrue(monitor.isAppRunning("Slack"));
+    }
+}
@@ -0,0 +1,130 @@
+package focus.kudafocus.monitoring;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old split-based 'ps aux' parsing with ProcessOutputTokenizer
+ * on the recorded macOS fixture, repeated to about 600 processes.
+ *
+ * - splitParse: BufferedReader + trim().split("\\s+") + join, as the
+ *   monitors used to do
+ * - tokenizerParse: the same PID and command extraction from the byte buffer
+ * - tokenizerIncrementalScan: steady-state MacOSAppMonitor scan into a warm
+ *   ProcessTable (no Strings decoded for known PIDs)
+ *
+ * Run main() from the test classpath after 'mvn test-compile'. The GC
+ * profiler reports gc.alloc.rate.norm (bytes allocated per parse).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessOutputParseBenchmark {
+
+    private static final int COPIES = 20;
+
+    private byte[] psOutput;
+    private ProcessOutputTokenizer tokenizer;
+    private MacOSAppMonitor monitor;
+    private ProcessTable table;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] lines;
+        try (InputStream in = ProcessOutputParseBenchmark.class.getResourceAsStream("/fixtures/ps-aux-macos.txt")) {
+            lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n");
+        }
+
+        // Repeat the data lines with fresh PIDs to reach a realistic process count
+        StringBuilder text = new StringBuilder(lines[0]).append('\n');
+        int pid = 2000;
+        for (int copy = 0; copy < COPIES; copy++) {
+            for (int i = 1; i < lines.length; i++) {
+                String[] parts = lines[i].trim().split("\\s+", 3);
+                text.append(parts[0]).append("  ").append(pid++).append("  ").append(parts[2]).append('\n');
+            }
+        }
+        psOutput = text.toString().getBytes(StandardCharsets.UTF_8);
+
+        tokenizer = new ProcessOutputTokenizer(StandardCharsets.UTF_8);
+        monitor = new MacOSAppMonitor();
+        table = new ProcessTable();
+        for (int i = 0; i < 5; i++) {
+            tokenizerIncrementalScan();  // Settle every PID in the table
+        }
+    }
+
+    @Benchmark
+    public void splitParse(Blackhole blackhole) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(psOutput), StandardCharsets.UTF_8));
+        String line = reader.readLine();  // Header
+        while ((line = reader.readLine()) != null) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length < 11) {
+                continue;
+            }
+            int pid = Integer.parseInt(parts[1]);
+            StringBuilder commandBuilder = new StringBuilder();
+            for (int i = 10; i < parts.length; i++) {
+                if (i > 10) commandBuilder.append(" ");
+                commandBuilder.append(parts[i]);
+            }
+            String command = commandBuilder.toString();
+            int spaceIndex = command.indexOf(' ');
+            blackhole.consume(pid);
+            blackhole.consume(spaceIndex > 0 ? command.substring(0, spaceIndex) : command);
+        }
+    }
+
+    @Benchmark
+    public void tokenizerParse(Blackhole blackhole) throws IOException {
+        tokenizer.tokenize(new ByteArrayInputStream(psOutput), 1, line -> {
+            if (line.getFieldCount() < 11) {
+                return;
+            }
+            blackhole.consume(line.parsePid(1));
+            blackhole.consume(line.fieldToString(10));
+        });
+    }
+
+    @Benchmark
+    public ProcessDelta tokenizerIncrementalScan() throws IOException {
+        table.beginScan();
+        monitor.scanProcessOutput(new ByteArrayInputStream(psOutput), table);
+        return table.endScan();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProcessOutputParseBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
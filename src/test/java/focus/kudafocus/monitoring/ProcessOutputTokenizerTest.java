@@ -0,0 +1,114 @@
+package focus.kudafocus.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProcessOutputTokenizer and the ps/tasklist parsers built on it.
+ *
+ * The fixtures in src/test/resources/fixtures hold captured 'ps aux'
+ * (macOS) and 'tasklist' (Windows, CRLF line endings) output.
+ */
+public class ProcessOutputTokenizerTest {
+
+    private static InputStream fixture(String name) {
+        InputStream in = ProcessOutputTokenizerTest.class.getResourceAsStream("/fixtures/" + name);
+        assertNotNull(in, "Missing fixture " + name);
+        return in;
+    }
+
+    private static List<String> names(List<ProcessInfo> processes) {
+        List<String> names = new ArrayList<>();
+        for (ProcessInfo process : processes) {
+            names.add(process.getProcessName());
+        }
+        return names;
+    }
+
+    @Test
+    public void testParsesMacOSPsFixture() throws IOException {
+        List<ProcessInfo> processes = new MacOSAppMonitor().parseProcessOutput(fixture("ps-aux-macos.txt"));
+        List<String> names = names(processes);
+
+        assertEquals("Discord", processes.get(0).getProcessName());
+        assertEquals(1234, processes.get(0).getPid());
+        assertTrue(names.contains("Spotify") && names.contains("Finder") && names.contains("steam_osx"));
+        for (String ignored : List.of("ps", "grep", "java", "bash", "kernel_task", "launchd")) {
+            assertFalse(names.contains(ignored), ignored + " should be filtered out");
+        }
+        assertEquals(new HashSet<>(names).size(), names.size(), "Names should be de-duplicated");
+    }
+
+    @Test
+    public void testParsesWindowsTasklistFixture() throws IOException {
+        List<ProcessInfo> processes = new WindowsAppMonitor().parseProcessOutput(fixture("tasklist-windows.txt"));
+        List<String> names = names(processes);
+
+        assertEquals(List.of("Registry", "wininit.exe", "explorer.exe", "chrome.exe", "Discord.exe",
+                "steam.exe", "Spotify.exe", "Code.exe", "msedge.exe", "Slack.exe", "idea64.exe",
+                "firefox.exe", "Teams.exe", "OneDrive.exe", "Microsoft.Photos.exe"), names);
+        assertEquals("Chrome", processes.get(3).getDisplayName());
+        assertEquals(6120, processes.get(3).getPid());
+    }
+
+    @Test
+    public void testIncrementalScanSkipsKnownPids() throws IOException {
+        MacOSAppMonitor monitor = new MacOSAppMonitor();
+        ProcessTable table = new ProcessTable();
+
+        table.beginScan();
+        monitor.scanProcessOutput(fixture("ps-aux-macos.txt"), table);
+        ProcessDelta first = table.endScan();
+
+        table.beginScan();
+        monitor.scanProcessOutput(fixture("ps-aux-macos.txt"), table);
+        ProcessDelta second = table.endScan();
+
+        assertFalse(first.isEmpty());
+        assertTrue(second.isEmpty(), "Unchanged output should produce no delta");
+        assertTrue(names(table.getProcesses()).contains("Discord"));
+    }
+
+    @Test
+    public void testFieldsAcrossBufferRefillsAndEdgeCases() throws IOException {
+        // A line longer than the initial buffer, a comma PID, and no final newline
+        StringBuilder text = new StringBuilder("HEADER\n");
+        text.append("a 1,234 ").append("x".repeat(200_000)).append('\n');
+        text.append("   \n");
+        text.append("b\t42\r\n");
+        text.append("c notapid");
+
+        List<String> seen = new ArrayList<>();
+        InputStream trickle = new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));  // Force many small reads
+            }
+        };
+        new ProcessOutputTokenizer(StandardCharsets.UTF_8).tokenize(trickle, 1, line ->
+                seen.add(line.fieldToString(0) + ":" + line.parsePid(1) + ":" + line.getFieldCount()));
+
+        assertEquals(List.of("a:1234:3", "b:42:2", "c:-1:2"), seen);
+    }
+
+    @Test
+    public void testPidParsingRejectsOverflowAndMissingFields() throws IOException {
+        Set<Integer> pids = new HashSet<>();
+        String text = "p 99999999999\nq\nr 7\n";
+        new ProcessOutputTokenizer(StandardCharsets.UTF_8).tokenize(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), 0,
+                line -> pids.add(line.parsePid(1)));
+
+        assertEquals(Set.of(-1, 7), pids);
+    }
+}
@@ -0,0 +1,73 @@
+package focus.kudafocus.monitoring;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a full process scan through /proc (LinuxAppMonitor) with the
+ * 'ps aux' subprocess path (MacOSAppMonitor) on the same Linux host, plus
+ * the steady-state incremental /proc scan backed by a ProcessTable.
+ *
+ * Run main() from the test classpath after 'mvn test-compile'. The GC
+ * profiler reports gc.alloc.rate.norm (bytes allocated per scan).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessScanBenchmark {
+
+    private LinuxAppMonitor procMonitor;
+    private MacOSAppMonitor psMonitor;
+    private ProcessTable table;
+
+    @Setup
+    public void setUp() {
+        procMonitor = new LinuxAppMonitor();
+        psMonitor = new MacOSAppMonitor();
+        table = new ProcessTable();
+    }
+
+    @Benchmark
+    public List<ProcessInfo> procFilesystemScan() {
+        return procMonitor.getCurrentProcesses();
+    }
+
+    @Benchmark
+    public ProcessDelta procIncrementalScan() {
+        table.beginScan();
+        procMonitor.scanProcesses(table);
+        return table.endScan();
+    }
+
+    @Benchmark
+    public List<ProcessInfo> psAuxScan() {
+        return psMonitor.getCurrentProcesses();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProcessScanBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -1,8 +1,12 @@
 package focus.kudafocus.monitoring;
 
+import org.junit.jupiter.api.Test;
+
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 public class ProcessScannerTest {
     private static class FakeMonitor extends AppMonitor {
         private List<ProcessInfo> list = new ArrayList<>();
@@ -17,4 +21,131 @@ public class ProcessScannerTest {
 
         public void setProcesses(List<ProcessInfo> procs) { list = new ArrayList<>(procs); }
     }
+
+    @Test
+    public void testFirstScanReportsEveryProcessAsAdded() {
+        FakeMonitor monitor = new FakeMonitor();
+        monitor.setProcesses(List.of(new ProcessInfo("Discord", 1), new ProcessInfo("Steam", 2)));
+
+        monitor.getRunningProcesses(true);
+
+        assertEquals(2, monitor.getLastDelta().getAdded().size());
+        assertTrue(monitor.getLastDelta().getRemoved().isEmpty());
+    }
+
+    @Test
+    public void testUnchangedScanProducesEmptyDelta() {
+        FakeMonitor monitor = new FakeMonitor();
+        monitor.setProcesses(List.of(new ProcessInfo("Discord", 1)));
+
+        monitor.getRunningProcesses(true);
+        monitor.getRunningProcesses(true);
+
+        assertTrue(monitor.getLastDelta().isEmpty(), "Steady-state scan should not report changes");
+        assertEquals(1, monitor.getProcessCount());
+    }
+
+    @Test
+    public void testExitedAndStartedProcessesAppearInDelta() {
+        FakeMonitor monitor = new FakeMonitor();
+        ProcessInfo discord = new ProcessInfo("Discord", 1);
+        ProcessInfo steam = new ProcessInfo("Steam", 2);
+        monitor.setProcesses(List.of(discord));
+        monitor.getRunningProcesses(true);
+
+        monitor.setProcesses(List.of(steam));
+        monitor.getRunningProcesses(true);
+
+        assertEquals(List.of(steam), monitor.getLastDelta().getAdded());
+        assertEquals(List.of(discord), monitor.getLastDelta().getRemoved());
+        assertTrue(monitor.isAppRunning("Steam"));
+        assertFalse(monitor.isAppRunning("Discord"));
+    }
+
+    @Test
+    public void testReusedPidWithNewNameIsReplaced() {
+        ProcessTable table = new ProcessTable();
+        table.beginScan();
+        table.record(7, new ProcessInfo("sh", 7));
+        table.endScan();
+
+        // Launcher exec()s the real app under the same PID
+        table.beginScan();
+        assertFalse(table.touch(7), "Young PIDs should be re-parsed");
+        table.record(7, new ProcessInfo("Discord", 7));
+        ProcessDelta delta = table.endScan();
+
+        assertEquals("Discord", delta.getAdded().get(0).getProcessName());
+        assertEquals("sh", delta.getRemoved().get(0).getProcessName());
+    }
+
+    @Test
+    public void testSettledPidsAreNotParsedAgain() {
+        ProcessTable table = new ProcessTable();
+        for (int scan = 0; scan < ProcessTable.REVALIDATE_SCANS; scan++) {
+            table.beginScan();
+            if (!table.touch(9)) {
+                table.record(9, new ProcessInfo("Slack", 9));
+            }
+            table.endScan();
+        }
+
+        table.beginScan();
+        assertTrue(table.touch(9), "PID should be trusted after revalidation scans");
+        assertTrue(table.endScan().isEmpty());
+    }
+
+    @Test
+    public void testScannerNotifiesListenersOfDelta() {
+        FakeMonitor monitor = new FakeMonitor();
+        monitor.setProcesses(List.of(new ProcessInfo("Discord", 1)));
+        ProcessScanner scanner = new ProcessScanner(monitor);
+        List<ProcessDelta> deltas = new ArrayList<>();
+        scanner.addListener(new ProcessScanner.ProcessScanListener() {
+            @Override
+            public void onScan(List<ProcessInfo> processes) { }
+
+            @Override
+            public void onDelta(ProcessDelta delta) { deltas.add(delta); }
+        });
+
+        scanner.scan();
+
+        assertEquals(1, deltas.size());
+        assertEquals(1, deltas.get(0).getAdded().size());
+    }
+
+    @Test
+    public void testSnapshotIsSharedAndOnlyVersionedOnChange() {
+        FakeMonitor monitor = new FakeMonitor();
+        monitor.setProcesses(List.of(new ProcessInfo("Discord", 1)));
+
+        ProcessSnapshot first = monitor.getSnapshot(true);
+        ProcessSnapshot second = monitor.getSnapshot(true);
+        assertSame(first, second, "Unchanged scans should hand out the same snapshot");
+        assertSame(first, monitor.getRunningProcesses(true), "No defensive copy");
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new ProcessInfo("Steam", 2)));
+
+        monitor.setProcesses(List.of(new ProcessInfo("Discord", 1), new ProcessInfo("Steam", 2)));
+        ProcessSnapshot third = monitor.getSnapshot(true);
+        assertTrue(third.isNewerThan(first.getVersion()));
+        assertEquals(2, third.size());
+        assertEquals(1, first.size(), "Old snapshots never change");
+    }
+
+    @Test
+    public void testListenersReceiveSameSnapshotInstance() {
+        FakeMonitor monitor = new FakeMonitor();
+        monitor.setProcesses(List.of(new ProcessInfo("Discord", 1)));
+        ProcessScanner scanner = new ProcessScanner(monitor);
+        List<List<ProcessInfo>> received = new ArrayList<>();
+        scanner.addListener(received::add);
+        scanner.addListener(received::add);
+
+        List<ProcessInfo> returned = scanner.scan();
+
+        assertSame(returned, received.get(0));
+        assertSame(returned, received.get(1));
+        assertSame(scanner.getSnapshot(), returned);
+    }
 }
@@ -0,0 +1,70 @@
+package focus.kudafocus.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ScriptingCoprocess using a shell stub in place of osascript.
+ */
+public class ScriptingCoprocessTest {
+
+    private ScriptingCoprocess coprocess;
+
+    @BeforeEach
+    public void setUp() throws URISyntaxException {
+        Path stub = Paths.get(getClass().getResource("/scripts/stub-script-host.sh").toURI());
+        coprocess = new ScriptingCoprocess(List.of("sh", stub.toString()), 500);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        coprocess.close();
+    }
+
+    @Test
+    public void testRequestsReuseOneHelperProcess() {
+        assertEquals("echo:first", coprocess.evaluate("first"));
+        assertEquals("echo:second", coprocess.evaluate("second"));
+        assertEquals(1, coprocess.getStartCount(), "Both requests should share one helper");
+    }
+
+    @Test
+    public void testMultiLineScriptsAreEscapedOntoOneLine() {
+        assertEquals("echo:tell app\nend tell", coprocess.evaluate("tell app\nend tell"),
+                "Newlines should survive the round trip through the helper");
+    }
+
+    @Test
+    public void testErrorResponseReturnsNull() {
+        assertNull(coprocess.evaluate("fail"));
+        assertEquals("echo:after", coprocess.evaluate("after"), "Helper should stay usable after ERR");
+    }
+
+    @Test
+    public void testTimeoutRestartsHelper() {
+        assertNull(coprocess.evaluate("hang"), "Slow request should time out");
+        assertEquals("echo:next", coprocess.evaluate("next"));
+        assertEquals(2, coprocess.getStartCount(), "Helper should be restarted after a timeout");
+    }
+
+    @Test
+    public void testCrashedHelperIsRestartedTransparently() {
+        coprocess.evaluate("crash");
+        assertEquals("echo:again", coprocess.evaluate("again"));
+        assertTrue(coprocess.getStartCount() >= 2);
+    }
+
+    @Test
+    public void testEscapeRoundTrip() {
+        String script = "a\\b\nc";
+        assertEquals(script, ScriptingCoprocess.unescape(ScriptingCoprocess.escape(script)));
+    }
+}
@@ -0,0 +1,134 @@
+package focus.kudafocus.monitoring;
+
+import focus.kudafocus.core.FocusSession;
+import focus.kudafocus.core.VirtualScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs whole sessions headless on a VirtualScheduler.
+ */
+public class SessionEngineTest {
+
+    /**
+     * Frontmost app chosen by the virtual time
+     */
+    private static class ScriptedForeground extends ForegroundAppMonitor {
+        private final VirtualScheduler clock;
+
+        ScriptedForeground(VirtualScheduler clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public String getFrontmostApplication() {
+            long second = clock.elapsedMillis() / 1000;
+            // Discord from minute 10 to minute 12, the editor otherwise
+            return second >= 600 && second < 720 ? "Discord" : "Code";
+        }
+    }
+
+    /**
+     * No processes: the probes only use the frontmost app
+     */
+    private static class NoProcessMonitor extends AppMonitor {
+        @Override
+        protected List<ProcessInfo> getCurrentProcesses() {
+            return List.of();
+        }
+
+        @Override
+        protected String normalizeProcessName(String rawProcessName) {
+            return rawProcessName;
+        }
+    }
+
+    /**
+     * Chrome never has a tab open, so nothing asks the real browser
+     */
+    private static class NoBrowser extends ChromeWebsiteMonitor {
+        NoBrowser() {
+            setVerbose(false);
+        }
+
+        @Override
+        public ForegroundSnapshot captureBrowserState(String frontmostApp) {
+            return ForegroundSnapshot.of(frontmostApp);
+        }
+    }
+
+    private static class RecordingListener implements SessionEngine.Listener {
+        final List<String> events = new ArrayList<>();
+        int ticks = 0;
+
+        @Override
+        public void onTick(int remainingSeconds) {
+            ticks++;
+        }
+
+        @Override
+        public void onComplete() {
+            events.add("complete");
+        }
+
+        @Override
+        public void onViolationDetected(String appName) {
+            events.add("detected:" + appName);
+        }
+
+        @Override
+        public void onViolationEnded() {
+            events.add("ended");
+        }
+    }
+
+    private SessionEngine engine(FocusSession session, RecordingListener listener, VirtualScheduler scheduler) {
+        SessionEngine engine = new SessionEngine(session, 0, listener, scheduler, Runnable::run,
+                new NoProcessMonitor(), new ScriptedForeground(scheduler), new NoBrowser());
+        engine.getMonitor().setPollRatePolicy(PollRatePolicy.fixed(1000));
+        engine.getMonitor().setVerbose(false);
+        return engine;
+    }
+
+    @Test
+    public void testFullSessionRunsInVirtualTime() {
+        FocusSession session = new FocusSession(1800, List.of("Discord"), List.of());
+        RecordingListener listener = new RecordingListener();
+        VirtualScheduler scheduler = new VirtualScheduler();
+        SessionEngine engine = engine(session, listener, scheduler);
+
+        engine.start();
+        scheduler.advance(1800_000);
+
+        assertEquals(1800, listener.ticks);
+        assertEquals("complete", listener.events.get(listener.events.size() - 1));
+        assertTrue(listener.events.contains("detected:Discord"));
+        assertFalse(engine.getMonitor().isRunning(), "Monitoring stops when the timer completes");
+        assertEquals(1, session.getViolationCount());
+        // 120 s of Discord; the probe that first sees it charges half its interval
+        assertEquals(119, session.getTotalDistractionSeconds());
+    }
+
+    @Test
+    public void testPauseAndStopReportElapsedTime() {
+        FocusSession session = new FocusSession(1800, List.of("Discord"), List.of());
+        RecordingListener listener = new RecordingListener();
+        VirtualScheduler scheduler = new VirtualScheduler();
+        SessionEngine engine = engine(session, listener, scheduler);
+
+        engine.start();
+        scheduler.advance(300_000);
+        engine.pause();
+        scheduler.advance(600_000);
+        assertTrue(session.isPaused());
+        engine.resume();
+        scheduler.advance(60_000);
+
+        assertEquals(360, engine.stop(), "Paused time does not count towards the session");
+        assertFalse(engine.getMonitor().isRunning());
+    }
+}
@@ -1,15 +1,26 @@
 package focus.kudafocus.monitoring;
 
 import focus.kudafocus.core.FocusSession;
+import focus.kudafocus.core.VirtualScheduler;
+import focus.kudafocus.data.storage.DomainTable;
+import focus.kudafocus.data.storage.HostsBlocklistImporter;
 import focus.kudafocus.monitoring.AppMonitor;
 import focus.kudafocus.monitoring.ChromeWebsiteMonitor;
 import focus.kudafocus.monitoring.ForegroundAppMonitor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -283,5 +294,231 @@ public class SessionMonitorTest {
         monitor.tickOnce();
         assertEquals(2, callbackInvocations.size(), "Overlay should retrigger after 15 seconds");
     }
-}
 
+    @Test
+    public void testProbesRunOffCallerThreadAndPostResults() throws Exception {
+        List<String> probeThreads = new ArrayList<>();
+        CountDownLatch probed = new CountDownLatch(1);
+        ForegroundAppMonitor fg = new ForegroundAppMonitor() {
+            @Override
+            public String getFrontmostApplication() {
+                probeThreads.add(Thread.currentThread().getName());
+                probed.countDown();
+                return "Discord";
+            }
+        };
+        LinkedBlockingQueue<Runnable> uiQueue = new LinkedBlockingQueue<>();
+        SessionMonitor monitor = new SessionMonitor(session, mockCallback,
+                AppMonitor.createForCurrentOS(), fg, new ChromeWebsiteMonitor(), uiQueue::add);
+
+        monitor.start();
+        try {
+            assertTrue(probed.await(5, TimeUnit.SECONDS), "Probe should run on its own schedule");
+            Runnable posted = uiQueue.poll(5, TimeUnit.SECONDS);
+            assertNotNull(posted, "Probe result should be posted to the UI executor");
+            assertTrue(callbackInvocations.isEmpty(), "Callbacks must wait for the UI executor");
+
+            posted.run();
+            assertEquals(List.of("detected:Discord"), callbackInvocations);
+            assertNotEquals(Thread.currentThread().getName(), probeThreads.get(0));
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    @Test
+    public void testStaleProbeFromEarlierRunIsDropped() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        StubForeground fg = new StubForeground();
+        fg.setFront("Discord");
+        List<Runnable> uiQueue = new ArrayList<>();
+        SessionMonitor monitor = new SessionMonitor(session, mockCallback,
+                null, fg, new ChromeWebsiteMonitor(), uiQueue::add, scheduler);
+        monitor.setVerbose(false);
+
+        monitor.start();
+        scheduler.advance(1000);
+        assertFalse(uiQueue.isEmpty(), "A probe result should be waiting for the UI thread");
+        List<Runnable> stale = new ArrayList<>(uiQueue);
+        uiQueue.clear();
+
+        // Restarted before the UI thread got to the old results
+        monitor.stop();
+        monitor.start();
+        stale.forEach(Runnable::run);
+
+        assertFalse(session.hasActiveViolation(), "Results from the earlier run must not be applied");
+        assertTrue(callbackInvocations.isEmpty());
+        monitor.stop();
+    }
+
+    @Test
+    public void testStopDoesNotInterruptRunningProbe() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        boolean[] interrupted = {false};
+        ForegroundAppMonitor fg = new ForegroundAppMonitor() {
+            @Override
+            public String getFrontmostApplication() {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted[0] = true;
+                }
+                finished.countDown();
+                return "Discord";
+            }
+        };
+        LinkedBlockingQueue<Runnable> uiQueue = new LinkedBlockingQueue<>();
+        SessionMonitor monitor = new SessionMonitor(session, mockCallback,
+                null, fg, new ChromeWebsiteMonitor(), uiQueue::add, null);
+        monitor.setVerbose(false);
+
+        monitor.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        monitor.stop();
+        release.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertFalse(interrupted[0], "A running probe should be allowed to finish its request");
+        Runnable posted = uiQueue.poll(5, TimeUnit.SECONDS);
+        if (posted != null) {
+            posted.run();
+        }
+        assertFalse(session.hasActiveViolation(), "The late result is dropped");
+    }
+
+    @Test
+    public void testAppAndWebsiteRulesShareOneForegroundQuery() {
+        int[] frontQueries = {0};
+        ForegroundAppMonitor fg = new ForegroundAppMonitor() {
+            @Override
+            public String getFrontmostApplication() {
+                frontQueries[0]++;
+                return "Google Chrome";
+            }
+        };
+        List<String> capturedFor = new ArrayList<>();
+        ChromeWebsiteMonitor chrome = new ChromeWebsiteMonitor() {
+            @Override
+            public ForegroundSnapshot captureBrowserState(String frontmostApp) {
+                capturedFor.add(frontmostApp);
+                return ForegroundSnapshot.withBrowserState(frontmostApp, true, "https://www.youtube.com/watch?v=1");
+            }
+
+            @Override
+            public String detectDistractingDomain(List<String> blockedDomains) {
+                throw new AssertionError("Website rules must use the tick's snapshot");
+            }
+        };
+        SessionMonitor monitor = new SessionMonitor(session, mockCallback,
+                AppMonitor.createForCurrentOS(), fg, chrome);
+
+        for (int i = 0; i < 5; i++) {
+            monitor.tickOnce();
+        }
+
+        assertEquals(5, frontQueries[0], "Frontmost app should be queried once per tick");
+        assertEquals(List.of("Google Chrome"), capturedFor, "Browser state is only captured on the website tick");
+        assertEquals(List.of("detected:Website: youtube.com"), callbackInvocations);
+    }
+
+    @Test
+    public void testSnapshotMatchingMakesNoQueries() {
+        ChromeWebsiteMonitor chrome = new ChromeWebsiteMonitor();
+        List<String> blocked = List.of("youtube.com");
+
+        assertEquals("youtube.com", chrome.detectDistractingDomain(
+                ForegroundSnapshot.withBrowserState("Google Chrome", true, "https://m.youtube.com/"), blocked));
+        assertNull(chrome.detectDistractingDomain(
+                ForegroundSnapshot.withBrowserState("Google Chrome", false, null), blocked));
+        assertNull(chrome.detectDistractingDomain(ForegroundSnapshot.of("Discord"), blocked));
+    }
+
+    @Test
+    public void testImportedBlocklistMatchesAndInlineExceptionsOverrideIt(@TempDir Path tempDir) throws IOException {
+        HostsBlocklistImporter importer = new HostsBlocklistImporter();
+        importer.addLine("0.0.0.0 youtube.com");
+        importer.addLine("0.0.0.0 ads.tracker.net");
+        Path file = tempDir.resolve("blocklist.kfdt");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            importer.write(out);
+        }
+        ChromeWebsiteMonitor chrome = new ChromeWebsiteMonitor(ScriptingCoprocess.shared(), DomainTable.open(file));
+        List<String> inline = List.of("@@music.youtube.com");
+
+        assertEquals("ads.tracker.net", chrome.detectDistractingDomain(
+                ForegroundSnapshot.withBrowserState("Google Chrome", true, "https://x.ads.tracker.net/"), inline));
+        assertEquals("youtube.com", chrome.detectDistractingDomain(
+                ForegroundSnapshot.withBrowserState("Google Chrome", true, "https://www.youtube.com/watch"), inline));
+        assertNull(chrome.detectDistractingDomain(
+                ForegroundSnapshot.withBrowserState("Google Chrome", true, "https://music.youtube.com/"), inline));
+    }
+
+    @Test
+    public void testViolationDurationUsesMeasuredIntervals() {
+        StubForeground fg = new StubForeground();
+        fg.setFront("Discord");
+        SessionMonitor monitor = new SessionMonitor(session, mockCallback,
+                AppMonitor.createForCurrentOS(), fg, new ChromeWebsiteMonitor());
+
+        // Irregular intervals, as the adaptive policy produces
+        monitor.tickOnce(500);
+        monitor.tickOnce(1500);
+        monitor.tickOnce(4000);
+        monitor.tickOnce(250);
+        monitor.tickOnce(750);
+
+        // Charged from the probe that first saw Discord: 1500 + 4000 + 250 + 750 ms
+        assertEquals(6, session.getCurrentViolation().getDurationSeconds(),
+                "Sub-second remainders should carry so 6500 ms adds 6 seconds");
+        assertEquals(7, monitor.getElapsedSeconds());
+    }
+
+    @Test
+    public void testViolationStartAfterBackoffIsNotCharged() {
+        VirtualScheduler scheduler = new VirtualScheduler();
+        long[] lastQuery = new long[1];
+        StubForeground fg = new StubForeground() {
+            @Override
+            public String getFrontmostApplication() {
+                lastQuery[0] = scheduler.elapsedMillis();
+                return super.getFrontmostApplication();
+            }
+        };
+        fg.setFront("Code");
+        AppMonitor noProcesses = new AppMonitor() {
+            @Override
+            protected List<ProcessInfo> getCurrentProcesses() {
+                return List.of();
+            }
+
+            @Override
+            protected String normalizeProcessName(String rawProcessName) {
+                return rawProcessName;
+            }
+        };
+        ChromeWebsiteMonitor chrome = new ChromeWebsiteMonitor();
+        chrome.setVerbose(false);
+        SessionMonitor monitor = new SessionMonitor(session, mockCallback,
+                noProcesses, fg, chrome, Runnable::run, scheduler);
+        monitor.setVerbose(false);
+        monitor.start();
+
+        // A minute of stable focus backs the probes off to the maximum
+        scheduler.advance(60_000);
+        long lastProbe = lastQuery[0];
+        fg.setFront("Discord");
+        while (!session.hasActiveViolation()) {
+            scheduler.advance(100);
+        }
+        long interval = scheduler.elapsedMillis() - lastProbe;
+        int charged = session.getCurrentViolation().getDurationSeconds();
+        monitor.stop();
+
+        assertTrue(interval > 4000, "Probes should have backed off before the violation (interval " + interval + ")");
+        assertEquals(0, charged, "The starting probe did not observe the backed-off interval, so it charges nothing");
+    }
+}
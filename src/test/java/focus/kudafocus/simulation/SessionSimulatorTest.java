@@ -0,0 +1,94 @@
+package focus.kudafocus.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the virtual-time session simulation.
+ */
+public class SessionSimulatorTest {
+
+    private static final int THREE_HOURS = 3 * 60 * 60;
+
+    @Test
+    public void testThreeHourSessionMatchesTrace() {
+        ActivityTrace trace = ActivityTrace.builder()
+                .focus(600, "Code")
+                .app(120, "Discord")
+                .browse(300, "https://docs.oracle.com/")
+                .website(185, "https://www.youtube.com/watch?v=1", "youtube.com")
+                .app(60, "Discord")
+                .focus(THREE_HOURS, "Code")
+                .build();
+        SimulationScenario scenario = new SimulationScenario("scripted", THREE_HOURS,
+                List.of("Discord"), List.of("youtube.com"), trace);
+
+        long start = System.nanoTime();
+        SimulationResult result = SessionSimulator.fixedRate(1000).run(scenario);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(result.isCompleted());
+        assertEquals(3, result.getOccurrences());
+        // 365 s in the trace; time is charged from the probe that first sees
+        // each violation (Discord 119 + youtube.com 180 + Discord 59)
+        assertEquals(358, result.getDistractionSeconds());
+        assertEquals(100 - 3 * 5 - 5, result.getScore());
+        assertFalse(result.isDivergent(), result.toString());
+        assertTrue(elapsedMillis < 2000, "Three simulated hours took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    public void testParallelBatchHasNoDivergence() {
+        List<SimulationScenario> scenarios = new ScenarioGenerator(7).generate(200, THREE_HOURS);
+
+        SimulationReport report = runBatch(SessionSimulator.fixedRate(1000), scenarios);
+
+        assertEquals(200, report.getSessionCount());
+        assertEquals(200, Arrays.stream(report.getScoreHistogram()).sum());
+        assertTrue(report.getDivergences().isEmpty(), report.format());
+        assertEquals(0, report.getScoreDivergenceCount());
+        assertTrue(report.getMinScore() < report.getMaxScore(), "Generated users should differ");
+    }
+
+    @Test
+    public void testAdaptiveProbingDoesNotOvercount() {
+        List<SimulationScenario> scenarios = new ScenarioGenerator(11).generate(200, THREE_HOURS);
+
+        SimulationReport report = runBatch(new SessionSimulator(), scenarios);
+
+        assertTrue(report.getDivergences().isEmpty(), report.format());
+        // Time is only charged once a probe has seen the violation, so the
+        // mean error is negative. Charging the whole backed-off interval
+        // when a violation starts made it about +1.7 s.
+        assertTrue(report.getMeanErrorPerOccurrence() <= 0, report.format());
+    }
+
+    private static SimulationReport runBatch(SessionSimulator simulator, List<SimulationScenario> scenarios) {
+        try (SimulationRunner runner = new SimulationRunner(simulator, 4)) {
+            return runner.run(scenarios);
+        }
+    }
+
+    @Test
+    public void testScoreOutsideSamplingBoundsIsDivergent() {
+        ActivityTrace trace = ActivityTrace.builder()
+                .focus(600, "Code")
+                .app(300, "Discord")
+                .focus(1800, "Code")
+                .build();
+        SimulationScenario scenario = new SimulationScenario("score", 1800, List.of("Discord"), List.of(), trace);
+        assertEquals(100 - 5 - 5, scenario.getExpectedScore());
+
+        // Occurrences and time within the bounds, but a score no sampling error explains
+        SimulationResult plausible = new SimulationResult(scenario, true, 90, 1, 298, 0, 6000);
+        SimulationResult wrongScore = new SimulationResult(scenario, true, 80, 1, 298, 0, 6000);
+
+        assertFalse(plausible.isDivergent(), plausible.toString());
+        assertTrue(wrongScore.isScoreDivergent());
+        assertTrue(wrongScore.isDivergent());
+    }
+}
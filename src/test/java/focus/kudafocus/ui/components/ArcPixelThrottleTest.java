@@ -0,0 +1,45 @@
+package focus.kudafocus.ui.components;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the one-device-pixel redraw threshold.
+ */
+public class ArcPixelThrottleTest {
+
+    @Test
+    public void testSkipsSubPixelChanges() {
+        // Circumference of about 628 px
+        ArcPixelThrottle throttle = new ArcPixelThrottle(100);
+
+        assertTrue(throttle.shouldDraw(1.0, 1.0), "First frame always draws");
+        assertFalse(throttle.shouldDraw(0.999, 1.0), "0.63 px is not visible");
+        assertTrue(throttle.shouldDraw(0.998, 1.0), "1.26 px since the last draw");
+        assertFalse(throttle.shouldDraw(0.9975, 1.0));
+    }
+
+    @Test
+    public void testHigherOutputScaleDrawsMoreOften() {
+        ArcPixelThrottle throttle = new ArcPixelThrottle(100);
+        throttle.shouldDraw(1.0, 2.0);
+
+        assertTrue(throttle.shouldDraw(0.999, 2.0), "0.63 layout px is 1.26 device px at 2x");
+    }
+
+    @Test
+    public void testThreeHourSessionDrawsOncePerPixel() {
+        ArcPixelThrottle throttle = new ArcPixelThrottle(100);
+        int frames = 3 * 60 * 60 * 60; // 60 fps for 3 hours
+        int draws = 0;
+        for (int frame = 0; frame <= frames; frame++) {
+            if (throttle.shouldDraw(1.0 - (double) frame / frames, 1.0)) {
+                draws++;
+            }
+        }
+
+        // About one draw per pixel of the 628 px circumference, instead of 648,000
+        assertTrue(draws >= 628 && draws <= 630, "draws = " + draws);
+    }
+}
@@ -0,0 +1,29 @@
+package focus.kudafocus.ui.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the latest-value drag slot.
+ */
+public class DragCoalescerTest {
+
+    @Test
+    public void testOnlyNewestPositionIsApplied() {
+        DragCoalescer coalescer = new DragCoalescer();
+        List<String> applied = new ArrayList<>();
+
+        assertTrue(coalescer.offer(1, 1), "First offer asks for a flush");
+        assertFalse(coalescer.offer(2, 2), "Later offers reuse the pending flush");
+        assertFalse(coalescer.offer(3, 4));
+
+        assertTrue(coalescer.flush((x, y) -> applied.add(x + "," + y)));
+        assertFalse(coalescer.flush((x, y) -> applied.add(x + "," + y)), "Nothing left to apply");
+        assertEquals(List.of("3.0,4.0"), applied);
+        assertTrue(coalescer.offer(5, 5), "Empty again after a flush");
+    }
+}
@@ -0,0 +1,147 @@
+package focus.kudafocus.ui.components;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts scene-graph mutations and listener notifications for one second
+ * of dragging around CircularProgressRing, with a mouse reporting at
+ * 125 Hz to 1000 Hz and the screen refreshing at 60 Hz.
+ *
+ * - perEvent: the old handler, which redraws (arc length, indicator X and
+ *   Y) and notifies the listener on every drag event
+ * - coalesced: drag events go through a DragCoalescer that is flushed once
+ *   per pulse, and the listener only hears about minute changes
+ *
+ * The drag sweeps 120 degrees per second (60 minutes), a brisk drag. One
+ * benchmark call simulates one second of dragging.
+ *
+ * Run main() from the test classpath after 'mvn test-compile'. It first
+ * prints the mutation and notification counts per second of dragging
+ * (these are exact, so they need no measuring), then times both handlers.
+ * The GC profiler reports gc.alloc.rate.norm (bytes allocated per call).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DragMutationBenchmark {
+
+    private static final int PULSES_PER_SECOND = 60;
+    private static final double DEGREES_PER_SECOND = 120.0;
+    private static final double RADIUS = 150.0;
+
+    /**
+     * Scene-graph properties written by one redraw: arc length and the
+     * indicator's center X and Y
+     */
+    private static final int MUTATIONS_PER_REDRAW = 3;
+
+    @Param({"125", "1000"})
+    public int mouseHz;
+
+    /**
+     * Simulates one second of dragging
+     */
+    static final class Drag {
+        final int mouseHz;
+        final DragCoalescer coalescer = new DragCoalescer();
+        double selectionAngle;
+        int lastNotifiedMinutes;
+        long mutations;
+        long notifications;
+
+        Drag(int mouseHz) {
+            this.mouseHz = mouseHz;
+        }
+
+        Drag perEvent() {
+            for (int event = 0; event < mouseHz; event++) {
+                double[] point = pointerAt(event, mouseHz);
+                selectionAngle = RingGeometry.angleForPoint(point[0], point[1], false);
+                mutations += MUTATIONS_PER_REDRAW;
+                notifications++;
+            }
+            return this;
+        }
+
+        Drag coalesced() {
+            lastNotifiedMinutes = -1;
+            int pulse = 0;
+            for (int event = 0; event < mouseHz; event++) {
+                double[] point = pointerAt(event, mouseHz);
+                coalescer.offer(point[0], point[1]);
+
+                // Flush at every pulse boundary that passed before the next event
+                int pulseDue = (int) ((long) (event + 1) * PULSES_PER_SECOND / mouseHz);
+                while (pulse < pulseDue) {
+                    pulse++;
+                    coalescer.flush(this::apply);
+                }
+            }
+            return this;
+        }
+
+        private void apply(double x, double y) {
+            selectionAngle = RingGeometry.angleForPoint(x, y, false);
+            mutations += MUTATIONS_PER_REDRAW;
+            int minutes = RingGeometry.minutesForAngle(selectionAngle);
+            if (minutes != lastNotifiedMinutes) {
+                lastNotifiedMinutes = minutes;
+                notifications++;
+            }
+        }
+    }
+
+    @Benchmark
+    public double perEvent() {
+        return new Drag(mouseHz).perEvent().selectionAngle;
+    }
+
+    @Benchmark
+    public double coalesced() {
+        return new Drag(mouseHz).coalesced().selectionAngle;
+    }
+
+    /**
+     * Pointer position (relative to the ring's center) of the given event
+     */
+    private static double[] pointerAt(int event, int mouseHz) {
+        double degrees = 10.0 + DEGREES_PER_SECOND * event / mouseHz;
+        double radians = Math.toRadians(degrees - 90.0);
+        return new double[]{Math.cos(radians) * RADIUS, Math.sin(radians) * RADIUS};
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.out.println("Per second of dragging:   mutations  notifications");
+        for (int hz : new int[]{125, 1000}) {
+            Drag perEvent = new Drag(hz).perEvent();
+            Drag coalesced = new Drag(hz).coalesced();
+            System.out.printf("  %4d Hz per-event   %9d  %13d%n", hz, perEvent.mutations, perEvent.notifications);
+            System.out.printf("  %4d Hz coalesced   %9d  %13d%n", hz, coalesced.mutations, coalesced.notifications);
+        }
+
+        Options options = new OptionsBuilder()
+                .include(DragMutationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
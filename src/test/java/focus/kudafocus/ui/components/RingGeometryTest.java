@@ -0,0 +1,26 @@
+package focus.kudafocus.ui.components;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ring's angle math.
+ */
+public class RingGeometryTest {
+
+    @Test
+    public void testAngleForPointMatchesClockFace() {
+        assertEquals(0.0, RingGeometry.angleForPoint(0, -10, false), 1e-9);
+        assertEquals(90.0, RingGeometry.angleForPoint(10, 0, false), 1e-9);
+        assertEquals(180.0, RingGeometry.angleForPoint(0, 10, false), 1e-9);
+        assertEquals(92.0, RingGeometry.angleForPoint(10, 0.5, true), 1e-9,
+                "Snaps to whole minutes (2 degrees)");
+    }
+
+    @Test
+    public void testMinutesForAngle() {
+        assertEquals(45, RingGeometry.minutesForAngle(90.0));
+        assertEquals(180, RingGeometry.minutesForAngle(360.0));
+    }
+}
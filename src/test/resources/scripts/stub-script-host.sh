@@ -0,0 +1,12 @@
+#!/bin/sh
+# Stand-in for the osascript helper used by ScriptingCoprocessTest.
+# Speaks the same line protocol: echoes requests, and understands a few
+# commands that simulate a slow or crashing helper.
+while IFS= read -r line; do
+    case "$line" in
+        hang) sleep 10 ;;
+        crash) exit 1 ;;
+        fail) echo "ERR stub failure" ;;
+        *) printf 'OK echo:%s\n' "$line" ;;
+    esac
+done